@@ -0,0 +1,79 @@
+package com.clinassist.benchmark;
+
+import com.clinassist.ClinAssistApplication;
+import com.clinassist.service.SeanceConflictIndex;
+import com.clinassist.service.SyntheticDataGenerator;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * The backend application context on an in-memory H2 database, seeded once per fork
+ * by the backend's synthetic data generator.
+ */
+@State(Scope.Benchmark)
+public class BackendState {
+
+    public static final String PATIENTS_PROPERTY = "bench.patients";
+    public static final String SEED_PROPERTY = "bench.seed";
+
+    private static final int PATIENTS_PER_THERAPEUTE = 25;
+
+    private ConfigurableApplicationContext context;
+    private SyntheticDataGenerator.Summary dataset;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ClinAssistApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                // Command-line arguments, so they win over application.yml
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "--spring.h2.console.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.clinassist=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--app.risk-scoring.enabled=false",
+                        "--app.ml-service.url=http://localhost:1");
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        int patients = Integer.getInteger(PATIENTS_PROPERTY, 1000);
+        dataset = context.getBean(SyntheticDataGenerator.class).generate(
+                Math.max(1, patients / PATIENTS_PER_THERAPEUTE), patients, Long.getLong(SEED_PROPERTY, 42L), "bench");
+
+        // The index was warmed before seeding
+        context.getBean(SeanceConflictIndex.class).warmUp();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Runs {@code work} with a read-only session open, as open-in-view does for web requests.
+     */
+    public <T> T readOnly(Supplier<T> work) {
+        return readOnlyTransaction.execute(status -> work.get());
+    }
+
+    public SyntheticDataGenerator.Summary dataset() {
+        return dataset;
+    }
+}
@@ -0,0 +1,80 @@
+package com.clinassist.benchmark;
+
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Seance;
+import com.clinassist.entity.Therapeute;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts of seances through Hibernate with and without JDBC batching. Ids come from the pooled
+ * sequence, so a batch of inserts only needs one sequence call per 50 rows. Every invocation is
+ * rolled back to keep the dataset unchanged; the score is the time per inserted seance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchInsertBenchmark {
+
+    private static final int SEANCES = 500;
+
+    @Param({"1", "25"})
+    private int batchSize;
+
+    private EntityManagerFactory entityManagerFactory;
+    private List<Long> therapeuteIds;
+    private List<Long> patientIds;
+
+    @Setup
+    public void setUp(BackendState backend) {
+        entityManagerFactory = backend.bean(EntityManagerFactory.class);
+        therapeuteIds = backend.dataset().therapeuteIds();
+        patientIds = backend.dataset().patientIds();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SEANCES)
+    public int insertSeances() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            entityManager.getTransaction().begin();
+            LocalDateTime start = LocalDateTime.now().plusYears(5);
+            for (int i = 0; i < SEANCES; i++) {
+                Seance seance = Seance.builder()
+                        .patient(entityManager.getReference(Patient.class, patientIds.get(i % patientIds.size())))
+                        .therapeute(entityManager.getReference(Therapeute.class,
+                                therapeuteIds.get(i % therapeuteIds.size())))
+                        .scheduledAt(start.plusHours(i))
+                        .durationMinutes(50)
+                        .build();
+                entityManager.persist(seance);
+            }
+            entityManager.flush();
+            return SEANCES;
+        } finally {
+            entityManager.getTransaction().rollback();
+            entityManager.close();
+        }
+    }
+}
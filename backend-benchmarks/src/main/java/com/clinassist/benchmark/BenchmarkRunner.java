@@ -0,0 +1,32 @@
+package com.clinassist.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks matching {@code bench.include} and writes the results as JSON to
+ * {@code bench.result}, so runs of two releases can be compared.
+ * Dataset properties are forwarded to the forked benchmark JVMs.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(System.getProperty("bench.include", ".*"))
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("bench.result", "target/jmh-result.json"))
+                .jvmArgsAppend(
+                        "-D" + BackendState.PATIENTS_PROPERTY + "="
+                                + System.getProperty(BackendState.PATIENTS_PROPERTY, "1000"),
+                        "-D" + BackendState.SEED_PROPERTY + "="
+                                + System.getProperty(BackendState.SEED_PROPERTY, "42"))
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,45 @@
+package com.clinassist.benchmark;
+
+import com.clinassist.dto.DashboardStatsDTO;
+import com.clinassist.service.DashboardService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the dashboard payload with the application's ObjectMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardStatsSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private DashboardStatsDTO stats;
+
+    @Setup
+    public void setUp(BackendState backend) {
+        objectMapper = backend.bean(ObjectMapper.class);
+        DashboardService dashboardService = backend.bean(DashboardService.class);
+        stats = backend.readOnly(dashboardService::getDashboardStats);
+    }
+
+    @Benchmark
+    public byte[] serializeDashboardStats() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(stats);
+    }
+}
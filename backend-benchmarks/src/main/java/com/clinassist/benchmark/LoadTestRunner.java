@@ -0,0 +1,228 @@
+package com.clinassist.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Replays a weighted mix of read endpoints against a running backend with {@code load.users}
+ * concurrent virtual users, then reports throughput and p50/p99 latency per scenario to stdout
+ * and as JSON to {@code load.result}. Start the backend with {@code app.seed.enabled=true}
+ * so that the {@code loadtest.admin} user and data exist, and pass its {@code app.seed.password}
+ * as {@code load.password}.
+ */
+public final class LoadTestRunner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final List<Scenario> SCENARIOS = List.of(
+            new Scenario("patients.page", 30, ids -> "/patients?page=" + random(50) + "&size=20"),
+            new Scenario("seances.today", 25, ids -> "/seances/today"),
+            new Scenario("dashboard.stats", 20, ids -> "/dashboard/stats"),
+            new Scenario("predictions.latest", 15, ids -> "/predictions/patient/" + ids[random(ids.length)] + "/latest"),
+            new Scenario("predictions.highRisk", 10, ids -> "/predictions/high-risk"));
+
+    private final String baseUrl;
+    private final HttpClient client;
+    private String token;
+    private long[] patientIds;
+
+    private LoadTestRunner(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("load.users", 20);
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup", 10L));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 60L));
+
+        String password = System.getProperty("load.password", "");
+        if (password.isBlank()) {
+            throw new IllegalStateException("Set load.password to the app.seed.password of the backend");
+        }
+
+        LoadTestRunner runner = new LoadTestRunner(System.getProperty("load.baseUrl", "http://localhost:8080/api"));
+        runner.login(System.getProperty("load.username", "loadtest.admin"), password);
+        runner.loadPatientIds();
+
+        System.out.printf("Warm-up %ds with %d users%n", warmup.toSeconds(), users);
+        runner.run(users, warmup);
+        System.out.printf("Measuring %ds with %d users%n", duration.toSeconds(), users);
+        List<Stats> stats = runner.run(users, duration);
+
+        report(stats, users, duration, Path.of(System.getProperty("load.result", "target/loadtest-result.json")));
+    }
+
+    private void login(String username, String password) throws IOException, InterruptedException {
+        String body = MAPPER.writeValueAsString(Map.of("usernameOrEmail", username, "password", password));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        token = MAPPER.readTree(response.body()).path("accessToken").asText();
+    }
+
+    private void loadPatientIds() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(get("/patients?size=500"), HttpResponse.BodyHandlers.ofString());
+        JsonNode content = MAPPER.readTree(response.body()).path("content");
+        patientIds = new long[content.size()];
+        for (int i = 0; i < patientIds.length; i++) {
+            patientIds[i] = content.get(i).path("id").asLong();
+        }
+        if (patientIds.length == 0) {
+            throw new IllegalStateException("No patients found; start the backend with app.seed.enabled=true");
+        }
+    }
+
+    private List<Stats> run(int users, Duration duration) throws InterruptedException {
+        List<Recorder> recorders = new ArrayList<>(users);
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        for (int u = 0; u < users; u++) {
+            Recorder recorder = new Recorder();
+            recorders.add(recorder);
+            pool.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    Scenario scenario = pick();
+                    recorder.record(scenario, call(scenario));
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+
+        List<Stats> stats = new ArrayList<>();
+        for (int s = 0; s < SCENARIOS.size(); s++) {
+            stats.add(Stats.of(SCENARIOS.get(s).name(), recorders, s, duration));
+        }
+        return stats;
+    }
+
+    /** Returns the latency in nanoseconds, negated when the call failed. */
+    private long call(Scenario scenario) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(get(scenario.path().apply(patientIds)),
+                    HttpResponse.BodyHandlers.discarding());
+            long elapsed = System.nanoTime() - start;
+            // 404 is a valid answer for a patient without prediction
+            return response.statusCode() < 400 || response.statusCode() == 404 ? elapsed : -elapsed;
+        } catch (IOException e) {
+            return -(System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -(System.nanoTime() - start);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private static Scenario pick() {
+        int roll = random(100);
+        for (Scenario scenario : SCENARIOS) {
+            roll -= scenario.weight();
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        return SCENARIOS.get(0);
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    private static void report(List<Stats> stats, int users, Duration duration, Path result) throws IOException {
+        System.out.printf("%-22s %10s %8s %10s %10s %10s%n", "scenario", "requests", "errors", "req/s", "p50 ms", "p99 ms");
+        ArrayNode scenarios = MAPPER.createArrayNode();
+        for (Stats s : stats) {
+            System.out.printf("%-22s %10d %8d %10.1f %10.2f %10.2f%n",
+                    s.name(), s.count(), s.errors(), s.throughput(), s.p50Millis(), s.p99Millis());
+            scenarios.addPOJO(s);
+        }
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("users", users);
+        root.put("durationSeconds", duration.toSeconds());
+        root.set("scenarios", scenarios);
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(result.toFile(), root);
+        System.out.println("Results written to " + result);
+    }
+
+    private record Scenario(String name, int weight, Function<long[], String> path) {
+    }
+
+    /** Latencies recorded by a single virtual user, so recording needs no synchronization. */
+    private static final class Recorder {
+
+        private final long[][] latencies = new long[SCENARIOS.size()][1024];
+        private final int[] sizes = new int[SCENARIOS.size()];
+
+        void record(Scenario scenario, long latency) {
+            int s = SCENARIOS.indexOf(scenario);
+            if (sizes[s] == latencies[s].length) {
+                latencies[s] = Arrays.copyOf(latencies[s], sizes[s] * 2);
+            }
+            latencies[s][sizes[s]++] = latency;
+        }
+    }
+
+    public record Stats(String name, int count, int errors, double throughput, double p50Millis, double p99Millis) {
+
+        static Stats of(String name, List<Recorder> recorders, int scenario, Duration duration) {
+            int total = recorders.stream().mapToInt(r -> r.sizes[scenario]).sum();
+            long[] all = new long[total];
+            int n = 0;
+            for (Recorder recorder : recorders) {
+                System.arraycopy(recorder.latencies[scenario], 0, all, n, recorder.sizes[scenario]);
+                n += recorder.sizes[scenario];
+            }
+            int errors = 0;
+            for (int i = 0; i < all.length; i++) {
+                if (all[i] < 0) {
+                    errors++;
+                    all[i] = -all[i];
+                }
+            }
+            Arrays.sort(all);
+            return new Stats(name, total, errors, total / (double) duration.toSeconds(),
+                    percentile(all, 0.50), percentile(all, 0.99));
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.ceil(p * sorted.length) - 1] / 1_000_000.0;
+        }
+    }
+}
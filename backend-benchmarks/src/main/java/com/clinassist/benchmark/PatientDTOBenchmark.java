@@ -0,0 +1,59 @@
+package com.clinassist.benchmark;
+
+import com.clinassist.dto.PatientDTO;
+import com.clinassist.service.PatientService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Patient to DTO conversion, for a single patient and for a page of the patient list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatientDTOBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private BackendState backend;
+    private PatientService patientService;
+    private List<Long> patientIds;
+    private int pages;
+    private int next;
+
+    @Setup
+    public void setUp(BackendState backend) {
+        this.backend = backend;
+        patientService = backend.bean(PatientService.class);
+        patientIds = backend.dataset().patientIds();
+        pages = Math.max(1, patientIds.size() / PAGE_SIZE);
+    }
+
+    @Benchmark
+    public PatientDTO getPatientById() {
+        Long id = patientIds.get(next++ % patientIds.size());
+        return backend.readOnly(() -> patientService.getPatientById(id));
+    }
+
+    @Benchmark
+    public Page<PatientDTO> getAllPatientsPage() {
+        PageRequest page = PageRequest.of(next++ % pages, PAGE_SIZE);
+        return backend.readOnly(() -> patientService.getAllPatients(page));
+    }
+}
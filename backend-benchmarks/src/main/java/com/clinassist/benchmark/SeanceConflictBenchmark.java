@@ -0,0 +1,70 @@
+package com.clinassist.benchmark;
+
+import com.clinassist.service.SeanceConflictIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seance conflict checks answered by the in-memory index (upcoming slots) and by the
+ * database fallback (slots before the index horizon).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeanceConflictBenchmark {
+
+    private static final int PROBES = 1024;
+
+    private SeanceConflictIndex conflictIndex;
+    private Long[] therapeuteIds;
+    private LocalDateTime[] upcoming;
+    private LocalDateTime[] past;
+    private int next;
+
+    @Setup
+    public void setUp(BackendState backend) {
+        conflictIndex = backend.bean(SeanceConflictIndex.class);
+        List<Long> ids = backend.dataset().therapeuteIds();
+
+        Random random = new Random(Long.getLong(BackendState.SEED_PROPERTY, 42L));
+        LocalDateTime today = LocalDateTime.of(LocalDate.now(), LocalTime.of(9, 0));
+        therapeuteIds = new Long[PROBES];
+        upcoming = new LocalDateTime[PROBES];
+        past = new LocalDateTime[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            therapeuteIds[i] = ids.get(random.nextInt(ids.size()));
+            upcoming[i] = today.plusDays(random.nextInt(30)).plusMinutes(15L * random.nextInt(36));
+            past[i] = today.minusDays(60 + random.nextInt(300)).plusMinutes(15L * random.nextInt(36));
+        }
+    }
+
+    @Benchmark
+    public boolean indexedConflictCheck() {
+        int i = next++ & (PROBES - 1);
+        return conflictIndex.hasConflict(therapeuteIds[i], upcoming[i], 60, null);
+    }
+
+    @Benchmark
+    public boolean databaseConflictCheck() {
+        int i = next++ & (PROBES - 1);
+        return conflictIndex.hasConflict(therapeuteIds[i], past[i], 60, null);
+    }
+}
@@ -0,0 +1,69 @@
+package com.clinassist.service;
+
+import com.clinassist.benchmark.BackendState;
+import com.clinassist.repository.SeanceRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dropout factor calculation for a chunk of patients, with and without the aggregate query.
+ * Lives in the service package to reach PredictionService's package-private helpers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PredictionFactorsBenchmark {
+
+    private static final int CHUNK = 100;
+
+    private PredictionService predictionService;
+    private SeanceRepository seanceRepository;
+    private List<Long> chunk;
+    private List<SeanceRepository.PatientFeatureVector> rows;
+
+    @Setup
+    public void setUp(BackendState backend) {
+        predictionService = backend.bean(PredictionService.class);
+        seanceRepository = backend.bean(SeanceRepository.class);
+        List<Long> patientIds = backend.dataset().patientIds();
+        chunk = new ArrayList<>(patientIds.subList(0, Math.min(CHUNK, patientIds.size())));
+        rows = seanceRepository.findFeatureVectorsByPatientIds(chunk);
+    }
+
+    @Benchmark
+    public List<MLPredictionClient.DropoutRiskFeatures> computeFactors() {
+        return features(rows);
+    }
+
+    @Benchmark
+    public List<MLPredictionClient.DropoutRiskFeatures> queryAndComputeFactors() {
+        return features(seanceRepository.findFeatureVectorsByPatientIds(chunk));
+    }
+
+    private List<MLPredictionClient.DropoutRiskFeatures> features(List<SeanceRepository.PatientFeatureVector> vectors) {
+        LocalDateTime now = LocalDateTime.now();
+        List<MLPredictionClient.DropoutRiskFeatures> features = new ArrayList<>(vectors.size());
+        for (SeanceRepository.PatientFeatureVector row : vectors) {
+            Map<String, Double> factors = predictionService.dropoutFactors(row, now);
+            features.add(predictionService.dropoutFeatures(row, factors));
+        }
+        return features;
+    }
+}
@@ -0,0 +1,54 @@
+package com.clinassist.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the id sequences of the entities past the ids already in use. Tables created while the
+ * entities still used IDENTITY columns keep their rows, but {@code ddl-auto: update} creates the
+ * new {@code <table>_seq} sequences from 1.
+ * <p>
+ * Only PostgreSQL is aligned: the H2 database is in-memory and always created along with its
+ * sequences. A sequence is only moved forward, so a running instance never gets ids reissued.
+ */
+@Slf4j
+@Component
+public class IdSequenceAligner {
+
+    static final List<String> TABLES = List.of("users", "patients", "therapeutes", "seances", "predictions",
+            "notifications", "disponibilite_slots");
+
+    // With the pooled optimizer the sequence value is the highest id of the last block handed out
+    private static final String ALIGN = "SELECT setval('%1$s_seq', t.max_id) " +
+            "FROM (SELECT MAX(id) AS max_id FROM %1$s) t, %1$s_seq s WHERE t.max_id >= s.last_value";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Depends on the entity manager factory so that the schema is up to date when aligning.
+     */
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+        for (String table : TABLES) {
+            List<Long> aligned = jdbcTemplate.queryForList(String.format(ALIGN, table), Long.class);
+            if (!aligned.isEmpty()) {
+                log.info("Moved sequence {}_seq past existing id {}", table, aligned.get(0));
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.clinassist.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * HTTP plumbing for the Python ML service: pooled connections with bounded timeouts
+ * and a circuit breaker whose state and call metrics are published to Micrometer.
+ */
+@Configuration
+public class MLClientConfig {
+
+    public static final String ML_CIRCUIT_BREAKER = "mlService";
+
+    @Value("${app.ml-service.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${app.ml-service.read-timeout:5s}")
+    private Duration readTimeout;
+
+    @Value("${app.ml-service.pool.max-total:50}")
+    private int maxTotalConnections;
+
+    @Value("${app.ml-service.pool.max-per-route:20}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${app.ml-service.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${app.ml-service.circuit-breaker.slow-call-duration:3s}")
+    private Duration slowCallDuration;
+
+    @Value("${app.ml-service.circuit-breaker.wait-duration-in-open-state:30s}")
+    private Duration waitDurationInOpenState;
+
+    @Value("${app.ml-service.circuit-breaker.sliding-window-size:20}")
+    private int slidingWindowSize;
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient mlHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotalConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictIdleConnections(Timeout.ofMinutes(1))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate mlRestTemplate(CloseableHttpClient mlHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(mlHttpClient));
+    }
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(Math.min(10, slidingWindowSize))
+                .waitDurationInOpenState(waitDurationInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public CircuitBreaker mlServiceCircuitBreaker(CircuitBreakerRegistry circuitBreakerRegistry) {
+        return circuitBreakerRegistry.circuitBreaker(ML_CIRCUIT_BREAKER);
+    }
+
+    /**
+     * Reports the breaker under /actuator/health. Predictions fall back to heuristics while
+     * the breaker is open, so the application stays UP and only the details change.
+     */
+    @Bean
+    public HealthIndicator mlServiceHealthIndicator(CircuitBreaker mlServiceCircuitBreaker) {
+        return () -> {
+            CircuitBreaker.Metrics metrics = mlServiceCircuitBreaker.getMetrics();
+            return Health.up()
+                    .withDetail("circuitBreaker", mlServiceCircuitBreaker.getState())
+                    .withDetail("failureRate", metrics.getFailureRate())
+                    .withDetail("slowCallRate", metrics.getSlowCallRate())
+                    .withDetail("notPermittedCalls", metrics.getNumberOfNotPermittedCalls())
+                    .build();
+        };
+    }
+}
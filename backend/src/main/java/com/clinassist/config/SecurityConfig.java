@@ -1,6 +1,7 @@
 package com.clinassist.config;
 
 import com.clinassist.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -41,12 +42,15 @@ public class SecurityConfig {
                 .sessionManagement(session -> 
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches complete a request already authorized (streaming exports)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Public endpoints
                         .requestMatchers(
                                 "/auth/**",
                                 "/therapeutes",
-                                "/actuator/**",
+                                "/actuator/health",
                                 "/actuator/health/**",
+                                "/actuator/info",
                                 "/h2-console/**",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
@@ -55,6 +59,8 @@ public class SecurityConfig {
                         ).permitAll()
                         // Admin only
                         .requestMatchers("/admin/**").hasRole("ADMIN")
+                        // Metrics expose JVM, datasource and business internals
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         // Therapeute and admin
                         .requestMatchers("/therapeutes/manage/**").hasAnyRole("ADMIN", "THERAPEUTE")
                         // All authenticated
@@ -0,0 +1,55 @@
+package com.clinassist.config;
+
+import com.clinassist.repository.UserRepository;
+import com.clinassist.service.SyntheticDataGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds a synthetic dataset at startup for load testing, e.g.
+ * {@code java -jar app.jar --app.seed.enabled=true --app.seed.password=... --app.seed.patients=5000}.
+ * Runs before the application is ready, so caches and indexes warm on the seeded data.
+ * Never active in production, and the generated users have no default password.
+ */
+@Component
+@Profile("!prod")
+@ConditionalOnProperty(name = "app.seed.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataSeeder implements ApplicationRunner {
+
+    private final SyntheticDataGenerator generator;
+    private final UserRepository userRepository;
+
+    @Value("${app.seed.therapeutes:40}")
+    private int therapeutes;
+
+    @Value("${app.seed.patients:1000}")
+    private int patients;
+
+    @Value("${app.seed.seed:42}")
+    private long seed;
+
+    @Value("${app.seed.password:}")
+    private String password;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (password.isBlank()) {
+            throw new IllegalStateException("app.seed.password must be set to seed the synthetic dataset");
+        }
+        if (Boolean.TRUE.equals(userRepository.existsByUsername(SyntheticDataGenerator.ADMIN_USERNAME))) {
+            log.info("Synthetic dataset already present, skipping seeding");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        SyntheticDataGenerator.Summary summary = generator.generate(therapeutes, patients, seed, password);
+        log.info("Seeded {} seances in {} ms", summary.seanceCount(), System.currentTimeMillis() - start);
+    }
+}
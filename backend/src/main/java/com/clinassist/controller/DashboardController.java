@@ -1,7 +1,7 @@
 package com.clinassist.controller;
 
 import com.clinassist.dto.DashboardStatsDTO;
-import com.clinassist.service.DashboardService;
+import com.clinassist.service.DashboardStatsCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -19,13 +19,13 @@ import org.springframework.web.bind.annotation.RestController;
 @SecurityRequirement(name = "bearerAuth")
 public class DashboardController {
 
-    private final DashboardService dashboardService;
+    private final DashboardStatsCache dashboardStatsCache;
 
     @GetMapping("/stats")
     @Operation(summary = "Get dashboard statistics")
     @PreAuthorize("hasAnyRole('ADMIN', 'THERAPEUTE', 'RECEPTIONIST')")
     public ResponseEntity<DashboardStatsDTO> getDashboardStats() {
-        return ResponseEntity.ok(dashboardService.getDashboardStats());
+        return ResponseEntity.ok(dashboardStatsCache.get());
     }
 }
 
@@ -0,0 +1,65 @@
+package com.clinassist.controller;
+
+import com.clinassist.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/export")
+@RequiredArgsConstructor
+@Tag(name = "Export", description = "Streaming data export endpoints")
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasAnyRole('ADMIN', 'THERAPEUTE')")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @GetMapping("/seances")
+    @Operation(summary = "Stream seances of a date range as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportSeances(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportService.Format exportFormat = ExportService.Format.parse(format);
+        exportService.validateRange(start, end);
+        return attachment("seances", exportFormat,
+                out -> exportService.exportSeances(start, end, exportFormat, out));
+    }
+
+    @GetMapping("/predictions")
+    @Operation(summary = "Stream predictions of a date range as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportPredictions(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportService.Format exportFormat = ExportService.Format.parse(format);
+        exportService.validateRange(start, end);
+        return attachment("predictions", exportFormat,
+                out -> exportService.exportPredictions(start, end, exportFormat, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> attachment(String name, ExportService.Format format,
+                                                             StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name + "." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
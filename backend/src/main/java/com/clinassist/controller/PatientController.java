@@ -1,8 +1,11 @@
 package com.clinassist.controller;
 
+import com.clinassist.dto.CursorPage;
 import com.clinassist.dto.PatientCreateRequest;
 import com.clinassist.dto.PatientDTO;
+import com.clinassist.dto.PatientImportReport;
 import com.clinassist.entity.Patient;
+import com.clinassist.service.PatientImportService;
 import com.clinassist.service.PatientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -16,6 +19,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -26,6 +31,7 @@ import java.util.List;
 public class PatientController {
 
     private final PatientService patientService;
+    private final PatientImportService patientImportService;
 
     @GetMapping
     @Operation(summary = "Get all patients with pagination")
@@ -33,6 +39,14 @@ public class PatientController {
         return ResponseEntity.ok(patientService.getAllPatients(pageable));
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get patients by keyset page, most recent first")
+    public ResponseEntity<CursorPage<PatientDTO>> getPatientsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(patientService.getPatientsPage(cursor, size));
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Search patients")
     public ResponseEntity<Page<PatientDTO>> searchPatients(
@@ -81,6 +95,16 @@ public class PatientController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdPatient);
     }
 
+    @PostMapping("/import")
+    @Operation(summary = "Bulk import patients from a CSV or NDJSON upload")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RECEPTIONIST')")
+    public ResponseEntity<PatientImportReport> importPatients(
+            @RequestParam(defaultValue = "csv") String format,
+            InputStream body) throws IOException {
+        PatientImportService.Format importFormat = PatientImportService.Format.parse(format);
+        return ResponseEntity.ok(patientImportService.importPatients(body, importFormat));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update patient")
     @PreAuthorize("hasAnyRole('ADMIN', 'THERAPEUTE', 'RECEPTIONIST')")
@@ -1,10 +1,13 @@
 package com.clinassist.controller;
 
+import com.clinassist.dto.BatchPredictionRequest;
+import com.clinassist.dto.CursorPage;
 import com.clinassist.dto.PredictionDTO;
 import com.clinassist.service.PredictionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -28,6 +31,15 @@ public class PredictionController {
         return ResponseEntity.ok(predictionService.getPatientPredictions(patientId));
     }
 
+    @GetMapping("/patient/{patientId}/cursor")
+    @Operation(summary = "Get predictions for a patient by keyset page, most recent first")
+    public ResponseEntity<CursorPage<PredictionDTO>> getPatientPredictionsPage(
+            @PathVariable Long patientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(predictionService.getPatientPredictionsPage(patientId, cursor, size));
+    }
+
     @GetMapping("/patient/{patientId}/latest")
     @Operation(summary = "Get latest predictions for a patient")
     public ResponseEntity<List<PredictionDTO>> getLatestPredictions(
@@ -55,6 +67,14 @@ public class PredictionController {
         return ResponseEntity.ok(predictionService.generateDropoutRiskPrediction(patientId));
     }
 
+    @PostMapping("/batch/dropout-risk")
+    @Operation(summary = "Generate dropout risk predictions for a list of patients or a therapeute's caseload")
+    @PreAuthorize("hasAnyRole('ADMIN', 'THERAPEUTE')")
+    public ResponseEntity<List<PredictionDTO>> generateDropoutRiskPredictions(
+            @Valid @RequestBody BatchPredictionRequest request) {
+        return ResponseEntity.ok(predictionService.generateDropoutRiskPredictions(request));
+    }
+
     @PostMapping("/patient/{patientId}/progress")
     @Operation(summary = "Generate treatment progress prediction")
     public ResponseEntity<PredictionDTO> generateProgressPrediction(@PathVariable Long patientId) {
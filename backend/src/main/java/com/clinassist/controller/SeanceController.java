@@ -1,8 +1,10 @@
 package com.clinassist.controller;
 
 import com.clinassist.dto.CreateSeanceRequest;
+import com.clinassist.dto.CursorPage;
 import com.clinassist.dto.SeanceDTO;
 import com.clinassist.entity.Seance;
+import com.clinassist.service.IdempotencyStore;
 import com.clinassist.service.SeanceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -15,6 +17,8 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
@@ -28,6 +32,7 @@ import java.util.List;
 public class SeanceController {
 
     private final SeanceService seanceService;
+    private final IdempotencyStore idempotencyStore;
 
     @GetMapping
     @Operation(summary = "Get all seances with pagination")
@@ -35,6 +40,14 @@ public class SeanceController {
         return ResponseEntity.ok(seanceService.getAllSeances(pageable));
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get seances by keyset page, latest scheduled first")
+    public ResponseEntity<CursorPage<SeanceDTO>> getSeancesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(seanceService.getSeancesPage(cursor, size));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get seance by ID")
     public ResponseEntity<SeanceDTO> getSeanceById(@PathVariable Long id) {
@@ -47,12 +60,30 @@ public class SeanceController {
         return ResponseEntity.ok(seanceService.getSeancesByPatient(patientId));
     }
 
+    @GetMapping("/patient/{patientId}/cursor")
+    @Operation(summary = "Get seances of a patient by keyset page, latest scheduled first")
+    public ResponseEntity<CursorPage<SeanceDTO>> getSeancesPageByPatient(
+            @PathVariable Long patientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(seanceService.getSeancesPageByPatient(patientId, cursor, size));
+    }
+
     @GetMapping("/therapeute/{therapeuteId}")
     @Operation(summary = "Get seances by therapeute")
     public ResponseEntity<List<SeanceDTO>> getSeancesByTherapeute(@PathVariable Long therapeuteId) {
         return ResponseEntity.ok(seanceService.getSeancesByTherapeute(therapeuteId));
     }
 
+    @GetMapping("/therapeute/{therapeuteId}/cursor")
+    @Operation(summary = "Get seances of a therapeute by keyset page, latest scheduled first")
+    public ResponseEntity<CursorPage<SeanceDTO>> getSeancesPageByTherapeute(
+            @PathVariable Long therapeuteId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(seanceService.getSeancesPageByTherapeute(therapeuteId, cursor, size));
+    }
+
     @GetMapping("/therapeute/{therapeuteId}/today")
     @Operation(summary = "Get today's seances by therapeute")
     public ResponseEntity<List<SeanceDTO>> getTodaySeancesByTherapeute(@PathVariable Long therapeuteId) {
@@ -89,10 +120,17 @@ public class SeanceController {
     }
 
     @PostMapping
-    @Operation(summary = "Create a new seance")
+    @Operation(summary = "Create a new seance; a repeated Idempotency-Key returns the first result")
     @PreAuthorize("hasAnyRole('ADMIN', 'THERAPEUTE', 'RECEPTIONIST', 'PATIENT')")
-    public ResponseEntity<SeanceDTO> createSeance(@Valid @RequestBody CreateSeanceRequest request) {
-        SeanceDTO created = seanceService.createSeance(request);
+    public ResponseEntity<SeanceDTO> createSeance(
+            @Valid @RequestBody CreateSeanceRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        SeanceDTO created = idempotencyKey == null
+                ? seanceService.createSeance(request)
+                // Keys are scoped to the caller, so two users cannot collide on one
+                : idempotencyStore.execute(userDetails.getUsername() + ":" + idempotencyKey, request,
+                        () -> seanceService.createSeance(request));
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
@@ -130,6 +168,22 @@ public class SeanceController {
         return ResponseEntity.ok(seanceService.rescheduleSeance(id, newDateTime));
     }
 
+    @PatchMapping("/{id}/following/cancel")
+    @Operation(summary = "Cancel a seance and the following occurrences of its series")
+    public ResponseEntity<List<SeanceDTO>> cancelFollowingSeances(
+            @PathVariable Long id,
+            @RequestParam(required = false) String reason) {
+        return ResponseEntity.ok(seanceService.cancelFollowingSeances(id, reason));
+    }
+
+    @PatchMapping("/{id}/following/reschedule")
+    @Operation(summary = "Move a seance and the following occurrences of its series by the same offset")
+    public ResponseEntity<List<SeanceDTO>> rescheduleFollowingSeances(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime newDateTime) {
+        return ResponseEntity.ok(seanceService.rescheduleFollowingSeances(id, newDateTime));
+    }
+
     @PatchMapping("/{id}/notes")
     @Operation(summary = "Add session notes")
     @PreAuthorize("hasAnyRole('ADMIN', 'THERAPEUTE')")
@@ -0,0 +1,34 @@
+package com.clinassist.controller;
+
+import com.clinassist.dto.SuggestionDTO;
+import com.clinassist.service.TypeaheadIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/search")
+@RequiredArgsConstructor
+@Tag(name = "Search", description = "Typeahead search endpoints")
+@SecurityRequirement(name = "bearerAuth")
+public class SearchController {
+
+    private final TypeaheadIndex typeaheadIndex;
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest patients and therapeutes whose names, codes or specializations start with the query words")
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false) SuggestionDTO.Kind kind,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(typeaheadIndex.suggest(q, kind, limit));
+    }
+}
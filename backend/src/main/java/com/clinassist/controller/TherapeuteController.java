@@ -1,6 +1,9 @@
 package com.clinassist.controller;
 
+import com.clinassist.dto.AvailableSlotDTO;
 import com.clinassist.dto.TherapeuteDTO;
+import com.clinassist.entity.Therapeute;
+import com.clinassist.service.AvailabilityIndex;
 import com.clinassist.service.TherapeuteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -8,12 +11,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -24,6 +29,7 @@ import java.util.List;
 public class TherapeuteController {
 
     private final TherapeuteService therapeuteService;
+    private final AvailabilityIndex availabilityIndex;
 
     @GetMapping
     @Operation(summary = "Get all therapeutes with pagination")
@@ -44,6 +50,27 @@ public class TherapeuteController {
         return ResponseEntity.ok(therapeuteService.getTherapeuteById(id));
     }
 
+    @GetMapping("/{id}/availability")
+    @Operation(summary = "Get the free slots of a therapeute between two dates, both included")
+    public ResponseEntity<List<AvailableSlotDTO>> getAvailability(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(availabilityIndex.findFreeSlots(id, from, to));
+    }
+
+    @GetMapping("/first-available")
+    @Operation(summary = "Get the earliest free slots across therapeutes matching a specialty and language")
+    public ResponseEntity<List<AvailableSlotDTO>> getFirstAvailableSlots(
+            @RequestParam(required = false) String specialty,
+            @RequestParam(required = false) String language,
+            @RequestParam(defaultValue = "AVAILABLE") Therapeute.TherapeuteStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(therapeuteService.findFirstAvailableSlots(specialty, language, status, from, to, limit));
+    }
+
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get therapeute by user ID")
     public ResponseEntity<TherapeuteDTO> getTherapeuteByUserId(@PathVariable Long userId) {
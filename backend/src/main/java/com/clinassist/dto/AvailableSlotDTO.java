@@ -0,0 +1,24 @@
+package com.clinassist.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A free slot of a therapeute, cut from its weekly availability.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableSlotDTO {
+
+    private Long therapeuteId;
+    private String therapeuteName;
+    private LocalDateTime startAt;
+    private LocalDateTime endAt;
+    private Integer durationMinutes;
+}
@@ -0,0 +1,24 @@
+package com.clinassist.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Patients to score in one batch: either an explicit list of ids or a therapeute's whole caseload.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPredictionRequest {
+
+    @Size(max = 1000, message = "At most 1000 patients per batch")
+    private List<Long> patientIds;
+
+    private Long therapeuteId;
+}
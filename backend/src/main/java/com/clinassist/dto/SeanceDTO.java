@@ -50,6 +50,7 @@ public class SeanceDTO {
     private Boolean reminderSent;
     private Boolean isRecurring;
     private String recurringPattern;
+    private Long parentSeanceId;
     
     private String cancellationReason;
     
@@ -0,0 +1,25 @@
+package com.clinassist.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One typeahead suggestion: a patient with its code, or a therapeute with its specialization.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDTO {
+
+    private Kind kind;
+    private Long id;
+    private String label;
+    private String detail;
+
+    public enum Kind {
+        PATIENT, THERAPEUTE
+    }
+}
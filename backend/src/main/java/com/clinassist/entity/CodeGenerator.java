@@ -0,0 +1,61 @@
+package com.clinassist.entity;
+
+import java.security.SecureRandom;
+
+/**
+ * Generates the business codes of patients, therapeutes and seances: a prefix followed by a ULID,
+ * i.e. a 48-bit millisecond timestamp and 80 random bits in Crockford base32.
+ * <p>
+ * Codes sort by creation time. Within one process they strictly increase: codes generated in the
+ * same millisecond (or after the clock went back) increment the random part of the previous one
+ * instead of drawing a new one, so they never collide. Across processes the 80 random bits make a
+ * collision negligible.
+ */
+public final class CodeGenerator {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int LENGTH = 26;
+    private static final int TIME_LENGTH = 10;
+    private static final long RANDOM_HIGH_MASK = 0xFFFFL;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Last code issued: its timestamp and its 80 random bits (16 high, 64 low)
+    private static long lastMillis = -1;
+    private static long randomHigh;
+    private static long randomLow;
+
+    private CodeGenerator() {
+    }
+
+    public static String next(String prefix) {
+        return prefix + next();
+    }
+
+    private static synchronized String next() {
+        long now = System.currentTimeMillis();
+        if (now > lastMillis) {
+            lastMillis = now;
+            randomHigh = RANDOM.nextInt() & RANDOM_HIGH_MASK;
+            randomLow = RANDOM.nextLong();
+        } else if (++randomLow == 0 && (randomHigh = (randomHigh + 1) & RANDOM_HIGH_MASK) == 0) {
+            // The 80 random bits overflowed: borrow the next millisecond
+            lastMillis++;
+        }
+        return encode(lastMillis, randomHigh, randomLow);
+    }
+
+    static String encode(long millis, long high, long low) {
+        char[] chars = new char[LENGTH];
+        for (int i = TIME_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (millis & 31)];
+            millis >>>= 5;
+        }
+        for (int i = LENGTH - 1; i >= TIME_LENGTH; i--) {
+            chars[i] = ALPHABET[(int) (low & 31)];
+            low = (low >>> 5) | (high << 59);
+            high >>>= 5;
+        }
+        return new String(chars);
+    }
+}
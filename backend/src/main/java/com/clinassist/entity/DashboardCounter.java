@@ -0,0 +1,29 @@
+package com.clinassist.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted snapshot of one materialized dashboard count, e.g. {@code patients.status.ACTIVE}.
+ */
+@Entity
+@Table(name = "dashboard_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardCounter {
+
+    @Id
+    @Column(name = "counter_key", length = 100)
+    private String key;
+
+    @Column(name = "counter_value", nullable = false)
+    private long value;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -15,7 +15,8 @@ import java.time.LocalTime;
 public class DisponibiliteSlot {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "disponibilite_slots_seq")
+    @SequenceGenerator(name = "disponibilite_slots_seq", sequenceName = "disponibilite_slots_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -11,7 +11,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "patients")
+@Table(name = "patients", indexes = {
+        @Index(name = "idx_patients_created_at_id", columnList = "created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +21,8 @@ import java.util.List;
 public class Patient {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "patients_seq")
+    @SequenceGenerator(name = "patients_seq", sequenceName = "patients_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(cascade = CascadeType.ALL)
@@ -94,7 +97,7 @@ public class Patient {
     @PrePersist
     public void generatePatientCode() {
         if (patientCode == null) {
-            patientCode = "PAT-" + System.currentTimeMillis();
+            patientCode = CodeGenerator.next("PAT-");
         }
     }
 
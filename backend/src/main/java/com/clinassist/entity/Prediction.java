@@ -9,7 +9,10 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Entity
-@Table(name = "predictions")
+@Table(name = "predictions", indexes = {
+        @Index(name = "idx_predictions_patient_created_at_id", columnList = "patient_id, created_at, id"),
+        @Index(name = "idx_predictions_created_at_id", columnList = "created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,7 +20,8 @@ import java.util.Map;
 public class Prediction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "predictions_seq")
+    @SequenceGenerator(name = "predictions_seq", sequenceName = "predictions_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
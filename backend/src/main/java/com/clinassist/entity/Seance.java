@@ -8,7 +8,11 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "seances")
+@Table(name = "seances", indexes = {
+        @Index(name = "idx_seances_scheduled_at_id", columnList = "scheduled_at, id"),
+        @Index(name = "idx_seances_patient_scheduled_at_id", columnList = "patient_id, scheduled_at, id"),
+        @Index(name = "idx_seances_therapeute_scheduled_at_id", columnList = "therapeute_id, scheduled_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,7 +20,8 @@ import java.time.LocalDateTime;
 public class Seance {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seances_seq")
+    @SequenceGenerator(name = "seances_seq", sequenceName = "seances_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true)
@@ -77,6 +82,11 @@ public class Seance {
     private String cancellationReason;
     private LocalDateTime cancelledAt;
 
+    // Defaulted so that rows created before the column existed can still be updated
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -105,7 +115,7 @@ public class Seance {
     @PrePersist
     public void generateSeanceCode() {
         if (seanceCode == null) {
-            seanceCode = "SEA-" + System.currentTimeMillis();
+            seanceCode = CodeGenerator.next("SEA-");
         }
     }
 
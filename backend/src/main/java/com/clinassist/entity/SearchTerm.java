@@ -0,0 +1,44 @@
+package com.clinassist.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One edge n-gram of a searchable word of a patient or therapeute: the word {@code jean} is stored
+ * as the grams {@code j}, {@code je}, {@code jea} and {@code jean}, so a prefix query is an exact
+ * lookup on {@code gram}.
+ */
+@Entity
+@Table(name = "search_terms", indexes = {
+        @Index(name = "idx_search_terms_lookup", columnList = "owner_type, gram, term"),
+        @Index(name = "idx_search_terms_owner", columnList = "owner_type, owner_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchTerm {
+
+    // Only inserted by SearchTermWriter's JDBC batches, which leave the id to the column
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "owner_type", length = 20, nullable = false)
+    private OwnerType ownerType;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(length = 10, nullable = false)
+    private String gram;
+
+    @Column(length = 64, nullable = false)
+    private String term;
+
+    public enum OwnerType {
+        PATIENT,
+        THERAPEUTE
+    }
+}
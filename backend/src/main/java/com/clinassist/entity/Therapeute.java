@@ -18,7 +18,8 @@ import java.util.List;
 public class Therapeute {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "therapeutes_seq")
+    @SequenceGenerator(name = "therapeutes_seq", sequenceName = "therapeutes_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(cascade = CascadeType.ALL)
@@ -86,7 +87,7 @@ public class Therapeute {
     @PrePersist
     public void generateTherapeuteCode() {
         if (therapeuteCode == null) {
-            therapeuteCode = "TH-" + System.currentTimeMillis();
+            therapeuteCode = CodeGenerator.next("TH-");
         }
     }
 }
@@ -0,0 +1,49 @@
+package com.clinassist.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Next numeric suffix to hand out for a username base, e.g. {@code sara} → {@code sara7}.
+ * <p>
+ * A new counter is always inserted, never merged, so that two transactions creating the counter
+ * of the same base conflict on the primary key instead of overwriting each other.
+ */
+@Entity
+@Table(name = "username_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UsernameCounter implements Persistable<String> {
+
+    @Id
+    @Column(name = "base_username")
+    private String base;
+
+    @Column(nullable = false)
+    private int nextSuffix;
+
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean stored = false;
+
+    @Override
+    public String getId() {
+        return base;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+}
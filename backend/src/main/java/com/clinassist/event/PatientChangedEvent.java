@@ -0,0 +1,12 @@
+package com.clinassist.event;
+
+import com.clinassist.entity.Patient;
+
+/**
+ * Published by {@code PatientService} when a patient is created or changes status.
+ * {@code previousStatus} is null for a newly created patient.
+ */
+public record PatientChangedEvent(Long patientId,
+                                  Patient.PatientStatus previousStatus,
+                                  Patient.PatientStatus status) {
+}
@@ -0,0 +1,9 @@
+package com.clinassist.event;
+
+import java.util.List;
+
+/**
+ * Published when new predictions, and with them patient risk scores, have been stored.
+ */
+public record PredictionsCreatedEvent(List<Long> patientIds) {
+}
@@ -0,0 +1,28 @@
+package com.clinassist.event;
+
+import com.clinassist.entity.Seance;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@code SeanceService} when a seance is created or its status or slot changes.
+ * The previous values are null for a newly created seance.
+ */
+public record SeanceChangedEvent(Long seanceId,
+                                 Seance.SeanceType type,
+                                 Seance.SeanceStatus previousStatus,
+                                 Seance.SeanceStatus status,
+                                 LocalDateTime previousScheduledAt,
+                                 LocalDateTime scheduledAt) {
+
+    public static SeanceChangedEvent created(Seance seance) {
+        return new SeanceChangedEvent(seance.getId(), seance.getType(), null, seance.getStatus(),
+                null, seance.getScheduledAt());
+    }
+
+    public static SeanceChangedEvent updated(Seance seance, Seance.SeanceStatus previousStatus,
+                                             LocalDateTime previousScheduledAt) {
+        return new SeanceChangedEvent(seance.getId(), seance.getType(), previousStatus, seance.getStatus(),
+                previousScheduledAt, seance.getScheduledAt());
+    }
+}
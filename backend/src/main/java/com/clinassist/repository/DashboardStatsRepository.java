@@ -0,0 +1,95 @@
+package com.clinassist.repository;
+
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Seance;
+import com.clinassist.entity.Therapeute;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Aggregate queries backing the dashboard.
+ * Every method returns a handful of grouped rows (projections) instead of entities,
+ * so the cost of the dashboard depends on the number of buckets, not on table size.
+ */
+@Repository
+public interface DashboardStatsRepository extends org.springframework.data.repository.Repository<Seance, Long> {
+
+    @Query("SELECT s.type AS type, COUNT(s) AS count FROM Seance s GROUP BY s.type")
+    List<SeanceTypeCount> countSeancesByType();
+
+    @Query("SELECT CAST(s.scheduledAt AS LocalDate) AS day, s.status AS status, COUNT(s) AS count " +
+           "FROM Seance s WHERE s.scheduledAt >= :start " +
+           "GROUP BY CAST(s.scheduledAt AS LocalDate), s.status")
+    List<DailyStatusCount> countSeancesPerDayAndStatusFrom(@Param("start") LocalDateTime start);
+
+    @Query("SELECT COUNT(s) FROM Seance s WHERE s.scheduledAt > :now AND s.status = 'SCHEDULED'")
+    long countUpcomingSeances(@Param("now") LocalDateTime now);
+
+    @Query("SELECT p.status AS status, COUNT(p) AS count FROM Patient p GROUP BY p.status")
+    List<PatientStatusCount> countPatientsByStatus();
+
+    @Query("SELECT " +
+           "COALESCE(SUM(CASE WHEN p.createdAt >= :startOfMonth THEN 1 ELSE 0 END), 0) AS thisMonth, " +
+           "COALESCE(SUM(CASE WHEN p.createdAt < :startOfMonth THEN 1 ELSE 0 END), 0) AS lastMonth " +
+           "FROM Patient p WHERE p.createdAt >= :startOfPrevMonth")
+    NewPatientsWindow countNewPatients(
+            @Param("startOfPrevMonth") LocalDateTime startOfPrevMonth,
+            @Param("startOfMonth") LocalDateTime startOfMonth);
+
+    @Query("SELECT " +
+           "COALESCE(SUM(CASE WHEN p.riskScore >= :minRisk THEN 1 ELSE 0 END), 0) AS highRiskCount, " +
+           "AVG(p.riskScore) AS averageRiskScore " +
+           "FROM Patient p")
+    RiskSummary summarizeRisk(@Param("minRisk") Integer minRisk);
+
+    @Query("SELECT t.status AS status, COUNT(t) AS count FROM Therapeute t GROUP BY t.status")
+    List<TherapeuteStatusCount> countTherapeutesByStatus();
+
+    @Query("SELECT COUNT(p) AS total, " +
+           "COALESCE(SUM(CASE WHEN p.wasAccurate = true THEN 1 ELSE 0 END), 0) AS accurate, " +
+           "COALESCE(SUM(CASE WHEN p.wasAccurate IS NOT NULL THEN 1 ELSE 0 END), 0) AS evaluated " +
+           "FROM Prediction p")
+    PredictionSummary summarizePredictions();
+
+    interface SeanceTypeCount {
+        Seance.SeanceType getType();
+        long getCount();
+    }
+
+    interface DailyStatusCount {
+        LocalDate getDay();
+        Seance.SeanceStatus getStatus();
+        long getCount();
+    }
+
+    interface PatientStatusCount {
+        Patient.PatientStatus getStatus();
+        long getCount();
+    }
+
+    interface TherapeuteStatusCount {
+        Therapeute.TherapeuteStatus getStatus();
+        long getCount();
+    }
+
+    interface NewPatientsWindow {
+        long getThisMonth();
+        long getLastMonth();
+    }
+
+    interface RiskSummary {
+        long getHighRiskCount();
+        Double getAverageRiskScore();
+    }
+
+    interface PredictionSummary {
+        long getTotal();
+        long getAccurate();
+        long getEvaluated();
+    }
+}
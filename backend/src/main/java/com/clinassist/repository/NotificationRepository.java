@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -44,6 +45,10 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
            "n.status = 'READ' WHERE n.user.id = :userId AND n.isRead = false")
     void markAllAsRead(@Param("userId") Long userId, @Param("readAt") LocalDateTime readAt);
     
+    @Modifying
+    @Query("UPDATE Notification n SET n.isSent = true, n.sentAt = :sentAt WHERE n.id IN :ids")
+    int markAllSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+    
     @Query("SELECT n FROM Notification n WHERE n.referenceId = :refId " +
            "AND n.referenceType = :refType")
     List<Notification> findByReference(
@@ -9,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,20 +27,56 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
     
     Page<Patient> findByStatus(Patient.PatientStatus status, Pageable pageable);
     
-    @Query("SELECT p FROM Patient p WHERE " +
-           "LOWER(p.user.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(p.user.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(p.user.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(p.patientCode) LIKE LOWER(CONCAT('%', :search, '%'))")
-    Page<Patient> searchPatients(@Param("search") String search, Pageable pageable);
+    @Query("SELECT p.id FROM Patient p")
+    Page<Long> findAllIds(Pageable pageable);
+    
+    @Query("SELECT p.id FROM Patient p ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findKeysetPageIds(Pageable pageable);
+    
+    @Query("SELECT p.id FROM Patient p WHERE p.createdAt < :at OR (p.createdAt = :at AND p.id < :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findKeysetPageIdsBefore(
+            @Param("at") LocalDateTime at,
+            @Param("id") Long id,
+            Pageable pageable);
+    
+    @Query("SELECT p.id FROM Patient p WHERE p.status = :status AND p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsByStatusAfter(@Param("status") Patient.PatientStatus status,
+                                    @Param("afterId") Long afterId,
+                                    Pageable pageable);
+    
+    @Query("SELECT p.id FROM Patient p WHERE p.assignedTherapeute.id = :therapeuteId")
+    List<Long> findIdsByAssignedTherapeuteId(@Param("therapeuteId") Long therapeuteId);
+    
+    @Query("SELECT DISTINCT p FROM Patient p " +
+           "LEFT JOIN FETCH p.user " +
+           "LEFT JOIN FETCH p.assignedTherapeute t " +
+           "LEFT JOIN FETCH t.user " +
+           "WHERE p.id IN :ids")
+    List<Patient> findAllWithUsersByIdIn(@Param("ids") Collection<Long> ids);
     
     @Query("SELECT p FROM Patient p WHERE p.riskScore >= :minRisk ORDER BY p.riskScore DESC")
     List<Patient> findHighRiskPatients(@Param("minRisk") Integer minRisk);
     
+    @Query("SELECT p.id FROM Patient p WHERE p.riskScore >= :minRisk ORDER BY p.riskScore DESC")
+    List<Long> findHighRiskPatientIds(@Param("minRisk") Integer minRisk);
+    
     @Query("SELECT COUNT(p) FROM Patient p WHERE p.status = :status")
     Long countByStatus(@Param("status") Patient.PatientStatus status);
     
     @Query("SELECT p FROM Patient p WHERE p.assignedTherapeute IS NULL AND p.status = 'ACTIVE'")
     List<Patient> findUnassignedPatients();
+    
+    @Query("SELECT p.id AS id, u.firstName AS firstName, u.lastName AS lastName, u.email AS email, " +
+           "p.patientCode AS patientCode FROM Patient p JOIN p.user u")
+    List<TypeaheadFields> findAllTypeaheadFields();
+
+    interface TypeaheadFields {
+        Long getId();
+        String getFirstName();
+        String getLastName();
+        String getEmail();
+        String getPatientCode();
+    }
 }
 
@@ -2,19 +2,37 @@ package com.clinassist.repository;
 
 import com.clinassist.entity.Patient;
 import com.clinassist.entity.Prediction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PredictionRepository extends JpaRepository<Prediction, Long> {
     
+    /**
+     * Forward-only cursor over a creation date range for exports; must be consumed inside a
+     * transaction and closed. Rows are read {@value SeanceRepository#EXPORT_FETCH_SIZE} at a time.
+     */
+    @Query("SELECT p FROM Prediction p JOIN FETCH p.patient pa " +
+           "WHERE p.createdAt BETWEEN :start AND :end ORDER BY p.createdAt, p.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = SeanceRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Prediction> streamByCreatedAtBetween(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+    
     List<Prediction> findByPatient(Patient patient);
     
     List<Prediction> findByPatientId(Long patientId);
@@ -29,6 +47,19 @@ public interface PredictionRepository extends JpaRepository<Prediction, Long> {
             @Param("patientId") Long patientId,
             Pageable pageable);
     
+    @Query("SELECT p FROM Prediction p JOIN FETCH p.patient pa LEFT JOIN FETCH pa.user " +
+           "WHERE pa.id = :patientId ORDER BY p.createdAt DESC, p.id DESC")
+    List<Prediction> findKeysetPageByPatientId(@Param("patientId") Long patientId, Pageable pageable);
+    
+    @Query("SELECT p FROM Prediction p JOIN FETCH p.patient pa LEFT JOIN FETCH pa.user " +
+           "WHERE pa.id = :patientId AND (p.createdAt < :at OR (p.createdAt = :at AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Prediction> findKeysetPageByPatientIdBefore(
+            @Param("patientId") Long patientId,
+            @Param("at") LocalDateTime at,
+            @Param("id") Long id,
+            Pageable pageable);
+    
     @Query("SELECT p FROM Prediction p WHERE p.patient.id = :patientId " +
            "AND p.type = :type ORDER BY p.createdAt DESC")
     List<Prediction> findLatestByPatientAndType(
@@ -0,0 +1,66 @@
+package com.clinassist.repository;
+
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Prediction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes scored predictions and the matching patient risk scores. The predictions and their
+ * factors are persisted in Hibernate JDBC batches, the risk scores are updated with a JDBC batch.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RiskScoreBatchWriter {
+
+    private static final String UPDATE_PATIENT_RISK =
+            "UPDATE patients SET risk_score = ?, risk_category = ?, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Inserts the predictions (and their factors) and updates each patient's risk score.
+     *
+     * @param patientIds patient of each prediction, in the same order
+     * @return number of predictions written
+     */
+    @Transactional
+    public int write(List<Long> patientIds, List<Prediction> predictions) {
+        if (predictions.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        for (int i = 0; i < predictions.size(); i++) {
+            Prediction prediction = predictions.get(i);
+            prediction.setPatient(entityManager.getReference(Patient.class, patientIds.get(i)));
+            entityManager.persist(prediction);
+        }
+        entityManager.flush();
+
+        List<Object[]> patientRows = new ArrayList<>(predictions.size());
+        for (int i = 0; i < predictions.size(); i++) {
+            Prediction prediction = predictions.get(i);
+            patientRows.add(new Object[]{
+                    prediction.getRiskLevel(),
+                    prediction.getRiskCategory() != null ? prediction.getRiskCategory().name() : null,
+                    now,
+                    patientIds.get(i)});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_PATIENT_RISK, patientRows);
+
+        return predictions.size();
+    }
+}
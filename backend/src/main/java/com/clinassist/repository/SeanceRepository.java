@@ -3,20 +3,34 @@ package com.clinassist.repository;
 import com.clinassist.entity.Patient;
 import com.clinassist.entity.Seance;
 import com.clinassist.entity.Therapeute;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SeanceRepository extends JpaRepository<Seance, Long> {
     
+    String EXPORT_FETCH_SIZE = "500";
+
+    // Lock timeout that makes Hibernate render SKIP LOCKED
+    String SKIP_LOCKED = "-2";
+    
     Optional<Seance> findBySeanceCode(String seanceCode);
     
     List<Seance> findByPatient(Patient patient);
@@ -34,6 +48,21 @@ public interface SeanceRepository extends JpaRepository<Seance, Long> {
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end);
     
+    /**
+     * Forward-only cursor over a date range for exports; must be consumed inside a transaction
+     * and closed. Rows are read {@value #EXPORT_FETCH_SIZE} at a time and not tracked for updates.
+     */
+    @Query("SELECT s FROM Seance s JOIN FETCH s.patient p JOIN FETCH p.user " +
+           "JOIN FETCH s.therapeute t JOIN FETCH t.user " +
+           "WHERE s.scheduledAt BETWEEN :start AND :end ORDER BY s.scheduledAt, s.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Seance> streamByScheduledAtBetween(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+    
     @Query("SELECT s FROM Seance s WHERE s.therapeute.id = :therapeuteId " +
            "AND s.scheduledAt BETWEEN :start AND :end")
     List<Seance> findByTherapeuteAndDateRange(
@@ -48,10 +77,49 @@ public interface SeanceRepository extends JpaRepository<Seance, Long> {
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end);
     
+    // Keyset pages in (scheduledAt DESC, id DESC) order, backed by the (…, scheduled_at, id) indexes
+    String KEYSET_SELECT = "SELECT s FROM Seance s JOIN FETCH s.patient p JOIN FETCH p.user " +
+            "JOIN FETCH s.therapeute t JOIN FETCH t.user ";
+    String KEYSET_BEFORE = "(s.scheduledAt < :at OR (s.scheduledAt = :at AND s.id < :id)) ";
+    String KEYSET_ORDER = "ORDER BY s.scheduledAt DESC, s.id DESC";
+
+    @Query(KEYSET_SELECT + KEYSET_ORDER)
+    List<Seance> findKeysetPage(Pageable pageable);
+
+    @Query(KEYSET_SELECT + "WHERE " + KEYSET_BEFORE + KEYSET_ORDER)
+    List<Seance> findKeysetPageBefore(
+            @Param("at") LocalDateTime at,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query(KEYSET_SELECT + "WHERE p.id = :patientId " + KEYSET_ORDER)
+    List<Seance> findKeysetPageByPatientId(@Param("patientId") Long patientId, Pageable pageable);
+
+    @Query(KEYSET_SELECT + "WHERE p.id = :patientId AND " + KEYSET_BEFORE + KEYSET_ORDER)
+    List<Seance> findKeysetPageByPatientIdBefore(
+            @Param("patientId") Long patientId,
+            @Param("at") LocalDateTime at,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query(KEYSET_SELECT + "WHERE t.id = :therapeuteId " + KEYSET_ORDER)
+    List<Seance> findKeysetPageByTherapeuteId(@Param("therapeuteId") Long therapeuteId, Pageable pageable);
+
+    @Query(KEYSET_SELECT + "WHERE t.id = :therapeuteId AND " + KEYSET_BEFORE + KEYSET_ORDER)
+    List<Seance> findKeysetPageByTherapeuteIdBefore(
+            @Param("therapeuteId") Long therapeuteId,
+            @Param("at") LocalDateTime at,
+            @Param("id") Long id,
+            Pageable pageable);
+    
     @Query("SELECT s FROM Seance s WHERE s.scheduledAt > :now AND s.status = 'SCHEDULED' " +
            "ORDER BY s.scheduledAt ASC")
     List<Seance> findUpcomingSeances(@Param("now") LocalDateTime now);
     
+    @Query("SELECT s FROM Seance s WHERE s.scheduledAt > :now AND s.status = 'SCHEDULED' " +
+           "ORDER BY s.scheduledAt ASC")
+    List<Seance> findUpcomingSeances(@Param("now") LocalDateTime now, Pageable pageable);
+    
     @Query("SELECT s FROM Seance s WHERE s.therapeute.id = :therapeuteId " +
            "AND s.scheduledAt > :now AND s.status IN ('SCHEDULED', 'CONFIRMED') " +
            "ORDER BY s.scheduledAt ASC")
@@ -66,12 +134,110 @@ public interface SeanceRepository extends JpaRepository<Seance, Long> {
             @Param("patientId") Long patientId,
             @Param("now") LocalDateTime now);
     
+    @Query("SELECT s.patient.id AS patientId, COUNT(s) AS total, " +
+           "COALESCE(SUM(CASE WHEN s.status = 'COMPLETED' THEN 1 ELSE 0 END), 0) AS completed " +
+           "FROM Seance s WHERE s.patient.id IN :patientIds GROUP BY s.patient.id")
+    List<PatientSeanceCounts> countSeancesByPatientIds(@Param("patientIds") Collection<Long> patientIds);
+    
+    @Query("SELECT s.patient.id AS patientId, MIN(s.scheduledAt) AS nextSeanceAt FROM Seance s " +
+           "WHERE s.patient.id IN :patientIds " +
+           "AND s.scheduledAt > :now AND s.status IN ('SCHEDULED', 'CONFIRMED') " +
+           "GROUP BY s.patient.id")
+    List<PatientNextSeance> findNextSeanceByPatientIds(
+            @Param("patientIds") Collection<Long> patientIds,
+            @Param("now") LocalDateTime now);
+    
+    /**
+     * One row of prediction features per patient that has seances. Mood delta only counts
+     * completed seances with both moods recorded; progress averages every rated seance.
+     */
+    @Query("SELECT s.patient.id AS patientId, COUNT(s) AS total, " +
+           "COALESCE(SUM(CASE WHEN s.status = 'CANCELLED' THEN 1 ELSE 0 END), 0) AS cancelled, " +
+           "COALESCE(SUM(CASE WHEN s.status = 'NO_SHOW' THEN 1 ELSE 0 END), 0) AS noShow, " +
+           "COALESCE(SUM(CASE WHEN s.status = 'COMPLETED' THEN 1 ELSE 0 END), 0) AS completed, " +
+           "MIN(CASE WHEN s.status = 'COMPLETED' THEN s.scheduledAt END) AS firstCompletedAt, " +
+           "MAX(CASE WHEN s.status = 'COMPLETED' THEN s.scheduledAt END) AS lastCompletedAt, " +
+           "AVG(CASE WHEN s.status = 'COMPLETED' AND s.patientMoodBefore IS NOT NULL " +
+           "AND s.patientMoodAfter IS NOT NULL " +
+           "THEN (s.patientMoodAfter - s.patientMoodBefore) * 1.0 END) AS avgMoodDelta, " +
+           "AVG(s.progressRating * 1.0) AS avgProgress " +
+           "FROM Seance s WHERE s.patient.id IN :patientIds GROUP BY s.patient.id")
+    List<PatientFeatureVector> findFeatureVectorsByPatientIds(@Param("patientIds") Collection<Long> patientIds);
+    
+    @Query("SELECT s.id AS id, s.therapeute.id AS therapeuteId, s.scheduledAt AS scheduledAt, " +
+           "s.durationMinutes AS durationMinutes FROM Seance s " +
+           "WHERE s.scheduledAt >= :from AND s.status <> 'CANCELLED'")
+    List<BookedInterval> findBookedIntervalsFrom(@Param("from") LocalDateTime from);
+    
+    // Statuses of a seance that is still to be held
+    String OPEN_STATUSES = "('PENDING_APPROVAL', 'SCHEDULED', 'CONFIRMED', 'RESCHEDULED')";
+
+    // Open statuses past approval: the seance will take place as booked
+    String BOOKED_STATUSES = "('SCHEDULED', 'CONFIRMED', 'RESCHEDULED')";
+
+    /**
+     * Occurrences of the series rooted at {@code rootId} (the root included) that start at or after
+     * {@code from} and are still to be held, in schedule order.
+     */
+    @Query("SELECT s.id AS id, s.scheduledAt AS scheduledAt, s.durationMinutes AS durationMinutes, " +
+           "s.type AS type, s.status AS status FROM Seance s " +
+           "WHERE (s.id = :rootId OR s.parentSeance.id = :rootId) AND s.scheduledAt >= :from " +
+           "AND s.status IN " + OPEN_STATUSES + " " +
+           "ORDER BY s.scheduledAt ASC, s.id ASC")
+    List<SeriesOccurrence> findSeriesOccurrencesFrom(
+            @Param("rootId") Long rootId,
+            @Param("from") LocalDateTime from);
+
+    // Bulk updates of series occurrences; they bump the version so that stale entities fail to save
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Seance s SET s.status = 'CANCELLED', s.cancellationReason = :reason, " +
+           "s.cancelledAt = :now, s.updatedAt = :now, s.version = s.version + 1 " +
+           "WHERE s.id IN :ids AND s.status IN " + OPEN_STATUSES)
+    int cancelAllById(
+            @Param("ids") Collection<Long> ids,
+            @Param("reason") String reason,
+            @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Seance s SET s.scheduledAt = s.scheduledAt + (:shiftSeconds) second, s.status = 'RESCHEDULED', " +
+           "s.reminderSent = false, s.updatedAt = :now, s.version = s.version + 1 " +
+           "WHERE s.id IN :ids AND s.status IN " + OPEN_STATUSES)
+    int shiftAllById(
+            @Param("ids") Collection<Long> ids,
+            @Param("shiftSeconds") long shiftSeconds,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Claims a page of seances due for a reminder, soonest first. The rows stay locked until the
+     * end of the transaction, and rows locked by another dispatcher are skipped. Seances whose
+     * patient or therapeute has no user account have no one to remind and are never claimed.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = SKIP_LOCKED))
     @Query("SELECT s FROM Seance s WHERE s.reminderSent = false " +
            "AND s.scheduledAt BETWEEN :now AND :reminderTime " +
-           "AND s.status IN ('SCHEDULED', 'CONFIRMED')")
+           "AND s.status IN " + BOOKED_STATUSES + " " +
+           "AND EXISTS (SELECT p.id FROM Patient p WHERE p = s.patient AND p.user IS NOT NULL) " +
+           "AND EXISTS (SELECT t.id FROM Therapeute t WHERE t = s.therapeute AND t.user IS NOT NULL) " +
+           "ORDER BY s.scheduledAt, s.id")
     List<Seance> findSeancesNeedingReminder(
             @Param("now") LocalDateTime now,
-            @Param("reminderTime") LocalDateTime reminderTime);
+            @Param("reminderTime") LocalDateTime reminderTime,
+            Pageable pageable);
+
+    @Query("SELECT s.id AS seanceId, pu.id AS userId, pu.email AS email, pu.firstName AS firstName, " +
+           "tu.firstName AS therapeuteFirstName, tu.lastName AS therapeuteLastName, " +
+           "s.scheduledAt AS scheduledAt, s.durationMinutes AS durationMinutes, s.type AS type, " +
+           "s.meetingRoom AS meetingRoom, s.videoCallLink AS videoCallLink, s.createdAt AS createdAt " +
+           "FROM Seance s JOIN s.patient p JOIN p.user pu JOIN s.therapeute t JOIN t.user tu " +
+           "WHERE s.id IN :ids ORDER BY s.scheduledAt, s.id")
+    List<ReminderRecipient> findReminderRecipients(@Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Seance s SET s.reminderSent = true, s.reminderSentAt = :now, s.updatedAt = :now, " +
+           "s.version = s.version + 1 " +
+           "WHERE s.id IN :ids")
+    int markRemindersSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
     
     @Query("SELECT COUNT(s) FROM Seance s WHERE s.status = :status")
     Long countByStatus(@Param("status") Seance.SeanceStatus status);
@@ -96,5 +262,57 @@ public interface SeanceRepository extends JpaRepository<Seance, Long> {
     List<Seance> findByTherapeuteIdAndScheduledAtAfter(
             @Param("therapeuteId") Long therapeuteId,
             @Param("dateTime") LocalDateTime dateTime);
-}
 
+    interface PatientSeanceCounts {
+        Long getPatientId();
+        long getTotal();
+        long getCompleted();
+    }
+
+    interface PatientNextSeance {
+        Long getPatientId();
+        LocalDateTime getNextSeanceAt();
+    }
+
+    interface PatientFeatureVector {
+        Long getPatientId();
+        long getTotal();
+        long getCancelled();
+        long getNoShow();
+        long getCompleted();
+        LocalDateTime getFirstCompletedAt();
+        LocalDateTime getLastCompletedAt();
+        Double getAvgMoodDelta();
+        Double getAvgProgress();
+    }
+
+    interface BookedInterval {
+        Long getId();
+        Long getTherapeuteId();
+        LocalDateTime getScheduledAt();
+        Integer getDurationMinutes();
+    }
+
+    interface SeriesOccurrence {
+        Long getId();
+        LocalDateTime getScheduledAt();
+        Integer getDurationMinutes();
+        Seance.SeanceType getType();
+        Seance.SeanceStatus getStatus();
+    }
+
+    interface ReminderRecipient {
+        Long getSeanceId();
+        Long getUserId();
+        String getEmail();
+        String getFirstName();
+        String getTherapeuteFirstName();
+        String getTherapeuteLastName();
+        LocalDateTime getScheduledAt();
+        Integer getDurationMinutes();
+        Seance.SeanceType getType();
+        String getMeetingRoom();
+        String getVideoCallLink();
+        LocalDateTime getCreatedAt();
+    }
+}
@@ -0,0 +1,50 @@
+package com.clinassist.repository;
+
+import com.clinassist.entity.SearchTerm;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SearchTermRepository extends JpaRepository<SearchTerm, Long>, SearchTermRepositoryCustom {
+
+    /**
+     * Words starting with {@code pattern} (without its trailing %), in alphabetical order as the lookup
+     * index stores them, so a word equal to the prefix comes before the longer words it starts.
+     */
+    @Query("SELECT t.ownerId AS ownerId, t.term AS term FROM SearchTerm t " +
+           "WHERE t.ownerType = :ownerType AND t.gram = :gram AND t.term LIKE :pattern ESCAPE '\\' " +
+           "ORDER BY t.term, t.ownerId")
+    List<TermMatch> findMatches(
+            @Param("ownerType") SearchTerm.OwnerType ownerType,
+            @Param("gram") String gram,
+            @Param("pattern") String pattern,
+            Pageable pageable);
+
+    @Query("SELECT t.ownerId AS ownerId, t.term AS term FROM SearchTerm t " +
+           "WHERE t.ownerType = :ownerType AND t.gram = :gram AND t.term LIKE :pattern ESCAPE '\\' " +
+           "AND t.ownerId IN :ownerIds")
+    List<TermMatch> findMatchesAmong(
+            @Param("ownerType") SearchTerm.OwnerType ownerType,
+            @Param("gram") String gram,
+            @Param("pattern") String pattern,
+            @Param("ownerIds") Collection<Long> ownerIds);
+
+    @Query("SELECT p.id FROM Patient p WHERE NOT EXISTS (SELECT t.id FROM SearchTerm t " +
+           "WHERE t.ownerType = com.clinassist.entity.SearchTerm$OwnerType.PATIENT AND t.ownerId = p.id)")
+    List<Long> findUnindexedPatientIds();
+
+    @Query("SELECT th.id FROM Therapeute th WHERE NOT EXISTS (SELECT t.id FROM SearchTerm t " +
+           "WHERE t.ownerType = com.clinassist.entity.SearchTerm$OwnerType.THERAPEUTE AND t.ownerId = th.id)")
+    List<Long> findUnindexedTherapeuteIds();
+
+    interface TermMatch {
+        Long getOwnerId();
+        String getTerm();
+    }
+}
@@ -0,0 +1,14 @@
+package com.clinassist.repository;
+
+import com.clinassist.entity.SearchTerm;
+
+import java.util.List;
+
+public interface SearchTermRepositoryCustom {
+
+    /**
+     * Number of owners having, for each {@code grams[i]}, a word starting with {@code patterns[i]}
+     * (without its trailing %).
+     */
+    long countOwnersMatchingAll(SearchTerm.OwnerType ownerType, List<String> grams, List<String> patterns);
+}
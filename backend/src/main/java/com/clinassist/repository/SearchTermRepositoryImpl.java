@@ -0,0 +1,34 @@
+package com.clinassist.repository;
+
+import com.clinassist.entity.SearchTerm;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+
+class SearchTermRepositoryImpl implements SearchTermRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public long countOwnersMatchingAll(SearchTerm.OwnerType ownerType, List<String> grams, List<String> patterns) {
+        StringBuilder jpql = new StringBuilder("SELECT COUNT(DISTINCT t0.ownerId) FROM SearchTerm t0 ")
+                .append("WHERE t0.ownerType = :ownerType AND t0.gram = :gram0 AND t0.term LIKE :pattern0 ESCAPE '\\'");
+        // One semi-join per other word, each served by the (owner_type, gram, term) index
+        for (int i = 1; i < grams.size(); i++) {
+            jpql.append(" AND t0.ownerId IN (SELECT t").append(i).append(".ownerId FROM SearchTerm t").append(i)
+                    .append(" WHERE t").append(i).append(".ownerType = :ownerType")
+                    .append(" AND t").append(i).append(".gram = :gram").append(i)
+                    .append(" AND t").append(i).append(".term LIKE :pattern").append(i).append(" ESCAPE '\\')");
+        }
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class)
+                .setParameter("ownerType", ownerType);
+        for (int i = 0; i < grams.size(); i++) {
+            query.setParameter("gram" + i, grams.get(i));
+            query.setParameter("pattern" + i, patterns.get(i));
+        }
+        return query.getSingleResult();
+    }
+}
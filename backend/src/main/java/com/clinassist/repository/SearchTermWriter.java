@@ -0,0 +1,42 @@
+package com.clinassist.repository;
+
+import com.clinassist.entity.SearchTerm;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Replaces the search terms of a set of owners with JDBC batches; the IDENTITY ids of
+ * {@link SearchTerm} would keep Hibernate from batching the inserts.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SearchTermWriter {
+
+    private static final String DELETE_TERMS = "DELETE FROM search_terms WHERE owner_type = ? AND owner_id = ?";
+    private static final String INSERT_TERM =
+            "INSERT INTO search_terms (owner_type, owner_id, gram, term) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Deletes every term of the given owners and inserts {@code terms} in their place.
+     */
+    @Transactional
+    public void replace(SearchTerm.OwnerType ownerType, Collection<Long> ownerIds, List<SearchTerm> terms) {
+        jdbcTemplate.batchUpdate(DELETE_TERMS, ownerIds, ownerIds.size(), (ps, ownerId) -> {
+            ps.setString(1, ownerType.name());
+            ps.setLong(2, ownerId);
+        });
+        jdbcTemplate.batchUpdate(INSERT_TERM, terms, terms.size(), (ps, term) -> {
+            ps.setString(1, ownerType.name());
+            ps.setLong(2, term.getOwnerId());
+            ps.setString(3, term.getGram());
+            ps.setString(4, term.getTerm());
+        });
+    }
+}
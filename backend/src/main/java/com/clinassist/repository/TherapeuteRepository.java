@@ -1,13 +1,12 @@
 package com.clinassist.repository;
 
 import com.clinassist.entity.Therapeute;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,16 +24,45 @@ public interface TherapeuteRepository extends JpaRepository<Therapeute, Long> {
     @Query("SELECT t FROM Therapeute t WHERE :specialty MEMBER OF t.specialties")
     List<Therapeute> findBySpecialty(@Param("specialty") String specialty);
     
-    @Query("SELECT t FROM Therapeute t WHERE " +
-           "LOWER(t.user.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(t.user.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(t.specialization) LIKE LOWER(CONCAT('%', :search, '%'))")
-    Page<Therapeute> searchTherapeutes(@Param("search") String search, Pageable pageable);
+    // specialty and language are matched lowercased, and ignored when null
+    @Query("SELECT t.id FROM Therapeute t WHERE t.status = :status " +
+           "AND (:specialty IS NULL OR EXISTS (SELECT 1 FROM Therapeute ts JOIN ts.specialties s " +
+           "WHERE ts.id = t.id AND LOWER(s) = :specialty)) " +
+           "AND (:language IS NULL OR EXISTS (SELECT 1 FROM Therapeute tl JOIN tl.languages l " +
+           "WHERE tl.id = t.id AND LOWER(l) = :language))")
+    List<Long> findIdsByStatusAndSpecialtyAndLanguage(@Param("status") Therapeute.TherapeuteStatus status,
+                                                      @Param("specialty") String specialty,
+                                                      @Param("language") String language);
+    
+    @Query("SELECT t FROM Therapeute t JOIN FETCH t.user WHERE t.id IN :ids")
+    List<Therapeute> findAllWithUsersByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT t.id FROM Therapeute t WHERE t.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
     
     @Query("SELECT t FROM Therapeute t WHERE t.status = 'AVAILABLE' ORDER BY t.rating DESC")
     List<Therapeute> findAvailableTherapeutes();
     
     @Query("SELECT t FROM Therapeute t LEFT JOIN t.patients p GROUP BY t ORDER BY COUNT(p) ASC")
     List<Therapeute> findTherapeutesOrderedByPatientCount();
-}
+    
+    @Query("SELECT t.id AS id, u.firstName AS firstName, u.lastName AS lastName, u.email AS email, " +
+           "t.specialization AS specialization FROM Therapeute t JOIN t.user u")
+    List<TypeaheadFields> findAllTypeaheadFields();
+    
+    @Query("SELECT t.id AS therapeuteId, s AS specialty FROM Therapeute t JOIN t.specialties s")
+    List<Specialty> findAllSpecialties();
+
+    interface TypeaheadFields {
+        Long getId();
+        String getFirstName();
+        String getLastName();
+        String getEmail();
+        String getSpecialization();
+    }
 
+    interface Specialty {
+        Long getTherapeuteId();
+        String getSpecialty();
+    }
+}
@@ -3,10 +3,13 @@ package com.clinassist.repository;
 import com.clinassist.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -17,9 +20,25 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Optional<User> findByUsernameOrEmail(String username, String email);
     
+    @Query("SELECT u.isActive FROM User u WHERE u.username = :username")
+    Optional<Boolean> findIsActiveByUsername(@Param("username") String username);
+    
     Boolean existsByUsername(String username);
     
     Boolean existsByEmail(String email);
+
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findUsernamesIn(@Param("usernames") Collection<String> usernames);
+
+    // prefix must have its LIKE wildcards escaped with '!'
+    @Query("SELECT u.username FROM User u WHERE u.username LIKE CONCAT(:prefix, '%') ESCAPE '!'")
+    List<String> findUsernamesStartingWith(@Param("prefix") String prefix);
+
+    @Query("SELECT u.username FROM User u")
+    Stream<String> streamAllUsernames();
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findEmailsIn(@Param("emails") Collection<String> emails);
     
     Optional<User> findByVerificationToken(String token);
     
@@ -0,0 +1,19 @@
+package com.clinassist.repository;
+
+import com.clinassist.entity.UsernameCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UsernameCounterRepository extends JpaRepository<UsernameCounter, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM UsernameCounter c WHERE c.base = :base")
+    Optional<UsernameCounter> findForUpdate(@Param("base") String base);
+}
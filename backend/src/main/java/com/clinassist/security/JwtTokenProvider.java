@@ -1,5 +1,9 @@
 package com.clinassist.security;
 
+import com.clinassist.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -9,11 +13,21 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -23,53 +37,122 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-expiration}")
     private Long refreshExpiration;
 
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize = 10_000;
+
+    // Derived from the injected secret on first use
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
+
+    // Verified claims keyed by the SHA-256 of the token, evicted when the token expires
+    private volatile Cache<String, Claims> claimsCache;
+
     private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser jwtParser = parser;
+        if (jwtParser == null) {
+            jwtParser = Jwts.parser().verifyWith(getSigningKey()).build();
+            parser = jwtParser;
+        }
+        return jwtParser;
+    }
+
+    private Cache<String, Claims> getClaimsCache() {
+        Cache<String, Claims> cache = claimsCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = claimsCache;
+                if (cache == null) {
+                    cache = Caffeine.newBuilder()
+                            .maximumSize(claimsCacheMaxSize)
+                            .expireAfter(new TokenExpiry())
+                            .build();
+                    claimsCache = cache;
+                }
+            }
+        }
+        return cache;
     }
 
     public String generateAccessToken(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return generateToken(userDetails.getUsername(), jwtExpiration);
+        return generateToken(userDetails.getUsername(), Map.of(), jwtExpiration);
     }
 
     public String generateAccessToken(String username) {
-        return generateToken(username, jwtExpiration);
+        return generateToken(username, Map.of(), jwtExpiration);
+    }
+
+    /**
+     * Access token carrying the user id and role, so that requests can be
+     * authenticated from the token alone.
+     */
+    public String generateAccessToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_ROLE, user.getRole().name());
+        if (user.getId() != null) {
+            claims.put(CLAIM_USER_ID, user.getId());
+        }
+        return generateToken(user.getUsername(), claims, jwtExpiration);
     }
 
     public String generateRefreshToken(String username) {
-        return generateToken(username, refreshExpiration);
+        return generateToken(username, Map.of(), refreshExpiration);
     }
 
-    private String generateToken(String subject, Long expiration) {
+    private String generateToken(String subject, Map<String, Object> claims, Long expiration) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
         return Jwts.builder()
                 .subject(subject)
+                .claims(claims)
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(getSigningKey())
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verifies the token and returns its claims in a single parse.
+     * Tokens that were already verified are served from a cache until they expire.
+     *
+     * @throws JwtException if the token is malformed, expired, unsupported or badly signed
+     */
+    public Claims parseClaims(String token) {
+        if (token == null || token.isBlank()) {
+            throw new JwtException("JWT claims string is empty");
+        }
+        String key = hash(token);
+        Claims cached = getClaimsCache().getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = verify(token);
+        getClaimsCache().put(key, claims);
+        return claims;
+    }
 
-        return claims.getSubject();
+    public String getUsernameFromToken(String token) {
+        return parseClaims(token).getSubject();
     }
 
     public boolean validateToken(String token) {
+        parseClaims(token);
+        return true;
+    }
+
+    private Claims verify(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return getParser().parseSignedClaims(token).getPayload();
         } catch (MalformedJwtException ex) {
             throw new JwtException("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
@@ -84,5 +167,37 @@ public class JwtTokenProvider {
     public Long getExpirationTime() {
         return jwtExpiration;
     }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
 
@@ -0,0 +1,35 @@
+package com.clinassist.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collections;
+
+/**
+ * Authenticated user rebuilt from the claims of a verified access token,
+ * without loading the user from the database.
+ */
+@Getter
+public class UserPrincipal extends User {
+
+    private final Long id;
+
+    public UserPrincipal(Long id, String username, String role) {
+        super(username, "", Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
+        this.id = id;
+    }
+
+    /**
+     * Returns null when the token does not carry a role claim (tokens issued by username only).
+     */
+    public static UserPrincipal fromClaims(Claims claims) {
+        String role = claims.get(JwtTokenProvider.CLAIM_ROLE, String.class);
+        if (role == null) {
+            return null;
+        }
+        Number id = claims.get(JwtTokenProvider.CLAIM_USER_ID, Number.class);
+        return new UserPrincipal(id != null ? id.longValue() : null, claims.getSubject(), role);
+    }
+}
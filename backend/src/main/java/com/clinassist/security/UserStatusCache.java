@@ -0,0 +1,41 @@
+package com.clinassist.security;
+
+import com.clinassist.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded cache of the active flag of users authenticated by token.
+ * A user deactivated in the database is rejected at most {@code ttl} later,
+ * while active users cost one lightweight query per window instead of one per request.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.user-status-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, Boolean> activeByUsername;
+
+    public UserStatusCache(UserRepository userRepository,
+                           @Value("${jwt.user-status-cache.ttl:60s}") Duration ttl,
+                           @Value("${jwt.user-status-cache.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.activeByUsername = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public boolean isActive(String username) {
+        return activeByUsername.get(username, this::loadActive);
+    }
+
+    private boolean loadActive(String username) {
+        return userRepository.findIsActiveByUsername(username).orElse(false);
+    }
+}
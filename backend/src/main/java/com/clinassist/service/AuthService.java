@@ -6,21 +6,24 @@ import com.clinassist.dto.auth.RegisterRequest;
 import com.clinassist.entity.Patient;
 import com.clinassist.entity.Therapeute;
 import com.clinassist.entity.User;
+import com.clinassist.event.PatientChangedEvent;
 import com.clinassist.exception.BadRequestException;
 import com.clinassist.exception.ResourceNotFoundException;
 import com.clinassist.repository.PatientRepository;
 import com.clinassist.repository.TherapeuteRepository;
 import com.clinassist.repository.UserRepository;
 import com.clinassist.security.JwtTokenProvider;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -32,6 +35,10 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
+    private final SearchIndex searchIndex;
+    private final TypeaheadIndex typeaheadIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UsernameAllocator usernameAllocator;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -59,6 +66,7 @@ public class AuthService {
                 .build();
 
         user = userRepository.save(user);
+        usernameAllocator.markTaken(List.of(user.getUsername()));
 
         // Create associated entity based on role
         if (request.getRole() == User.Role.PATIENT) {
@@ -67,23 +75,28 @@ public class AuthService {
                     .status(Patient.PatientStatus.ACTIVE)
                     .build();
             patientRepository.save(patient);
+            searchIndex.indexPatient(patient);
+            typeaheadIndex.update(patient);
+            eventPublisher.publishEvent(new PatientChangedEvent(patient.getId(), null, patient.getStatus()));
         } else if (request.getRole() == User.Role.THERAPEUTE) {
             Therapeute therapeute = Therapeute.builder()
                     .user(user)
                     .status(Therapeute.TherapeuteStatus.AVAILABLE)
                     .build();
             therapeuteRepository.save(therapeute);
+            searchIndex.indexTherapeute(therapeute);
+            typeaheadIndex.update(therapeute);
         }
 
         // Generate tokens
-        String accessToken = tokenProvider.generateAccessToken(user.getUsername());
+        String accessToken = tokenProvider.generateAccessToken(user);
         String refreshToken = tokenProvider.generateRefreshToken(user.getUsername());
 
         return buildAuthResponse(user, accessToken, refreshToken);
     }
 
     public AuthResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
+        authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getUsernameOrEmail(),
                         request.getPassword()
@@ -99,22 +112,24 @@ public class AuthService {
         user.setLastLoginAt(LocalDateTime.now());
         userRepository.save(user);
 
-        String accessToken = tokenProvider.generateAccessToken(authentication);
+        String accessToken = tokenProvider.generateAccessToken(user);
         String refreshToken = tokenProvider.generateRefreshToken(user.getUsername());
 
         return buildAuthResponse(user, accessToken, refreshToken);
     }
 
     public AuthResponse refreshToken(String refreshToken) {
-        if (!tokenProvider.validateToken(refreshToken)) {
+        String username;
+        try {
+            username = tokenProvider.parseClaims(refreshToken).getSubject();
+        } catch (JwtException ex) {
             throw new BadRequestException("Invalid refresh token");
         }
 
-        String username = tokenProvider.getUsernameFromToken(refreshToken);
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        String newAccessToken = tokenProvider.generateAccessToken(username);
+        String newAccessToken = tokenProvider.generateAccessToken(user);
         String newRefreshToken = tokenProvider.generateRefreshToken(username);
 
         return buildAuthResponse(user, newAccessToken, newRefreshToken);
@@ -0,0 +1,447 @@
+package com.clinassist.service;
+
+import com.clinassist.dto.AvailableSlotDTO;
+import com.clinassist.entity.DisponibiliteSlot;
+import com.clinassist.entity.Seance;
+import com.clinassist.exception.BadRequestException;
+import com.clinassist.repository.DisponibiliteSlotRepository;
+import com.clinassist.repository.SeanceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Free slots of each therapeute: its weekly {@link DisponibiliteSlot} rules cut into slots of
+ * {@code slotDurationMinutes}, minus its booked seances, answered without a database round-trip.
+ * <p>
+ * A day is split into 96 buckets of 15 minutes, so any set of buckets fits in two longs. The rules
+ * of a therapeute are compiled into a weekly template holding, for each day of the week, the bucket
+ * mask of every candidate slot and the mask of the buckets blocked by unavailable rules. Booked
+ * seances are kept as one bucket mask per therapeute and day, so checking a candidate slot is two
+ * ANDs. A seance covering part of a bucket makes the whole bucket busy.
+ * <p>
+ * Rules are loaded on startup, and bookings from yesterday on. Like {@link SeanceConflictIndex},
+ * booking changes are applied once the surrounding transaction has committed, and seances written
+ * while the index is warming keep their live state. Days before yesterday are dropped as bookings change.
+ */
+@Slf4j
+@Component
+public class AvailabilityIndex {
+
+    static final int BUCKET_MINUTES = 15;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int DEFAULT_DURATION_MINUTES = 60;
+
+    // Earliest slot first, then lowest therapeute id for a stable order
+    private static final Comparator<Head> HEAD_ORDER = Comparator
+            .comparing((Head head) -> head.slot().getStartAt())
+            .thenComparing(head -> head.slot().getTherapeuteId());
+
+    private final DisponibiliteSlotRepository disponibiliteSlotRepository;
+    private final SeanceRepository seanceRepository;
+    private final int maxDays;
+
+    private final Map<Long, WeeklyTemplate> templates = new ConcurrentHashMap<>();
+    private final Map<Long, BookedDays> bookings = new ConcurrentHashMap<>();
+
+    // Seances updated since the warm-up started, null outside of a warm-up; guarded by warmUpLock
+    private final Object warmUpLock = new Object();
+    private Set<Long> updatedWhileWarming;
+
+    public AvailabilityIndex(DisponibiliteSlotRepository disponibiliteSlotRepository,
+                             SeanceRepository seanceRepository,
+                             @Value("${app.scheduling.availability.max-days:62}") int maxDays) {
+        this.disponibiliteSlotRepository = disponibiliteSlotRepository;
+        this.seanceRepository = seanceRepository;
+        this.maxDays = maxDays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Map<Long, List<DisponibiliteSlot>> rules = disponibiliteSlotRepository.findAll().stream()
+                .collect(Collectors.groupingBy(rule -> rule.getTherapeute().getId()));
+        rules.forEach((therapeuteId, therapeuteRules) -> templates.put(therapeuteId, WeeklyTemplate.of(therapeuteRules)));
+        synchronized (warmUpLock) {
+            updatedWhileWarming = new HashSet<>();
+        }
+        // Seances starting the day before may run past midnight
+        List<SeanceRepository.BookedInterval> intervals =
+                seanceRepository.findBookedIntervalsFrom(LocalDate.now().minusDays(1).atStartOfDay());
+        synchronized (warmUpLock) {
+            // Rows written while loading were applied already and are newer than the query results
+            for (SeanceRepository.BookedInterval interval : intervals) {
+                if (!updatedWhileWarming.contains(interval.getId())) {
+                    apply(interval.getId(), interval.getTherapeuteId(), interval.getScheduledAt(),
+                            durationOf(interval.getDurationMinutes()), true);
+                }
+            }
+            updatedWhileWarming = null;
+        }
+        log.info("Availability index warmed with rules of {} therapeutes and {} booked seances",
+                templates.size(), intervals.size());
+    }
+
+    /**
+     * Free slots of a therapeute from {@code from} to {@code to} inclusive, in chronological order,
+     * leaving out slots that have already started.
+     */
+    public List<AvailableSlotDTO> findFreeSlots(Long therapeuteId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        FreeSlots free = freeSlots(therapeuteId, from, to, LocalDateTime.now());
+        List<AvailableSlotDTO> slots = new ArrayList<>();
+        for (AvailableSlotDTO slot = free.next(); slot != null; slot = free.next()) {
+            slots.add(slot);
+        }
+        return slots;
+    }
+
+    /**
+     * The {@code limit} earliest free slots across several therapeutes, from {@code from} to
+     * {@code to} inclusive. The free slots of each therapeute are produced lazily in chronological
+     * order and merged through a priority queue holding the next slot of each, so only the slots up
+     * to the last one returned are ever computed.
+     */
+    public List<AvailableSlotDTO> findFirstFreeSlots(Collection<Long> therapeuteIds, LocalDate from, LocalDate to,
+                                                     int limit) {
+        validateRange(from, to);
+        LocalDateTime now = LocalDateTime.now();
+        PriorityQueue<Head> heads = new PriorityQueue<>(therapeuteIds.size() + 1, HEAD_ORDER);
+        for (Long therapeuteId : therapeuteIds) {
+            FreeSlots free = freeSlots(therapeuteId, from, to, now);
+            AvailableSlotDTO first = free.next();
+            if (first != null) {
+                heads.add(new Head(first, free));
+            }
+        }
+        List<AvailableSlotDTO> slots = new ArrayList<>(limit);
+        while (slots.size() < limit && !heads.isEmpty()) {
+            Head head = heads.poll();
+            slots.add(head.slot());
+            AvailableSlotDTO next = head.free().next();
+            if (next != null) {
+                heads.add(new Head(next, head.free()));
+            }
+        }
+        return slots;
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("Availability start must not be after end");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new BadRequestException("Availability range is limited to " + maxDays + " days");
+        }
+    }
+
+    private FreeSlots freeSlots(Long therapeuteId, LocalDate from, LocalDate to, LocalDateTime now) {
+        return new FreeSlots(therapeuteId, templates.getOrDefault(therapeuteId, WeeklyTemplate.EMPTY),
+                bookings.get(therapeuteId), from, to, now);
+    }
+
+    /**
+     * Records the current state of a seance: its buckets are busy while the seance still occupies
+     * the slot, and freed once it is cancelled.
+     */
+    public void update(Seance seance) {
+        Long id = seance.getId();
+        Long therapeuteId = seance.getTherapeute().getId();
+        LocalDateTime start = seance.getScheduledAt();
+        int duration = durationOf(seance.getDurationMinutes());
+        boolean booked = seance.getStatus() != Seance.SeanceStatus.CANCELLED;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyUpdate(id, therapeuteId, start, duration, booked);
+                }
+            });
+        } else {
+            applyUpdate(id, therapeuteId, start, duration, booked);
+        }
+    }
+
+    private void applyUpdate(Long id, Long therapeuteId, LocalDateTime start, int duration, boolean booked) {
+        synchronized (warmUpLock) {
+            if (updatedWhileWarming != null) {
+                updatedWhileWarming.add(id);
+            }
+            apply(id, therapeuteId, start, duration, booked);
+        }
+    }
+
+    private void apply(Long id, Long therapeuteId, LocalDateTime start, int duration, boolean booked) {
+        BookedDays days = bookings.computeIfAbsent(therapeuteId, k -> new BookedDays());
+        // Same window as the warm-up: seances starting yesterday may still run today
+        days.evictBefore(LocalDate.now().minusDays(1));
+        if (booked) {
+            days.put(id, start, duration);
+        } else {
+            days.remove(id);
+        }
+    }
+
+    private static int durationOf(Integer durationMinutes) {
+        return durationMinutes != null ? durationMinutes : DEFAULT_DURATION_MINUTES;
+    }
+
+    // Sets the buckets overlapping [fromSecond, toSecond) of a day
+    private static void setBuckets(long[] mask, long fromSecond, long toSecond) {
+        int first = (int) (fromSecond / (BUCKET_MINUTES * 60));
+        int end = (int) ((toSecond + BUCKET_MINUTES * 60 - 1) / (BUCKET_MINUTES * 60));
+        for (int bucket = first; bucket < end; bucket++) {
+            mask[bucket >>> 6] |= 1L << bucket;
+        }
+    }
+
+    /**
+     * Candidate slots of one day of the week: start minute, duration and bucket mask (two longs)
+     * of each, ordered by start, and the buckets no slot may use.
+     */
+    private record TemplateDay(int[] starts, int[] durations, long[] masks, long[] blocked) {
+    }
+
+    private record WeeklyTemplate(TemplateDay[] days) {
+
+        static final WeeklyTemplate EMPTY = of(List.of());
+
+        static WeeklyTemplate of(List<DisponibiliteSlot> rules) {
+            List<List<int[]>> slots = new ArrayList<>();
+            long[][] blocked = new long[7][2];
+            for (int i = 0; i < 7; i++) {
+                slots.add(new ArrayList<>());
+            }
+            for (DisponibiliteSlot rule : rules) {
+                if (rule.getDayOfWeek() == null || rule.getStartTime() == null || rule.getEndTime() == null) {
+                    continue;
+                }
+                int day = rule.getDayOfWeek().getValue() - 1;
+                int start = rule.getStartTime().toSecondOfDay() / 60;
+                int end = rule.getEndTime().equals(LocalTime.MIDNIGHT)
+                        ? MINUTES_PER_DAY : rule.getEndTime().toSecondOfDay() / 60;
+                if (end <= start) {
+                    continue;
+                }
+                if (Boolean.FALSE.equals(rule.getIsAvailable())) {
+                    setBuckets(blocked[day], start * 60L, end * 60L);
+                    continue;
+                }
+                Integer slotMinutes = rule.getSlotDurationMinutes();
+                int duration = slotMinutes != null && slotMinutes > 0 ? slotMinutes : DEFAULT_DURATION_MINUTES;
+                for (int slot = start; slot + duration <= end; slot += duration) {
+                    slots.get(day).add(new int[]{slot, duration});
+                }
+            }
+
+            TemplateDay[] days = new TemplateDay[7];
+            for (int day = 0; day < 7; day++) {
+                // Overlapping rules may offer the same slot twice
+                List<int[]> daySlots = slots.get(day).stream()
+                        .sorted(Comparator.<int[]>comparingInt(slot -> slot[0]).thenComparingInt(slot -> slot[1]))
+                        .toList();
+                int[] starts = new int[daySlots.size()];
+                int[] durations = new int[daySlots.size()];
+                long[] masks = new long[2 * daySlots.size()];
+                int count = 0;
+                for (int[] slot : daySlots) {
+                    if (count > 0 && starts[count - 1] == slot[0] && durations[count - 1] == slot[1]) {
+                        continue;
+                    }
+                    starts[count] = slot[0];
+                    durations[count] = slot[1];
+                    long[] mask = new long[2];
+                    setBuckets(mask, slot[0] * 60L, (slot[0] + slot[1]) * 60L);
+                    masks[2 * count] = mask[0];
+                    masks[2 * count + 1] = mask[1];
+                    count++;
+                }
+                days[day] = new TemplateDay(Arrays.copyOf(starts, count),
+                        Arrays.copyOf(durations, count), Arrays.copyOf(masks, 2 * count),
+                        blocked[day]);
+            }
+            return new WeeklyTemplate(days);
+        }
+    }
+
+    /**
+     * Free slots of one therapeute in chronological order, computed one day at a time as they are read.
+     */
+    private static final class FreeSlots {
+
+        private final Long therapeuteId;
+        private final WeeklyTemplate template;
+        private final BookedDays booked;
+        private final LocalDate to;
+        private final LocalDateTime now;
+        private final long[] busy = new long[2];
+        private LocalDate date;
+        private TemplateDay day;
+        private int index;
+
+        FreeSlots(Long therapeuteId, WeeklyTemplate template, BookedDays booked, LocalDate from, LocalDate to,
+                  LocalDateTime now) {
+            this.therapeuteId = therapeuteId;
+            this.template = template;
+            this.booked = booked;
+            this.date = from;
+            this.to = to;
+            this.now = now;
+        }
+
+        // Returns null once the range is exhausted
+        AvailableSlotDTO next() {
+            while (true) {
+                if (day == null) {
+                    if (date.isAfter(to)) {
+                        return null;
+                    }
+                    day = template.days()[date.getDayOfWeek().getValue() - 1];
+                    index = 0;
+                    busy[0] = day.blocked()[0];
+                    busy[1] = day.blocked()[1];
+                    if (booked != null && day.starts().length > 0) {
+                        booked.addBusy(date, busy);
+                    }
+                }
+                while (index < day.starts().length) {
+                    int slot = index++;
+                    if ((day.masks()[2 * slot] & busy[0]) != 0 || (day.masks()[2 * slot + 1] & busy[1]) != 0) {
+                        continue;
+                    }
+                    LocalDateTime start = date.atStartOfDay().plusMinutes(day.starts()[slot]);
+                    if (start.isAfter(now)) {
+                        return AvailableSlotDTO.builder()
+                                .therapeuteId(therapeuteId)
+                                .startAt(start)
+                                .endAt(start.plusMinutes(day.durations()[slot]))
+                                .durationMinutes(day.durations()[slot])
+                                .build();
+                    }
+                }
+                day = null;
+                date = date.plusDays(1);
+            }
+        }
+    }
+
+    private record Head(AvailableSlotDTO slot, FreeSlots free) {
+    }
+
+    /**
+     * Busy buckets of one therapeute per day, with the mask each seance contributes so that
+     * a day can be recomputed when one of its seances moves or is cancelled.
+     */
+    private static final class BookedDays {
+
+        private final NavigableMap<LocalDate, BookedDay> days = new TreeMap<>();
+        private final Map<Long, LocalDateTime[]> intervalsBySeance = new HashMap<>();
+
+        synchronized void put(Long seanceId, LocalDateTime start, int durationMinutes) {
+            remove(seanceId);
+            if (durationMinutes <= 0) {
+                return;
+            }
+            LocalDateTime end = start.plusMinutes(durationMinutes);
+            intervalsBySeance.put(seanceId, new LocalDateTime[]{start, end});
+            for (LocalDate date = start.toLocalDate(); date.atStartOfDay().isBefore(end); date = date.plusDays(1)) {
+                LocalDateTime dayStart = date.atStartOfDay();
+                long from = Math.max(0, Duration.between(dayStart, start).getSeconds());
+                long to = Math.min(MINUTES_PER_DAY * 60L, Duration.between(dayStart, end).getSeconds());
+                long[] mask = new long[2];
+                setBuckets(mask, from, to);
+                days.computeIfAbsent(date, k -> new BookedDay()).put(seanceId, mask);
+            }
+        }
+
+        synchronized void remove(Long seanceId) {
+            LocalDateTime[] interval = intervalsBySeance.remove(seanceId);
+            if (interval == null) {
+                return;
+            }
+            for (LocalDate date = interval[0].toLocalDate(); date.atStartOfDay().isBefore(interval[1]);
+                 date = date.plusDays(1)) {
+                BookedDay day = days.get(date);
+                if (day != null && day.remove(seanceId)) {
+                    days.remove(date);
+                }
+            }
+        }
+
+        // Drops the days before {@code date} and the seances that ended before it
+        synchronized void evictBefore(LocalDate date) {
+            Map<LocalDate, BookedDay> past = days.headMap(date, false);
+            if (past.isEmpty()) {
+                return;
+            }
+            LocalDateTime cutoff = date.atStartOfDay();
+            for (BookedDay day : past.values()) {
+                for (Long seanceId : day.masksBySeance.keySet()) {
+                    LocalDateTime[] interval = intervalsBySeance.get(seanceId);
+                    if (interval != null && !interval[1].isAfter(cutoff)) {
+                        intervalsBySeance.remove(seanceId);
+                    }
+                }
+            }
+            past.clear();
+        }
+
+        synchronized void addBusy(LocalDate date, long[] busy) {
+            BookedDay day = days.get(date);
+            if (day != null) {
+                busy[0] |= day.busy[0];
+                busy[1] |= day.busy[1];
+            }
+        }
+    }
+
+    private static final class BookedDay {
+
+        private final Map<Long, long[]> masksBySeance = new HashMap<>(4);
+        private final long[] busy = new long[2];
+
+        void put(Long seanceId, long[] mask) {
+            masksBySeance.put(seanceId, mask);
+            busy[0] |= mask[0];
+            busy[1] |= mask[1];
+        }
+
+        // Returns true once no seance is left on the day
+        boolean remove(Long seanceId) {
+            if (masksBySeance.remove(seanceId) != null) {
+                busy[0] = 0;
+                busy[1] = 0;
+                for (long[] mask : masksBySeance.values()) {
+                    busy[0] |= mask[0];
+                    busy[1] |= mask[1];
+                }
+            }
+            return masksBySeance.isEmpty();
+        }
+    }
+}
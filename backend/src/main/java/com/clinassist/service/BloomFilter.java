@@ -0,0 +1,86 @@
+package com.clinassist.service;
+
+/**
+ * Fixed-size bloom filter of strings. {@link #mightContain} never misses a string that was put,
+ * and wrongly answers true for about {@code falsePositiveRate} of the others while no more than
+ * {@code expectedInsertions} strings were put.
+ * <p>
+ * Each string is hashed once to 64 bits; its {@code k} bit positions are derived from two halves
+ * of that hash (Kirsch-Mitzenmacher double hashing).
+ */
+final class BloomFilter {
+
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid bloom filter sizing");
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.words = new long[(int) Math.max(1, (bits + 63) / 64)];
+        this.bitCount = words.length * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+    }
+
+    /**
+     * Adds the string and tells whether it was definitely absent before.
+     */
+    synchronized boolean put(String value) {
+        long hash = hash(value);
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = bit(hash, i);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words[word] & mask) == 0) {
+                words[word] |= mask;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    synchronized boolean mightContain(String value) {
+        long hash = hash(value);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = bit(hash, i);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    private long bit(long hash, int i) {
+        int low = (int) hash;
+        int high = (int) (hash >>> 32);
+        long combined = (low + (long) i * high) & Long.MAX_VALUE;
+        return combined % bitCount;
+    }
+
+    // FNV-1a over the chars, then the MurmurHash3 finalizer to spread the bits
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
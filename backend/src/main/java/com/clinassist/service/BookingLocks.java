@@ -0,0 +1,60 @@
+package com.clinassist.service;
+
+import com.clinassist.exception.ConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes the bookings of each therapeute without a global lock.
+ * <p>
+ * Therapeute ids are hashed onto a fixed number of lock stripes, so bookings for different
+ * therapeutes rarely wait on each other. A booking holds its stripe from the conflict check until
+ * its transaction completes, by which time {@link SeanceConflictIndex} already holds the new
+ * interval, so the next booking for that therapeute sees it. Like the conflict index, the locks are
+ * local to this instance.
+ */
+@Component
+public class BookingLocks {
+
+    private final ReentrantLock[] stripes;
+    private final Duration timeout;
+
+    public BookingLocks(@Value("${app.scheduling.booking-locks.stripes:64}") int stripes,
+                        @Value("${app.scheduling.booking-locks.timeout:5s}") Duration timeout) {
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.timeout = timeout;
+    }
+
+    /**
+     * Locks the stripe of a therapeute until the current transaction commits or rolls back.
+     */
+    public void lockUntilCompletion(Long therapeuteId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Booking locks are released with the transaction, none is active");
+        }
+        ReentrantLock lock = stripes[Math.floorMod(Long.hashCode(therapeuteId), stripes.length)];
+        try {
+            if (!lock.tryLock(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new ConflictException("Too many concurrent bookings for this therapeute, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Booking interrupted, please retry");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+}
@@ -0,0 +1,293 @@
+package com.clinassist.service;
+
+import com.clinassist.entity.DashboardCounter;
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Seance;
+import com.clinassist.event.PatientChangedEvent;
+import com.clinassist.event.SeanceChangedEvent;
+import com.clinassist.repository.DashboardCounterRepository;
+import com.clinassist.repository.DashboardStatsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Materialized dashboard counts, maintained incrementally from the seance and patient domain events:
+ * patients per status, seances per type, and seances per day (total and per status) from
+ * {@value #WINDOW_DAYS} days back onwards, which covers the month-to-date completion rate and the
+ * 7-day trend. Reads are a map lookup.
+ * <p>
+ * Counts are held in {@link LongAdder}s so concurrent writers never contend, and changed counts are
+ * flushed to the {@code dashboard_counters} table in the background. On startup the counts are served
+ * from that table while they are recomputed. A lost or duplicated event makes the counts drift, so they
+ * are periodically recomputed from the source tables; this also slides the day window forward. Events
+ * applied while the source tables are read are buffered and replayed onto the recomputed counts.
+ */
+@Slf4j
+@Component
+public class DashboardCounters {
+
+    static final int WINDOW_DAYS = 40;
+
+    private static final String METRIC_PREFIX = "dashboard.counters.";
+    private static final String DAY_PREFIX = "seances.day.";
+
+    private final DashboardStatsRepository statsRepository;
+    private final DashboardCounterRepository counterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    // Held shared by updates, exclusively to swap the counts
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final Counter driftCounter;
+    private final Timer reconcileTimer;
+
+    private volatile Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    // Days before the window are not counted; changes to them are ignored
+    private volatile LocalDate windowStart = LocalDate.now().minusDays(WINDOW_DAYS);
+    // Changes applied during a reconciliation, null otherwise
+    private Map<String, LongAdder> pendingDeltas;
+
+    public DashboardCounters(DashboardStatsRepository statsRepository,
+                             DashboardCounterRepository counterRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.statsRepository = statsRepository;
+        this.counterRepository = counterRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.driftCounter = Counter.builder(METRIC_PREFIX + "drift")
+                .description("Sum of the absolute corrections applied by reconciliation")
+                .register(meterRegistry);
+        this.reconcileTimer = Timer.builder(METRIC_PREFIX + "reconcile")
+                .description("Time to recompute the dashboard counters from the source tables")
+                .register(meterRegistry);
+    }
+
+    public long patients(Patient.PatientStatus status) {
+        return get(patientKey(status));
+    }
+
+    public long seances(Seance.SeanceType type) {
+        return get(typeKey(type));
+    }
+
+    public long seancesOn(LocalDate day) {
+        return get(dayKey(day));
+    }
+
+    public long seancesOn(LocalDate day, Seance.SeanceStatus status) {
+        return get(dayKey(day) + "." + status.name());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientChangedEvent event) {
+        if (event.previousStatus() != null) {
+            add(patientKey(event.previousStatus()), -1);
+        }
+        if (event.status() != null) {
+            add(patientKey(event.status()), 1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeanceChanged(SeanceChangedEvent event) {
+        if (event.previousStatus() == null && event.previousScheduledAt() == null) {
+            if (event.type() != null) {
+                add(typeKey(event.type()), 1);
+            }
+        } else {
+            addDay(event.previousScheduledAt(), event.previousStatus(), -1);
+        }
+        addDay(event.scheduledAt(), event.status(), 1);
+    }
+
+    /**
+     * Writes the counts changed since the last flush to {@code dashboard_counters}.
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.counters.flush-interval-ms:10000}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<DashboardCounter> rows = new ArrayList<>();
+        for (Iterator<String> keys = dirty.iterator(); keys.hasNext(); ) {
+            String key = keys.next();
+            // Removed before reading, so a concurrent update marks the key dirty again
+            keys.remove();
+            rows.add(DashboardCounter.builder().key(key).value(get(key)).build());
+        }
+        counterRepository.saveAll(rows);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Map<String, LongAdder> stored = new ConcurrentHashMap<>();
+        for (DashboardCounter row : counterRepository.findAll()) {
+            adder(stored, row.getKey()).add(row.getValue());
+        }
+        swap(() -> counters = stored);
+        reconcile();
+    }
+
+    /**
+     * Recomputes every count from the source tables, replaces the in-memory counts and rewrites
+     * the {@code dashboard_counters} table. Changes applied meanwhile are added to the new counts; one
+     * committed just before the source tables are read may be counted twice until the next run.
+     */
+    @Scheduled(cron = "${app.dashboard.counters.reconcile-cron:0 */15 * * * *}")
+    public void reconcile() {
+        reconcileTimer.record(() -> {
+            LocalDate start = LocalDate.now().minusDays(WINDOW_DAYS);
+            swap(() -> pendingDeltas = new ConcurrentHashMap<>());
+            Map<String, LongAdder> fresh;
+            try {
+                fresh = countSources(start);
+            } catch (RuntimeException e) {
+                swap(() -> pendingDeltas = null);
+                throw e;
+            }
+
+            long[] drift = {0};
+            swap(() -> {
+                pendingDeltas.forEach((key, delta) -> {
+                    // Same window rule as addDay for days the window just left
+                    if (!key.startsWith(DAY_PREFIX) || key.compareTo(dayKey(start)) >= 0) {
+                        adder(fresh, key).add(delta.sum());
+                    }
+                });
+                pendingDeltas = null;
+                drift[0] = drift(counters, fresh, dayKey(start));
+                windowStart = start;
+                counters = fresh;
+                dirty.clear();
+            });
+
+            List<DashboardCounter> rows = new ArrayList<>(fresh.size());
+            fresh.forEach((key, value) -> rows.add(DashboardCounter.builder().key(key).value(value.sum()).build()));
+            transactionTemplate.executeWithoutResult(status -> {
+                counterRepository.deleteAllInBatch();
+                counterRepository.saveAll(rows);
+            });
+
+            driftCounter.increment(drift[0]);
+            if (drift[0] > 0) {
+                log.info("Dashboard counters reconciled, corrected a drift of {}", drift[0]);
+            }
+        });
+    }
+
+    private Map<String, LongAdder> countSources(LocalDate start) {
+        Map<String, LongAdder> fresh = new ConcurrentHashMap<>();
+        for (DashboardStatsRepository.PatientStatusCount row : statsRepository.countPatientsByStatus()) {
+            if (row.getStatus() != null) {
+                adder(fresh, patientKey(row.getStatus())).add(row.getCount());
+            }
+        }
+        for (DashboardStatsRepository.SeanceTypeCount row : statsRepository.countSeancesByType()) {
+            if (row.getType() != null) {
+                adder(fresh, typeKey(row.getType())).add(row.getCount());
+            }
+        }
+        for (DashboardStatsRepository.DailyStatusCount row :
+                statsRepository.countSeancesPerDayAndStatusFrom(start.atStartOfDay())) {
+            adder(fresh, dayKey(row.getDay())).add(row.getCount());
+            if (row.getStatus() != null) {
+                adder(fresh, dayKey(row.getDay()) + "." + row.getStatus().name()).add(row.getCount());
+            }
+        }
+        return fresh;
+    }
+
+    private long get(String key) {
+        LongAdder adder = counters.get(key);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    private void add(String key, long delta) {
+        Lock lock = swapLock.readLock();
+        lock.lock();
+        try {
+            adder(counters, key).add(delta);
+            if (pendingDeltas != null) {
+                adder(pendingDeltas, key).add(delta);
+            }
+            dirty.add(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void swap(Runnable change) {
+        Lock lock = swapLock.writeLock();
+        lock.lock();
+        try {
+            change.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void addDay(LocalDateTime scheduledAt, Seance.SeanceStatus status, long delta) {
+        if (scheduledAt == null || scheduledAt.toLocalDate().isBefore(windowStart)) {
+            return;
+        }
+        String dayKey = dayKey(scheduledAt.toLocalDate());
+        add(dayKey, delta);
+        if (status != null) {
+            add(dayKey + "." + status.name(), delta);
+        }
+    }
+
+    private static LongAdder adder(Map<String, LongAdder> counters, String key) {
+        return counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private static long drift(Map<String, LongAdder> current, Map<String, LongAdder> fresh, String firstDayKey) {
+        Set<String> keys = new HashSet<>(current.keySet());
+        keys.addAll(fresh.keySet());
+        long drift = 0;
+        for (String key : keys) {
+            // Days that left the window are dropped, not corrected (ISO dates sort lexically)
+            if (key.startsWith(DAY_PREFIX) && key.compareTo(firstDayKey) < 0) {
+                continue;
+            }
+            LongAdder before = current.get(key);
+            LongAdder after = fresh.get(key);
+            drift += Math.abs((before != null ? before.sum() : 0) - (after != null ? after.sum() : 0));
+        }
+        return drift;
+    }
+
+    private static String patientKey(Patient.PatientStatus status) {
+        return "patients.status." + status.name();
+    }
+
+    private static String typeKey(Seance.SeanceType type) {
+        return "seances.type." + type.name();
+    }
+
+    private static String dayKey(LocalDate day) {
+        return DAY_PREFIX + day;
+    }
+}
@@ -13,10 +13,10 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -24,84 +24,105 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class DashboardService {
 
-    private final PatientRepository patientRepository;
-    private final TherapeuteRepository therapeuteRepository;
+    private static final int HIGH_RISK_THRESHOLD = 70;
+    private static final int TREND_DAYS = 7;
+    private static final Map<DayOfWeek, String> FRENCH_DAYS = Map.of(
+            DayOfWeek.MONDAY, "Lun", DayOfWeek.TUESDAY, "Mar", DayOfWeek.WEDNESDAY, "Mer",
+            DayOfWeek.THURSDAY, "Jeu", DayOfWeek.FRIDAY, "Ven", DayOfWeek.SATURDAY, "Sam",
+            DayOfWeek.SUNDAY, "Dim"
+    );
+
+    private final DashboardStatsRepository statsRepository;
     private final SeanceRepository seanceRepository;
     private final PredictionRepository predictionRepository;
     private final PatientService patientService;
     private final SeanceService seanceService;
     private final PredictionService predictionService;
+    private final DashboardCounters counters;
 
     public DashboardStatsDTO getDashboardStats() {
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startOfMonth = LocalDateTime.of(LocalDate.now().withDayOfMonth(1), LocalTime.MIN);
-        LocalDateTime startOfDay = LocalDateTime.of(LocalDate.now(), LocalTime.MIN);
-        LocalDateTime endOfDay = LocalDateTime.of(LocalDate.now(), LocalTime.MAX);
-
-        // Patient stats
-        long totalPatients = patientRepository.count();
-        long activePatients = patientRepository.countByStatus(Patient.PatientStatus.ACTIVE);
-        
-        // Calculate new patients this month
-        long newPatientsThisMonth = patientRepository.findAll().stream()
-                .filter(p -> p.getCreatedAt() != null && p.getCreatedAt().isAfter(startOfMonth))
-                .count();
-
-        // Patient growth (compare to previous month)
+        LocalDate today = LocalDate.now();
+        LocalDateTime startOfMonth = LocalDateTime.of(today.withDayOfMonth(1), LocalTime.MIN);
         LocalDateTime startOfPrevMonth = startOfMonth.minusMonths(1);
-        long patientsLastMonth = patientRepository.findAll().stream()
-                .filter(p -> p.getCreatedAt() != null && 
-                        p.getCreatedAt().isAfter(startOfPrevMonth) && 
-                        p.getCreatedAt().isBefore(startOfMonth))
-                .count();
+
+        // Patient stats (materialized counters + one windowed count)
+        Map<String, Long> patientsByStatus = new LinkedHashMap<>();
+        long totalPatients = 0;
+        for (Patient.PatientStatus status : Patient.PatientStatus.values()) {
+            long count = counters.patients(status);
+            patientsByStatus.put(status.name(), count);
+            totalPatients += count;
+        }
+        long activePatients = patientsByStatus.get(Patient.PatientStatus.ACTIVE.name());
+
+        DashboardStatsRepository.NewPatientsWindow newPatients =
+                statsRepository.countNewPatients(startOfPrevMonth, startOfMonth);
+        long newPatientsThisMonth = newPatients.getThisMonth();
+        long patientsLastMonth = newPatients.getLastMonth();
         double patientGrowth = patientsLastMonth == 0 ? 100 : 
                 ((double) (newPatientsThisMonth - patientsLastMonth) / patientsLastMonth) * 100;
 
         // Therapeute stats
-        long totalTherapeutes = therapeuteRepository.count();
-        long availableTherapeutes = therapeuteRepository.findByStatus(Therapeute.TherapeuteStatus.AVAILABLE).size();
+        long totalTherapeutes = 0;
+        long availableTherapeutes = 0;
+        for (DashboardStatsRepository.TherapeuteStatusCount row : statsRepository.countTherapeutesByStatus()) {
+            totalTherapeutes += row.getCount();
+            if (row.getStatus() == Therapeute.TherapeuteStatus.AVAILABLE) {
+                availableTherapeutes = row.getCount();
+            }
+        }
 
         // Seance stats
-        long totalSeances = seanceRepository.count();
-        List<Seance> todaySeances = seanceRepository.findByScheduledAtBetween(startOfDay, endOfDay);
-        long todaySeancesCount = todaySeances.size();
-        
-        List<Seance> upcomingSeances = seanceRepository.findUpcomingSeances(now);
-        long upcomingSeancesCount = upcomingSeances.size();
-        
-        long completedThisMonth = seanceRepository.findByScheduledAtBetween(startOfMonth, now).stream()
-                .filter(s -> s.getStatus() == Seance.SeanceStatus.COMPLETED)
-                .count();
-        
-        long totalThisMonth = seanceRepository.findByScheduledAtBetween(startOfMonth, now).size();
+        Map<String, Long> seancesByType = new LinkedHashMap<>();
+        long totalSeances = 0;
+        for (Seance.SeanceType type : Seance.SeanceType.values()) {
+            long count = counters.seances(type);
+            seancesByType.put(type.name(), count);
+            totalSeances += count;
+        }
+
+        long upcomingSeancesCount = statsRepository.countUpcomingSeances(now);
+
+        // Month to date, whole days
+        long completedThisMonth = 0;
+        long totalThisMonth = 0;
+        for (LocalDate day = startOfMonth.toLocalDate(); !day.isAfter(today); day = day.plusDays(1)) {
+            completedThisMonth += counters.seancesOn(day, Seance.SeanceStatus.COMPLETED);
+            totalThisMonth += counters.seancesOn(day);
+        }
         double completionRate = totalThisMonth == 0 ? 0 : 
                 ((double) completedThisMonth / totalThisMonth) * 100;
 
         // Risk stats
-        List<Patient> highRiskPatients = patientRepository.findHighRiskPatients(70);
-        double avgRiskScore = patientRepository.findAll().stream()
-                .filter(p -> p.getRiskScore() != null)
-                .mapToInt(Patient::getRiskScore)
-                .average()
-                .orElse(0);
+        DashboardStatsRepository.RiskSummary risk = statsRepository.summarizeRisk(HIGH_RISK_THRESHOLD);
+        double avgRiskScore = risk.getAverageRiskScore() != null ? risk.getAverageRiskScore() : 0;
 
         // Prediction accuracy
-        Long accuratePredictions = predictionRepository.countAccuratePredictions();
-        Long evaluatedPredictions = predictionRepository.countEvaluatedPredictions();
-        double predictionAccuracy = evaluatedPredictions == 0 ? 0 : 
-                ((double) accuratePredictions / evaluatedPredictions) * 100;
+        DashboardStatsRepository.PredictionSummary predictions = statsRepository.summarizePredictions();
+        double predictionAccuracy = predictions.getEvaluated() == 0 ? 0 : 
+                ((double) predictions.getAccurate() / predictions.getEvaluated()) * 100;
+
+        // Seances trend (last 7 days from the daily counters) with French labels
+        List<DashboardStatsDTO.ChartDataPoint> seancesTrend = new ArrayList<>();
+        for (int i = TREND_DAYS - 1; i >= 0; i--) {
+            LocalDate date = today.minusDays(i);
+            String dayLabel = FRENCH_DAYS.getOrDefault(date.getDayOfWeek(), date.getDayOfWeek().toString().substring(0, 3));
+            seancesTrend.add(DashboardStatsDTO.ChartDataPoint.builder()
+                    .label(dayLabel)
+                    .value(counters.seancesOn(date))
+                    .color("#0D4F4F")
+                    .build());
+        }
+        long todaySeancesCount = counters.seancesOn(today);
 
         // Get lists for dashboard
-        List<SeanceDTO> upcomingList = upcomingSeances.stream()
-                .limit(5)
+        List<SeanceDTO> upcomingList = seanceRepository.findUpcomingSeances(now, PageRequest.of(0, 5))
+                .stream()
                 .map(s -> seanceService.getSeanceById(s.getId()))
                 .collect(Collectors.toList());
 
-        List<PatientDTO> recentPatients = patientRepository.findAll(
-                        PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt")))
-                .stream()
-                .map(p -> patientService.getPatientById(p.getId()))
-                .collect(Collectors.toList());
+        List<PatientDTO> recentPatients = patientService.getRecentPatients(5);
 
         List<PredictionDTO> recentPredictions = predictionRepository.findAll(
                         PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt")))
@@ -109,40 +130,6 @@ public class DashboardService {
                 .map(p -> predictionService.getLatestPredictions(p.getPatient().getId(), 1).get(0))
                 .collect(Collectors.toList());
 
-        // Charts data
-        Map<String, Long> seancesByType = Arrays.stream(Seance.SeanceType.values())
-                .collect(Collectors.toMap(
-                        Enum::name,
-                        type -> seanceRepository.findAll().stream()
-                                .filter(s -> s.getType() == type)
-                                .count()
-                ));
-
-        Map<String, Long> patientsByStatus = Arrays.stream(Patient.PatientStatus.values())
-                .collect(Collectors.toMap(
-                        Enum::name,
-                        status -> patientRepository.countByStatus(status)
-                ));
-
-        // Seances trend (last 7 days) with French labels
-        List<DashboardStatsDTO.ChartDataPoint> seancesTrend = new ArrayList<>();
-        Map<String, String> frenchDays = Map.of(
-                "MONDAY", "Lun", "TUESDAY", "Mar", "WEDNESDAY", "Mer",
-                "THURSDAY", "Jeu", "FRIDAY", "Ven", "SATURDAY", "Sam", "SUNDAY", "Dim"
-        );
-        for (int i = 6; i >= 0; i--) {
-            LocalDate date = LocalDate.now().minusDays(i);
-            LocalDateTime dayStart = LocalDateTime.of(date, LocalTime.MIN);
-            LocalDateTime dayEnd = LocalDateTime.of(date, LocalTime.MAX);
-            long count = seanceRepository.findByScheduledAtBetween(dayStart, dayEnd).size();
-            String dayLabel = frenchDays.getOrDefault(date.getDayOfWeek().toString(), date.getDayOfWeek().toString().substring(0, 3));
-            seancesTrend.add(DashboardStatsDTO.ChartDataPoint.builder()
-                    .label(dayLabel)
-                    .value(count)
-                    .color("#0D4F4F")
-                    .build());
-        }
-
         return DashboardStatsDTO.builder()
                 .totalPatients(totalPatients)
                 .activePatients(activePatients)
@@ -155,10 +142,10 @@ public class DashboardService {
                 .upcomingSeances(upcomingSeancesCount)
                 .completedSeancesThisMonth(completedThisMonth)
                 .seanceCompletionRate(completionRate)
-                .highRiskPatients((long) highRiskPatients.size())
+                .highRiskPatients(risk.getHighRiskCount())
                 .averageRiskScore(avgRiskScore)
                 .predictionAccuracy(predictionAccuracy)
-                .totalPredictions(predictionRepository.count())
+                .totalPredictions(predictions.getTotal())
                 .upcomingSeancesList(upcomingList)
                 .recentPatients(recentPatients)
                 .recentPredictions(recentPredictions)
@@ -0,0 +1,113 @@
+package com.clinassist.service;
+
+import com.clinassist.dto.DashboardStatsDTO;
+import com.clinassist.event.PatientChangedEvent;
+import com.clinassist.event.PredictionsCreatedEvent;
+import com.clinassist.event.SeanceChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Single-entry cache of the computed dashboard statistics.
+ * <p>
+ * The entry expires after {@code ttl} and is invalidated as soon as a seance, patient or prediction
+ * write commits. Readers that find no valid entry queue on one lock, so a single recomputation runs at
+ * a time and the readers behind it get its result. Invalidation only bumps a generation number, so
+ * writers never wait for a recomputation; an entry computed while a write committed is discarded.
+ */
+@Component
+public class DashboardStatsCache {
+
+    private static final String METRIC_PREFIX = "dashboard.stats.cache.";
+
+    private final DashboardService dashboardService;
+    private final long ttlNanos;
+    private final ReentrantLock recomputeLock = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Entry entry;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter invalidationCounter;
+    private final Timer recomputeTimer;
+
+    public DashboardStatsCache(DashboardService dashboardService,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.dashboard.cache.ttl:30s}") Duration ttl) {
+        this.dashboardService = dashboardService;
+        this.ttlNanos = ttl.toNanos();
+        this.hitCounter = Counter.builder(METRIC_PREFIX + "hits")
+                .description("Dashboard stats served from the cache")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder(METRIC_PREFIX + "misses")
+                .description("Dashboard stats requests that triggered a recomputation")
+                .register(meterRegistry);
+        this.invalidationCounter = Counter.builder(METRIC_PREFIX + "invalidations")
+                .description("Cache invalidations caused by domain events")
+                .register(meterRegistry);
+        this.recomputeTimer = Timer.builder(METRIC_PREFIX + "recompute")
+                .description("Time to recompute the dashboard stats")
+                .register(meterRegistry);
+    }
+
+    public DashboardStatsDTO get() {
+        Entry current = entry;
+        if (isValid(current)) {
+            hitCounter.increment();
+            return current.stats();
+        }
+        recomputeLock.lock();
+        try {
+            // Another reader may have recomputed while we waited
+            current = entry;
+            if (isValid(current)) {
+                hitCounter.increment();
+                return current.stats();
+            }
+            missCounter.increment();
+            long computedGeneration = generation.get();
+            DashboardStatsDTO stats = recomputeTimer.record(dashboardService::getDashboardStats);
+            entry = new Entry(stats, computedGeneration, System.nanoTime() + ttlNanos);
+            return stats;
+        } finally {
+            recomputeLock.unlock();
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        invalidationCounter.increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeanceChanged(SeanceChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPredictionsCreated(PredictionsCreatedEvent event) {
+        invalidate();
+    }
+
+    private boolean isValid(Entry current) {
+        return current != null
+                && current.generation() == generation.get()
+                && current.expiresAt() - System.nanoTime() > 0;
+    }
+
+    private record Entry(DashboardStatsDTO stats, long generation, long expiresAt) {
+    }
+}
@@ -0,0 +1,261 @@
+package com.clinassist.service;
+
+import com.clinassist.entity.Prediction;
+import com.clinassist.entity.Seance;
+import com.clinassist.exception.BadRequestException;
+import com.clinassist.repository.PredictionRepository;
+import com.clinassist.repository.SeanceRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams seances and predictions of a date range as NDJSON or CSV.
+ * <p>
+ * Rows are read through a forward-only database cursor and written as they arrive. Every
+ * {@code flushRows} rows the output is flushed to the client and the persistence context is cleared,
+ * so memory use does not depend on the size of the range.
+ */
+@Service
+public class ExportService {
+
+    private static final List<Column<Seance>> SEANCE_COLUMNS = List.of(
+            new Column<>("id", Seance::getId),
+            new Column<>("seanceCode", Seance::getSeanceCode),
+            new Column<>("patientId", s -> s.getPatient().getId()),
+            new Column<>("patientCode", s -> s.getPatient().getPatientCode()),
+            new Column<>("patientName", s -> s.getPatient().getUser().getFullName()),
+            new Column<>("therapeuteId", s -> s.getTherapeute().getId()),
+            new Column<>("therapeuteCode", s -> s.getTherapeute().getTherapeuteCode()),
+            new Column<>("therapeuteName", s -> s.getTherapeute().getUser().getFullName()),
+            new Column<>("scheduledAt", Seance::getScheduledAt),
+            new Column<>("startedAt", Seance::getStartedAt),
+            new Column<>("endedAt", Seance::getEndedAt),
+            new Column<>("durationMinutes", Seance::getDurationMinutes),
+            new Column<>("type", Seance::getType),
+            new Column<>("status", Seance::getStatus),
+            new Column<>("patientMoodBefore", Seance::getPatientMoodBefore),
+            new Column<>("patientMoodAfter", Seance::getPatientMoodAfter),
+            new Column<>("progressRating", Seance::getProgressRating),
+            new Column<>("isRecurring", Seance::getIsRecurring),
+            new Column<>("cancellationReason", Seance::getCancellationReason),
+            new Column<>("createdAt", Seance::getCreatedAt),
+            new Column<>("updatedAt", Seance::getUpdatedAt));
+
+    // Factors are left out: the element collection would cost one query per row
+    private static final List<Column<Prediction>> PREDICTION_COLUMNS = List.of(
+            new Column<>("id", Prediction::getId),
+            new Column<>("patientId", p -> p.getPatient().getId()),
+            new Column<>("patientCode", p -> p.getPatient().getPatientCode()),
+            new Column<>("type", Prediction::getType),
+            new Column<>("prediction", Prediction::getPrediction),
+            new Column<>("confidenceScore", Prediction::getConfidenceScore),
+            new Column<>("riskLevel", Prediction::getRiskLevel),
+            new Column<>("riskCategory", Prediction::getRiskCategory),
+            new Column<>("recommendations", Prediction::getRecommendations),
+            new Column<>("predictedForDate", Prediction::getPredictedForDate),
+            new Column<>("wasAccurate", Prediction::getWasAccurate),
+            new Column<>("actualOutcome", Prediction::getActualOutcome),
+            new Column<>("isActive", Prediction::getIsActive),
+            new Column<>("modelVersion", Prediction::getModelVersion),
+            new Column<>("algorithmUsed", Prediction::getAlgorithmUsed),
+            new Column<>("createdAt", Prediction::getCreatedAt));
+
+    private final SeanceRepository seanceRepository;
+    private final PredictionRepository predictionRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int flushRows;
+
+    public ExportService(SeanceRepository seanceRepository,
+                         PredictionRepository predictionRepository,
+                         EntityManager entityManager,
+                         ObjectMapper objectMapper,
+                         @Value("${app.export.flush-rows:500}") int flushRows) {
+        this.seanceRepository = seanceRepository;
+        this.predictionRepository = predictionRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.flushRows = flushRows;
+    }
+
+    public enum Format {
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    /**
+     * Rejects a range before the response is committed, since errors raised while streaming
+     * can no longer change the status code.
+     */
+    public void validateRange(LocalDateTime start, LocalDateTime end) {
+        if (start.isAfter(end)) {
+            throw new BadRequestException("Export start must not be after end");
+        }
+    }
+
+    /**
+     * Writes the seances scheduled in the range, oldest first, and returns the number of rows.
+     */
+    @Transactional(readOnly = true)
+    public long exportSeances(LocalDateTime start, LocalDateTime end, Format format, OutputStream out)
+            throws IOException {
+        try (Stream<Seance> rows = seanceRepository.streamByScheduledAtBetween(start, end)) {
+            return write(rows, SEANCE_COLUMNS, format, out);
+        }
+    }
+
+    /**
+     * Writes the predictions created in the range, oldest first, and returns the number of rows.
+     */
+    @Transactional(readOnly = true)
+    public long exportPredictions(LocalDateTime start, LocalDateTime end, Format format, OutputStream out)
+            throws IOException {
+        try (Stream<Prediction> rows = predictionRepository.streamByCreatedAtBetween(start, end)) {
+            return write(rows, PREDICTION_COLUMNS, format, out);
+        }
+    }
+
+    private <T> long write(Stream<T> rows, List<Column<T>> columns, Format format, OutputStream out)
+            throws IOException {
+        RowWriter<T> writer = format == Format.CSV
+                ? new CsvRowWriter<>(columns, out)
+                : new NdjsonRowWriter<>(columns, objectMapper, out);
+        long count = 0;
+        for (Iterator<T> it = rows.iterator(); it.hasNext(); ) {
+            writer.write(it.next());
+            if (++count % flushRows == 0) {
+                // Detach the rows already written along with their patients and therapeutes
+                entityManager.clear();
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private record Column<T>(String name, Function<T, Object> value) {
+    }
+
+    private interface RowWriter<T> {
+
+        void write(T row) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static final class NdjsonRowWriter<T> implements RowWriter<T> {
+
+        private final List<Column<T>> columns;
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(List<Column<T>> columns, ObjectMapper objectMapper, OutputStream out) throws IOException {
+            this.columns = columns;
+            this.generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(T row) throws IOException {
+            generator.writeStartObject();
+            for (Column<T> column : columns) {
+                generator.writeFieldName(column.name());
+                generator.writeObject(column.value().apply(row));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter<T> implements RowWriter<T> {
+
+        private final List<Column<T>> columns;
+        private final Writer writer;
+
+        CsvRowWriter(List<Column<T>> columns, OutputStream out) throws IOException {
+            this.columns = columns;
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(columns.get(i).name());
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(T row) throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = columns.get(i).value().apply(row);
+                if (value != null) {
+                    writer.write(escape(value.toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.clinassist.service;
+
+import com.clinassist.exception.BadRequestException;
+import com.clinassist.exception.ConflictException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded store of the results of requests carrying an idempotency key, so that a retried or
+ * double-submitted request returns the result of the first one instead of running again.
+ * <p>
+ * The first request with a key runs; requests arriving with the same key while it runs wait for
+ * its outcome, up to {@code wait}. A successful result is kept for {@code ttl}, while a failure
+ * releases the key so that the request can be retried. Reusing a key for a different request is
+ * rejected. The oldest keys are evicted beyond {@code maxSize}.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final Cache<String, Entry> entries;
+    private final Duration wait;
+
+    public IdempotencyStore(@Value("${app.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${app.idempotency.max-size:10000}") long maxSize,
+                            @Value("${app.idempotency.wait:10s}") Duration wait) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.wait = wait;
+    }
+
+    /**
+     * Runs {@code action} once per key and returns its result to every request with that key.
+     *
+     * @param request the request body, compared with {@code equals} to detect a reused key
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Object request, Supplier<T> action) {
+        Entry entry = new Entry(request, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(key, entry);
+        if (existing != null) {
+            if (!Objects.equals(existing.request(), request)) {
+                throw new BadRequestException("Idempotency key already used for a different request");
+            }
+            return (T) await(existing.result());
+        }
+        try {
+            T result = action.get();
+            entry.result().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            entries.asMap().remove(key, entry);
+            entry.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Object await(CompletableFuture<Object> result) {
+        try {
+            return result.get(wait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // The duplicate fails the way the first request did
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ConflictException("A request with this idempotency key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("A request with this idempotency key is still in progress");
+        }
+    }
+
+    private record Entry(Object request, CompletableFuture<Object> result) {
+    }
+}
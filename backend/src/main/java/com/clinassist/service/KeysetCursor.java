@@ -0,0 +1,66 @@
+package com.clinassist.service;
+
+import com.clinassist.dto.CursorPage;
+import com.clinassist.exception.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Position (timestamp, id) of the last row of a keyset page, handed to clients as an opaque
+ * URL-safe token. The next page holds the rows strictly before it in (timestamp DESC, id DESC) order.
+ */
+record KeysetCursor(LocalDateTime at, Long id) {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((at + "_" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the cursor encoded in {@code token}, or null for the first page.
+     */
+    static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('_');
+            return new KeysetCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Fetches one row more than the page size, so that the last page is detected without a count.
+     */
+    static Pageable limit(int size) {
+        return PageRequest.of(0, clamp(size) + 1);
+    }
+
+    static <T> CursorPage<T> page(List<T> rows, int size, Function<T, KeysetCursor> position) {
+        int pageSize = clamp(size);
+        boolean hasMore = rows.size() > pageSize;
+        List<T> items = hasMore ? rows.subList(0, pageSize) : rows;
+        return CursorPage.<T>builder()
+                .items(items)
+                .nextCursor(hasMore ? position.apply(items.get(items.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private static int clamp(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
@@ -2,17 +2,30 @@ package com.clinassist.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Client for calling the Python ML Microservice
@@ -20,6 +33,9 @@ import java.util.Map;
  * - Dropout Risk (Random Forest)
  * - Treatment Progress (Gradient Boosting)
  * - Next Session Scheduling (Linear Regression)
+ * Calls go through a pooled HTTP client and a circuit breaker; while the breaker
+ * is open the fallback heuristics answer immediately.
+ * Concurrent single dropout-risk requests are coalesced into batch calls within a short window.
  */
 @Service
 @Slf4j
@@ -34,21 +50,59 @@ public class MLPredictionClient {
     private static final String KEY_AGE = "age";
     private static final String DEFAULT_MODEL_VERSION = "1.0.0";
     private static final String DEFAULT_ML_URL = "http://ml-service:5000";
+    private static final String REQUEST_TIMER = "ml.client.requests";
+    private static final String DROPOUT_ENDPOINT = "/api/predict/dropout-risk";
+    private static final String DROPOUT_BATCH_ENDPOINT = "/api/predict/dropout-risk/batch";
+    private static final int BATCH_THREADS = 2;
 
     private final RestTemplate restTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolTaskExecutor executor;
     private final ObjectMapper objectMapper;
     private final String mlServiceUrl;
+    private final int maxBatchSize;
+    // Null when batching is disabled (zero window)
+    private final MicroBatcher<DropoutRiskFeatures, MLPredictionResult> dropoutBatcher;
     
-    public MLPredictionClient() {
-        this.restTemplate = new RestTemplate();
+    public MLPredictionClient(RestTemplate mlRestTemplate,
+                              CircuitBreaker mlServiceCircuitBreaker,
+                              MeterRegistry meterRegistry,
+                              // ML_SERVICE_URL is set in docker-compose.yml
+                              @Value("${app.ml-service.url:${ML_SERVICE_URL:}}") String mlServiceUrl,
+                              @Value("${app.ml-service.async.pool-size:8}") int asyncPoolSize,
+                              @Value("${app.ml-service.async.queue-capacity:200}") int asyncQueueCapacity,
+                              @Value("${app.ml-service.batching.window:5ms}") Duration batchWindow,
+                              @Value("${app.ml-service.batching.max-size:500}") int maxBatchSize) {
+        this.restTemplate = mlRestTemplate;
+        this.circuitBreaker = mlServiceCircuitBreaker;
+        this.meterRegistry = meterRegistry;
         this.objectMapper = new ObjectMapper();
-        // Read ML service URL from environment variable (set in docker-compose.yml)
-        String envUrl = System.getenv("ML_SERVICE_URL");
-        this.mlServiceUrl = (envUrl != null && !envUrl.isEmpty()) 
-                ? envUrl 
-                : DEFAULT_ML_URL;
+        this.mlServiceUrl = StringUtils.hasText(mlServiceUrl) ? mlServiceUrl : DEFAULT_ML_URL;
+
+        // Bounded: when saturated the caller runs the prediction itself instead of queueing without limit
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(asyncPoolSize);
+        this.executor.setMaxPoolSize(asyncPoolSize);
+        this.executor.setQueueCapacity(asyncQueueCapacity);
+        this.executor.setThreadNamePrefix("ml-client-");
+        this.executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.initialize();
+
+        this.maxBatchSize = maxBatchSize;
+        this.dropoutBatcher = batchWindow.isZero() ? null : new MicroBatcher<>(
+                "ml-batcher", batchWindow, maxBatchSize, BATCH_THREADS, this::predictDropoutRiskBatch);
+
         log.info("ML Service URL configured: {}", this.mlServiceUrl);
     }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dropoutBatcher != null) {
+            dropoutBatcher.shutdown();
+        }
+        executor.shutdown();
+    }
     
     /**
      * Predict dropout risk using ML model (Random Forest)
@@ -61,46 +115,80 @@ public class MLPredictionClient {
             double avgMoodScore,
             int age) {
         
+        DropoutRiskFeatures features = new DropoutRiskFeatures(cancellationRate, noShowRate,
+                daysSinceLastSession, totalSessions, avgMoodScore, age);
+        if (dropoutBatcher == null) {
+            return predictDropoutRiskBatch(List.of(features)).get(0);
+        }
         try {
-            Map<String, Object> request = new HashMap<>();
-            request.put(KEY_CANCELLATION_RATE, cancellationRate);
-            request.put(KEY_NO_SHOW_RATE, noShowRate);
-            request.put(KEY_DAYS_SINCE_LAST, daysSinceLastSession);
-            request.put(KEY_TOTAL_SESSIONS, totalSessions);
-            request.put(KEY_AVG_MOOD_SCORE, avgMoodScore);
-            request.put(KEY_AGE, age);
-            
-            String response = callMLService("/api/predict/dropout-risk", request);
-            JsonNode json = objectMapper.readTree(response);
-            
-            MLPredictionResult result = new MLPredictionResult();
-            result.setScore(json.get("risk_score").asDouble());
-            result.setCategory(json.get("risk_category").asText());
-            result.setConfidence(json.get("confidence").asDouble());
-            result.setAlgorithm(json.get("algorithm").asText());
-            result.setModelVersion(json.get("model_version").asText());
-            
-            // Extract factors
-            JsonNode factors = json.get("factors");
-            Map<String, Double> factorMap = new HashMap<>();
-            if (factors != null) {
-                factors.fieldNames().forEachRemaining(name -> 
-                    factorMap.put(name, factors.get(name).asDouble())
-                );
+            return dropoutBatcher.submit(features).join();
+        } catch (CompletionException e) {
+            log.warn("ML batch failed, using fallback heuristics: {}", e.getMessage());
+            return calculateFallbackDropoutRisk(features);
+        }
+    }
+    
+    /**
+     * Predict dropout risk for many patients, one ML call per chunk of {@code maxBatchSize}.
+     * Results are in input order; chunks the ML service cannot answer use the fallback heuristics.
+     */
+    public List<MLPredictionResult> predictDropoutRiskBatch(List<DropoutRiskFeatures> batch) {
+        List<MLPredictionResult> results = new ArrayList<>(batch.size());
+        for (int from = 0; from < batch.size(); from += maxBatchSize) {
+            List<DropoutRiskFeatures> chunk = batch.subList(from, Math.min(from + maxBatchSize, batch.size()));
+            results.addAll(predictDropoutRiskChunk(chunk));
+        }
+        return results;
+    }
+    
+    private List<MLPredictionResult> predictDropoutRiskChunk(List<DropoutRiskFeatures> chunk) {
+        try {
+            List<MLPredictionResult> results = new ArrayList<>(chunk.size());
+            if (chunk.size() == 1) {
+                String response = callMLService(DROPOUT_ENDPOINT, chunk.get(0).toRequest());
+                results.add(toDropoutResult(objectMapper.readTree(response)));
+            } else {
+                Map<String, Object> request = new HashMap<>();
+                request.put("instances", chunk.stream().map(DropoutRiskFeatures::toRequest).toList());
+                
+                String response = callMLService(DROPOUT_BATCH_ENDPOINT, request);
+                JsonNode predictions = objectMapper.readTree(response).get("predictions");
+                if (predictions == null || predictions.size() != chunk.size()) {
+                    throw new IllegalStateException("ML batch returned " +
+                            (predictions == null ? 0 : predictions.size()) + " predictions for " + chunk.size());
+                }
+                predictions.forEach(json -> results.add(toDropoutResult(json)));
             }
-            result.setFactors(factorMap);
-            
-            log.info("ML Dropout Risk Prediction: score={}, category={}, algorithm={}", 
-                    result.getScore(), result.getCategory(), result.getAlgorithm());
             
-            return result;
+            log.info("ML Dropout Risk Prediction: {} patient(s) scored", results.size());
+            return results;
             
         } catch (Exception e) {
             log.warn("ML service unavailable, using fallback heuristics: {}", e.getMessage());
-            return calculateFallbackDropoutRisk(cancellationRate, noShowRate, daysSinceLastSession);
+            return chunk.stream().map(this::calculateFallbackDropoutRisk).toList();
         }
     }
     
+    private MLPredictionResult toDropoutResult(JsonNode json) {
+        MLPredictionResult result = new MLPredictionResult();
+        result.setScore(json.get("risk_score").asDouble());
+        result.setCategory(json.get("risk_category").asText());
+        result.setConfidence(json.get("confidence").asDouble());
+        result.setAlgorithm(json.get("algorithm").asText());
+        result.setModelVersion(json.get("model_version").asText());
+        
+        // Extract factors
+        JsonNode factors = json.get("factors");
+        Map<String, Double> factorMap = new HashMap<>();
+        if (factors != null) {
+            factors.fieldNames().forEachRemaining(name -> 
+                factorMap.put(name, factors.get(name).asDouble())
+            );
+        }
+        result.setFactors(factorMap);
+        return result;
+    }
+    
     /**
      * Predict treatment progress using ML model (Gradient Boosting)
      */
@@ -165,6 +253,41 @@ public class MLPredictionClient {
         }
     }
     
+    public CompletableFuture<MLPredictionResult> predictDropoutRiskAsync(
+            double cancellationRate,
+            double noShowRate,
+            int daysSinceLastSession,
+            int totalSessions,
+            double avgMoodScore,
+            int age) {
+        if (dropoutBatcher != null) {
+            DropoutRiskFeatures features = new DropoutRiskFeatures(cancellationRate, noShowRate,
+                    daysSinceLastSession, totalSessions, avgMoodScore, age);
+            return dropoutBatcher.submit(features)
+                    .exceptionally(e -> calculateFallbackDropoutRisk(features));
+        }
+        return CompletableFuture.supplyAsync(() -> predictDropoutRisk(cancellationRate, noShowRate,
+                daysSinceLastSession, totalSessions, avgMoodScore, age), executor);
+    }
+    
+    public CompletableFuture<MLPredictionResult> predictTreatmentProgressAsync(
+            int totalSessions,
+            double avgProgressRating,
+            double moodImprovement,
+            double sessionCompletionRate) {
+        return CompletableFuture.supplyAsync(() -> predictTreatmentProgress(totalSessions,
+                avgProgressRating, moodImprovement, sessionCompletionRate), executor);
+    }
+    
+    public CompletableFuture<Integer> predictNextSessionDaysAsync(
+            double avgDaysBetweenSessions,
+            int currentRiskLevel,
+            double lastProgressRating,
+            int patientAge) {
+        return CompletableFuture.supplyAsync(() -> predictNextSessionDays(avgDaysBetweenSessions,
+                currentRiskLevel, lastProgressRating, patientAge), executor);
+    }
+    
     /**
      * Check if ML service is healthy
      */
@@ -185,13 +308,32 @@ public class MLPredictionClient {
         
         HttpEntity<Map<String, Object>> entity = new HttpEntity<>(request, headers);
         
-        ResponseEntity<String> response = restTemplate.postForEntity(
-                mlServiceUrl + endpoint, entity, String.class);
-        
-        return response.getBody();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            ResponseEntity<String> response = circuitBreaker.executeSupplier(() ->
+                    restTemplate.postForEntity(mlServiceUrl + endpoint, entity, String.class));
+            outcome = "success";
+            return response.getBody();
+        } catch (CallNotPermittedException e) {
+            outcome = "short_circuited";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(REQUEST_TIMER)
+                    .description("Calls to the ML service")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
     }
     
     // Fallback heuristics if ML service is unavailable
+    private MLPredictionResult calculateFallbackDropoutRisk(DropoutRiskFeatures features) {
+        return calculateFallbackDropoutRisk(features.getCancellationRate(), features.getNoShowRate(),
+                features.getDaysSinceLastSession());
+    }
+    
     private MLPredictionResult calculateFallbackDropoutRisk(
             double cancellationRate, double noShowRate, int daysSinceLastSession) {
         
@@ -242,6 +384,28 @@ public class MLPredictionClient {
         return result;
     }
     
+    // Inner class for dropout-risk model input
+    @lombok.Value
+    public static class DropoutRiskFeatures {
+        double cancellationRate;
+        double noShowRate;
+        int daysSinceLastSession;
+        int totalSessions;
+        double avgMoodScore;
+        int age;
+        
+        Map<String, Object> toRequest() {
+            Map<String, Object> request = new HashMap<>();
+            request.put(KEY_CANCELLATION_RATE, cancellationRate);
+            request.put(KEY_NO_SHOW_RATE, noShowRate);
+            request.put(KEY_DAYS_SINCE_LAST, daysSinceLastSession);
+            request.put(KEY_TOTAL_SESSIONS, totalSessions);
+            request.put(KEY_AVG_MOOD_SCORE, avgMoodScore);
+            request.put(KEY_AGE, age);
+            return request;
+        }
+    }
+    
     // Inner class for ML result
     @lombok.Data
     public static class MLPredictionResult {
@@ -0,0 +1,97 @@
+package com.clinassist.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent single requests into batches.
+ * A batch is flushed when it reaches {@code maxBatchSize} or when {@code window} has elapsed
+ * since its first request, whichever comes first. Batches run on the batcher's own threads,
+ * so callers blocking on their future never starve the flush.
+ *
+ * @param <I> request type
+ * @param <O> result type; the batch function must return one result per request, in order
+ */
+@Slf4j
+class MicroBatcher<I, O> {
+
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Function<List<I>, List<O>> batchFunction;
+    private final ScheduledExecutorService scheduler;
+
+    private List<Pending<I, O>> pending = new ArrayList<>();
+
+    MicroBatcher(String name, Duration window, int maxBatchSize, int threads,
+                 Function<List<I>, List<O>> batchFunction) {
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.batchFunction = batchFunction;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    CompletableFuture<O> submit(I request) {
+        CompletableFuture<O> future = new CompletableFuture<>();
+        List<Pending<I, O>> full = null;
+        synchronized (this) {
+            pending.add(new Pending<>(request, future));
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new ArrayList<>();
+            } else if (pending.size() == 1) {
+                scheduler.schedule(this::flushPending, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            List<Pending<I, O>> batch = full;
+            scheduler.execute(() -> run(batch));
+        }
+        return future;
+    }
+
+    void shutdown() {
+        flushPending();
+        scheduler.shutdown();
+    }
+
+    private void flushPending() {
+        List<Pending<I, O>> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+        run(batch);
+    }
+
+    private void run(List<Pending<I, O>> batch) {
+        try {
+            List<O> results = batchFunction.apply(batch.stream().map(Pending::request).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future().complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Batch of {} requests failed: {}", batch.size(), e.getMessage());
+            batch.forEach(p -> p.future().completeExceptionally(e));
+        }
+    }
+
+    private record Pending<I, O>(I request, CompletableFuture<O> future) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.clinassist.service;
+
+import com.clinassist.dto.PatientDTO;
+import com.clinassist.entity.Patient;
+import com.clinassist.repository.PatientRepository;
+import com.clinassist.repository.SeanceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds PatientDTOs for a whole batch of patients in a constant number of queries:
+ * one fetch-join for the patients and their users, one grouped count of seances
+ * and one grouped lookup of the next seance, whatever the size of the batch.
+ */
+@Component
+@RequiredArgsConstructor
+public class PatientDTOAssembler {
+
+    private final PatientRepository patientRepository;
+    private final SeanceRepository seanceRepository;
+
+    /**
+     * Loads the given patients (with user and assigned therapeute user) and converts them,
+     * preserving the order of the ids.
+     */
+    public List<PatientDTO> assembleByIds(List<Long> patientIds) {
+        if (patientIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Patient> patientsById = patientRepository.findAllWithUsersByIdIn(patientIds)
+                .stream()
+                .collect(Collectors.toMap(Patient::getId, Function.identity()));
+
+        List<Patient> ordered = new ArrayList<>(patientIds.size());
+        for (Long id : patientIds) {
+            Patient patient = patientsById.get(id);
+            if (patient != null) {
+                ordered.add(patient);
+            }
+        }
+        return assemble(ordered);
+    }
+
+    public List<PatientDTO> assemble(List<Patient> patients) {
+        if (patients.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = patients.stream().map(Patient::getId).collect(Collectors.toList());
+
+        Map<Long, SeanceRepository.PatientSeanceCounts> counts = new HashMap<>();
+        for (SeanceRepository.PatientSeanceCounts row : seanceRepository.countSeancesByPatientIds(ids)) {
+            counts.put(row.getPatientId(), row);
+        }
+
+        Map<Long, LocalDateTime> nextSeances = new HashMap<>();
+        for (SeanceRepository.PatientNextSeance row :
+                seanceRepository.findNextSeanceByPatientIds(ids, LocalDateTime.now())) {
+            nextSeances.put(row.getPatientId(), row.getNextSeanceAt());
+        }
+
+        return patients.stream()
+                .map(p -> toDTO(p, counts.get(p.getId()), nextSeances.get(p.getId())))
+                .collect(Collectors.toList());
+    }
+
+    public PatientDTO assemble(Patient patient) {
+        return assemble(Collections.singletonList(patient)).get(0);
+    }
+
+    private PatientDTO toDTO(Patient patient, SeanceRepository.PatientSeanceCounts counts,
+                             LocalDateTime nextSeance) {
+        return PatientDTO.builder()
+                .id(patient.getId())
+                .patientCode(patient.getPatientCode())
+                .userId(patient.getUser().getId())
+                .username(patient.getUser().getUsername())
+                .email(patient.getUser().getEmail())
+                .firstName(patient.getUser().getFirstName())
+                .lastName(patient.getUser().getLastName())
+                .fullName(patient.getUser().getFullName())
+                .phoneNumber(patient.getUser().getPhoneNumber())
+                .profileImageUrl(patient.getUser().getProfileImageUrl())
+                .dateOfBirth(patient.getDateOfBirth())
+                .age(patient.getAge())
+                .gender(patient.getGender())
+                .address(patient.getAddress())
+                .city(patient.getCity())
+                .postalCode(patient.getPostalCode())
+                .country(patient.getCountry())
+                .emergencyContactName(patient.getEmergencyContactName())
+                .emergencyContactPhone(patient.getEmergencyContactPhone())
+                .emergencyContactRelation(patient.getEmergencyContactRelation())
+                .medicalHistory(patient.getMedicalHistory())
+                .currentMedications(patient.getCurrentMedications())
+                .allergies(patient.getAllergies())
+                .notes(patient.getNotes())
+                .insuranceProvider(patient.getInsuranceProvider())
+                .insuranceNumber(patient.getInsuranceNumber())
+                .status(patient.getStatus())
+                .assignedTherapeuteId(patient.getAssignedTherapeute() != null ?
+                        patient.getAssignedTherapeute().getId() : null)
+                .assignedTherapeuteName(patient.getAssignedTherapeute() != null ?
+                        patient.getAssignedTherapeute().getUser().getFullName() : null)
+                .riskScore(patient.getRiskScore())
+                .riskCategory(patient.getRiskCategory())
+                .totalSeances(counts != null ? (int) counts.getTotal() : 0)
+                .completedSeances(counts != null ? (int) counts.getCompleted() : 0)
+                .nextSeanceAt(nextSeance)
+                .createdAt(patient.getCreatedAt())
+                .updatedAt(patient.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,431 @@
+package com.clinassist.service;
+
+import com.clinassist.dto.PatientCreateRequest;
+import com.clinassist.dto.PatientImportReport;
+import com.clinassist.entity.Patient;
+import com.clinassist.event.PatientChangedEvent;
+import com.clinassist.exception.BadRequestException;
+import com.clinassist.repository.PatientRepository;
+import com.clinassist.repository.TherapeuteRepository;
+import com.clinassist.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk creation of patients from a CSV or NDJSON upload, for onboarding a clinic.
+ * <p>
+ * The upload is read as a stream, {@code chunkSize} rows at a time. The rows of a chunk are parsed
+ * and validated in parallel; email uniqueness, usernames and assigned therapeutes are then resolved
+ * for the whole chunk with set-based queries, and the valid rows are inserted in JDBC batches, one
+ * transaction per chunk. Invalid rows are skipped and reported with their row number. A chunk whose
+ * insert fails is reported row by row as well, and the import goes on with the next one.
+ * <p>
+ * CSV uploads start with a header naming fields of {@link PatientCreateRequest}, empty cells are
+ * left null. NDJSON uploads hold one request object per line. Blank lines are skipped in both.
+ */
+@Slf4j
+@Service
+public class PatientImportService {
+
+    private static final Set<String> CSV_COLUMNS = Arrays.stream(PatientCreateRequest.class.getDeclaredFields())
+            .filter(field -> !Modifier.isStatic(field.getModifiers()))
+            .map(Field::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private final PatientRepository patientRepository;
+    private final TherapeuteRepository therapeuteRepository;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final SearchIndex searchIndex;
+    private final TypeaheadIndex typeaheadIndex;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UsernameAllocator usernameAllocator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public PatientImportService(PatientRepository patientRepository,
+                                TherapeuteRepository therapeuteRepository,
+                                UserRepository userRepository,
+                                PasswordEncoder passwordEncoder,
+                                SearchIndex searchIndex,
+                                TypeaheadIndex typeaheadIndex,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                ApplicationEventPublisher eventPublisher,
+                                UsernameAllocator usernameAllocator,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.patients.import.chunk-size:500}") int chunkSize) {
+        this.patientRepository = patientRepository;
+        this.therapeuteRepository = therapeuteRepository;
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.searchIndex = searchIndex;
+        this.typeaheadIndex = typeaheadIndex;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.usernameAllocator = usernameAllocator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unsupported import format: " + value);
+            }
+        }
+    }
+
+    /**
+     * Creates a patient for every valid row of the upload and reports the rows that were not imported.
+     */
+    public PatientImportReport importPatients(InputStream in, Format format) throws IOException {
+        long start = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        RecordReader records = format == Format.CSV ? new CsvRecordReader(reader) : new NdjsonRecordReader(reader);
+
+        List<PatientImportReport.RowError> errors = new ArrayList<>();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        int total = 0;
+        int imported = 0;
+        for (ImportRow row = records.next(); row != null; row = records.next()) {
+            chunk.add(row);
+            total++;
+            if (chunk.size() == chunkSize) {
+                imported += importChunk(chunk, errors);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += importChunk(chunk, errors);
+        }
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Imported {} of {} patients in {} ms", imported, total, durationMs);
+        return PatientImportReport.builder()
+                .totalRows(total)
+                .importedRows(imported)
+                .failedRows(total - imported)
+                .durationMs(durationMs)
+                .errors(errors)
+                .build();
+    }
+
+    private int importChunk(List<ImportRow> chunk, List<PatientImportReport.RowError> errors) {
+        chunk.parallelStream().forEach(this::prepare);
+
+        List<ImportRow> valid = new ArrayList<>(chunk);
+        valid.removeIf(row -> row.error != null);
+        rejectTakenEmails(valid);
+        rejectUnknownTherapeutes(valid);
+        valid.removeIf(row -> row.error != null);
+        allocateUsernames(valid);
+
+        if (!valid.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(valid));
+            } catch (RuntimeException e) {
+                log.error("Patient import failed for rows {}..{}", valid.get(0).row, valid.get(valid.size() - 1).row, e);
+                valid.forEach(row -> row.error = "Not imported: the insert of its chunk failed");
+            }
+        }
+
+        int imported = 0;
+        for (ImportRow row : chunk) {
+            if (row.error == null) {
+                imported++;
+            } else {
+                errors.add(PatientImportReport.RowError.builder()
+                        .row(row.row)
+                        .email(row.request != null ? row.request.getEmail() : row.cells.get("email"))
+                        .message(row.error)
+                        .build());
+            }
+        }
+        return imported;
+    }
+
+    /**
+     * Reads the request of the row, validates it and builds its patient. Runs in parallel.
+     */
+    private void prepare(ImportRow row) {
+        if (row.error != null) {
+            return;
+        }
+        try {
+            row.request = row.json != null
+                    ? objectMapper.readValue(row.json, PatientCreateRequest.class)
+                    : objectMapper.convertValue(row.cells, PatientCreateRequest.class);
+        } catch (JsonProcessingException e) {
+            row.error = "Unreadable row: " + e.getOriginalMessage();
+            return;
+        } catch (IllegalArgumentException e) {
+            row.error = "Unreadable row: " + (e.getCause() instanceof JsonProcessingException cause
+                    ? cause.getOriginalMessage() : e.getMessage());
+            return;
+        }
+
+        Set<ConstraintViolation<PatientCreateRequest>> violations = validator.validate(row.request);
+        if (!violations.isEmpty()) {
+            row.error = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return;
+        }
+        String tempPassword = UUID.randomUUID().toString().substring(0, 8);
+        row.patient = PatientService.newPatient(row.request, null, passwordEncoder.encode(tempPassword));
+    }
+
+    private void rejectTakenEmails(List<ImportRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Set<String> taken = new HashSet<>(userRepository.findEmailsIn(
+                rows.stream().map(row -> row.request.getEmail()).collect(Collectors.toSet())));
+        for (ImportRow row : rows) {
+            // Also rejects the later rows of the upload repeating an email
+            if (!taken.add(row.request.getEmail())) {
+                row.error = "Email already exists";
+            }
+        }
+    }
+
+    private void rejectUnknownTherapeutes(List<ImportRow> rows) {
+        Set<Long> therapeuteIds = rows.stream()
+                .map(row -> row.request.getAssignedTherapeuteId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (therapeuteIds.isEmpty()) {
+            return;
+        }
+        Set<Long> known = new HashSet<>(therapeuteRepository.findIdsByIdIn(therapeuteIds));
+        for (ImportRow row : rows) {
+            Long therapeuteId = row.request.getAssignedTherapeuteId();
+            if (row.error == null && therapeuteId != null && !known.contains(therapeuteId)) {
+                row.error = "Therapeute not found";
+            }
+        }
+    }
+
+    /**
+     * Reserves the usernames of the chunk through the allocator, so that concurrent registrations
+     * and imports never get the same one.
+     */
+    private void allocateUsernames(List<ImportRow> rows) {
+        List<String> usernames = usernameAllocator.allocateAll(rows.stream()
+                .map(row -> row.request.getEmail())
+                .toList());
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).patient.getUser().setUsername(usernames.get(i));
+        }
+    }
+
+
+    private void insert(List<ImportRow> rows) {
+        List<Patient> patients = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            Long therapeuteId = row.request.getAssignedTherapeuteId();
+            if (therapeuteId != null) {
+                row.patient.setAssignedTherapeute(therapeuteRepository.getReferenceById(therapeuteId));
+            }
+            patients.add(row.patient);
+        }
+        // Saving the patients cascades to their users
+        patientRepository.saveAll(patients);
+        searchIndex.indexPatients(patients);
+        for (Patient patient : patients) {
+            typeaheadIndex.update(patient);
+            eventPublisher.publishEvent(new PatientChangedEvent(patient.getId(), null, patient.getStatus()));
+        }
+    }
+
+    /**
+     * One row of the upload: its CSV cells or NDJSON line, then the request read from it, its
+     * patient and the reason it is not imported, if any.
+     */
+    private static final class ImportRow {
+
+        final int row;
+        final Map<String, String> cells;
+        final String json;
+        PatientCreateRequest request;
+        Patient patient;
+        String error;
+
+        ImportRow(int row, Map<String, String> cells, String json, String error) {
+            this.row = row;
+            this.cells = cells;
+            this.json = json;
+            this.error = error;
+        }
+    }
+
+    private interface RecordReader {
+
+        /**
+         * The next row of the upload, or null at its end.
+         */
+        ImportRow next() throws IOException;
+    }
+
+    private static final class NdjsonRecordReader implements RecordReader {
+
+        private final BufferedReader reader;
+        private int row;
+
+        NdjsonRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.isBlank()) {
+                    return new ImportRow(++row, Map.of(), line, null);
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class CsvRecordReader implements RecordReader {
+
+        private final BufferedReader reader;
+        private final List<String> header;
+        private boolean unterminated;
+        private int row;
+
+        /**
+         * Reads the header, rejecting the upload if it names an unknown column.
+         */
+        CsvRecordReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> names = readRecord();
+            this.header = new ArrayList<>();
+            if (names == null) {
+                return;
+            }
+            for (String name : names) {
+                String column = name.replace("\uFEFF", "").trim();
+                if (!CSV_COLUMNS.contains(column)) {
+                    throw new BadRequestException("Unknown CSV column: " + column);
+                }
+                header.add(column);
+            }
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            List<String> cells = readRecord();
+            while (cells != null && cells.size() == 1 && cells.get(0).isEmpty()) {
+                cells = readRecord();
+            }
+            if (cells == null) {
+                return null;
+            }
+            row++;
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < Math.min(cells.size(), header.size()); i++) {
+                if (!cells.get(i).isEmpty()) {
+                    values.put(header.get(i), cells.get(i));
+                }
+            }
+            String error = null;
+            if (unterminated) {
+                error = "Unterminated quoted cell";
+            } else if (cells.size() != header.size()) {
+                error = "Expected " + header.size() + " cells, found " + cells.size();
+            }
+            return new ImportRow(row, values, null, error);
+        }
+
+        /**
+         * Reads one record, or null at the end of the input. Quoted cells may hold commas,
+         * doubled quotes and line breaks.
+         */
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c < 0) {
+                return null;
+            }
+            List<String> cells = new ArrayList<>();
+            StringBuilder cell = new StringBuilder();
+            boolean quoted = false;
+            unterminated = false;
+            while (true) {
+                if (quoted) {
+                    if (c < 0) {
+                        unterminated = true;
+                        cells.add(cell.toString());
+                        return cells;
+                    }
+                    if (c == '"') {
+                        c = reader.read();
+                        if (c == '"') {
+                            cell.append('"');
+                            c = reader.read();
+                        } else {
+                            quoted = false;
+                        }
+                        continue;
+                    }
+                    cell.append((char) c);
+                } else if (c == '"' && cell.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                } else if (c == '\r' || c == '\n' || c < 0) {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    cells.add(cell.toString());
+                    return cells;
+                } else {
+                    cell.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+    }
+}
@@ -1,27 +1,29 @@
 package com.clinassist.service;
 
+import com.clinassist.dto.CursorPage;
 import com.clinassist.dto.PatientCreateRequest;
 import com.clinassist.dto.PatientDTO;
 import com.clinassist.entity.Patient;
-import com.clinassist.entity.Seance;
 import com.clinassist.entity.Therapeute;
 import com.clinassist.entity.User;
+import com.clinassist.event.PatientChangedEvent;
 import com.clinassist.exception.ResourceNotFoundException;
 import com.clinassist.repository.PatientRepository;
-import com.clinassist.repository.SeanceRepository;
 import com.clinassist.repository.TherapeuteRepository;
 import com.clinassist.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,12 +31,33 @@ public class PatientService {
 
     private final PatientRepository patientRepository;
     private final TherapeuteRepository therapeuteRepository;
-    private final SeanceRepository seanceRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PatientDTOAssembler patientDTOAssembler;
+    private final SearchIndex searchIndex;
+    private final TypeaheadIndex typeaheadIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UsernameAllocator usernameAllocator;
 
     public Page<PatientDTO> getAllPatients(Pageable pageable) {
-        return patientRepository.findAll(pageable).map(this::convertToDTO);
+        return assemblePage(patientRepository.findAllIds(pageable));
+    }
+
+    /**
+     * Patients from the most recently created, one keyset page at a time.
+     */
+    public CursorPage<PatientDTO> getPatientsPage(String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Long> ids = after == null
+                ? patientRepository.findKeysetPageIds(KeysetCursor.limit(size))
+                : patientRepository.findKeysetPageIdsBefore(after.at(), after.id(), KeysetCursor.limit(size));
+        return KeysetCursor.page(patientDTOAssembler.assembleByIds(ids), size,
+                patient -> new KeysetCursor(patient.getCreatedAt(), patient.getId()));
+    }
+
+    public List<PatientDTO> getRecentPatients(int limit) {
+        return patientDTOAssembler.assembleByIds(patientRepository.findAllIds(
+                PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "createdAt"))).getContent());
     }
 
     @Transactional
@@ -44,14 +67,37 @@ public class PatientService {
             throw new IllegalArgumentException("Email already exists");
         }
 
-        // Create User entity
-        String username = generateUniqueUsername(request.getEmail());
+        // Create User and Patient entities
+        String username = usernameAllocator.allocate(request.getEmail());
         String tempPassword = UUID.randomUUID().toString().substring(0, 8);
-        
+        Patient patient = newPatient(request, username, passwordEncoder.encode(tempPassword));
+
+        // Assign therapeute if provided
+        if (request.getAssignedTherapeuteId() != null) {
+            Therapeute therapeute = therapeuteRepository.findById(request.getAssignedTherapeuteId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Therapeute not found"));
+            patient.setAssignedTherapeute(therapeute);
+        }
+
+        // Save patient (cascades to user)
+        patient = patientRepository.save(patient);
+        searchIndex.indexPatient(patient);
+        typeaheadIndex.update(patient);
+        eventPublisher.publishEvent(new PatientChangedEvent(patient.getId(), null, patient.getStatus()));
+
+        // TODO: Send email with temporary password
+
+        return convertToDTO(patient);
+    }
+
+    /**
+     * Maps a creation request to a new patient and its PATIENT user, without an assigned therapeute.
+     */
+    static Patient newPatient(PatientCreateRequest request, String username, String passwordHash) {
         User user = User.builder()
                 .username(username)
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(tempPassword))
+                .password(passwordHash)
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .phoneNumber(request.getPhoneNumber())
@@ -60,8 +106,7 @@ public class PatientService {
                 .isEmailVerified(false)
                 .build();
 
-        // Create Patient entity
-        Patient patient = Patient.builder()
+        return Patient.builder()
                 .user(user)
                 .dateOfBirth(request.getDateOfBirth())
                 .gender(request.getGender())
@@ -80,37 +125,10 @@ public class PatientService {
                 .insuranceNumber(request.getInsuranceNumber())
                 .status(request.getStatus() != null ? request.getStatus() : Patient.PatientStatus.ACTIVE)
                 .build();
-
-        // Assign therapeute if provided
-        if (request.getAssignedTherapeuteId() != null) {
-            Therapeute therapeute = therapeuteRepository.findById(request.getAssignedTherapeuteId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Therapeute not found"));
-            patient.setAssignedTherapeute(therapeute);
-        }
-
-        // Save patient (cascades to user)
-        patient = patientRepository.save(patient);
-
-        // TODO: Send email with temporary password
-
-        return convertToDTO(patient);
-    }
-
-    private String generateUniqueUsername(String email) {
-        String baseUsername = email.split("@")[0].toLowerCase();
-        String username = baseUsername;
-        int counter = 1;
-        
-        while (userRepository.existsByUsername(username)) {
-            username = baseUsername + counter;
-            counter++;
-        }
-        
-        return username;
     }
 
     public Page<PatientDTO> searchPatients(String search, Pageable pageable) {
-        return patientRepository.searchPatients(search, pageable).map(this::convertToDTO);
+        return assemblePage(searchIndex.searchPatientIds(search, pageable));
     }
 
     public PatientDTO getPatientById(Long id) {
@@ -132,10 +150,7 @@ public class PatientService {
     }
 
     public List<PatientDTO> getPatientsByTherapeute(Long therapeuteId) {
-        return patientRepository.findByAssignedTherapeuteId(therapeuteId)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return patientDTOAssembler.assembleByIds(patientRepository.findIdsByAssignedTherapeuteId(therapeuteId));
     }
 
     @Transactional
@@ -189,6 +204,8 @@ public class PatientService {
         }
 
         patient = patientRepository.save(patient);
+        searchIndex.indexPatient(patient);
+        typeaheadIndex.update(patient);
         return convertToDTO(patient);
     }
 
@@ -210,18 +227,17 @@ public class PatientService {
     public PatientDTO updatePatientStatus(Long id, Patient.PatientStatus status) {
         Patient patient = patientRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Patient not found"));
+        Patient.PatientStatus previousStatus = patient.getStatus();
 
         patient.setStatus(status);
         patient = patientRepository.save(patient);
+        eventPublisher.publishEvent(new PatientChangedEvent(patient.getId(), previousStatus, status));
 
         return convertToDTO(patient);
     }
 
     public List<PatientDTO> getHighRiskPatients(Integer minRisk) {
-        return patientRepository.findHighRiskPatients(minRisk)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return patientDTOAssembler.assembleByIds(patientRepository.findHighRiskPatientIds(minRisk));
     }
 
     public Long countByStatus(Patient.PatientStatus status) {
@@ -229,59 +245,13 @@ public class PatientService {
     }
 
     private PatientDTO convertToDTO(Patient patient) {
-        // Get upcoming seance
-        List<Seance> upcomingSeances = seanceRepository.findUpcomingSeancesByPatient(
-                patient.getId(), LocalDateTime.now());
-        LocalDateTime nextSeance = upcomingSeances.isEmpty() ? null : 
-                upcomingSeances.get(0).getScheduledAt();
-
-        // Count seances
-        List<Seance> allSeances = seanceRepository.findByPatientId(patient.getId());
-        int totalSeances = allSeances.size();
-        int completedSeances = (int) allSeances.stream()
-                .filter(s -> s.getStatus() == Seance.SeanceStatus.COMPLETED)
-                .count();
-
-        return PatientDTO.builder()
-                .id(patient.getId())
-                .patientCode(patient.getPatientCode())
-                .userId(patient.getUser().getId())
-                .username(patient.getUser().getUsername())
-                .email(patient.getUser().getEmail())
-                .firstName(patient.getUser().getFirstName())
-                .lastName(patient.getUser().getLastName())
-                .fullName(patient.getUser().getFullName())
-                .phoneNumber(patient.getUser().getPhoneNumber())
-                .profileImageUrl(patient.getUser().getProfileImageUrl())
-                .dateOfBirth(patient.getDateOfBirth())
-                .age(patient.getAge())
-                .gender(patient.getGender())
-                .address(patient.getAddress())
-                .city(patient.getCity())
-                .postalCode(patient.getPostalCode())
-                .country(patient.getCountry())
-                .emergencyContactName(patient.getEmergencyContactName())
-                .emergencyContactPhone(patient.getEmergencyContactPhone())
-                .emergencyContactRelation(patient.getEmergencyContactRelation())
-                .medicalHistory(patient.getMedicalHistory())
-                .currentMedications(patient.getCurrentMedications())
-                .allergies(patient.getAllergies())
-                .notes(patient.getNotes())
-                .insuranceProvider(patient.getInsuranceProvider())
-                .insuranceNumber(patient.getInsuranceNumber())
-                .status(patient.getStatus())
-                .assignedTherapeuteId(patient.getAssignedTherapeute() != null ? 
-                        patient.getAssignedTherapeute().getId() : null)
-                .assignedTherapeuteName(patient.getAssignedTherapeute() != null ? 
-                        patient.getAssignedTherapeute().getUser().getFullName() : null)
-                .riskScore(patient.getRiskScore())
-                .riskCategory(patient.getRiskCategory())
-                .totalSeances(totalSeances)
-                .completedSeances(completedSeances)
-                .nextSeanceAt(nextSeance)
-                .createdAt(patient.getCreatedAt())
-                .updatedAt(patient.getUpdatedAt())
-                .build();
+        return patientDTOAssembler.assemble(patient);
     }
-}
 
+    private Page<PatientDTO> assemblePage(Page<Long> idPage) {
+        return new PageImpl<>(
+                patientDTOAssembler.assembleByIds(idPage.getContent()),
+                idPage.getPageable(),
+                idPage.getTotalElements());
+    }
+}
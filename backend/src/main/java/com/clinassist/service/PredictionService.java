@@ -1,21 +1,27 @@
 package com.clinassist.service;
 
+import com.clinassist.dto.BatchPredictionRequest;
+import com.clinassist.dto.CursorPage;
 import com.clinassist.dto.PredictionDTO;
 import com.clinassist.entity.Patient;
 import com.clinassist.entity.Prediction;
-import com.clinassist.entity.Seance;
+import com.clinassist.event.PredictionsCreatedEvent;
+import com.clinassist.exception.BadRequestException;
 import com.clinassist.exception.ResourceNotFoundException;
 import com.clinassist.repository.PatientRepository;
 import com.clinassist.repository.PredictionRepository;
 import com.clinassist.repository.SeanceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,11 +41,15 @@ public class PredictionService {
     private static final String KEY_AVG_DAYS_BETWEEN = "avg_days_between_sessions";
     private static final String KEY_DAYS_SINCE_LAST = "days_since_last_session";
     private static final String DEFAULT_PATIENT_NAME = "Patient";
+    // Not tracked yet: mood scores are per seance and age would come from dateOfBirth
+    private static final double DEFAULT_MOOD_SCORE = 5.0;
+    private static final int DEFAULT_AGE = 30;
 
     private final PredictionRepository predictionRepository;
     private final PatientRepository patientRepository;
     private final SeanceRepository seanceRepository;
     private final MLPredictionClient mlClient;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<PredictionDTO> getPatientPredictions(Long patientId) {
         return predictionRepository.findByPatientId(patientId)
@@ -48,6 +58,19 @@ public class PredictionService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * A patient's predictions from the most recent, one keyset page at a time.
+     */
+    public CursorPage<PredictionDTO> getPatientPredictionsPage(Long patientId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Prediction> rows = after == null
+                ? predictionRepository.findKeysetPageByPatientId(patientId, KeysetCursor.limit(size))
+                : predictionRepository.findKeysetPageByPatientIdBefore(
+                        patientId, after.at(), after.id(), KeysetCursor.limit(size));
+        return KeysetCursor.page(rows.stream().map(this::convertToDTO).collect(Collectors.toList()), size,
+                prediction -> new KeysetCursor(prediction.getCreatedAt(), prediction.getId()));
+    }
+
     public List<PredictionDTO> getLatestPredictions(Long patientId, int limit) {
         return predictionRepository.findLatestPredictions(patientId, PageRequest.of(0, limit))
                 .stream()
@@ -77,17 +100,18 @@ public class PredictionService {
                 .orElseThrow(() -> new ResourceNotFoundException(PATIENT_NOT_FOUND));
 
         // Get patient's seance history
-        List<Seance> completedSeances = seanceRepository.findCompletedSeancesByPatient(patientId);
+        SeanceRepository.PatientFeatureVector features = findFeatureVector(patientId);
         
         // Calculate prediction factors
-        Map<String, Double> factors = calculatePredictionFactors(patient, completedSeances);
+        Map<String, Double> factors = calculatePredictionFactors(patient, features);
         
         // Generate prediction
-        Prediction prediction = generateSessionPrediction(patient, factors, completedSeances);
+        Prediction prediction = generateSessionPrediction(patient, factors);
         prediction = predictionRepository.save(prediction);
 
         // Update patient risk score
         updatePatientRiskScore(patient, prediction);
+        eventPublisher.publishEvent(new PredictionsCreatedEvent(List.of(patientId)));
 
         return convertToDTO(prediction);
     }
@@ -97,43 +121,113 @@ public class PredictionService {
         Patient patient = patientRepository.findById(patientId)
                 .orElseThrow(() -> new ResourceNotFoundException(PATIENT_NOT_FOUND));
 
-        List<Seance> seances = seanceRepository.findByPatientId(patientId);
+        SeanceRepository.PatientFeatureVector features = findFeatureVector(patientId);
+        Map<String, Double> factors = dropoutFactors(features, LocalDateTime.now());
         
-        Map<String, Double> factors = new HashMap<>();
+        // Calculate risk score using ML service (Random Forest model)
+        MLPredictionClient.DropoutRiskFeatures mlFeatures = dropoutFeatures(features, factors);
+        MLPredictionClient.MLPredictionResult mlResult = mlClient.predictDropoutRisk(
+                mlFeatures.getCancellationRate(),
+                mlFeatures.getNoShowRate(),
+                mlFeatures.getDaysSinceLastSession(),
+                mlFeatures.getTotalSessions(),
+                mlFeatures.getAvgMoodScore(),
+                mlFeatures.getAge()
+        );
         
-        // Calculate dropout risk factors
-        long cancelledCount = seances.stream()
-                .filter(s -> s.getStatus() == Seance.SeanceStatus.CANCELLED)
-                .count();
-        long noShowCount = seances.stream()
-                .filter(s -> s.getStatus() == Seance.SeanceStatus.NO_SHOW)
-                .count();
+        Prediction prediction = buildDropoutPrediction(patient, factors, mlResult);
+        prediction = predictionRepository.save(prediction);
         
-        factors.put(KEY_CANCELLATION_RATE, seances.isEmpty() ? 0.0 : 
-                (double) cancelledCount / seances.size());
-        factors.put(KEY_NO_SHOW_RATE, seances.isEmpty() ? 0.0 : 
-                (double) noShowCount / seances.size());
+        // Update patient's risk score in database for persistence
+        updatePatientRiskScore(patient, prediction);
+        eventPublisher.publishEvent(new PredictionsCreatedEvent(List.of(patientId)));
         
-        // Calculate days since last session
-        List<Seance> completed = seances.stream()
-                .filter(s -> s.getStatus() == Seance.SeanceStatus.COMPLETED)
-                .sorted((a, b) -> b.getScheduledAt().compareTo(a.getScheduledAt()))
+        return convertToDTO(prediction);
+    }
+
+    /**
+     * Scores a list of patients, or a therapeute's whole caseload, with one aggregate query
+     * for the factors and batched ML calls instead of one round trip per patient.
+     */
+    @Transactional
+    public List<PredictionDTO> generateDropoutRiskPredictions(BatchPredictionRequest request) {
+        List<Long> patientIds;
+        if (request.getPatientIds() != null && !request.getPatientIds().isEmpty()) {
+            patientIds = request.getPatientIds();
+        } else if (request.getTherapeuteId() != null) {
+            patientIds = patientRepository.findIdsByAssignedTherapeuteId(request.getTherapeuteId());
+        } else {
+            throw new BadRequestException("Either patientIds or therapeuteId is required");
+        }
+        if (patientIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Patient> patients = patientRepository.findAllWithUsersByIdIn(patientIds);
+        Map<Long, SeanceRepository.PatientFeatureVector> factorsByPatient = new HashMap<>();
+        for (SeanceRepository.PatientFeatureVector row : seanceRepository.findFeatureVectorsByPatientIds(patientIds)) {
+            factorsByPatient.put(row.getPatientId(), row);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Map<String, Double>> factorsList = new ArrayList<>(patients.size());
+        List<MLPredictionClient.DropoutRiskFeatures> features = new ArrayList<>(patients.size());
+        for (Patient patient : patients) {
+            SeanceRepository.PatientFeatureVector row = factorsByPatient.get(patient.getId());
+            Map<String, Double> factors = dropoutFactors(row, now);
+            factorsList.add(factors);
+            features.add(dropoutFeatures(row, factors));
+        }
+
+        List<MLPredictionClient.MLPredictionResult> results = mlClient.predictDropoutRiskBatch(features);
+
+        List<Prediction> predictions = new ArrayList<>(patients.size());
+        for (int i = 0; i < patients.size(); i++) {
+            Patient patient = patients.get(i);
+            Prediction prediction = buildDropoutPrediction(patient, factorsList.get(i), results.get(i));
+            predictions.add(prediction);
+            patient.setRiskScore(prediction.getRiskLevel());
+            patient.setRiskCategory(prediction.getRiskCategory().name());
+        }
+        predictions = predictionRepository.saveAll(predictions);
+        patientRepository.saveAll(patients);
+        eventPublisher.publishEvent(new PredictionsCreatedEvent(
+                patients.stream().map(Patient::getId).collect(Collectors.toList())));
+
+        return predictions.stream()
+                .map(this::convertToDTO)
                 .collect(Collectors.toList());
-        
-        long daysSinceLastSession = completed.isEmpty() ? 30 :
-                ChronoUnit.DAYS.between(completed.get(0).getScheduledAt(), LocalDateTime.now());
+    }
+
+    /**
+     * Dropout factors from a patient's aggregated seance counts; {@code row} is null
+     * for patients without any seance.
+     */
+    Map<String, Double> dropoutFactors(SeanceRepository.PatientFeatureVector row, LocalDateTime now) {
+        long total = row != null ? row.getTotal() : 0;
+        long daysSinceLastSession = row == null || row.getLastCompletedAt() == null ? 30 :
+                ChronoUnit.DAYS.between(row.getLastCompletedAt(), now);
+
+        Map<String, Double> factors = new HashMap<>();
+        factors.put(KEY_CANCELLATION_RATE, total == 0 ? 0.0 : (double) row.getCancelled() / total);
+        factors.put(KEY_NO_SHOW_RATE, total == 0 ? 0.0 : (double) row.getNoShow() / total);
         factors.put(KEY_DAYS_SINCE_LAST, (double) daysSinceLastSession);
-        
-        // Calculate risk score using ML service (Random Forest model)
-        MLPredictionClient.MLPredictionResult mlResult = mlClient.predictDropoutRisk(
+        return factors;
+    }
+
+    MLPredictionClient.DropoutRiskFeatures dropoutFeatures(SeanceRepository.PatientFeatureVector row,
+                                                          Map<String, Double> factors) {
+        return new MLPredictionClient.DropoutRiskFeatures(
                 factors.get(KEY_CANCELLATION_RATE),
                 factors.get(KEY_NO_SHOW_RATE),
-                (int) daysSinceLastSession,
-                seances.size(),
-                5.0, // Default mood score (would come from session data if tracked)
-                30   // Default age (would calculate from dateOfBirth if needed)
-        );
-        
+                factors.get(KEY_DAYS_SINCE_LAST).intValue(),
+                row != null ? (int) row.getTotal() : 0,
+                DEFAULT_MOOD_SCORE,
+                DEFAULT_AGE);
+    }
+
+    Prediction buildDropoutPrediction(Patient patient, Map<String, Double> factors,
+                                      MLPredictionClient.MLPredictionResult mlResult) {
         double riskScore = mlResult.getScore();
         int riskLevel = (int) riskScore;
         
@@ -148,7 +242,7 @@ public class PredictionService {
             factors.putAll(mlResult.getFactors());
         }
 
-        Prediction prediction = Prediction.builder()
+        return Prediction.builder()
                 .patient(patient)
                 .type(Prediction.PredictionType.DROPOUT_RISK)
                 .prediction("Patient dropout risk assessment via ML")
@@ -160,13 +254,6 @@ public class PredictionService {
                 .modelVersion(mlResult.getModelVersion() != null ? mlResult.getModelVersion() : "1.0.0")
                 .algorithmUsed(mlResult.getAlgorithm() != null ? mlResult.getAlgorithm() : "RandomForest")
                 .build();
-
-        prediction = predictionRepository.save(prediction);
-        
-        // Update patient's risk score in database for persistence
-        updatePatientRiskScore(patient, prediction);
-        
-        return convertToDTO(prediction);
     }
 
     @Transactional
@@ -174,21 +261,18 @@ public class PredictionService {
         Patient patient = patientRepository.findById(patientId)
                 .orElseThrow(() -> new ResourceNotFoundException(PATIENT_NOT_FOUND));
 
-        List<Seance> completedSeances = seanceRepository.findCompletedSeancesByPatient(patientId);
-        Double avgProgress = seanceRepository.getAverageProgressRating(patientId);
+        SeanceRepository.PatientFeatureVector features = findFeatureVector(patientId);
+        long completed = features != null ? features.getCompleted() : 0;
+        Double avgProgress = features != null ? features.getAvgProgress() : null;
         
         Map<String, Double> factors = new HashMap<>();
-        factors.put(KEY_TOTAL_SESSIONS, (double) completedSeances.size());
+        factors.put(KEY_TOTAL_SESSIONS, (double) completed);
         factors.put("average_progress", avgProgress != null ? avgProgress : 0.0);
         
         // Calculate mood improvement
-        if (!completedSeances.isEmpty()) {
-            double moodImprovement = completedSeances.stream()
-                    .filter(s -> s.getPatientMoodBefore() != null && s.getPatientMoodAfter() != null)
-                    .mapToDouble(s -> s.getPatientMoodAfter() - s.getPatientMoodBefore())
-                    .average()
-                    .orElse(0.0);
-            factors.put("mood_improvement", moodImprovement);
+        if (completed > 0) {
+            Double moodImprovement = features.getAvgMoodDelta();
+            factors.put("mood_improvement", moodImprovement != null ? moodImprovement : 0.0);
         }
 
         double progressScore = calculateProgressScore(factors);
@@ -212,32 +296,34 @@ public class PredictionService {
                 .build();
 
         prediction = predictionRepository.save(prediction);
+        eventPublisher.publishEvent(new PredictionsCreatedEvent(List.of(patientId)));
         return convertToDTO(prediction);
     }
 
-    private Map<String, Double> calculatePredictionFactors(Patient patient, List<Seance> seances) {
+    private SeanceRepository.PatientFeatureVector findFeatureVector(Long patientId) {
+        List<SeanceRepository.PatientFeatureVector> rows =
+                seanceRepository.findFeatureVectorsByPatientIds(Collections.singletonList(patientId));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private Map<String, Double> calculatePredictionFactors(Patient patient,
+                                                           SeanceRepository.PatientFeatureVector features) {
         Map<String, Double> factors = new HashMap<>();
+        long completed = features != null ? features.getCompleted() : 0;
         
-        factors.put(KEY_TOTAL_SESSIONS, (double) seances.size());
+        factors.put(KEY_TOTAL_SESSIONS, (double) completed);
         factors.put("age", (double) patient.getAge());
         
-        // Average session frequency (days between sessions)
-        if (seances.size() >= 2) {
-            double avgDaysBetween = 0;
-            for (int i = 1; i < seances.size(); i++) {
-                avgDaysBetween += ChronoUnit.DAYS.between(
-                        seances.get(i).getScheduledAt(),
-                        seances.get(i - 1).getScheduledAt()
-                );
-            }
-            factors.put(KEY_AVG_DAYS_BETWEEN, avgDaysBetween / (seances.size() - 1));
+        // Average session frequency: the gaps between consecutive sessions add up to first-to-last
+        if (completed >= 2) {
+            long span = ChronoUnit.DAYS.between(features.getFirstCompletedAt(), features.getLastCompletedAt());
+            factors.put(KEY_AVG_DAYS_BETWEEN, (double) span / (completed - 1));
         }
         
         return factors;
     }
 
-    private Prediction generateSessionPrediction(Patient patient, Map<String, Double> factors,
-                                                   List<Seance> completedSeances) {
+    private Prediction generateSessionPrediction(Patient patient, Map<String, Double> factors) {
         // Simple prediction logic (in production, use ML model)
         int recommendedDays = 7; // Default weekly
         
@@ -0,0 +1,95 @@
+package com.clinassist.service;
+
+import com.clinassist.exception.BadRequestException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parsed {@code recurringPattern} of a seance series: a frequency followed by either the number
+ * of occurrences or the date of the last one, e.g. {@code WEEKLY;COUNT=10} or
+ * {@code BIWEEKLY;UNTIL=2026-12-31}. Exactly one of {@code count} and {@code until} is set.
+ */
+record RecurrenceRule(Frequency frequency, Integer count, LocalDate until) {
+
+    // Two years of weekly seances
+    static final int MAX_OCCURRENCES = 104;
+
+    enum Frequency {
+        WEEKLY,
+        BIWEEKLY,
+        MONTHLY
+    }
+
+    static RecurrenceRule parse(String pattern) {
+        String[] parts = pattern.trim().toUpperCase(Locale.ROOT).split("\\s*;\\s*");
+        Frequency frequency;
+        try {
+            frequency = Frequency.valueOf(parts[0]);
+        } catch (IllegalArgumentException e) {
+            throw invalid(pattern);
+        }
+
+        Integer count = null;
+        LocalDate until = null;
+        for (int i = 1; i < parts.length; i++) {
+            int separator = parts[i].indexOf('=');
+            String key = separator < 0 ? parts[i] : parts[i].substring(0, separator);
+            String value = parts[i].substring(separator + 1);
+            try {
+                if (key.equals("COUNT") && count == null) {
+                    count = Integer.valueOf(value);
+                } else if (key.equals("UNTIL") && until == null) {
+                    until = LocalDate.parse(value);
+                } else {
+                    throw invalid(pattern);
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw invalid(pattern);
+            }
+        }
+        if ((count == null) == (until == null)) {
+            throw new BadRequestException("Recurring pattern needs either COUNT or UNTIL: " + pattern);
+        }
+        if (count != null && (count < 1 || count > MAX_OCCURRENCES)) {
+            throw new BadRequestException("Recurring pattern COUNT must be between 1 and " + MAX_OCCURRENCES);
+        }
+        return new RecurrenceRule(frequency, count, until);
+    }
+
+    /**
+     * Start of every occurrence, {@code first} included. Monthly occurrences keep the day of month
+     * of {@code first}, clamped to the end of shorter months.
+     */
+    List<LocalDateTime> expand(LocalDateTime first) {
+        if (until != null && until.isBefore(first.toLocalDate())) {
+            throw new BadRequestException("Recurring pattern UNTIL is before the first seance");
+        }
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        LocalDateTime next = first;
+        while (count != null ? occurrences.size() < count : !next.toLocalDate().isAfter(until)) {
+            if (occurrences.size() == MAX_OCCURRENCES) {
+                throw new BadRequestException("A seance series has at most " + MAX_OCCURRENCES + " occurrences");
+            }
+            occurrences.add(next);
+            next = occurrenceAt(first, occurrences.size());
+        }
+        return occurrences;
+    }
+
+    private LocalDateTime occurrenceAt(LocalDateTime first, int index) {
+        return switch (frequency) {
+            case WEEKLY -> first.plusWeeks(index);
+            case BIWEEKLY -> first.plusWeeks(2L * index);
+            case MONTHLY -> first.plusMonths(index);
+        };
+    }
+
+    private static BadRequestException invalid(String pattern) {
+        return new BadRequestException("Invalid recurring pattern: " + pattern);
+    }
+}
@@ -0,0 +1,337 @@
+package com.clinassist.service;
+
+import com.clinassist.entity.Notification;
+import com.clinassist.entity.Seance;
+import com.clinassist.entity.User;
+import com.clinassist.repository.NotificationRepository;
+import com.clinassist.repository.SeanceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sends appointment reminders for the seances starting within {@code leadTime}.
+ * <p>
+ * Due seances are claimed in pages of {@code pageSize}: one transaction locks the page (skipping
+ * rows another instance holds), inserts an {@code APPOINTMENT_REMINDER} notification per seance in
+ * JDBC batches and sets {@code reminderSent} on the seances it notified with one bulk UPDATE. The
+ * emails are then handed to a bounded worker pool. Neither a full queue nor a failed send ever blocks
+ * the calling scheduler thread or a worker: both are deferred to a retry timer, failed sends with
+ * exponential backoff. The notifications of a page are marked sent with one UPDATE once its emails are done.
+ * <p>
+ * Without a configured mail server ({@code spring.mail.host}) only the notifications are created.
+ */
+@Component
+@ConditionalOnProperty(name = "app.reminders.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ReminderDispatcher {
+
+    private static final String METRIC_PREFIX = "reminders.";
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("EEEE d MMMM yyyy", Locale.FRENCH);
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm", Locale.FRENCH);
+
+    private final SeanceRepository seanceRepository;
+    private final NotificationRepository notificationRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final ThreadPoolTaskScheduler retryScheduler;
+    private final Duration leadTime;
+    private final int pageSize;
+    private final String from;
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Counter claimedCounter;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Timer claimLagTimer;
+    private final Timer deliveryLagTimer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ReminderDispatcher(SeanceRepository seanceRepository,
+                              NotificationRepository notificationRepository,
+                              ObjectProvider<JavaMailSender> mailSender,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.reminders.lead-time:24h}") Duration leadTime,
+                              @Value("${app.reminders.page-size:200}") int pageSize,
+                              @Value("${app.reminders.mail.from:no-reply@clinassist.local}") String from,
+                              @Value("${app.reminders.mail.pool-size:4}") int poolSize,
+                              @Value("${app.reminders.mail.queue-capacity:500}") int queueCapacity,
+                              @Value("${app.reminders.mail.max-attempts:3}") int maxAttempts,
+                              @Value("${app.reminders.mail.backoff:2s}") Duration backoff) {
+        this.seanceRepository = seanceRepository;
+        this.notificationRepository = notificationRepository;
+        this.mailSender = mailSender.getIfAvailable();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leadTime = leadTime;
+        this.pageSize = pageSize;
+        this.from = from;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+
+        this.retryScheduler = new ThreadPoolTaskScheduler();
+        this.retryScheduler.setPoolSize(1);
+        this.retryScheduler.setThreadNamePrefix("reminder-retry-");
+        this.retryScheduler.initialize();
+
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(poolSize);
+        this.executor.setMaxPoolSize(poolSize);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setThreadNamePrefix("reminder-mail-");
+        // A full queue defers the send rather than running it on the claiming thread
+        this.executor.setRejectedExecutionHandler((task, pool) -> {
+            if (!pool.isShutdown()) {
+                retryScheduler.schedule(() -> executor.execute(task), Instant.now().plus(backoff));
+            }
+        });
+        this.executor.setWaitForTasksToCompleteOnShutdown(true);
+        this.executor.setAwaitTerminationSeconds(30);
+        this.executor.initialize();
+
+        this.claimedCounter = Counter.builder(METRIC_PREFIX + "claimed")
+                .description("Seances claimed for a reminder")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder(METRIC_PREFIX + "emails.sent")
+                .description("Reminder emails delivered to the mail server")
+                .register(meterRegistry);
+        this.retriedCounter = Counter.builder(METRIC_PREFIX + "emails.retried")
+                .description("Reminder email attempts retried after a failure")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder(METRIC_PREFIX + "emails.failed")
+                .description("Reminder emails given up after the last attempt")
+                .register(meterRegistry);
+        this.claimLagTimer = Timer.builder(METRIC_PREFIX + "claim.lag")
+                .description("Time between a seance becoming due for a reminder and its claim")
+                .register(meterRegistry);
+        this.deliveryLagTimer = Timer.builder(METRIC_PREFIX + "delivery.lag")
+                .description("Time between the claim of a reminder and the delivery of its email")
+                .register(meterRegistry);
+        meterRegistry.gauge(METRIC_PREFIX + "emails.queued", executor,
+                e -> e.getThreadPoolExecutor().getQueue().size());
+
+        if (this.mailSender == null) {
+            log.info("No mail server configured, appointment reminders are notifications only");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdown();
+        executor.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${app.reminders.poll-interval-ms:60000}",
+            initialDelayString = "${app.reminders.poll-interval-ms:60000}")
+    public void scheduledRun() {
+        dispatch();
+    }
+
+    /**
+     * Claims every seance due for a reminder and queues its email. A run already in progress makes
+     * this call a no-op.
+     *
+     * @return the email deliveries of the claimed reminders, completing once they are sent or given
+     * up, or null if a run was already in progress
+     */
+    public CompletableFuture<Void> dispatch() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Reminder dispatch already running, skipping");
+            return null;
+        }
+        List<CompletableFuture<Void>> pages = new ArrayList<>();
+        int claimed = 0;
+        try {
+            ClaimedPage page;
+            do {
+                page = transactionTemplate.execute(status -> claimPage());
+                claimed += page.reminders().size();
+                if (!page.reminders().isEmpty()) {
+                    pages.add(deliver(page.reminders()));
+                }
+            } while (page.claimed() == pageSize);
+        } finally {
+            running.set(false);
+        }
+        if (claimed > 0) {
+            log.info("Claimed {} appointment reminders", claimed);
+        }
+        return CompletableFuture.allOf(pages.toArray(CompletableFuture[]::new));
+    }
+
+    private ClaimedPage claimPage() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = seanceRepository.findSeancesNeedingReminder(now, now.plus(leadTime),
+                        PageRequest.of(0, pageSize))
+                .stream()
+                .map(Seance::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return new ClaimedPage(0, Collections.emptyList());
+        }
+
+        List<Long> remindedIds = new ArrayList<>(ids.size());
+        List<Reminder> reminders = new ArrayList<>(ids.size());
+        List<Notification> notifications = new ArrayList<>(ids.size());
+        for (SeanceRepository.ReminderRecipient recipient : seanceRepository.findReminderRecipients(ids)) {
+            Notification notification = Notification.builder()
+                    .user(entityManager.getReference(User.class, recipient.getUserId()))
+                    .title("Rappel de séance")
+                    .message(summary(recipient))
+                    .type(Notification.NotificationType.APPOINTMENT_REMINDER)
+                    .referenceId(recipient.getSeanceId())
+                    .referenceType("SEANCE")
+                    .actionUrl("/seances/" + recipient.getSeanceId())
+                    .isSent(false)
+                    .build();
+            notifications.add(notification);
+            remindedIds.add(recipient.getSeanceId());
+            reminders.add(new Reminder(notification, recipient, now));
+            claimLagTimer.record(Duration.between(dueAt(recipient), now));
+        }
+        // Flushed before the bulk UPDATE, which clears the persistence context
+        notificationRepository.saveAllAndFlush(notifications);
+        if (!remindedIds.isEmpty()) {
+            seanceRepository.markRemindersSent(remindedIds, now);
+        }
+        claimedCounter.increment(remindedIds.size());
+        return new ClaimedPage(ids.size(), reminders);
+    }
+
+    private CompletableFuture<Void> deliver(List<Reminder> page) {
+        if (mailSender == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<CompletableFuture<Long>> sends = new ArrayList<>(page.size());
+        for (Reminder reminder : page) {
+            CompletableFuture<Long> sent = new CompletableFuture<>();
+            SimpleMailMessage message = message(reminder.recipient());
+            executor.execute(() -> send(reminder, message, 1, sent));
+            sends.add(sent);
+        }
+        return CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).thenRun(() -> {
+            List<Long> sentIds = sends.stream().map(CompletableFuture::join).filter(id -> id != null).toList();
+            if (!sentIds.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status ->
+                        notificationRepository.markAllSent(sentIds, LocalDateTime.now()));
+            }
+        });
+    }
+
+    private SimpleMailMessage message(SeanceRepository.ReminderRecipient recipient) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(recipient.getEmail());
+        message.setSubject("Rappel : votre séance du " + DATE.format(recipient.getScheduledAt()));
+        message.setText(body(recipient));
+        return message;
+    }
+
+    /**
+     * Makes one attempt at the email of a reminder. A transient failure schedules the next attempt
+     * instead of waiting for it. {@code sent} completes with the id of its notification once sent,
+     * or with null if it was given up.
+     */
+    private void send(Reminder reminder, SimpleMailMessage message, int attempt, CompletableFuture<Long> sent) {
+        try {
+            mailSender.send(message);
+            sentCounter.increment();
+            deliveryLagTimer.record(Duration.between(reminder.claimedAt(), LocalDateTime.now()));
+            sent.complete(reminder.notification().getId());
+        } catch (MailSendException e) {
+            if (attempt >= maxAttempts) {
+                failedCounter.increment();
+                log.warn("Giving up the reminder of seance {} after {} attempts: {}",
+                        reminder.recipient().getSeanceId(), attempt, e.getMessage());
+                sent.complete(null);
+                return;
+            }
+            retriedCounter.increment();
+            retryScheduler.schedule(() -> executor.execute(() -> send(reminder, message, attempt + 1, sent)),
+                    Instant.now().plus(backoff.multipliedBy(1L << (attempt - 1))));
+        } catch (RuntimeException e) {
+            // Not a delivery failure (bad address, misconfiguration): retrying would not help
+            failedCounter.increment();
+            log.warn("Could not send the reminder of seance {}: {}", reminder.recipient().getSeanceId(),
+                    e.getMessage());
+            sent.complete(null);
+        }
+    }
+
+    /**
+     * When the reminder became due: the start of the lead time, or the booking for a seance booked
+     * inside it.
+     */
+    private LocalDateTime dueAt(SeanceRepository.ReminderRecipient recipient) {
+        LocalDateTime dueAt = recipient.getScheduledAt().minus(leadTime);
+        LocalDateTime bookedAt = recipient.getCreatedAt();
+        return bookedAt != null && bookedAt.isAfter(dueAt) ? bookedAt : dueAt;
+    }
+
+    private static String summary(SeanceRepository.ReminderRecipient recipient) {
+        return "Séance le " + DATE.format(recipient.getScheduledAt()) + " à " + TIME.format(recipient.getScheduledAt())
+                + " avec " + recipient.getTherapeuteFirstName() + " " + recipient.getTherapeuteLastName() + ".";
+    }
+
+    private static String body(SeanceRepository.ReminderRecipient recipient) {
+        StringBuilder body = new StringBuilder()
+                .append("Bonjour ").append(recipient.getFirstName() != null ? recipient.getFirstName() : "")
+                .append(",\n\n")
+                .append("Nous vous rappelons votre séance du ").append(DATE.format(recipient.getScheduledAt()))
+                .append(" à ").append(TIME.format(recipient.getScheduledAt()))
+                .append(" avec ").append(recipient.getTherapeuteFirstName()).append(' ')
+                .append(recipient.getTherapeuteLastName());
+        if (recipient.getDurationMinutes() != null) {
+            body.append(" (").append(recipient.getDurationMinutes()).append(" minutes)");
+        }
+        body.append(".\n");
+        if (recipient.getType() == Seance.SeanceType.VIDEO_CALL && recipient.getVideoCallLink() != null) {
+            body.append("Lien de la visioconférence : ").append(recipient.getVideoCallLink()).append('\n');
+        } else if (recipient.getMeetingRoom() != null) {
+            body.append("Salle : ").append(recipient.getMeetingRoom()).append('\n');
+        }
+        return body.append("\nL'équipe ClinAssist\n").toString();
+    }
+
+    // claimed counts the locked seances, reminders only those with someone to remind
+    private record ClaimedPage(int claimed, List<Reminder> reminders) {
+    }
+
+    private record Reminder(Notification notification, SeanceRepository.ReminderRecipient recipient,
+                            LocalDateTime claimedAt) {
+    }
+}
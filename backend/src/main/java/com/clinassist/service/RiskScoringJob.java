@@ -0,0 +1,203 @@
+package com.clinassist.service;
+
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Prediction;
+import com.clinassist.event.PredictionsCreatedEvent;
+import com.clinassist.repository.PatientRepository;
+import com.clinassist.repository.RiskScoreBatchWriter;
+import com.clinassist.repository.SeanceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Nightly dropout-risk scoring of every ACTIVE patient.
+ * Patients are walked in id order by keyset chunks; each chunk costs one aggregate query,
+ * a few parallel batch calls to the ML service and one batched JDBC write.
+ */
+@Component
+@ConditionalOnProperty(name = "app.risk-scoring.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class RiskScoringJob {
+
+    private static final String METRIC_PREFIX = "risk.scoring.";
+
+    private final PatientRepository patientRepository;
+    private final SeanceRepository seanceRepository;
+    private final PredictionService predictionService;
+    private final MLPredictionClient mlClient;
+    private final RiskScoreBatchWriter writer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolTaskExecutor executor;
+    private final int chunkSize;
+    private final int parallelism;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong progress = new AtomicLong();
+    private final AtomicLong lastThroughput = new AtomicLong();
+    private final Counter scoredCounter;
+    private final Counter failedChunkCounter;
+    private final Timer chunkTimer;
+    private final Timer runTimer;
+
+    public RiskScoringJob(PatientRepository patientRepository,
+                          SeanceRepository seanceRepository,
+                          PredictionService predictionService,
+                          MLPredictionClient mlClient,
+                          RiskScoreBatchWriter writer,
+                          ApplicationEventPublisher eventPublisher,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.risk-scoring.chunk-size:1000}") int chunkSize,
+                          @Value("${app.risk-scoring.parallelism:4}") int parallelism) {
+        this.patientRepository = patientRepository;
+        this.seanceRepository = seanceRepository;
+        this.predictionService = predictionService;
+        this.mlClient = mlClient;
+        this.writer = writer;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+
+        // Bounded like the ML client's pool: a saturated pool makes the job thread score the slice itself
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(parallelism);
+        this.executor.setMaxPoolSize(parallelism);
+        this.executor.setQueueCapacity(parallelism);
+        this.executor.setThreadNamePrefix("risk-scoring-");
+        this.executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.initialize();
+
+        this.scoredCounter = Counter.builder(METRIC_PREFIX + "patients")
+                .description("Patients scored by the risk scoring job")
+                .register(meterRegistry);
+        this.failedChunkCounter = Counter.builder(METRIC_PREFIX + "chunks.failed")
+                .description("Chunks skipped after an error")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder(METRIC_PREFIX + "chunk")
+                .description("Time to score and write one chunk of patients")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder(METRIC_PREFIX + "run")
+                .description("Duration of a full risk scoring run")
+                .register(meterRegistry);
+        meterRegistry.gauge(METRIC_PREFIX + "progress", progress);
+        meterRegistry.gauge(METRIC_PREFIX + "throughput", lastThroughput);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Scheduled(cron = "${app.risk-scoring.cron:0 0 2 * * *}")
+    public void scheduledRun() {
+        run();
+    }
+
+    /**
+     * Scores all ACTIVE patients. A run already in progress makes this call a no-op.
+     *
+     * @return number of patients scored, or -1 if a run was already in progress
+     */
+    public long run() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Risk scoring already running, skipping");
+            return -1;
+        }
+        progress.set(0);
+        long start = System.nanoTime();
+        try {
+            Long afterId = 0L;
+            while (true) {
+                List<Long> ids = patientRepository.findIdsByStatusAfter(
+                        Patient.PatientStatus.ACTIVE, afterId, PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                scoreChunk(ids);
+                afterId = ids.get(ids.size() - 1);
+            }
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            lastThroughput.set(elapsed == 0 ? 0 : progress.get() * 1_000_000_000L / elapsed);
+            running.set(false);
+        }
+        log.info("Risk scoring scored {} patients ({} patients/s)", progress.get(), lastThroughput.get());
+        return progress.get();
+    }
+
+    private void scoreChunk(List<Long> ids) {
+        Timer.Sample sample = Timer.start();
+        try {
+            Map<Long, SeanceRepository.PatientFeatureVector> rows = new HashMap<>();
+            for (SeanceRepository.PatientFeatureVector row : seanceRepository.findFeatureVectorsByPatientIds(ids)) {
+                rows.put(row.getPatientId(), row);
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            List<Map<String, Double>> factorsList = new ArrayList<>(ids.size());
+            List<MLPredictionClient.DropoutRiskFeatures> features = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                Map<String, Double> factors = predictionService.dropoutFactors(rows.get(id), now);
+                factorsList.add(factors);
+                features.add(predictionService.dropoutFeatures(rows.get(id), factors));
+            }
+
+            List<MLPredictionClient.MLPredictionResult> results = scoreInParallel(features);
+
+            List<Prediction> predictions = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                predictions.add(predictionService.buildDropoutPrediction(null, factorsList.get(i), results.get(i)));
+            }
+            writer.write(ids, predictions);
+            eventPublisher.publishEvent(new PredictionsCreatedEvent(ids));
+
+            progress.addAndGet(ids.size());
+            scoredCounter.increment(ids.size());
+        } catch (RuntimeException e) {
+            // One bad chunk should not stop the nightly run
+            failedChunkCounter.increment();
+            log.error("Risk scoring failed for patients {}..{}: {}", ids.get(0), ids.get(ids.size() - 1),
+                    e.getMessage());
+        } finally {
+            sample.stop(chunkTimer);
+        }
+    }
+
+    private List<MLPredictionClient.MLPredictionResult> scoreInParallel(
+            List<MLPredictionClient.DropoutRiskFeatures> features) {
+        int sliceSize = Math.max(1, (features.size() + parallelism - 1) / parallelism);
+        List<CompletableFuture<List<MLPredictionClient.MLPredictionResult>>> slices = new ArrayList<>();
+        for (int from = 0; from < features.size(); from += sliceSize) {
+            List<MLPredictionClient.DropoutRiskFeatures> slice =
+                    features.subList(from, Math.min(from + sliceSize, features.size()));
+            slices.add(CompletableFuture.supplyAsync(() -> mlClient.predictDropoutRiskBatch(slice), executor));
+        }
+
+        List<MLPredictionClient.MLPredictionResult> results = new ArrayList<>(features.size());
+        for (CompletableFuture<List<MLPredictionClient.MLPredictionResult>> slice : slices) {
+            results.addAll(slice.join());
+        }
+        return results;
+    }
+}
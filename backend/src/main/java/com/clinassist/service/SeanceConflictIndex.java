@@ -0,0 +1,259 @@
+package com.clinassist.service;
+
+import com.clinassist.entity.Seance;
+import com.clinassist.repository.SeanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the booked intervals [scheduledAt, scheduledAt + durationMinutes)
+ * of every therapeute, used to answer scheduling conflict checks without a database round-trip.
+ * <p>
+ * Intervals are kept per therapeute in a map sorted by start time. Since no interval is longer
+ * than the longest one seen for that therapeute, every interval overlapping [start, end) starts in
+ * [start - maxDuration, end), so an overlap query is a single O(log n) range lookup.
+ * <p>
+ * The index is warmed on startup with all non-cancelled seances from the look-back horizon on.
+ * Checks that start before the horizon fall back to the database. Writes are applied once the
+ * surrounding transaction has committed, so a rolled-back booking never shows up as a conflict.
+ * Seances written while the index is warming keep their live state over the older warm-up rows.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeanceConflictIndex {
+
+    private static final int DEFAULT_DURATION_MINUTES = 60;
+
+    private final SeanceRepository seanceRepository;
+
+    @Value("${app.scheduling.conflict-index.lookback-days:30}")
+    private int lookbackDays;
+
+    private final Map<Long, TherapeuteSchedule> schedules = new ConcurrentHashMap<>();
+
+    // Until the index is warmed every check goes to the database
+    private volatile LocalDateTime horizon = LocalDateTime.MAX;
+
+    // Seances updated since the warm-up started, null outside of a warm-up; guarded by warmUpLock
+    private final Object warmUpLock = new Object();
+    private Set<Long> updatedWhileWarming;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        synchronized (warmUpLock) {
+            updatedWhileWarming = new HashSet<>();
+        }
+        LocalDateTime from = LocalDate.now().minusDays(lookbackDays).atStartOfDay();
+        // Intervals starting up to a day before the horizon may still overlap it
+        List<SeanceRepository.BookedInterval> intervals = seanceRepository.findBookedIntervalsFrom(from.minusDays(1));
+        synchronized (warmUpLock) {
+            // Rows written while loading were applied already and are newer than the query results
+            for (SeanceRepository.BookedInterval interval : intervals) {
+                if (!updatedWhileWarming.contains(interval.getId())) {
+                    apply(interval.getId(), interval.getTherapeuteId(), interval.getScheduledAt(),
+                            durationOf(interval.getDurationMinutes()), true);
+                }
+            }
+            updatedWhileWarming = null;
+            horizon = from;
+        }
+        log.info("Seance conflict index warmed with {} intervals for {} therapeutes",
+                intervals.size(), schedules.size());
+    }
+
+    /**
+     * Returns true if the therapeute has a booked interval overlapping
+     * [start, start + durationMinutes), ignoring the seance with id {@code excludedSeanceId}.
+     */
+    public boolean hasConflict(Long therapeuteId, LocalDateTime start, Integer durationMinutes,
+                               Long excludedSeanceId) {
+        LocalDateTime end = start.plusMinutes(durationOf(durationMinutes));
+        if (start.isBefore(horizon)) {
+            return hasConflictInDatabase(therapeuteId, start, end, excludedSeanceId);
+        }
+        TherapeuteSchedule schedule = schedules.get(therapeuteId);
+        return schedule != null && schedule.overlaps(start, end,
+                excludedSeanceId != null ? Set.of(excludedSeanceId) : Set.of());
+    }
+
+    /**
+     * Returns the candidates (e.g. the occurrences of a series) that overlap a booked interval of
+     * the therapeute, checking the whole batch in one pass. Booked seances whose id is in
+     * {@code excludedSeanceIds} are ignored, so that a series can be moved over its own slots.
+     */
+    public List<Seance> findConflicts(Long therapeuteId, List<Seance> candidates, Set<Long> excludedSeanceIds) {
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime first = candidates.stream().map(Seance::getScheduledAt)
+                .min(Comparator.naturalOrder()).orElseThrow();
+        if (first.isBefore(horizon)) {
+            return findConflictsInDatabase(therapeuteId, first, candidates, excludedSeanceIds);
+        }
+        TherapeuteSchedule schedule = schedules.get(therapeuteId);
+        return schedule != null ? schedule.overlapping(candidates, excludedSeanceIds) : List.of();
+    }
+
+    /**
+     * Records the current state of a seance: its interval is (re)indexed while the seance
+     * still occupies the slot, and removed once it is cancelled.
+     */
+    public void update(Seance seance) {
+        Long id = seance.getId();
+        Long therapeuteId = seance.getTherapeute().getId();
+        LocalDateTime start = seance.getScheduledAt();
+        int duration = durationOf(seance.getDurationMinutes());
+        boolean booked = isBooked(seance.getStatus());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyUpdate(id, therapeuteId, start, duration, booked);
+                }
+            });
+        } else {
+            applyUpdate(id, therapeuteId, start, duration, booked);
+        }
+    }
+
+    private void applyUpdate(Long id, Long therapeuteId, LocalDateTime start, int duration, boolean booked) {
+        synchronized (warmUpLock) {
+            if (updatedWhileWarming != null) {
+                updatedWhileWarming.add(id);
+            }
+            apply(id, therapeuteId, start, duration, booked);
+        }
+    }
+
+    private void apply(Long id, Long therapeuteId, LocalDateTime start, int duration, boolean booked) {
+        TherapeuteSchedule schedule = schedules.computeIfAbsent(therapeuteId, k -> new TherapeuteSchedule());
+        if (booked) {
+            schedule.put(id, start, duration);
+        } else {
+            schedule.remove(id);
+        }
+    }
+
+    private boolean hasConflictInDatabase(Long therapeuteId, LocalDateTime start, LocalDateTime end,
+                                          Long excludedSeanceId) {
+        return seanceRepository.findByTherapeuteAndDateRange(therapeuteId, start.minusDays(1), end)
+                .stream()
+                .filter(s -> isBooked(s.getStatus()))
+                .filter(s -> !s.getId().equals(excludedSeanceId))
+                .anyMatch(s -> s.getScheduledAt().isBefore(end)
+                        && s.getScheduledAt().plusMinutes(durationOf(s.getDurationMinutes())).isAfter(start));
+    }
+
+    private List<Seance> findConflictsInDatabase(Long therapeuteId, LocalDateTime first, List<Seance> candidates,
+                                                 Set<Long> excludedSeanceIds) {
+        LocalDateTime last = candidates.stream().map(c -> endOf(c.getScheduledAt(), c.getDurationMinutes()))
+                .max(Comparator.naturalOrder()).orElseThrow();
+        List<Seance> booked = seanceRepository.findByTherapeuteAndDateRange(therapeuteId, first.minusDays(1), last)
+                .stream()
+                .filter(s -> isBooked(s.getStatus()))
+                .filter(s -> !excludedSeanceIds.contains(s.getId()))
+                .toList();
+        List<Seance> conflicts = new ArrayList<>();
+        for (Seance candidate : candidates) {
+            LocalDateTime start = candidate.getScheduledAt();
+            LocalDateTime end = endOf(start, candidate.getDurationMinutes());
+            if (booked.stream().anyMatch(s -> s.getScheduledAt().isBefore(end)
+                    && endOf(s.getScheduledAt(), s.getDurationMinutes()).isAfter(start))) {
+                conflicts.add(candidate);
+            }
+        }
+        return conflicts;
+    }
+
+    private static LocalDateTime endOf(LocalDateTime start, Integer durationMinutes) {
+        return start.plusMinutes(durationOf(durationMinutes));
+    }
+
+    private static boolean isBooked(Seance.SeanceStatus status) {
+        return status != Seance.SeanceStatus.CANCELLED;
+    }
+
+    private static int durationOf(Integer durationMinutes) {
+        return durationMinutes != null ? durationMinutes : DEFAULT_DURATION_MINUTES;
+    }
+
+    /**
+     * Booked intervals of one therapeute, keyed by (start, seance id) so that
+     * seances sharing a start time do not replace each other.
+     */
+    private static final class TherapeuteSchedule {
+
+        private final NavigableMap<Slot, LocalDateTime> endsByStart = new TreeMap<>();
+        private final Map<Long, Slot> slotsBySeance = new HashMap<>();
+        private int maxDurationMinutes;
+
+        synchronized void put(Long seanceId, LocalDateTime start, int durationMinutes) {
+            remove(seanceId);
+            Slot slot = new Slot(start, seanceId);
+            endsByStart.put(slot, start.plusMinutes(durationMinutes));
+            slotsBySeance.put(seanceId, slot);
+            maxDurationMinutes = Math.max(maxDurationMinutes, durationMinutes);
+        }
+
+        synchronized void remove(Long seanceId) {
+            Slot slot = slotsBySeance.remove(seanceId);
+            if (slot != null) {
+                endsByStart.remove(slot);
+            }
+        }
+
+        synchronized boolean overlaps(LocalDateTime start, LocalDateTime end, Set<Long> excludedSeanceIds) {
+            Slot from = new Slot(start.minusMinutes(maxDurationMinutes), Long.MIN_VALUE);
+            Slot to = new Slot(end, Long.MIN_VALUE);
+            for (Map.Entry<Slot, LocalDateTime> entry : endsByStart.subMap(from, true, to, false).entrySet()) {
+                if (entry.getValue().isAfter(start) && !excludedSeanceIds.contains(entry.getKey().seanceId())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized List<Seance> overlapping(List<Seance> candidates, Set<Long> excludedSeanceIds) {
+            List<Seance> conflicts = new ArrayList<>();
+            for (Seance candidate : candidates) {
+                LocalDateTime start = candidate.getScheduledAt();
+                if (overlaps(start, endOf(start, candidate.getDurationMinutes()), excludedSeanceIds)) {
+                    conflicts.add(candidate);
+                }
+            }
+            return conflicts;
+        }
+    }
+
+    private record Slot(LocalDateTime start, Long seanceId) implements Comparable<Slot> {
+
+        private static final Comparator<Slot> ORDER = Comparator.comparing(Slot::start)
+                .thenComparing(Slot::seanceId);
+
+        @Override
+        public int compareTo(Slot other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -1,23 +1,30 @@
 package com.clinassist.service;
 
 import com.clinassist.dto.CreateSeanceRequest;
+import com.clinassist.dto.CursorPage;
 import com.clinassist.dto.SeanceDTO;
 import com.clinassist.entity.Patient;
 import com.clinassist.entity.Seance;
 import com.clinassist.entity.Therapeute;
+import com.clinassist.event.SeanceChangedEvent;
 import com.clinassist.exception.BadRequestException;
+import com.clinassist.exception.ConflictException;
 import com.clinassist.exception.ResourceNotFoundException;
 import com.clinassist.repository.PatientRepository;
 import com.clinassist.repository.SeanceRepository;
 import com.clinassist.repository.TherapeuteRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -33,11 +40,41 @@ public class SeanceService {
     private final SeanceRepository seanceRepository;
     private final PatientRepository patientRepository;
     private final TherapeuteRepository therapeuteRepository;
+    private final SeanceConflictIndex conflictIndex;
+    private final AvailabilityIndex availabilityIndex;
+    private final BookingLocks bookingLocks;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Page<SeanceDTO> getAllSeances(Pageable pageable) {
         return seanceRepository.findAll(pageable).map(this::convertToDTO);
     }
 
+    /**
+     * Seances from the latest scheduled, one keyset page at a time.
+     */
+    public CursorPage<SeanceDTO> getSeancesPage(String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toCursorPage(after == null
+                ? seanceRepository.findKeysetPage(KeysetCursor.limit(size))
+                : seanceRepository.findKeysetPageBefore(after.at(), after.id(), KeysetCursor.limit(size)), size);
+    }
+
+    public CursorPage<SeanceDTO> getSeancesPageByPatient(Long patientId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toCursorPage(after == null
+                ? seanceRepository.findKeysetPageByPatientId(patientId, KeysetCursor.limit(size))
+                : seanceRepository.findKeysetPageByPatientIdBefore(
+                        patientId, after.at(), after.id(), KeysetCursor.limit(size)), size);
+    }
+
+    public CursorPage<SeanceDTO> getSeancesPageByTherapeute(Long therapeuteId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toCursorPage(after == null
+                ? seanceRepository.findKeysetPageByTherapeuteId(therapeuteId, KeysetCursor.limit(size))
+                : seanceRepository.findKeysetPageByTherapeuteIdBefore(
+                        therapeuteId, after.at(), after.id(), KeysetCursor.limit(size)), size);
+    }
+
     public SeanceDTO getSeanceById(Long id) {
         Seance seance = seanceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Seance not found with id: " + id));
@@ -105,30 +142,72 @@ public class SeanceService {
         Therapeute therapeute = therapeuteRepository.findById(request.getTherapeuteId())
                 .orElseThrow(() -> new ResourceNotFoundException(THERAPEUTE_NOT_FOUND));
 
-        // Check for conflicts
-        List<Seance> conflicts = seanceRepository.findByTherapeuteAndDateRange(
-                therapeute.getId(),
-                request.getScheduledAt(),
-                request.getScheduledAt().plusMinutes(request.getDurationMinutes())
-        );
-
-        if (!conflicts.isEmpty()) {
-            throw new BadRequestException("Therapeute has a conflicting appointment at this time");
-        }
-
         // Determine status based on creator role (via request or context)
         // If created by patient, set to PENDING_APPROVAL, otherwise SCHEDULED
         Seance.SeanceStatus initialStatus = request.getInitialStatus() != null 
                 ? request.getInitialStatus() 
                 : Seance.SeanceStatus.SCHEDULED;
+        List<LocalDateTime> occurrences = Boolean.TRUE.equals(request.getIsRecurring())
+                && request.getRecurringPattern() != null
+                ? RecurrenceRule.parse(request.getRecurringPattern()).expand(request.getScheduledAt())
+                : List.of(request.getScheduledAt());
+
+        // Held until commit, so concurrent bookings for this therapeute see each other
+        bookingLocks.lockUntilCompletion(therapeute.getId());
+        if (occurrences.size() > 1) {
+            return createSeries(request, patient, therapeute, initialStatus, occurrences);
+        }
+        if (conflictIndex.hasConflict(therapeute.getId(), request.getScheduledAt(),
+                request.getDurationMinutes(), null)) {
+            throw new BadRequestException("Therapeute has a conflicting appointment at this time");
+        }
+
+        Seance seance = seanceRepository.save(
+                newSeance(request, patient, therapeute, initialStatus, request.getScheduledAt()));
+        conflictIndex.update(seance);
+        availabilityIndex.update(seance);
+        eventPublisher.publishEvent(SeanceChangedEvent.created(seance));
+        return convertToDTO(seance);
+    }
+
+    /**
+     * Books every occurrence of a recurring seance or none: the first one becomes the parent of the
+     * series and the following ones are inserted in JDBC batches. Returns the first occurrence.
+     */
+    private SeanceDTO createSeries(CreateSeanceRequest request, Patient patient, Therapeute therapeute,
+                                   Seance.SeanceStatus status, List<LocalDateTime> occurrences) {
+        List<Seance> series = occurrences.stream()
+                .map(scheduledAt -> newSeance(request, patient, therapeute, status, scheduledAt))
+                .toList();
+        List<Seance> conflicts = conflictIndex.findConflicts(therapeute.getId(), series, Set.of());
+        if (!conflicts.isEmpty()) {
+            throw new BadRequestException("Therapeute has conflicting appointments at " + conflicts.stream()
+                    .map(conflict -> conflict.getScheduledAt().toString())
+                    .collect(Collectors.joining(", ")));
+        }
+
+        Seance root = seanceRepository.save(series.get(0));
+        List<Seance> following = series.subList(1, series.size());
+        following.forEach(seance -> seance.setParentSeance(root));
+        seanceRepository.saveAll(following);
+
+        for (Seance seance : series) {
+            conflictIndex.update(seance);
+            availabilityIndex.update(seance);
+            eventPublisher.publishEvent(SeanceChangedEvent.created(seance));
+        }
+        return convertToDTO(root);
+    }
 
+    private Seance newSeance(CreateSeanceRequest request, Patient patient, Therapeute therapeute,
+                             Seance.SeanceStatus status, LocalDateTime scheduledAt) {
         Seance seance = Seance.builder()
                 .patient(patient)
                 .therapeute(therapeute)
-                .scheduledAt(request.getScheduledAt())
+                .scheduledAt(scheduledAt)
                 .durationMinutes(request.getDurationMinutes())
                 .type(request.getType())
-                .status(initialStatus)
+                .status(status)
                 .objectives(request.getObjectives())
                 .notes(request.getNotes())
                 .meetingRoom(request.getMeetingRoom())
@@ -141,15 +220,23 @@ public class SeanceService {
         if (request.getType() == Seance.SeanceType.VIDEO_CALL) {
             seance.setVideoCallLink("https://meet.clinassist.com/" + UUID.randomUUID());
         }
-
-        seance = seanceRepository.save(seance);
-        return convertToDTO(seance);
+        return seance;
     }
 
     @Transactional
     public SeanceDTO updateSeanceStatus(Long id, Seance.SeanceStatus status) {
         Seance seance = seanceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(SEANCE_NOT_FOUND));
+        Seance.SeanceStatus previousStatus = seance.getStatus();
+
+        // A cancelled seance gave up its slot, which may have been booked since
+        if (previousStatus == Seance.SeanceStatus.CANCELLED && status != Seance.SeanceStatus.CANCELLED) {
+            bookingLocks.lockUntilCompletion(seance.getTherapeute().getId());
+            if (conflictIndex.hasConflict(seance.getTherapeute().getId(), seance.getScheduledAt(),
+                    seance.getDurationMinutes(), id)) {
+                throw new BadRequestException("Therapeute has a conflicting appointment at this time");
+            }
+        }
 
         seance.setStatus(status);
 
@@ -162,6 +249,9 @@ public class SeanceService {
         }
 
         seance = seanceRepository.save(seance);
+        conflictIndex.update(seance);
+        availabilityIndex.update(seance);
+        eventPublisher.publishEvent(SeanceChangedEvent.updated(seance, previousStatus, seance.getScheduledAt()));
         return convertToDTO(seance);
     }
 
@@ -169,12 +259,16 @@ public class SeanceService {
     public SeanceDTO cancelSeance(Long id, String reason) {
         Seance seance = seanceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(SEANCE_NOT_FOUND));
+        Seance.SeanceStatus previousStatus = seance.getStatus();
 
         seance.setStatus(Seance.SeanceStatus.CANCELLED);
         seance.setCancellationReason(reason);
         seance.setCancelledAt(LocalDateTime.now());
 
         seance = seanceRepository.save(seance);
+        conflictIndex.update(seance);
+        availabilityIndex.update(seance);
+        eventPublisher.publishEvent(SeanceChangedEvent.updated(seance, previousStatus, seance.getScheduledAt()));
         return convertToDTO(seance);
     }
 
@@ -183,27 +277,98 @@ public class SeanceService {
         Seance seance = seanceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(SEANCE_NOT_FOUND));
 
-        // Check for conflicts
-        List<Seance> conflicts = seanceRepository.findByTherapeuteAndDateRange(
-                seance.getTherapeute().getId(),
-                newDateTime,
-                newDateTime.plusMinutes(seance.getDurationMinutes())
-        );
-
-        conflicts.removeIf(s -> s.getId().equals(id));
-
-        if (!conflicts.isEmpty()) {
+        bookingLocks.lockUntilCompletion(seance.getTherapeute().getId());
+        if (conflictIndex.hasConflict(seance.getTherapeute().getId(), newDateTime,
+                seance.getDurationMinutes(), id)) {
             throw new BadRequestException("Therapeute has a conflicting appointment at this time");
         }
 
+        Seance.SeanceStatus previousStatus = seance.getStatus();
+        LocalDateTime previousScheduledAt = seance.getScheduledAt();
         seance.setScheduledAt(newDateTime);
         seance.setStatus(Seance.SeanceStatus.RESCHEDULED);
         seance.setReminderSent(false);
 
         seance = seanceRepository.save(seance);
+        conflictIndex.update(seance);
+        availabilityIndex.update(seance);
+        eventPublisher.publishEvent(SeanceChangedEvent.updated(seance, previousStatus, previousScheduledAt));
         return convertToDTO(seance);
     }
 
+    /**
+     * Cancels a seance and every following occurrence of its series that is still to be held,
+     * with one bulk update. Returns the cancelled seances in schedule order.
+     */
+    @Transactional
+    public List<SeanceDTO> cancelFollowingSeances(Long id, String reason) {
+        Seance seance = seanceRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(SEANCE_NOT_FOUND));
+        Therapeute therapeute = seance.getTherapeute();
+        List<SeanceRepository.SeriesOccurrence> occurrences =
+                seanceRepository.findSeriesOccurrencesFrom(seriesRootId(seance), seance.getScheduledAt());
+        List<Long> ids = occurrences.stream().map(SeanceRepository.SeriesOccurrence::getId).toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        if (seanceRepository.cancelAllById(ids, reason, LocalDateTime.now()) != ids.size()) {
+            throw new ConflictException("Seance series was modified concurrently");
+        }
+        for (SeanceRepository.SeriesOccurrence occurrence : occurrences) {
+            Seance cancelled = snapshot(occurrence, therapeute, occurrence.getScheduledAt(),
+                    Seance.SeanceStatus.CANCELLED);
+            conflictIndex.update(cancelled);
+            availabilityIndex.update(cancelled);
+            eventPublisher.publishEvent(SeanceChangedEvent.updated(cancelled, occurrence.getStatus(),
+                    occurrence.getScheduledAt()));
+        }
+        return findAllInScheduleOrder(ids);
+    }
+
+    /**
+     * Moves a seance to {@code newDateTime} and every following occurrence of its series that is
+     * still to be held by the same offset, with one bulk update. Returns the moved seances in
+     * schedule order.
+     */
+    @Transactional
+    public List<SeanceDTO> rescheduleFollowingSeances(Long id, LocalDateTime newDateTime) {
+        Seance seance = seanceRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(SEANCE_NOT_FOUND));
+        Therapeute therapeute = seance.getTherapeute();
+        Duration shift = Duration.between(seance.getScheduledAt(), newDateTime);
+
+        bookingLocks.lockUntilCompletion(therapeute.getId());
+        List<SeanceRepository.SeriesOccurrence> occurrences =
+                seanceRepository.findSeriesOccurrencesFrom(seriesRootId(seance), seance.getScheduledAt());
+        List<Long> ids = occurrences.stream().map(SeanceRepository.SeriesOccurrence::getId).toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Seance> moved = occurrences.stream()
+                .map(occurrence -> snapshot(occurrence, therapeute, occurrence.getScheduledAt().plus(shift),
+                        Seance.SeanceStatus.RESCHEDULED))
+                .toList();
+        // The series may move over its own slots
+        List<Seance> conflicts = conflictIndex.findConflicts(therapeute.getId(), moved, Set.copyOf(ids));
+        if (!conflicts.isEmpty()) {
+            throw new BadRequestException("Therapeute has conflicting appointments at " + conflicts.stream()
+                    .map(conflict -> conflict.getScheduledAt().toString())
+                    .collect(Collectors.joining(", ")));
+        }
+
+        if (seanceRepository.shiftAllById(ids, shift.toSeconds(), LocalDateTime.now()) != ids.size()) {
+            throw new ConflictException("Seance series was modified concurrently");
+        }
+        for (int i = 0; i < moved.size(); i++) {
+            conflictIndex.update(moved.get(i));
+            availabilityIndex.update(moved.get(i));
+            eventPublisher.publishEvent(SeanceChangedEvent.updated(moved.get(i), occurrences.get(i).getStatus(),
+                    occurrences.get(i).getScheduledAt()));
+        }
+        return findAllInScheduleOrder(ids);
+    }
+
     @Transactional
     public SeanceDTO addSessionNotes(Long id, String therapeuteNotes, Integer progressRating,
                                      Integer moodBefore, Integer moodAfter) {
@@ -224,13 +389,39 @@ public class SeanceService {
     }
 
     public boolean hasConflict(Long therapeuteId, LocalDateTime scheduledAt, Integer durationMinutes) {
-        LocalDateTime endTime = scheduledAt.plusMinutes(durationMinutes);
-        List<Seance> conflicts = seanceRepository.findByTherapeuteAndDateRange(
-                therapeuteId,
-                scheduledAt,
-                endTime
-        );
-        return !conflicts.isEmpty();
+        return conflictIndex.hasConflict(therapeuteId, scheduledAt, durationMinutes, null);
+    }
+
+    private static Long seriesRootId(Seance seance) {
+        return seance.getParentSeance() != null ? seance.getParentSeance().getId() : seance.getId();
+    }
+
+    /**
+     * Detached copy of a bulk-updated occurrence, carrying what the indexes and events need.
+     */
+    private static Seance snapshot(SeanceRepository.SeriesOccurrence occurrence, Therapeute therapeute,
+                                   LocalDateTime scheduledAt, Seance.SeanceStatus status) {
+        return Seance.builder()
+                .id(occurrence.getId())
+                .therapeute(therapeute)
+                .scheduledAt(scheduledAt)
+                .durationMinutes(occurrence.getDurationMinutes())
+                .type(occurrence.getType())
+                .status(status)
+                .build();
+    }
+
+    private List<SeanceDTO> findAllInScheduleOrder(List<Long> ids) {
+        return seanceRepository.findAllById(ids)
+                .stream()
+                .sorted(Comparator.comparing(Seance::getScheduledAt).thenComparing(Seance::getId))
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    private CursorPage<SeanceDTO> toCursorPage(List<Seance> rows, int size) {
+        return KeysetCursor.page(rows.stream().map(this::convertToDTO).collect(Collectors.toList()), size,
+                seance -> new KeysetCursor(seance.getScheduledAt(), seance.getId()));
     }
 
     private SeanceDTO convertToDTO(Seance seance) {
@@ -263,6 +454,7 @@ public class SeanceService {
                 .reminderSent(seance.getReminderSent())
                 .isRecurring(seance.getIsRecurring())
                 .recurringPattern(seance.getRecurringPattern())
+                .parentSeanceId(seance.getParentSeance() != null ? seance.getParentSeance().getId() : null)
                 .cancellationReason(seance.getCancellationReason())
                 .createdAt(seance.getCreatedAt())
                 .updatedAt(seance.getUpdatedAt())
@@ -0,0 +1,330 @@
+package com.clinassist.service;
+
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.SearchTerm;
+import com.clinassist.entity.Therapeute;
+import com.clinassist.entity.User;
+import com.clinassist.repository.PatientRepository;
+import com.clinassist.repository.SearchTermRepository;
+import com.clinassist.repository.SearchTermWriter;
+import com.clinassist.repository.TherapeuteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix search over patients (first name, last name, email, patient code) and
+ * therapeutes (first name, last name, specialization), backed by the indexed {@code search_terms}
+ * table instead of {@code LIKE '%q%'} scans.
+ * <p>
+ * Fields are lowercased and stripped of accents, then split into words on whitespace; words with
+ * punctuation such as {@code jean-pierre} or {@code pat-001} are also indexed by their parts. An email
+ * is indexed whole and by its local part and its parts, but not by its domain. Each word is stored as
+ * its edge n-grams, so every query word is a prefix matched by one index lookup.
+ * The words matching the longest query word are read {@code maxCandidates} at a time in alphabetical
+ * order, which puts the word itself first, until the requested page is filled; the other query words
+ * must then match among their owners.
+ * Each batch is ranked by the number of query words matching a whole word rather than a prefix, so
+ * the order of the first pages does not depend on how far later pages read. When the candidates are
+ * not all read, the total is counted with one query.
+ * <p>
+ * Terms are rewritten in the transaction that changes the indexed fields. Rows written without
+ * going through the services, such as seeded data, are indexed on startup.
+ */
+@Slf4j
+@Component
+public class SearchIndex {
+
+    static final int MAX_GRAM = 10;
+
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final int MAX_QUERY_WORDS = 5;
+    private static final int BACKFILL_CHUNK_SIZE = 500;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final SearchTermRepository searchTermRepository;
+    private final SearchTermWriter searchTermWriter;
+    private final PatientRepository patientRepository;
+    private final TherapeuteRepository therapeuteRepository;
+    private final int maxCandidates;
+
+    public SearchIndex(SearchTermRepository searchTermRepository,
+                       SearchTermWriter searchTermWriter,
+                       PatientRepository patientRepository,
+                       TherapeuteRepository therapeuteRepository,
+                       @Value("${app.search.max-candidates:1000}") int maxCandidates) {
+        this.searchTermRepository = searchTermRepository;
+        this.searchTermWriter = searchTermWriter;
+        this.patientRepository = patientRepository;
+        this.therapeuteRepository = therapeuteRepository;
+        this.maxCandidates = maxCandidates;
+    }
+
+    public void indexPatient(Patient patient) {
+        index(SearchTerm.OwnerType.PATIENT, List.of(patient), Patient::getId, SearchIndex::patientFields);
+    }
+
+    public void indexPatients(List<Patient> patients) {
+        index(SearchTerm.OwnerType.PATIENT, patients, Patient::getId, SearchIndex::patientFields);
+    }
+
+    public void indexTherapeute(Therapeute therapeute) {
+        index(SearchTerm.OwnerType.THERAPEUTE, List.of(therapeute), Therapeute::getId, SearchIndex::therapeuteFields);
+    }
+
+    public Page<Long> searchPatientIds(String query, Pageable pageable) {
+        return search(SearchTerm.OwnerType.PATIENT, query, pageable);
+    }
+
+    public Page<Long> searchTherapeuteIds(String query, Pageable pageable) {
+        return search(SearchTerm.OwnerType.THERAPEUTE, query, pageable);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Long> patientIds = searchTermRepository.findUnindexedPatientIds();
+        for (int from = 0; from < patientIds.size(); from += BACKFILL_CHUNK_SIZE) {
+            List<Long> chunk = patientIds.subList(from, Math.min(from + BACKFILL_CHUNK_SIZE, patientIds.size()));
+            index(SearchTerm.OwnerType.PATIENT, patientRepository.findAllWithUsersByIdIn(chunk),
+                    Patient::getId, SearchIndex::patientFields);
+        }
+        List<Long> therapeuteIds = searchTermRepository.findUnindexedTherapeuteIds();
+        for (int from = 0; from < therapeuteIds.size(); from += BACKFILL_CHUNK_SIZE) {
+            List<Long> chunk = therapeuteIds.subList(from, Math.min(from + BACKFILL_CHUNK_SIZE, therapeuteIds.size()));
+            index(SearchTerm.OwnerType.THERAPEUTE, therapeuteRepository.findAllWithUsersByIdIn(chunk),
+                    Therapeute::getId, SearchIndex::therapeuteFields);
+        }
+        log.info("Search index backfilled {} patients and {} therapeutes", patientIds.size(), therapeuteIds.size());
+    }
+
+    private <T> void index(SearchTerm.OwnerType ownerType, List<T> owners, Function<T, Long> idOf,
+                           Function<T, List<String>> fieldsOf) {
+        List<Long> ownerIds = new ArrayList<>(owners.size());
+        List<SearchTerm> terms = new ArrayList<>();
+        for (T owner : owners) {
+            Long ownerId = idOf.apply(owner);
+            ownerIds.add(ownerId);
+            for (String word : indexedWords(fieldsOf.apply(owner))) {
+                for (int length = 1; length <= Math.min(word.length(), MAX_GRAM); length++) {
+                    terms.add(SearchTerm.builder()
+                            .ownerId(ownerId)
+                            .gram(word.substring(0, length))
+                            .term(word)
+                            .build());
+                }
+            }
+        }
+        searchTermWriter.replace(ownerType, ownerIds, terms);
+    }
+
+    private Page<Long> search(SearchTerm.OwnerType ownerType, String query, Pageable pageable) {
+        List<String> queryWords = new ArrayList<>(new LinkedHashSet<>(words(query)));
+        if (queryWords.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        // The longest word is likely the most selective one
+        queryWords.sort(Comparator.comparingInt(String::length).reversed());
+        queryWords = queryWords.subList(0, Math.min(queryWords.size(), MAX_QUERY_WORDS));
+
+        String lead = queryWords.get(0);
+        List<String> others = queryWords.subList(1, queryWords.size());
+        long wanted = pageable.isUnpaged() ? Long.MAX_VALUE : pageable.getOffset() + pageable.getPageSize();
+        List<Long> ranked = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        boolean exhausted = false;
+        for (int batch = 0; !exhausted && ranked.size() < wanted; batch++) {
+            List<SearchTermRepository.TermMatch> matches = searchTermRepository.findMatches(
+                    ownerType, gram(lead), pattern(lead), PageRequest.of(batch, maxCandidates));
+            exhausted = matches.size() < maxCandidates;
+            Map<Long, Integer> scores = new LinkedHashMap<>();
+            for (SearchTermRepository.TermMatch match : matches) {
+                // Words are read in order, so an owner's best match for the lead is its first one
+                if (seen.add(match.getOwnerId())) {
+                    scores.put(match.getOwnerId(), weight(match.getTerm(), lead));
+                }
+            }
+            ranked.addAll(rank(ownerType, scores, others));
+        }
+
+        long total = exhausted ? ranked.size() : searchTermRepository.countOwnersMatchingAll(ownerType,
+                queryWords.stream().map(SearchIndex::gram).toList(),
+                queryWords.stream().map(SearchIndex::pattern).toList());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(ranked);
+        }
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        return new PageImpl<>(ranked.subList(from, to), pageable, total);
+    }
+
+    /**
+     * Keeps the candidates matching every other query word, best scores first.
+     */
+    private List<Long> rank(SearchTerm.OwnerType ownerType, Map<Long, Integer> scores, List<String> others) {
+        for (String word : others) {
+            if (scores.isEmpty()) {
+                break;
+            }
+            Map<Long, Integer> best = new HashMap<>();
+            for (SearchTermRepository.TermMatch match : searchTermRepository.findMatchesAmong(
+                    ownerType, gram(word), pattern(word), scores.keySet())) {
+                best.merge(match.getOwnerId(), weight(match.getTerm(), word), Math::max);
+            }
+            scores.keySet().retainAll(best.keySet());
+            scores.replaceAll((ownerId, score) -> score + best.get(ownerId));
+        }
+        // Stable sort: equal scores keep the alphabetical word order of the lead lookup
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed())
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Distinct words of {@code fields}, along with the parts of hyphenated names, e-mail local parts
+     * and codes.
+     */
+    static Set<String> indexedWords(List<String> fields) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String field : fields) {
+            for (String word : words(field)) {
+                words.add(word);
+                String localPart = emailLocalPart(word);
+                if (localPart.length() < word.length()) {
+                    words.add(localPart);
+                }
+                words.addAll(parts(localPart));
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Lowercased, accent-free words of {@code text}, without leading or trailing punctuation.
+     */
+    static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = stripAccents(text).toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        int end = 0;
+        while (end < normalized.length()) {
+            int start = end;
+            while (end < normalized.length() && !Character.isWhitespace(normalized.charAt(end))) {
+                end++;
+            }
+            String trimmed = trimSeparators(normalized.substring(start, end));
+            if (!trimmed.isEmpty()) {
+                words.add(trimmed.length() > MAX_TERM_LENGTH ? trimmed.substring(0, MAX_TERM_LENGTH) : trimmed);
+            }
+            end++;
+        }
+        return words;
+    }
+
+    /**
+     * Runs of letters and digits of a word, such as {@code jean} and {@code pierre} in {@code jean-pierre}.
+     */
+    static List<String> parts(String word) {
+        List<String> parts = new ArrayList<>(2);
+        int end = 0;
+        while (end < word.length()) {
+            int start = end;
+            while (end < word.length() && Character.isLetterOrDigit(word.charAt(end))) {
+                end++;
+            }
+            if (end > start) {
+                parts.add(end - start == word.length() ? word : word.substring(start, end));
+            }
+            end++;
+        }
+        return parts;
+    }
+
+    private static String stripAccents(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+            }
+        }
+        // Plain ASCII has nothing to decompose
+        return text;
+    }
+
+    private static String trimSeparators(String word) {
+        int start = 0;
+        int end = word.length();
+        while (start < end && !Character.isLetterOrDigit(word.charAt(start))) {
+            start++;
+        }
+        while (end > start && !Character.isLetterOrDigit(word.charAt(end - 1))) {
+            end--;
+        }
+        return word.substring(start, end);
+    }
+
+    private static String gram(String word) {
+        return word.length() > MAX_GRAM ? word.substring(0, MAX_GRAM) : word;
+    }
+
+    private static String pattern(String word) {
+        return word.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    private static int weight(String term, String word) {
+        return term.equals(word) ? 2 : 1;
+    }
+
+    private static List<String> patientFields(Patient patient) {
+        List<String> fields = new ArrayList<>(4);
+        User user = patient.getUser();
+        if (user != null) {
+            fields.add(user.getFirstName());
+            fields.add(user.getLastName());
+            fields.add(user.getEmail());
+        }
+        fields.add(patient.getPatientCode());
+        return fields;
+    }
+
+    private static List<String> therapeuteFields(Therapeute therapeute) {
+        List<String> fields = new ArrayList<>(3);
+        User user = therapeute.getUser();
+        if (user != null) {
+            fields.add(user.getFirstName());
+            fields.add(user.getLastName());
+        }
+        fields.add(therapeute.getSpecialization());
+        return fields;
+    }
+
+    // Indexing the domain would match every patient of the same provider
+    static String emailLocalPart(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.indexOf('@');
+        return at >= 0 ? email.substring(0, at) : email;
+    }
+}
@@ -0,0 +1,261 @@
+package com.clinassist.service;
+
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Prediction;
+import com.clinassist.entity.Seance;
+import com.clinassist.entity.Therapeute;
+import com.clinassist.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates a realistic synthetic dataset for load tests and benchmarks.
+ * Every patient follows a recurring weekly, bi-weekly or monthly slot with one therapeute,
+ * misses some sessions according to a personal reliability, may drop out, and improves
+ * in mood and progress over time. The same seed always yields the same data relative to today.
+ * Rows are written through the JPA entities in chunks, so it works on H2 and PostgreSQL alike.
+ */
+@Service
+@Slf4j
+public class SyntheticDataGenerator {
+
+    public static final String ADMIN_USERNAME = "loadtest.admin";
+
+    private static final int CHUNK = 200;
+    private static final int HISTORY_DAYS = 540;
+    private static final int FUTURE_DAYS = 28;
+    private static final int FIRST_HOUR = 9;
+    private static final int HOURS_PER_DAY = 8;
+    private static final int WEEKLY_SLOTS = 5 * HOURS_PER_DAY;
+    private static final double DROPOUT_PROBABILITY = 0.15;
+
+    private final PredictionService predictionService;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public SyntheticDataGenerator(PredictionService predictionService,
+                                  PasswordEncoder passwordEncoder,
+                                  PlatformTransactionManager transactionManager) {
+        this.predictionService = predictionService;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Inserts {@code therapeuteCount} therapeutes, {@code patientCount} patients with their
+     * seance history and one dropout-risk prediction each, plus an ADMIN user
+     * ({@value #ADMIN_USERNAME}) and therapeute users that all log in with {@code password}.
+     */
+    public Summary generate(int therapeuteCount, int patientCount, long seed, String password) {
+        if (password == null || password.isBlank()) {
+            throw new IllegalArgumentException("A password is required for the generated users");
+        }
+        Random random = new Random(seed);
+        LocalDate today = LocalDate.now();
+        // Encoding is deliberately slow; every generated user shares the hash
+        String passwordHash = passwordEncoder.encode(password);
+
+        List<Long> therapeuteIds = transactionTemplate.execute(status -> {
+            entityManager.persist(user(ADMIN_USERNAME, User.Role.ADMIN, passwordHash));
+            List<Long> ids = new ArrayList<>(therapeuteCount);
+            for (int i = 0; i < therapeuteCount; i++) {
+                Therapeute therapeute = Therapeute.builder()
+                        .user(user("gen.therapeute" + i, User.Role.THERAPEUTE, passwordHash))
+                        .therapeuteCode("TH-GEN-" + i)
+                        .specialization(i % 2 == 0 ? "Psychologie clinique" : "Thérapie cognitive")
+                        .yearsOfExperience(2 + random.nextInt(25))
+                        .status(Therapeute.TherapeuteStatus.AVAILABLE)
+                        .build();
+                entityManager.persist(therapeute);
+                ids.add(therapeute.getId());
+            }
+            return ids;
+        });
+
+        List<Long> patientIds = new ArrayList<>(patientCount);
+        int[] seanceCount = {0};
+        for (int from = 0; from < patientCount; from += CHUNK) {
+            int to = Math.min(from + CHUNK, patientCount);
+            int chunkStart = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = chunkStart; i < to; i++) {
+                    Therapeute therapeute = entityManager.getReference(Therapeute.class,
+                            therapeuteIds.get(i % therapeuteIds.size()));
+                    int slot = (i / therapeuteIds.size()) % WEEKLY_SLOTS;
+                    seanceCount[0] += generatePatient(i, therapeute, slot, random, today, passwordHash, patientIds);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+
+        log.info("Generated {} therapeutes, {} patients and {} seances", therapeuteIds.size(),
+                patientIds.size(), seanceCount[0]);
+        return new Summary(therapeuteIds, patientIds, seanceCount[0], patientIds.size());
+    }
+
+    private int generatePatient(int index, Therapeute therapeute, int slot, Random random, LocalDate today,
+                                String passwordHash, List<Long> patientIds) {
+        Cadence cadence = Cadence.pick(random);
+        double cancelRate = 0.02 + random.nextDouble() * 0.2;
+        double noShowRate = 0.01 + random.nextDouble() * 0.12;
+        double baselineMood = 3 + random.nextDouble() * 3;
+        double moodSlope = random.nextDouble() * 0.15;
+
+        LocalDate start = today.minusDays(random.nextInt(HISTORY_DAYS));
+        LocalDate end = today.plusDays(FUTURE_DAYS);
+        boolean dropsOut = random.nextDouble() < DROPOUT_PROBABILITY;
+        if (dropsOut) {
+            end = start.plusDays(random.nextInt((int) ChronoUnit.DAYS.between(start, today) + 1));
+        }
+
+        Patient patient = Patient.builder()
+                .user(user("gen.patient" + index, User.Role.PATIENT, passwordHash))
+                .patientCode("PAT-GEN-" + index)
+                .dateOfBirth(LocalDate.of(today.getYear() - 18 - random.nextInt(60),
+                        1 + random.nextInt(12), 1 + random.nextInt(28)))
+                .gender(Patient.Gender.values()[random.nextInt(Patient.Gender.values().length)])
+                .city(random.nextBoolean() ? "Casablanca" : "Rabat")
+                .country("Maroc")
+                .status(dropsOut ? Patient.PatientStatus.INACTIVE : Patient.PatientStatus.ACTIVE)
+                .assignedTherapeute(therapeute)
+                .build();
+
+        DayOfWeek weekday = DayOfWeek.of(1 + slot / HOURS_PER_DAY);
+        LocalTime time = LocalTime.of(FIRST_HOUR + slot % HOURS_PER_DAY, 0);
+        Seance.SeanceType type = random.nextInt(4) == 0 ? Seance.SeanceType.VIDEO_CALL : Seance.SeanceType.IN_PERSON;
+        LocalDateTime now = LocalDateTime.now();
+
+        int total = 0;
+        int cancelled = 0;
+        int noShow = 0;
+        int completed = 0;
+        LocalDateTime lastCompletedAt = null;
+        List<Seance> seances = new ArrayList<>();
+        for (LocalDate day = start.with(TemporalAdjusters.nextOrSame(weekday));
+             !day.isAfter(end); day = day.plusDays(cadence.days)) {
+            LocalDateTime scheduledAt = LocalDateTime.of(day, time);
+            Seance.SeanceStatus status;
+            if (scheduledAt.isAfter(now)) {
+                status = random.nextBoolean() ? Seance.SeanceStatus.SCHEDULED : Seance.SeanceStatus.CONFIRMED;
+            } else {
+                double roll = random.nextDouble();
+                // Patients about to drop out skip more
+                double skip = dropsOut && day.isAfter(end.minusDays(cadence.days * 3L)) ? 3 : 1;
+                status = roll < cancelRate * skip ? Seance.SeanceStatus.CANCELLED
+                        : roll < (cancelRate + noShowRate) * skip ? Seance.SeanceStatus.NO_SHOW
+                        : Seance.SeanceStatus.COMPLETED;
+            }
+
+            Seance.SeanceBuilder seance = Seance.builder()
+                    .seanceCode("SEA-GEN-" + index + "-" + total)
+                    .patient(patient)
+                    .therapeute(therapeute)
+                    .scheduledAt(scheduledAt)
+                    .durationMinutes(cadence == Cadence.MONTHLY ? 60 : 45)
+                    .type(type)
+                    .status(status)
+                    .isRecurring(true)
+                    .recurringPattern(cadence.name())
+                    .reminderSent(!scheduledAt.isAfter(now));
+            if (status == Seance.SeanceStatus.COMPLETED) {
+                int before = clamp(baselineMood + completed * moodSlope + random.nextGaussian());
+                seance.startedAt(scheduledAt)
+                        .endedAt(scheduledAt.plusMinutes(45))
+                        .patientMoodBefore(before)
+                        .patientMoodAfter(clamp(before + random.nextInt(3)))
+                        .progressRating(clamp(3 + completed * moodSlope * 2 + random.nextGaussian()));
+                completed++;
+                lastCompletedAt = scheduledAt;
+            } else if (status == Seance.SeanceStatus.CANCELLED) {
+                seance.cancellationReason("Empêchement du patient")
+                        .cancelledAt(scheduledAt.minusDays(1));
+                cancelled++;
+            } else if (status == Seance.SeanceStatus.NO_SHOW) {
+                noShow++;
+            }
+            seances.add(seance.build());
+            total++;
+        }
+
+        Map<String, Double> factors = new HashMap<>();
+        factors.put("cancellation_rate", total == 0 ? 0.0 : (double) cancelled / total);
+        factors.put("no_show_rate", total == 0 ? 0.0 : (double) noShow / total);
+        factors.put("days_since_last_session", lastCompletedAt == null ? 30.0 :
+                (double) ChronoUnit.DAYS.between(lastCompletedAt, now));
+
+        MLPredictionClient.MLPredictionResult result = new MLPredictionClient.MLPredictionResult();
+        result.setScore(Math.min(100, factors.get("cancellation_rate") * 100 + factors.get("no_show_rate") * 150
+                + Math.min(factors.get("days_since_last_session"), 60) / 2));
+        result.setConfidence(0.7 + random.nextDouble() * 0.25);
+        result.setModelVersion("synthetic");
+        result.setAlgorithm("SyntheticDataGenerator");
+
+        Prediction prediction = predictionService.buildDropoutPrediction(patient, factors, result);
+        if (random.nextBoolean()) {
+            prediction.setWasAccurate(random.nextDouble() < 0.8);
+        }
+        patient.setRiskScore(prediction.getRiskLevel());
+        patient.setRiskCategory(prediction.getRiskCategory().name());
+
+        entityManager.persist(patient);
+        patientIds.add(patient.getId());
+        seances.forEach(entityManager::persist);
+        entityManager.persist(prediction);
+        return total;
+    }
+
+    private User user(String username, User.Role role, String passwordHash) {
+        return User.builder()
+                .username(username)
+                .email(username + "@clinassist.test")
+                .password(passwordHash)
+                .firstName(username.substring(username.lastIndexOf('.') + 1))
+                .lastName("Synthetique")
+                .role(role)
+                .isEmailVerified(true)
+                .build();
+    }
+
+    private static int clamp(double value) {
+        return (int) Math.max(1, Math.min(10, Math.round(value)));
+    }
+
+    private enum Cadence {
+        WEEKLY(7), BIWEEKLY(14), MONTHLY(28);
+
+        private final int days;
+
+        Cadence(int days) {
+            this.days = days;
+        }
+
+        static Cadence pick(Random random) {
+            int roll = random.nextInt(10);
+            return roll < 6 ? WEEKLY : roll < 9 ? BIWEEKLY : MONTHLY;
+        }
+    }
+
+    public record Summary(List<Long> therapeuteIds, List<Long> patientIds, int seanceCount, int predictionCount) {
+    }
+}
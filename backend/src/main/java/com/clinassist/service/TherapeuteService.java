@@ -1,5 +1,6 @@
 package com.clinassist.service;
 
+import com.clinassist.dto.AvailableSlotDTO;
 import com.clinassist.dto.TherapeuteDTO;
 import com.clinassist.entity.Seance;
 import com.clinassist.entity.Therapeute;
@@ -10,6 +11,7 @@ import com.clinassist.repository.TherapeuteRepository;
 import com.clinassist.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,15 +20,24 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TherapeuteService {
 
+    private static final int FIRST_AVAILABLE_DEFAULT_DAYS = 28;
+    private static final int MAX_FIRST_AVAILABLE_SLOTS = 100;
+
     private final TherapeuteRepository therapeuteRepository;
     private final UserRepository userRepository;
     private final SeanceRepository seanceRepository;
+    private final SearchIndex searchIndex;
+    private final AvailabilityIndex availabilityIndex;
 
     public Page<TherapeuteDTO> getAllTherapeutes(Pageable pageable) {
         return therapeuteRepository.findAll(pageable).map(this::convertToDTO);
@@ -58,7 +69,40 @@ public class TherapeuteService {
     }
 
     public Page<TherapeuteDTO> searchTherapeutes(String search, Pageable pageable) {
-        return therapeuteRepository.searchTherapeutes(search, pageable).map(this::convertToDTO);
+        Page<Long> idPage = searchIndex.searchTherapeuteIds(search, pageable);
+        Map<Long, Therapeute> therapeutesById = therapeuteRepository.findAllWithUsersByIdIn(idPage.getContent())
+                .stream()
+                .collect(Collectors.toMap(Therapeute::getId, Function.identity()));
+        // Keep the relevance order of the ids
+        List<TherapeuteDTO> therapeutes = idPage.getContent().stream()
+                .map(therapeutesById::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        return new PageImpl<>(therapeutes, pageable, idPage.getTotalElements());
+    }
+
+    /**
+     * The earliest free slots across the therapeutes with the given status, specialty and language,
+     * from today over the next four weeks unless a range is given.
+     */
+    public List<AvailableSlotDTO> findFirstAvailableSlots(String specialty, String language,
+                                                          Therapeute.TherapeuteStatus status,
+                                                          LocalDate from, LocalDate to, int limit) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(FIRST_AVAILABLE_DEFAULT_DAYS - 1);
+        List<Long> therapeuteIds = therapeuteRepository.findIdsByStatusAndSpecialtyAndLanguage(
+                status, normalizeFilter(specialty), normalizeFilter(language));
+        List<AvailableSlotDTO> slots = availabilityIndex.findFirstFreeSlots(therapeuteIds, start, end,
+                Math.max(1, Math.min(limit, MAX_FIRST_AVAILABLE_SLOTS)));
+
+        Map<Long, String> names = therapeuteRepository.findAllWithUsersByIdIn(
+                        slots.stream().map(AvailableSlotDTO::getTherapeuteId).collect(Collectors.toSet()))
+                .stream()
+                .filter(therapeute -> therapeute.getUser() != null)
+                .collect(Collectors.toMap(Therapeute::getId, therapeute -> therapeute.getUser().getFullName()));
+        slots.forEach(slot -> slot.setTherapeuteName(names.get(slot.getTherapeuteId())));
+        return slots;
     }
 
     @Transactional
@@ -74,6 +118,10 @@ public class TherapeuteService {
         return convertToDTO(therapeute);
     }
 
+    private static String normalizeFilter(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
     private TherapeuteDTO convertToDTO(Therapeute therapeute) {
         User user = therapeute.getUser();
         
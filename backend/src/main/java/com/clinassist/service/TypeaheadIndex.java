@@ -0,0 +1,567 @@
+package com.clinassist.service;
+
+import com.clinassist.dto.SuggestionDTO;
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Therapeute;
+import com.clinassist.entity.User;
+import com.clinassist.repository.PatientRepository;
+import com.clinassist.repository.TherapeuteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory typeahead over patients (first name, last name, e-mail local part, patient code) and
+ * therapeutes (first name, last name, e-mail local part, specialization, specialties), serving
+ * suggestions without a database round-trip.
+ * <p>
+ * Each person owns a slot whose text lives in one shared UTF-8 byte array: the label and detail
+ * shown to the user, then its normalized words, each followed by a space. Words are split into
+ * their {@link SearchIndex#parts}, and so are query words, so {@code pat-17} finds {@code PAT-1700}
+ * without storing the code twice. A sorted array of word offsets is the prefix index: the words
+ * starting with a prefix form one range found by binary search. The longest query word is looked
+ * up there, and the other words are matched against the words of each candidate. Suggestions are
+ * ranked like {@link SearchIndex}, and the lookup stops once no later word can change the result.
+ * <p>
+ * A change appends a new slot and retires the previous one. Slots appended since the last rebuild
+ * are scanned linearly until there are more than {@code max(1024, slots / 32)} of them, at which
+ * point the arrays are rebuilt without the retired slots. Writes are applied once the surrounding
+ * transaction has committed, and the index is loaded on startup.
+ */
+@Slf4j
+@Component
+public class TypeaheadIndex {
+
+    static final int MAX_SUGGESTIONS = 25;
+
+    private static final byte FIELD_END = 0x1F;
+    private static final byte WORD_END = ' ';
+    private static final int MAX_QUERY_WORDS = 5;
+    private static final int MIN_UNSORTED_SLOTS = 1024;
+    private static final int INITIAL_SLOTS = 64;
+
+    private final PatientRepository patientRepository;
+    private final TherapeuteRepository therapeuteRepository;
+    private final int maxScan;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // The text of slot s spans [textStarts[s], textStarts[s + 1]), its words start at wordStarts[s]
+    private byte[] kinds = new byte[INITIAL_SLOTS];
+    private long[] ids = new long[INITIAL_SLOTS];
+    private int[] textStarts = new int[INITIAL_SLOTS + 1];
+    private int[] wordStarts = new int[INITIAL_SLOTS];
+    private BitSet retired = new BitSet();
+    private int slotCount;
+
+    private byte[] text = new byte[INITIAL_SLOTS * 64];
+
+    // Word offsets of the slots below sortedSlots, ordered by word
+    private int[] sortedWords = new int[0];
+    private int sortedSlots;
+
+    // Open addressing from (kind, id) to the live slot + 1, so that 0 marks an empty bucket
+    private int[] buckets = new int[INITIAL_SLOTS * 2];
+    private int usedBuckets;
+
+    public TypeaheadIndex(PatientRepository patientRepository,
+                          TherapeuteRepository therapeuteRepository,
+                          @Value("${app.search.typeahead.max-scan:2000}") int maxScan) {
+        this.patientRepository = patientRepository;
+        this.therapeuteRepository = therapeuteRepository;
+        this.maxScan = maxScan;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<PatientRepository.TypeaheadFields> patients = patientRepository.findAllTypeaheadFields();
+        List<TherapeuteRepository.TypeaheadFields> therapeutes = therapeuteRepository.findAllTypeaheadFields();
+        Map<Long, List<String>> specialties = new HashMap<>();
+        for (TherapeuteRepository.Specialty specialty : therapeuteRepository.findAllSpecialties()) {
+            specialties.computeIfAbsent(specialty.getTherapeuteId(), k -> new ArrayList<>())
+                    .add(specialty.getSpecialty());
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Rows written while loading were applied already and are newer than the query results
+            for (PatientRepository.TypeaheadFields p : patients) {
+                Entry entry = patientEntry(p.getId(), p.getFirstName(), p.getLastName(), p.getEmail(),
+                        p.getPatientCode());
+                if (liveSlot(entry.key()) < 0) {
+                    append(entry);
+                }
+            }
+            for (TherapeuteRepository.TypeaheadFields t : therapeutes) {
+                Entry entry = therapeuteEntry(t.getId(), t.getFirstName(), t.getLastName(), t.getEmail(),
+                        t.getSpecialization(), specialties.getOrDefault(t.getId(), List.of()));
+                if (liveSlot(entry.key()) < 0) {
+                    append(entry);
+                }
+            }
+            rebuild();
+            log.info("Typeahead index warmed with {} patients and {} therapeutes in {} KB",
+                    patients.size(), therapeutes.size(), sizeInBytes() / 1024);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void update(Patient patient) {
+        User user = patient.getUser();
+        apply(patientEntry(patient.getId(), user.getFirstName(), user.getLastName(), user.getEmail(),
+                patient.getPatientCode()));
+    }
+
+    public void update(Therapeute therapeute) {
+        User user = therapeute.getUser();
+        apply(therapeuteEntry(therapeute.getId(), user.getFirstName(), user.getLastName(), user.getEmail(),
+                therapeute.getSpecialization(), new ArrayList<>(therapeute.getSpecialties())));
+    }
+
+    /**
+     * Up to {@code limit} people whose words start with every word of {@code query}, optionally
+     * restricted to one kind, best matches first.
+     */
+    public List<SuggestionDTO> suggest(String query, SuggestionDTO.Kind kind, int limit) {
+        List<String> queryWords = new ArrayList<>(words(List.of(query)));
+        if (queryWords.isEmpty()) {
+            return List.of();
+        }
+        // The longest word is likely the most selective one
+        queryWords.sort(Comparator.comparingInt(String::length).reversed());
+        byte[][] prefixes = queryWords.stream()
+                .limit(MAX_QUERY_WORDS)
+                .map(word -> word.getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
+        int kindFilter = kind != null ? kind.ordinal() : -1;
+
+        lock.readLock().lock();
+        try {
+            List<int[]> matches = new ArrayList<>();
+            Set<Integer> seen = new HashSet<>();
+            int maxResults = clamp(limit);
+            int bestScore = 2 * prefixes.length;
+            int best = 0;
+            int nearBest = 0;
+            int scanned = 0;
+            for (int i = lowerBound(prefixes[0]); i < sortedWords.length && scanned < maxScan
+                    && startsWith(sortedWords[i], prefixes[0]); i++) {
+                // Words equal to the lead word come first, later candidates score at most bestScore - 1
+                boolean wholeWord = text[sortedWords[i] + prefixes[0].length] == WORD_END;
+                if (best >= maxResults || (!wholeWord && nearBest >= maxResults)) {
+                    break;
+                }
+                int slot = slotOf(sortedWords[i]);
+                if (!accepts(slot, kindFilter) || !seen.add(slot)) {
+                    continue;
+                }
+                scanned++;
+                int score = score(slot, prefixes);
+                if (score > 0) {
+                    matches.add(new int[]{slot, score});
+                    best += score == bestScore ? 1 : 0;
+                    nearBest += score >= bestScore - 1 ? 1 : 0;
+                }
+            }
+            for (int slot = sortedSlots; slot < slotCount; slot++) {
+                int score = accepts(slot, kindFilter) ? score(slot, prefixes) : 0;
+                if (score > 0) {
+                    matches.add(new int[]{slot, score});
+                }
+            }
+
+            // Stable sort: equal scores keep the word order of the prefix index
+            matches.sort(Comparator.comparingInt((int[] match) -> match[1]).reversed());
+            List<SuggestionDTO> suggestions = new ArrayList<>();
+            for (int[] match : matches.subList(0, Math.min(matches.size(), maxResults))) {
+                suggestions.add(toSuggestion(match[0]));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long sizeInBytes() {
+        return text.length + kinds.length + 8L * ids.length + 4L * textStarts.length + 4L * wordStarts.length
+                + 4L * sortedWords.length + retired.size() / 8 + 4L * buckets.length;
+    }
+
+    private void apply(Entry entry) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(entry);
+                }
+            });
+        } else {
+            put(entry);
+        }
+    }
+
+    private void put(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            int previous = liveSlot(entry.key());
+            if (previous >= 0) {
+                retired.set(previous);
+            }
+            append(entry);
+            if (slotCount - sortedSlots > Math.max(MIN_UNSORTED_SLOTS, slotCount / 32)) {
+                rebuild();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void append(Entry entry) {
+        if (slotCount == kinds.length) {
+            int capacity = kinds.length + (kinds.length >> 1);
+            kinds = Arrays.copyOf(kinds, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            textStarts = Arrays.copyOf(textStarts, capacity + 1);
+            wordStarts = Arrays.copyOf(wordStarts, capacity);
+        }
+        int start = textStarts[slotCount];
+        int end = start + entry.text().length;
+        if (end > text.length) {
+            text = Arrays.copyOf(text, Math.max(end, text.length + (text.length >> 1)));
+        }
+        System.arraycopy(entry.text(), 0, text, start, entry.text().length);
+
+        kinds[slotCount] = (byte) entry.kind().ordinal();
+        ids[slotCount] = entry.id();
+        wordStarts[slotCount] = start + entry.wordsFrom();
+        textStarts[slotCount + 1] = end;
+        setLiveSlot(entry.key(), slotCount);
+        slotCount++;
+    }
+
+    /**
+     * Compacts the live slots to the front of the arrays and sorts all their words.
+     */
+    private void rebuild() {
+        int live = slotCount - retired.cardinality();
+        int liveText = 0;
+        int wordCount = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (!retired.get(slot)) {
+                liveText += textStarts[slot + 1] - textStarts[slot];
+                for (int i = wordStarts[slot]; i < textStarts[slot + 1]; i++) {
+                    if (text[i] == WORD_END) {
+                        wordCount++;
+                    }
+                }
+            }
+        }
+
+        int capacity = Math.max(INITIAL_SLOTS, live + live / 8);
+        byte[] newKinds = new byte[capacity];
+        long[] newIds = new long[capacity];
+        int[] newTextStarts = new int[capacity + 1];
+        int[] newWordStarts = new int[capacity];
+        byte[] newText = new byte[liveText + liveText / 8];
+        int[] words = new int[wordCount];
+
+        int target = 0;
+        int offset = 0;
+        int word = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (retired.get(slot)) {
+                continue;
+            }
+            int length = textStarts[slot + 1] - textStarts[slot];
+            System.arraycopy(text, textStarts[slot], newText, offset, length);
+            newKinds[target] = kinds[slot];
+            newIds[target] = ids[slot];
+            newWordStarts[target] = offset + wordStarts[slot] - textStarts[slot];
+            newTextStarts[target + 1] = offset + length;
+            // Every word ends with a space, so each space is followed by the next word or the next slot
+            int wordStart = newWordStarts[target];
+            for (int i = wordStart; i < offset + length; i++) {
+                if (newText[i] == WORD_END) {
+                    words[word++] = wordStart;
+                    wordStart = i + 1;
+                }
+            }
+            offset += length;
+            target++;
+        }
+
+        kinds = newKinds;
+        ids = newIds;
+        textStarts = newTextStarts;
+        wordStarts = newWordStarts;
+        text = newText;
+        retired = new BitSet();
+        slotCount = live;
+        rehash(live);
+        sortWords(words, 0, words.length, 0);
+        sortedWords = words;
+        sortedSlots = live;
+    }
+
+    private boolean accepts(int slot, int kindFilter) {
+        return !retired.get(slot) && (kindFilter < 0 || kinds[slot] == kindFilter);
+    }
+
+    /**
+     * Sum over the query words of 2 for a whole word of the slot and 1 for a prefix, or 0 if a
+     * query word matches none of its words.
+     */
+    private int score(int slot, byte[][] prefixes) {
+        int score = 0;
+        for (byte[] prefix : prefixes) {
+            int best = 0;
+            for (int w = wordStarts[slot]; w < textStarts[slot + 1] && best < 2; w = wordEnd(w) + 1) {
+                if (startsWith(w, prefix)) {
+                    // A whole word counts more than a prefix
+                    best = text[w + prefix.length] == WORD_END ? 2 : 1;
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    private SuggestionDTO toSuggestion(int slot) {
+        int labelEnd = indexOf(FIELD_END, textStarts[slot]);
+        int detailEnd = indexOf(FIELD_END, labelEnd + 1);
+        String detail = new String(text, labelEnd + 1, detailEnd - labelEnd - 1, StandardCharsets.UTF_8);
+        return SuggestionDTO.builder()
+                .kind(SuggestionDTO.Kind.values()[kinds[slot]])
+                .id(ids[slot])
+                .label(new String(text, textStarts[slot], labelEnd - textStarts[slot], StandardCharsets.UTF_8))
+                .detail(detail.isEmpty() ? null : detail)
+                .build();
+    }
+
+    private int liveSlot(long key) {
+        return buckets[bucketOf(key)] - 1;
+    }
+
+    private void setLiveSlot(long key, int slot) {
+        int bucket = bucketOf(key);
+        if (buckets[bucket] == 0) {
+            if (4 * (usedBuckets + 1) > 3 * buckets.length) {
+                rehash(buckets.length);
+                bucket = bucketOf(key);
+            }
+            usedBuckets++;
+        }
+        buckets[bucket] = slot + 1;
+    }
+
+    private int bucketOf(long key) {
+        int mask = buckets.length - 1;
+        int bucket = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+        while (buckets[bucket] != 0 && key(kinds[buckets[bucket] - 1], ids[buckets[bucket] - 1]) != key) {
+            bucket = (bucket + 1) & mask;
+        }
+        return bucket;
+    }
+
+    /**
+     * Rehashes the live slots into a table with room for {@code expected} keys.
+     */
+    private void rehash(int expected) {
+        buckets = new int[Math.max(16, Integer.highestOneBit(Math.max(1, expected * 4 / 3)) * 2)];
+        usedBuckets = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (!retired.get(slot)) {
+                setLiveSlot(key(kinds[slot], ids[slot]), slot);
+            }
+        }
+    }
+
+    private int lowerBound(byte[] prefix) {
+        int low = 0;
+        int high = sortedWords.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareToPrefix(sortedWords[mid], prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int slotOf(int offset) {
+        // Last slot starting at or before the offset
+        int low = 0;
+        int high = slotCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (textStarts[mid] <= offset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private boolean startsWith(int word, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if (text[word + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int compareToPrefix(int word, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            byte b = text[word + i];
+            if (b == WORD_END) {
+                return -1;
+            }
+            if (b != prefix[i]) {
+                return Integer.compare(b & 0xFF, prefix[i] & 0xFF);
+            }
+        }
+        return 0;
+    }
+
+    private int wordEnd(int word) {
+        return indexOf(WORD_END, word);
+    }
+
+    private int indexOf(byte value, int from) {
+        int i = from;
+        while (text[i] != value) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Sorts the word offsets in {@code words[from, to)}, whose words share their first {@code depth}
+     * bytes, by word. Each pass is a primitive sort on the next four bytes, and only runs still tied
+     * after them go on to the following four.
+     */
+    private void sortWords(int[] words, int from, int to, int depth) {
+        long[] keys = new long[to - from];
+        for (int i = 0; i < keys.length; i++) {
+            // Flipping the sign bit makes the signed sort order the keys as unsigned
+            keys[i] = (bytesAt(words[from + i], depth) << 32 | words[from + i]) ^ Long.MIN_VALUE;
+        }
+        // Ties stay in offset order, hence in slot order
+        Arrays.sort(keys);
+        for (int i = 0; i < keys.length; i++) {
+            words[from + i] = (int) keys[i];
+        }
+        for (int run = 0; run < keys.length; ) {
+            int next = run + 1;
+            while (next < keys.length && keys[next] >>> 32 == keys[run] >>> 32) {
+                next++;
+            }
+            // Words are runs of letters and digits, so a zero byte means the tied words have ended
+            if (next - run > 1 && (keys[run] >>> 32 & 0xFF) != 0) {
+                sortWords(words, from + run, from + next, depth + 4);
+            }
+            run = next;
+        }
+    }
+
+    // Bytes [depth, depth + 4) of a word, the space ending it and anything after counting as 0
+    private long bytesAt(int word, int depth) {
+        long key = 0;
+        boolean ended = false;
+        for (int i = depth; i < depth + 4; i++) {
+            int value = 0;
+            if (!ended) {
+                ended = text[word + i] == WORD_END;
+                value = ended ? 0 : text[word + i] & 0xFF;
+            }
+            key = key << 8 | value;
+        }
+        return key;
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+    }
+
+    private static long key(int kind, long id) {
+        return id << 1 | kind;
+    }
+
+    private static Entry patientEntry(Long id, String firstName, String lastName, String email, String patientCode) {
+        return entry(SuggestionDTO.Kind.PATIENT, id, fullName(firstName, lastName), patientCode,
+                Arrays.asList(firstName, lastName, SearchIndex.emailLocalPart(email), patientCode));
+    }
+
+    private static Entry therapeuteEntry(Long id, String firstName, String lastName, String email,
+                                         String specialization, List<String> specialties) {
+        List<String> fields = new ArrayList<>(Arrays.asList(firstName, lastName,
+                SearchIndex.emailLocalPart(email), specialization));
+        fields.addAll(specialties);
+        return entry(SuggestionDTO.Kind.THERAPEUTE, id, fullName(firstName, lastName), specialization, fields);
+    }
+
+    private static Entry entry(SuggestionDTO.Kind kind, Long id, String label, String detail, List<String> fields) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.writeBytes(stripSeparators(label).getBytes(StandardCharsets.UTF_8));
+        out.write(FIELD_END);
+        out.writeBytes(stripSeparators(detail).getBytes(StandardCharsets.UTF_8));
+        out.write(FIELD_END);
+        int wordsFrom = out.size();
+        for (String word : words(fields)) {
+            out.writeBytes(word.getBytes(StandardCharsets.UTF_8));
+            out.write(WORD_END);
+        }
+        return new Entry(kind, id, out.toByteArray(), wordsFrom);
+    }
+
+    private static Set<String> words(List<String> fields) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String field : fields) {
+            for (String word : SearchIndex.words(field)) {
+                words.addAll(SearchIndex.parts(word));
+            }
+        }
+        return words;
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        return ((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "")).trim();
+    }
+
+    private static String stripSeparators(String value) {
+        return value == null ? "" : value.replace((char) FIELD_END, ' ');
+    }
+
+    private record Entry(SuggestionDTO.Kind kind, Long id, byte[] text, int wordsFrom) {
+
+        long key() {
+            return TypeaheadIndex.key(kind.ordinal(), id);
+        }
+    }
+}
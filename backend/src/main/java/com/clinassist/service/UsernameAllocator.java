@@ -0,0 +1,230 @@
+package com.clinassist.service;
+
+import com.clinassist.entity.UsernameCounter;
+import com.clinassist.repository.UserRepository;
+import com.clinassist.repository.UsernameCounterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Allocates usernames derived from an email: its lowercased local part, or when that is taken,
+ * the local part followed by the next free number ({@code sara}, {@code sara1}, {@code sara2}...).
+ * <p>
+ * A bloom filter of the usernames in use answers the common case without any query: a base it has
+ * never seen is free, and putting it in the filter reserves it. Otherwise the next suffix is taken
+ * from the {@code username_counters} row of the base, locked and incremented in its own transaction,
+ * so that concurrent registrations never get the same number. A base without a counter row is seeded
+ * with one prefix query for the highest suffix in use.
+ * <p>
+ * The filter is loaded from the users table once the application is ready; until then every
+ * allocation goes through the counters. Services creating users under other names report them with
+ * {@link #markTaken}. Names created by another backend instance are not in this instance's filter:
+ * the unique constraint on {@code users.username} still rejects such a collision.
+ */
+@Slf4j
+@Component
+public class UsernameAllocator {
+
+    // Suffixes checked with one query past the counter, for names created outside the allocator
+    private static final int PROBE_WINDOW = 16;
+    private static final int MAX_SUFFIX_DIGITS = 9;
+
+    private final UserRepository userRepository;
+    private final UsernameCounterRepository counterRepository;
+    private final TransactionTemplate reservation;
+    private final TransactionTemplate readOnly;
+    private final BloomFilter filter;
+    private final AtomicLong filterHits = new AtomicLong();
+    private volatile boolean ready;
+
+    public UsernameAllocator(UserRepository userRepository,
+                             UsernameCounterRepository counterRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.usernames.bloom.expected-insertions:200000}") int expectedInsertions,
+                             @Value("${app.usernames.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.counterRepository = counterRepository;
+        this.reservation = new TransactionTemplate(transactionManager);
+        this.reservation.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long[] count = {0};
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+                usernames.forEach(username -> {
+                    filter.put(username);
+                    count[0]++;
+                });
+            }
+        });
+        ready = true;
+        log.info("Username filter loaded with {} usernames ({} bits, {} hashes)", count[0], filter.bitCount(),
+                filter.hashCount());
+    }
+
+    /**
+     * The base username of an email: its local part, lowercased.
+     */
+    public static String baseOf(String email) {
+        return email.split("@")[0].toLowerCase();
+    }
+
+    /**
+     * Reserves a free username for the email. The reservation holds even if the caller's
+     * transaction rolls back, which only leaves a gap in the numbers.
+     */
+    public String allocate(String email) {
+        return allocateAll(List.of(email)).get(0);
+    }
+
+    /**
+     * Reserves a free username for each email, in order, as {@link #allocate} would one at a time.
+     * The counter row of a base needing suffixes is advanced once for all its emails, and every
+     * counter is reserved in one transaction.
+     */
+    public List<String> allocateAll(List<String> emails) {
+        String[] usernames = new String[emails.size()];
+        // Sorted, so that concurrent callers lock the counter rows in the same order
+        Map<String, List<Integer>> needingCounter = new TreeMap<>();
+        for (int i = 0; i < emails.size(); i++) {
+            String base = baseOf(emails.get(i));
+            // Put even before the filter is ready, so that it never hands out a base the counters did
+            boolean unseen = filter.put(base);
+            if (ready && unseen) {
+                filterHits.incrementAndGet();
+                usernames[i] = base;
+            } else {
+                needingCounter.computeIfAbsent(base, b -> new ArrayList<>()).add(i);
+            }
+        }
+        if (!needingCounter.isEmpty()) {
+            Map<String, List<String>> reserved;
+            try {
+                reserved = reservation.execute(status -> reserveAll(needingCounter));
+            } catch (DataIntegrityViolationException e) {
+                // Another transaction created a counter row first: it exists now
+                reserved = reservation.execute(status -> reserveAll(needingCounter));
+            }
+            for (Map.Entry<String, List<Integer>> entry : needingCounter.entrySet()) {
+                List<String> names = reserved.get(entry.getKey());
+                for (int j = 0; j < names.size(); j++) {
+                    usernames[entry.getValue().get(j)] = names.get(j);
+                    filter.put(names.get(j));
+                }
+            }
+        }
+        return Arrays.asList(usernames);
+    }
+
+    /**
+     * Records usernames created without {@link #allocate}.
+     */
+    public void markTaken(Collection<String> usernames) {
+        usernames.forEach(filter::put);
+    }
+
+    /**
+     * False when the username is certainly not in use; true may be a false positive.
+     */
+    public boolean mightBeTaken(String username) {
+        return !ready || filter.mightContain(username);
+    }
+
+    long filterHits() {
+        return filterHits.get();
+    }
+
+    private Map<String, List<String>> reserveAll(Map<String, List<Integer>> needingCounter) {
+        Map<String, List<String>> reserved = new HashMap<>();
+        needingCounter.forEach((base, rows) -> reserved.put(base, reserve(base, rows.size())));
+        return reserved;
+    }
+
+    private List<String> reserve(String base, int count) {
+        UsernameCounter counter = counterRepository.findForUpdate(base).orElse(null);
+        List<Integer> suffixes = new ArrayList<>(count);
+        if (counter == null) {
+            List<String> inUse = userRepository.findUsernamesStartingWith(escapeLike(base));
+            // Once the filter is ready, the bare base may have been handed out and not committed yet
+            if (!ready && !inUse.contains(base)) {
+                suffixes.add(0);
+            }
+            int next = highestSuffix(base, inUse) + 1;
+            while (suffixes.size() < count) {
+                suffixes.add(next++);
+            }
+            counter = UsernameCounter.builder().base(base).build();
+        } else {
+            suffixes = freeSuffixes(base, counter.getNextSuffix(), count);
+        }
+        counter.setNextSuffix(suffixes.get(suffixes.size() - 1) + 1);
+        counterRepository.saveAndFlush(counter);
+        return suffixes.stream().map(suffix -> username(base, suffix)).toList();
+    }
+
+    private List<Integer> freeSuffixes(String base, int from, int count) {
+        List<Integer> free = new ArrayList<>(count);
+        int next = from;
+        while (free.size() < count) {
+            int window = Math.max(PROBE_WINDOW, count - free.size());
+            List<String> candidates = new ArrayList<>(window);
+            for (int suffix = next; suffix < next + window; suffix++) {
+                candidates.add(username(base, suffix));
+            }
+            Set<String> taken = new HashSet<>(userRepository.findUsernamesIn(candidates));
+            int found = free.size();
+            for (int suffix = next; suffix < next + window && free.size() < count; suffix++) {
+                if (!taken.contains(username(base, suffix))) {
+                    free.add(suffix);
+                }
+            }
+            // A whole window taken: jump past the highest number in use
+            next = free.size() > found ? next + window : Math.max(next + window,
+                    highestSuffix(base, userRepository.findUsernamesStartingWith(escapeLike(base))) + 1);
+        }
+        return free;
+    }
+
+    private static int highestSuffix(String base, List<String> usernames) {
+        int highest = 0;
+        for (String username : usernames) {
+            String rest = username.substring(base.length());
+            if (!rest.isEmpty() && rest.length() <= MAX_SUFFIX_DIGITS && rest.chars().allMatch(Character::isDigit)) {
+                highest = Math.max(highest, Integer.parseInt(rest));
+            }
+        }
+        return highest;
+    }
+
+    static String username(String base, int suffix) {
+        return suffix == 0 ? base : base + suffix;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -0,0 +1,45 @@
+package com.clinassist;
+
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Seance;
+import com.clinassist.entity.Therapeute;
+import com.clinassist.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entités de test partagées par les tests d'intégration
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    /**
+     * A user whose first name and e-mail derive from {@code username}, so they are unique with it.
+     */
+    public static User user(String username, User.Role role) {
+        return User.builder()
+                .username(username)
+                .email(username + "@clinassist.test")
+                .password("password")
+                .firstName(username)
+                .lastName("Test")
+                .role(role)
+                .build();
+    }
+
+    /**
+     * A one-hour in-person seance, to be completed by the test before it is built.
+     */
+    public static Seance.SeanceBuilder seance(Patient patient, Therapeute therapeute, LocalDateTime scheduledAt,
+                                              Seance.SeanceStatus status) {
+        return Seance.builder()
+                .patient(patient)
+                .therapeute(therapeute)
+                .scheduledAt(scheduledAt)
+                .durationMinutes(60)
+                .type(Seance.SeanceType.IN_PERSON)
+                .status(status);
+    }
+}
@@ -2,7 +2,7 @@ package com.clinassist.controller;
 
 import com.clinassist.dto.DashboardStatsDTO;
 import com.clinassist.security.JwtTokenProvider;
-import com.clinassist.service.DashboardService;
+import com.clinassist.service.DashboardStatsCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -29,7 +29,7 @@ class DashboardControllerTest {
     private MockMvc mockMvc;
 
     @MockBean
-    private DashboardService dashboardService;
+    private DashboardStatsCache dashboardStatsCache;
 
     @MockBean
     private JwtTokenProvider jwtTokenProvider;
@@ -56,7 +56,7 @@ class DashboardControllerTest {
     @DisplayName("GET /dashboard/stats - Should return dashboard stats for ADMIN")
     @WithMockUser(roles = "ADMIN")
     void getDashboardStats_ShouldReturnStats_ForAdmin() throws Exception {
-        when(dashboardService.getDashboardStats()).thenReturn(dashboardStats);
+        when(dashboardStatsCache.get()).thenReturn(dashboardStats);
 
         mockMvc.perform(get("/dashboard/stats"))
                 .andExpect(status().isOk())
@@ -69,7 +69,7 @@ class DashboardControllerTest {
     @DisplayName("GET /dashboard/stats - Should return dashboard stats for THERAPEUTE")
     @WithMockUser(roles = "THERAPEUTE")
     void getDashboardStats_ShouldReturnStats_ForTherapeute() throws Exception {
-        when(dashboardService.getDashboardStats()).thenReturn(dashboardStats);
+        when(dashboardStatsCache.get()).thenReturn(dashboardStats);
 
         mockMvc.perform(get("/dashboard/stats"))
                 .andExpect(status().isOk())
@@ -80,7 +80,7 @@ class DashboardControllerTest {
     @DisplayName("GET /dashboard/stats - Should return dashboard stats for RECEPTIONIST")
     @WithMockUser(roles = "RECEPTIONIST")
     void getDashboardStats_ShouldReturnStats_ForReceptionist() throws Exception {
-        when(dashboardService.getDashboardStats()).thenReturn(dashboardStats);
+        when(dashboardStatsCache.get()).thenReturn(dashboardStats);
 
         mockMvc.perform(get("/dashboard/stats"))
                 .andExpect(status().isOk())
@@ -0,0 +1,93 @@
+package com.clinassist.controller;
+
+import com.clinassist.exception.BadRequestException;
+import com.clinassist.security.JwtTokenProvider;
+import com.clinassist.service.ExportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests d'intégration pour ExportController
+ */
+@WebMvcTest(ExportController.class)
+@DisplayName("ExportController Integration Tests")
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExportService exportService;
+
+    @MockBean
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    @DisplayName("GET /export/seances - Should stream NDJSON as an attachment")
+    @WithMockUser(roles = "ADMIN")
+    void exportSeances_ShouldStreamNdjson() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2026, 2, 1, 0, 0);
+        when(exportService.exportSeances(eq(start), eq(end), eq(ExportService.Format.NDJSON), any()))
+                .thenAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(3);
+                    out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        MvcResult result = mockMvc.perform(get("/export/seances")
+                        .param("start", "2026-01-01T00:00:00")
+                        .param("end", "2026-02-01T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"seances.ndjson\""))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    @DisplayName("GET /export/predictions - Should reject an unknown format before streaming")
+    @WithMockUser(roles = "THERAPEUTE")
+    void exportPredictions_UnknownFormat_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/export/predictions")
+                        .param("start", "2026-01-01T00:00:00")
+                        .param("end", "2026-02-01T00:00:00")
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /export/seances - Should reject an inverted range before streaming")
+    @WithMockUser(roles = "ADMIN")
+    void exportSeances_InvertedRange_ShouldReturnBadRequest() throws Exception {
+        doThrow(new BadRequestException("Export start must not be after end"))
+                .when(exportService).validateRange(any(), any());
+
+        mockMvc.perform(get("/export/seances")
+                        .param("start", "2026-02-01T00:00:00")
+                        .param("end", "2026-01-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(request().asyncNotStarted());
+    }
+}
@@ -2,8 +2,10 @@ package com.clinassist.controller;
 
 import com.clinassist.dto.PatientCreateRequest;
 import com.clinassist.dto.PatientDTO;
+import com.clinassist.dto.PatientImportReport;
 import com.clinassist.entity.Patient;
 import com.clinassist.security.JwtTokenProvider;
+import com.clinassist.service.PatientImportService;
 import com.clinassist.service.PatientService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,6 +46,9 @@ class PatientControllerTest {
     @MockBean
     private PatientService patientService;
 
+    @MockBean
+    private PatientImportService patientImportService;
+
     @MockBean
     private JwtTokenProvider jwtTokenProvider;
 
@@ -184,4 +189,38 @@ class PatientControllerTest {
                 .param("status", "INACTIVE"))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    @DisplayName("POST /patients/import - Should stream the upload and return the report")
+    @WithMockUser(roles = "ADMIN")
+    void importPatients_ShouldReturnReport() throws Exception {
+        PatientImportReport report = PatientImportReport.builder()
+                .totalRows(2)
+                .importedRows(1)
+                .failedRows(1)
+                .errors(Collections.singletonList(PatientImportReport.RowError.builder()
+                        .row(2).email("jean@example.com").message("Email already exists").build()))
+                .build();
+        when(patientImportService.importPatients(any(), eq(PatientImportService.Format.CSV))).thenReturn(report);
+
+        mockMvc.perform(post("/patients/import")
+                .with(csrf())
+                .param("format", "csv")
+                .contentType("text/csv")
+                .content("email,firstName,lastName\r\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedRows").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2));
+    }
+
+    @Test
+    @DisplayName("POST /patients/import - Should reject an unknown format")
+    @WithMockUser(roles = "ADMIN")
+    void importPatients_UnknownFormat_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/patients/import")
+                .with(csrf())
+                .param("format", "xlsx")
+                .content("x"))
+                .andExpect(status().isBadRequest());
+    }
 }
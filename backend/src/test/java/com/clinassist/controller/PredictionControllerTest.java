@@ -1,5 +1,6 @@
 package com.clinassist.controller;
 
+import com.clinassist.dto.BatchPredictionRequest;
 import com.clinassist.dto.PredictionDTO;
 import com.clinassist.entity.Prediction;
 import com.clinassist.security.JwtTokenProvider;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -96,6 +98,20 @@ class PredictionControllerTest {
                 .andExpect(jsonPath("$.type").value("DROPOUT_RISK"));
     }
 
+    @Test
+    @DisplayName("POST /predictions/batch/dropout-risk - Should generate predictions for a batch of patients")
+    @WithMockUser(roles = "THERAPEUTE")
+    void generateDropoutRiskPredictions_ShouldReturnList() throws Exception {
+        when(predictionService.generateDropoutRiskPredictions(any(BatchPredictionRequest.class)))
+                .thenReturn(Arrays.asList(testPrediction));
+
+        mockMvc.perform(post("/predictions/batch/dropout-risk").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"patientIds\": [1, 2]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("DROPOUT_RISK"));
+    }
+
     @Test
     @DisplayName("POST /predictions/patient/{patientId}/next-session - Should generate next session prediction")
     @WithMockUser(roles = "THERAPEUTE")
@@ -4,6 +4,7 @@ import com.clinassist.dto.CreateSeanceRequest;
 import com.clinassist.dto.SeanceDTO;
 import com.clinassist.entity.Seance;
 import com.clinassist.security.JwtTokenProvider;
+import com.clinassist.service.IdempotencyStore;
 import com.clinassist.service.SeanceService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -21,8 +23,11 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -32,6 +37,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Tests d'intégration pour SeanceController
  */
 @WebMvcTest(SeanceController.class)
+@Import(IdempotencyStore.class)
 @DisplayName("SeanceController Integration Tests")
 class SeanceControllerTest {
 
@@ -146,6 +152,38 @@ class SeanceControllerTest {
                 .andExpect(jsonPath("$.seanceCode").value("SEA-001"));
     }
 
+    @Test
+    @DisplayName("POST /seances - Should replay the first result for a repeated Idempotency-Key")
+    @WithMockUser(roles = "RECEPTIONIST")
+    void createSeance_RepeatedIdempotencyKey_ShouldCreateOnce() throws Exception {
+        CreateSeanceRequest request = new CreateSeanceRequest();
+        request.setPatientId(1L);
+        request.setTherapeuteId(1L);
+        request.setScheduledAt(LocalDateTime.now().plusDays(1));
+        String body = objectMapper.writeValueAsString(request);
+
+        when(seanceService.createSeance(any(CreateSeanceRequest.class))).thenReturn(testSeance);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/seances")
+                    .with(csrf())
+                    .header("Idempotency-Key", "booking-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.id").value(1));
+        }
+        verify(seanceService, times(1)).createSeance(any(CreateSeanceRequest.class));
+
+        request.setDurationMinutes(30);
+        mockMvc.perform(post("/seances")
+                .with(csrf())
+                .header("Idempotency-Key", "booking-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("PATCH /seances/{id}/status - Should update status")
     @WithMockUser(roles = "ADMIN")
@@ -170,6 +208,33 @@ class SeanceControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @DisplayName("PATCH /seances/{id}/following/cancel - Should cancel the following occurrences")
+    @WithMockUser(roles = "ADMIN")
+    void cancelFollowingSeances_ShouldReturnCancelled() throws Exception {
+        when(seanceService.cancelFollowingSeances(1L, "Vacances")).thenReturn(List.of(testSeance, testSeance));
+
+        mockMvc.perform(patch("/seances/1/following/cancel")
+                .with(csrf())
+                .param("reason", "Vacances"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("PATCH /seances/{id}/following/reschedule - Should move the following occurrences")
+    @WithMockUser(roles = "ADMIN")
+    void rescheduleFollowingSeances_ShouldReturnMoved() throws Exception {
+        LocalDateTime newDateTime = LocalDateTime.of(2027, 3, 1, 14, 0);
+        when(seanceService.rescheduleFollowingSeances(1L, newDateTime)).thenReturn(List.of(testSeance));
+
+        mockMvc.perform(patch("/seances/1/following/reschedule")
+                .with(csrf())
+                .param("newDateTime", "2027-03-01T14:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
     @Test
     @DisplayName("GET /seances/check-conflict - Should check conflicts")
     @WithMockUser(roles = "ADMIN")
@@ -0,0 +1,59 @@
+package com.clinassist.controller;
+
+import com.clinassist.dto.SuggestionDTO;
+import com.clinassist.security.JwtTokenProvider;
+import com.clinassist.service.TypeaheadIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests d'intégration pour SearchController
+ */
+@WebMvcTest(SearchController.class)
+@DisplayName("SearchController Integration Tests")
+class SearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TypeaheadIndex typeaheadIndex;
+
+    @MockBean
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    @DisplayName("GET /search/suggest - Should return suggestions of the requested kind")
+    @WithMockUser
+    void suggest_ShouldReturnSuggestions() throws Exception {
+        when(typeaheadIndex.suggest("dup", SuggestionDTO.Kind.PATIENT, 5)).thenReturn(List.of(
+                new SuggestionDTO(SuggestionDTO.Kind.PATIENT, 1L, "Jean Dupont", "PAT-001")));
+
+        mockMvc.perform(get("/search/suggest")
+                        .param("q", "dup")
+                        .param("kind", "PATIENT")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].kind").value("PATIENT"))
+                .andExpect(jsonPath("$[0].label").value("Jean Dupont"))
+                .andExpect(jsonPath("$[0].detail").value("PAT-001"));
+    }
+
+    @Test
+    @DisplayName("GET /search/suggest - Should require authentication")
+    void suggest_Unauthenticated_ShouldBeRejected() throws Exception {
+        mockMvc.perform(get("/search/suggest").param("q", "dup"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -1,8 +1,10 @@
 package com.clinassist.controller;
 
+import com.clinassist.dto.AvailableSlotDTO;
 import com.clinassist.dto.TherapeuteDTO;
 import com.clinassist.entity.Therapeute;
 import com.clinassist.security.JwtTokenProvider;
+import com.clinassist.service.AvailabilityIndex;
 import com.clinassist.service.TherapeuteService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,7 +18,10 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
@@ -37,6 +42,9 @@ class TherapeuteControllerTest {
     @MockBean
     private TherapeuteService therapeuteService;
 
+    @MockBean
+    private AvailabilityIndex availabilityIndex;
+
     @MockBean
     private JwtTokenProvider jwtTokenProvider;
 
@@ -66,6 +74,50 @@ class TherapeuteControllerTest {
                 .andExpect(jsonPath("$.content[0].therapeuteCode").value("THER-001"));
     }
 
+    @Test
+    @DisplayName("GET /therapeutes/{id}/availability - Should return free slots")
+    @WithMockUser(roles = "PATIENT")
+    void getAvailability_ShouldReturnSlots() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 3, 4, 9, 0);
+        when(availabilityIndex.findFreeSlots(1L, LocalDate.of(2030, 3, 1), LocalDate.of(2030, 3, 31)))
+                .thenReturn(List.of(AvailableSlotDTO.builder()
+                        .therapeuteId(1L)
+                        .startAt(start)
+                        .endAt(start.plusMinutes(45))
+                        .durationMinutes(45)
+                        .build()));
+
+        mockMvc.perform(get("/therapeutes/1/availability")
+                        .param("from", "2030-03-01")
+                        .param("to", "2030-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].startAt").value("2030-03-04T09:00:00"))
+                .andExpect(jsonPath("$[0].durationMinutes").value(45));
+    }
+
+    @Test
+    @DisplayName("GET /therapeutes/first-available - Should pass the filters with their defaults")
+    @WithMockUser(roles = "RECEPTIONIST")
+    void getFirstAvailableSlots_ShouldReturnSlots() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 3, 4, 9, 0);
+        when(therapeuteService.findFirstAvailableSlots("TCC", "Arabe", Therapeute.TherapeuteStatus.AVAILABLE,
+                null, null, 10))
+                .thenReturn(List.of(AvailableSlotDTO.builder()
+                        .therapeuteId(3L)
+                        .therapeuteName("Sophie Bernard")
+                        .startAt(start)
+                        .endAt(start.plusMinutes(60))
+                        .durationMinutes(60)
+                        .build()));
+
+        mockMvc.perform(get("/therapeutes/first-available")
+                        .param("specialty", "TCC")
+                        .param("language", "Arabe"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].therapeuteId").value(3))
+                .andExpect(jsonPath("$[0].therapeuteName").value("Sophie Bernard"));
+    }
+
     @Test
     @DisplayName("GET /therapeutes/{id} - Should return therapeute by ID")
     @WithMockUser(roles = "ADMIN")
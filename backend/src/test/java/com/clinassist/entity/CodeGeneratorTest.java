@@ -0,0 +1,78 @@
+package com.clinassist.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires pour CodeGenerator
+ */
+@DisplayName("CodeGenerator Unit Tests")
+class CodeGeneratorTest {
+
+    @Test
+    @DisplayName("Should append 26 Crockford base32 characters to the prefix")
+    void next_ShouldFormatPrefixAndUlid() {
+        // When
+        String code = CodeGenerator.next("SEA-");
+
+        // Then
+        assertThat(code).matches("SEA-[0-9A-HJKMNP-TV-Z]{26}");
+    }
+
+    @Test
+    @DisplayName("Should encode the timestamp then the random bits, most significant first")
+    void encode_ShouldMatchKnownValues() {
+        assertThat(CodeGenerator.encode(0, 0, 0)).isEqualTo("00000000000000000000000000");
+        assertThat(CodeGenerator.encode(1, 0, 1)).isEqualTo("00000000010000000000000001");
+        assertThat(CodeGenerator.encode((1L << 48) - 1, 0xFFFF, -1)).isEqualTo("7ZZZZZZZZZZZZZZZZZZZZZZZZZ");
+    }
+
+    @Test
+    @DisplayName("Should issue strictly increasing codes within the same millisecond")
+    void next_ShouldBeMonotonic() {
+        // Given
+        String previous = CodeGenerator.next("");
+
+        // When / Then
+        for (int i = 0; i < 10_000; i++) {
+            String code = CodeGenerator.next("");
+            assertThat(code).isGreaterThan(previous);
+            previous = code;
+        }
+    }
+
+    @Test
+    @DisplayName("Should never issue the same code to concurrent callers")
+    void next_ConcurrentCallers_ShouldNotCollide() throws Exception {
+        // Given
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    codes.add(CodeGenerator.next("PAT-"));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(codes).hasSize(40_000);
+    }
+}
@@ -34,6 +34,17 @@ class ExceptionTest {
         assertThat(response.getBody().getError()).isEqualTo("Not Found");
     }
 
+    @Test
+    void globalExceptionHandler_ShouldHandleConflict() {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler();
+        ConflictException ex = new ConflictException("Still in progress");
+
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response = handler.handleConflictException(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody().getMessage()).isEqualTo("Still in progress");
+    }
+
     @Test
     void globalExceptionHandler_ShouldHandleGenericException() {
         GlobalExceptionHandler handler = new GlobalExceptionHandler();
@@ -0,0 +1,134 @@
+package com.clinassist.repository;
+
+import com.clinassist.TestFixtures;
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Prediction;
+import com.clinassist.entity.Seance;
+import com.clinassist.entity.Therapeute;
+import com.clinassist.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.clinassist.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests d'intégration (H2) pour les requêtes d'agrégation du dashboard
+ */
+@DataJpaTest
+@DisplayName("DashboardStatsRepository Integration Tests")
+class DashboardStatsRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DashboardStatsRepository statsRepository;
+
+    private Patient patient;
+    private Therapeute therapeute;
+
+    @BeforeEach
+    void setUp() {
+        therapeute = entityManager.persist(Therapeute.builder()
+                .user(user("therapeute", User.Role.THERAPEUTE))
+                .status(Therapeute.TherapeuteStatus.AVAILABLE)
+                .build());
+
+        patient = entityManager.persist(Patient.builder()
+                .user(user("patient1", User.Role.PATIENT))
+                .status(Patient.PatientStatus.ACTIVE)
+                .riskScore(80)
+                .build());
+        entityManager.persist(Patient.builder()
+                .user(user("patient2", User.Role.PATIENT))
+                .status(Patient.PatientStatus.INACTIVE)
+                .riskScore(20)
+                .build());
+
+        LocalDateTime today = LocalDateTime.of(LocalDate.now(), LocalTime.NOON);
+        seance(today, Seance.SeanceType.IN_PERSON, Seance.SeanceStatus.SCHEDULED);
+        seance(today, Seance.SeanceType.VIDEO_CALL, Seance.SeanceStatus.COMPLETED);
+        seance(today.minusDays(2), Seance.SeanceType.IN_PERSON, Seance.SeanceStatus.CANCELLED);
+        seance(today.plusDays(3), Seance.SeanceType.IN_PERSON, Seance.SeanceStatus.SCHEDULED);
+
+        entityManager.persist(Prediction.builder().patient(patient).wasAccurate(true).build());
+        entityManager.persist(Prediction.builder().patient(patient).wasAccurate(false).build());
+        entityManager.persist(Prediction.builder().patient(patient).build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should group seances by type and patients by status")
+    void groupedCounts_ShouldAggregateInDatabase() {
+        Map<Seance.SeanceType, Long> byType = statsRepository.countSeancesByType().stream()
+                .collect(Collectors.toMap(
+                        DashboardStatsRepository.SeanceTypeCount::getType,
+                        DashboardStatsRepository.SeanceTypeCount::getCount));
+        Map<Patient.PatientStatus, Long> byStatus = statsRepository.countPatientsByStatus().stream()
+                .collect(Collectors.toMap(
+                        DashboardStatsRepository.PatientStatusCount::getStatus,
+                        DashboardStatsRepository.PatientStatusCount::getCount));
+
+        assertThat(byType).containsEntry(Seance.SeanceType.IN_PERSON, 3L)
+                .containsEntry(Seance.SeanceType.VIDEO_CALL, 1L);
+        assertThat(byStatus).containsEntry(Patient.PatientStatus.ACTIVE, 1L)
+                .containsEntry(Patient.PatientStatus.INACTIVE, 1L);
+    }
+
+    @Test
+    @DisplayName("Should bucket seances per day and status from the window start")
+    void countSeancesPerDayAndStatusFrom_ShouldBucketByDateAndStatus() {
+        LocalDate today = LocalDate.now();
+
+        Map<String, Long> perDay = statsRepository.countSeancesPerDayAndStatusFrom(
+                        LocalDateTime.of(today.minusDays(1), LocalTime.MIN))
+                .stream()
+                .collect(Collectors.toMap(
+                        row -> row.getDay() + "." + row.getStatus(),
+                        DashboardStatsRepository.DailyStatusCount::getCount));
+
+        assertThat(perDay).hasSize(3)
+                .containsEntry(today + ".SCHEDULED", 1L)
+                .containsEntry(today + ".COMPLETED", 1L)
+                .containsEntry(today.plusDays(3) + ".SCHEDULED", 1L);
+    }
+
+    @Test
+    @DisplayName("Should summarize patients, therapeutes and predictions in single rows")
+    void summaries_ShouldReturnSingleRows() {
+        LocalDateTime startOfMonth = LocalDate.now().withDayOfMonth(1).atStartOfDay();
+
+        DashboardStatsRepository.NewPatientsWindow newPatients =
+                statsRepository.countNewPatients(startOfMonth.minusMonths(1), startOfMonth);
+        DashboardStatsRepository.RiskSummary risk = statsRepository.summarizeRisk(70);
+        DashboardStatsRepository.PredictionSummary predictions = statsRepository.summarizePredictions();
+
+        assertThat(newPatients.getThisMonth()).isEqualTo(2L);
+        assertThat(newPatients.getLastMonth()).isZero();
+        assertThat(risk.getHighRiskCount()).isEqualTo(1L);
+        assertThat(risk.getAverageRiskScore()).isEqualTo(50.0);
+        assertThat(predictions.getTotal()).isEqualTo(3L);
+        assertThat(predictions.getAccurate()).isEqualTo(1L);
+        assertThat(predictions.getEvaluated()).isEqualTo(2L);
+        assertThat(statsRepository.countTherapeutesByStatus()).hasSize(1);
+        assertThat(statsRepository.countUpcomingSeances(LocalDateTime.now().plusDays(1))).isEqualTo(1L);
+    }
+
+    private void seance(LocalDateTime scheduledAt, Seance.SeanceType type, Seance.SeanceStatus status) {
+        entityManager.persist(TestFixtures.seance(patient, therapeute, scheduledAt, status)
+                .type(type)
+                .build());
+    }
+}
@@ -0,0 +1,89 @@
+package com.clinassist.repository;
+
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Prediction;
+import com.clinassist.entity.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.clinassist.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests d'intégration (H2) pour l'écriture JDBC par lots des scores de risque
+ */
+@DataJpaTest
+@Import(RiskScoreBatchWriter.class)
+@DisplayName("RiskScoreBatchWriter Integration Tests")
+class RiskScoreBatchWriterTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RiskScoreBatchWriter writer;
+
+    @Autowired
+    private PredictionRepository predictionRepository;
+
+    @Test
+    @DisplayName("Should insert predictions with factors and update patient risk scores")
+    void write_ShouldPersistPredictionsAndRiskScores() {
+        // Given
+        Patient first = patient("risk1");
+        Patient second = patient("risk2");
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Prediction> predictions = Arrays.asList(prediction(80, Prediction.RiskCategory.CRITICAL),
+                prediction(10, Prediction.RiskCategory.LOW));
+
+        // When
+        int written = writer.write(Arrays.asList(first.getId(), second.getId()), predictions);
+
+        // Then
+        assertThat(written).isEqualTo(2);
+        assertThat(predictions).allMatch(p -> p.getId() != null);
+
+        Prediction stored = predictionRepository.findById(predictions.get(0).getId()).orElseThrow();
+        assertThat(stored.getPatient().getId()).isEqualTo(first.getId());
+        assertThat(stored.getFactors()).containsEntry("cancellation_rate", 0.5);
+        assertThat(stored.getCreatedAt()).isNotNull();
+
+        assertThat(entityManager.find(Patient.class, first.getId()).getRiskScore()).isEqualTo(80);
+        assertThat(entityManager.find(Patient.class, second.getId()).getRiskCategory()).isEqualTo("LOW");
+    }
+
+    private Patient patient(String username) {
+        return entityManager.persist(Patient.builder()
+                .user(user(username, User.Role.PATIENT))
+                .patientCode("PAT-" + username)
+                .status(Patient.PatientStatus.ACTIVE)
+                .build());
+    }
+
+    private Prediction prediction(int riskLevel, Prediction.RiskCategory category) {
+        Map<String, Double> factors = new HashMap<>();
+        factors.put("cancellation_rate", 0.5);
+        factors.put("no_show_rate", 0.0);
+        return Prediction.builder()
+                .type(Prediction.PredictionType.DROPOUT_RISK)
+                .prediction("Patient dropout risk assessment via ML")
+                .confidenceScore(0.85)
+                .factors(factors)
+                .riskLevel(riskLevel)
+                .riskCategory(category)
+                .modelVersion("2.0.0")
+                .algorithmUsed("RandomForest")
+                .build();
+    }
+}
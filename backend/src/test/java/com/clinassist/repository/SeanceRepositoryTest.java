@@ -0,0 +1,190 @@
+package com.clinassist.repository;
+
+import com.clinassist.TestFixtures;
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Seance;
+import com.clinassist.entity.Therapeute;
+import com.clinassist.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.clinassist.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests d'intégration (H2) pour le vecteur de caractéristiques agrégé par patient, la pagination par curseur
+ * et les mises à jour groupées des séries de séances
+ */
+@DataJpaTest
+@DisplayName("SeanceRepository Integration Tests")
+class SeanceRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SeanceRepository seanceRepository;
+
+    private Patient patient;
+    private Patient idlePatient;
+    private Therapeute therapeute;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        therapeute = entityManager.persist(Therapeute.builder()
+                .user(user("therapeute", User.Role.THERAPEUTE))
+                .status(Therapeute.TherapeuteStatus.AVAILABLE)
+                .build());
+        patient = entityManager.persist(Patient.builder()
+                .user(user("patient1", User.Role.PATIENT))
+                .patientCode("PAT-FV-1")
+                .build());
+        idlePatient = entityManager.persist(Patient.builder()
+                .user(user("patient2", User.Role.PATIENT))
+                .patientCode("PAT-FV-2")
+                .build());
+
+        base = LocalDateTime.now().minusDays(30).withNano(0);
+        seance("SEA-FV-1", base, Seance.SeanceStatus.COMPLETED, 3, 6, 4);
+        seance("SEA-FV-2", base.plusDays(7), Seance.SeanceStatus.COMPLETED, 5, 6, null);
+        seance("SEA-FV-3", base.plusDays(14), Seance.SeanceStatus.COMPLETED, null, 7, 2);
+        seance("SEA-FV-4", base.plusDays(21), Seance.SeanceStatus.CANCELLED, null, null, null);
+        seance("SEA-FV-5", base.plusDays(28), Seance.SeanceStatus.NO_SHOW, null, null, null);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should aggregate counts, dates, mood delta and progress in one row per patient")
+    void findFeatureVectorsByPatientIds_ShouldAggregate() {
+        // When
+        List<SeanceRepository.PatientFeatureVector> rows = seanceRepository.findFeatureVectorsByPatientIds(
+                Arrays.asList(patient.getId(), idlePatient.getId()));
+
+        // Then
+        assertThat(rows).hasSize(1);
+        SeanceRepository.PatientFeatureVector row = rows.get(0);
+        assertThat(row.getPatientId()).isEqualTo(patient.getId());
+        assertThat(row.getTotal()).isEqualTo(5);
+        assertThat(row.getCancelled()).isEqualTo(1);
+        assertThat(row.getNoShow()).isEqualTo(1);
+        assertThat(row.getCompleted()).isEqualTo(3);
+        assertThat(row.getFirstCompletedAt()).isEqualTo(base);
+        assertThat(row.getLastCompletedAt()).isEqualTo(base.plusDays(14));
+        assertThat(row.getAvgMoodDelta()).isEqualTo(2.0);
+        assertThat(row.getAvgProgress()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should page by (scheduledAt, id) descending and continue strictly after the cursor")
+    void findKeysetPageByPatientId_ShouldContinueAfterCursor() {
+        // Given - a second seance shares the latest timestamp, so the id breaks the tie
+        seance("SEA-FV-6", base.plusDays(28), Seance.SeanceStatus.SCHEDULED, null, null, null);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<Seance> first = seanceRepository.findKeysetPageByPatientId(patient.getId(), PageRequest.of(0, 2));
+        Seance last = first.get(first.size() - 1);
+        List<Seance> second = seanceRepository.findKeysetPageByPatientIdBefore(
+                patient.getId(), last.getScheduledAt(), last.getId(), PageRequest.of(0, 10));
+
+        // Then
+        assertThat(first).extracting(Seance::getScheduledAt).containsOnly(base.plusDays(28));
+        assertThat(first.get(0).getId()).isGreaterThan(first.get(1).getId());
+        assertThat(second).extracting(Seance::getScheduledAt)
+                .containsExactly(base.plusDays(21), base.plusDays(14), base.plusDays(7), base);
+        assertThat(second.get(0).getPatient().getUser().getUsername()).isEqualTo("patient1");
+        assertThat(seanceRepository.findKeysetPageByPatientId(idlePatient.getId(), PageRequest.of(0, 2))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should find this and the following open occurrences of a series")
+    void findSeriesOccurrencesFrom_ShouldSkipEarlierAndClosedOccurrences() {
+        // Given
+        List<Seance> series = series(base.plusDays(40));
+        seanceRepository.cancelAllById(List.of(series.get(3).getId()), "Absent", LocalDateTime.now());
+
+        // When
+        List<SeanceRepository.SeriesOccurrence> occurrences =
+                seanceRepository.findSeriesOccurrencesFrom(series.get(0).getId(), base.plusDays(47));
+
+        // Then
+        assertThat(occurrences).extracting(SeanceRepository.SeriesOccurrence::getId)
+                .containsExactly(series.get(1).getId(), series.get(2).getId());
+        assertThat(seanceRepository.findSeriesOccurrencesFrom(series.get(0).getId(), base)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should cancel and shift occurrences with single bulk updates")
+    void bulkUpdates_ShouldChangeOnlyOpenOccurrences() {
+        // Given
+        List<Seance> series = series(base.plusDays(40));
+        List<Long> ids = List.of(series.get(1).getId(), series.get(2).getId());
+
+        // When
+        int shifted = seanceRepository.shiftAllById(ids, 90 * 60, LocalDateTime.now());
+        int cancelled = seanceRepository.cancelAllById(ids, "Vacances", LocalDateTime.now());
+        int cancelledAgain = seanceRepository.cancelAllById(ids, "Vacances", LocalDateTime.now());
+
+        // Then
+        assertThat(shifted).isEqualTo(2);
+        assertThat(cancelled).isEqualTo(2);
+        assertThat(cancelledAgain).isZero();
+        Seance stored = seanceRepository.findById(ids.get(1)).orElseThrow();
+        assertThat(stored.getParentSeance().getId()).isEqualTo(series.get(0).getId());
+        assertThat(stored.getScheduledAt()).isEqualTo(base.plusDays(54).plusMinutes(90));
+        assertThat(stored.getStatus()).isEqualTo(Seance.SeanceStatus.CANCELLED);
+        assertThat(stored.getCancellationReason()).isEqualTo("Vacances");
+        assertThat(stored.getReminderSent()).isFalse();
+        assertThat(stored.getVersion()).isEqualTo(2L);
+        assertThat(seanceRepository.findById(series.get(0).getId()).orElseThrow().getScheduledAt())
+                .isEqualTo(base.plusDays(40));
+    }
+
+    private void seance(String code, LocalDateTime scheduledAt, Seance.SeanceStatus status,
+                        Integer moodBefore, Integer moodAfter, Integer progress) {
+        entityManager.persist(TestFixtures.seance(patient, therapeute, scheduledAt, status)
+                .seanceCode(code)
+                .patientMoodBefore(moodBefore)
+                .patientMoodAfter(moodAfter)
+                .progressRating(progress)
+                .build());
+    }
+
+    /**
+     * A weekly series of four seances starting at {@code first}, linked to the first one.
+     */
+    private List<Seance> series(LocalDateTime first) {
+        Seance root = seanceRepository.save(occurrence(first, null));
+        List<Seance> following = seanceRepository.saveAll(List.of(
+                occurrence(first.plusWeeks(1), root),
+                occurrence(first.plusWeeks(2), root),
+                occurrence(first.plusWeeks(3), root)));
+        entityManager.flush();
+        entityManager.clear();
+        List<Seance> series = new ArrayList<>(following);
+        series.add(0, root);
+        return series;
+    }
+
+    private Seance occurrence(LocalDateTime scheduledAt, Seance parent) {
+        return TestFixtures.seance(patient, therapeute, scheduledAt, Seance.SeanceStatus.SCHEDULED)
+                .parentSeance(parent)
+                .isRecurring(true)
+                .recurringPattern("WEEKLY;COUNT=4")
+                .reminderSent(false)
+                .build();
+    }
+}
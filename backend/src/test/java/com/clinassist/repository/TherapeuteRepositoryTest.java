@@ -0,0 +1,69 @@
+package com.clinassist.repository;
+
+import com.clinassist.entity.Therapeute;
+import com.clinassist.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.clinassist.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests d'intégration (H2) pour le filtrage des thérapeutes par statut, spécialité et langue
+ */
+@DataJpaTest
+@DisplayName("TherapeuteRepository Integration Tests")
+class TherapeuteRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TherapeuteRepository therapeuteRepository;
+
+    private Therapeute arabicCbt;
+    private Therapeute frenchCbt;
+    private Therapeute onLeave;
+
+    @BeforeEach
+    void setUp() {
+        arabicCbt = therapeute("th1", Therapeute.TherapeuteStatus.AVAILABLE,
+                List.of("TCC", "Anxiété"), List.of("Arabe", "Français"));
+        frenchCbt = therapeute("th2", Therapeute.TherapeuteStatus.AVAILABLE, List.of("TCC"), List.of("Français"));
+        onLeave = therapeute("th3", Therapeute.TherapeuteStatus.ON_LEAVE, List.of("TCC"), List.of("Arabe"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should match specialty and language case-insensitively within a status")
+    void findIdsByStatusAndSpecialtyAndLanguage_ShouldFilter() {
+        assertThat(therapeuteRepository.findIdsByStatusAndSpecialtyAndLanguage(
+                Therapeute.TherapeuteStatus.AVAILABLE, "tcc", "arabe")).containsExactly(arabicCbt.getId());
+        assertThat(therapeuteRepository.findIdsByStatusAndSpecialtyAndLanguage(
+                Therapeute.TherapeuteStatus.AVAILABLE, "tcc", null))
+                .containsExactlyInAnyOrder(arabicCbt.getId(), frenchCbt.getId());
+        assertThat(therapeuteRepository.findIdsByStatusAndSpecialtyAndLanguage(
+                Therapeute.TherapeuteStatus.ON_LEAVE, null, null)).containsExactly(onLeave.getId());
+        assertThat(therapeuteRepository.findIdsByStatusAndSpecialtyAndLanguage(
+                Therapeute.TherapeuteStatus.AVAILABLE, "emdr", null)).isEmpty();
+    }
+
+    private Therapeute therapeute(String username, Therapeute.TherapeuteStatus status, List<String> specialties,
+                                  List<String> languages) {
+        return entityManager.persist(Therapeute.builder()
+                .user(user(username, User.Role.THERAPEUTE))
+                .therapeuteCode("TH-" + username)
+                .status(status)
+                .specialties(new ArrayList<>(specialties))
+                .languages(new ArrayList<>(languages))
+                .build());
+    }
+}
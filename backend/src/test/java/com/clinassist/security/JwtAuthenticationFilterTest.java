@@ -0,0 +1,125 @@
+package com.clinassist.security;
+
+import com.clinassist.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour JwtAuthenticationFilter
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthenticationFilter Unit Tests")
+class JwtAuthenticationFilterTest {
+
+    private static final String TEST_SECRET = "dGVzdC1zZWNyZXQta2V5LWZvci1qd3QtdG9rZW4tZ2VuZXJhdGlvbi1hbmQtdmFsaWRhdGlvbi10ZXN0aW5n";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private ObjectProvider<UserStatusCache> userStatusCacheProvider;
+
+    @Mock
+    private UserStatusCache userStatusCache;
+
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", TEST_SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 3600000L);
+        ReflectionTestUtils.setField(tokenProvider, "refreshExpiration", 86400000L);
+        filter = new JwtAuthenticationFilter(tokenProvider, userDetailsService, userStatusCacheProvider);
+
+        user = User.builder()
+                .id(42L)
+                .username("therapist")
+                .role(User.Role.THERAPEUTE)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate from token claims without loading the user")
+    void doFilter_ShouldBuildPrincipalFromClaims() throws Exception {
+        // Given
+        when(userStatusCacheProvider.getIfAvailable()).thenReturn(userStatusCache);
+        when(userStatusCache.isActive("therapist")).thenReturn(true);
+
+        // When
+        filter.doFilter(request(tokenProvider.generateAccessToken(user)),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal()).isInstanceOf(UserPrincipal.class);
+        assertThat(((UserPrincipal) authentication.getPrincipal()).getId()).isEqualTo(42L);
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_THERAPEUTE");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Should load the user for tokens without role claim")
+    void doFilter_ShouldFallBackToUserDetailsService() throws Exception {
+        // Given
+        when(userDetailsService.loadUserByUsername("therapist")).thenReturn(
+                new org.springframework.security.core.userdetails.User("therapist", "password",
+                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_THERAPEUTE"))));
+
+        // When
+        filter.doFilter(request(tokenProvider.generateAccessToken("therapist")),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        verify(userDetailsService).loadUserByUsername("therapist");
+    }
+
+    @Test
+    @DisplayName("Should reject deactivated users")
+    void doFilter_ShouldNotAuthenticateInactiveUser() throws Exception {
+        // Given
+        when(userStatusCacheProvider.getIfAvailable()).thenReturn(userStatusCache);
+        when(userStatusCache.isActive("therapist")).thenReturn(false);
+
+        // When
+        filter.doFilter(request(tokenProvider.generateAccessToken(user)),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
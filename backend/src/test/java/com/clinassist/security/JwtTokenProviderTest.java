@@ -1,5 +1,6 @@
 package com.clinassist.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -78,6 +79,25 @@ class JwtTokenProviderTest {
             assertThat(token).isNotNull();
             assertThat(token).isNotEmpty();
         }
+
+        @Test
+        @DisplayName("Should embed user id and role in access token")
+        void generateAccessToken_ShouldEmbedIdAndRole_FromUser() {
+            // Given
+            com.clinassist.entity.User user = com.clinassist.entity.User.builder()
+                    .id(7L)
+                    .username("testuser")
+                    .role(com.clinassist.entity.User.Role.PATIENT)
+                    .build();
+
+            // When
+            Claims claims = jwtTokenProvider.parseClaims(jwtTokenProvider.generateAccessToken(user));
+
+            // Then
+            assertThat(claims.getSubject()).isEqualTo("testuser");
+            assertThat(claims.get(JwtTokenProvider.CLAIM_ROLE, String.class)).isEqualTo("PATIENT");
+            assertThat(claims.get(JwtTokenProvider.CLAIM_USER_ID, Number.class).longValue()).isEqualTo(7L);
+        }
     }
 
     @Nested
@@ -200,6 +220,67 @@ class JwtTokenProviderTest {
         }
     }
 
+    @Nested
+    @DisplayName("parseClaims Tests")
+    class ParseClaimsTests {
+
+        @Test
+        @DisplayName("Should verify and extract claims in one call")
+        void parseClaims_ShouldReturnClaims() {
+            // Given
+            String token = jwtTokenProvider.generateAccessToken("testuser");
+
+            // When
+            Claims claims = jwtTokenProvider.parseClaims(token);
+
+            // Then
+            assertThat(claims.getSubject()).isEqualTo("testuser");
+            assertThat(claims.getExpiration()).isInTheFuture();
+        }
+
+        @Test
+        @DisplayName("Should serve already verified tokens from the cache")
+        void parseClaims_ShouldCacheVerifiedTokens() {
+            // Given
+            String token = jwtTokenProvider.generateAccessToken("testuser");
+
+            // When
+            Claims first = jwtTokenProvider.parseClaims(token);
+            Claims second = jwtTokenProvider.parseClaims(token);
+
+            // Then
+            assertThat(second).isSameAs(first);
+        }
+
+        @Test
+        @DisplayName("Should reject expired token")
+        void parseClaims_ShouldRejectExpiredToken() {
+            // Given
+            ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpiration", -1000L);
+            String expiredToken = jwtTokenProvider.generateAccessToken("testuser");
+
+            // When/Then
+            assertThatThrownBy(() -> jwtTokenProvider.parseClaims(expiredToken))
+                    .isInstanceOf(JwtException.class)
+                    .hasMessageContaining("Expired");
+        }
+
+        @Test
+        @DisplayName("Should not cache rejected tokens")
+        void parseClaims_ShouldNotCacheTamperedToken() {
+            // Given
+            String token = jwtTokenProvider.generateAccessToken("testuser");
+            String tamperedToken = token.substring(0, token.length() - 5) + "XXXXX";
+            jwtTokenProvider.parseClaims(token);
+
+            // When/Then
+            assertThatThrownBy(() -> jwtTokenProvider.parseClaims(tamperedToken))
+                    .isInstanceOf(JwtException.class);
+            assertThatThrownBy(() -> jwtTokenProvider.parseClaims(tamperedToken))
+                    .isInstanceOf(JwtException.class);
+        }
+    }
+
     @Nested
     @DisplayName("getExpirationTime Tests")
     class GetExpirationTimeTests {
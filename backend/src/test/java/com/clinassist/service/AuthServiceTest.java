@@ -12,6 +12,8 @@ import com.clinassist.repository.PatientRepository;
 import com.clinassist.repository.TherapeuteRepository;
 import com.clinassist.repository.UserRepository;
 import com.clinassist.security.JwtTokenProvider;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,6 +22,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -58,6 +61,18 @@ class AuthServiceTest {
     @Mock
     private JwtTokenProvider tokenProvider;
 
+    @Mock
+    private SearchIndex searchIndex;
+
+    @Mock
+    private TypeaheadIndex typeaheadIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UsernameAllocator usernameAllocator;
+
     @InjectMocks
     private AuthService authService;
 
@@ -103,7 +118,7 @@ class AuthServiceTest {
             when(userRepository.existsByEmail(anyString())).thenReturn(false);
             when(userRepository.save(any(User.class))).thenReturn(testUser);
             when(patientRepository.save(any(Patient.class))).thenReturn(new Patient());
-            when(tokenProvider.generateAccessToken(anyString())).thenReturn("access-token");
+            when(tokenProvider.generateAccessToken(any(User.class))).thenReturn("access-token");
             when(tokenProvider.generateRefreshToken(anyString())).thenReturn("refresh-token");
             when(tokenProvider.getExpirationTime()).thenReturn(3600000L);
 
@@ -115,6 +130,8 @@ class AuthServiceTest {
             assertThat(response.getAccessToken()).isEqualTo("access-token");
             assertThat(response.getRefreshToken()).isEqualTo("refresh-token");
             verify(patientRepository).save(any(Patient.class));
+            verify(searchIndex).indexPatient(any(Patient.class));
+            verify(typeaheadIndex).update(any(Patient.class));
             verify(therapeuteRepository, never()).save(any(Therapeute.class));
         }
 
@@ -129,7 +146,7 @@ class AuthServiceTest {
             when(userRepository.existsByEmail(anyString())).thenReturn(false);
             when(userRepository.save(any(User.class))).thenReturn(testUser);
             when(therapeuteRepository.save(any(Therapeute.class))).thenReturn(new Therapeute());
-            when(tokenProvider.generateAccessToken(anyString())).thenReturn("access-token");
+            when(tokenProvider.generateAccessToken(any(User.class))).thenReturn("access-token");
             when(tokenProvider.generateRefreshToken(anyString())).thenReturn("refresh-token");
             when(tokenProvider.getExpirationTime()).thenReturn(3600000L);
 
@@ -139,6 +156,8 @@ class AuthServiceTest {
             // Then
             assertThat(response).isNotNull();
             verify(therapeuteRepository).save(any(Therapeute.class));
+            verify(searchIndex).indexTherapeute(any(Therapeute.class));
+            verify(typeaheadIndex).update(any(Therapeute.class));
             verify(patientRepository, never()).save(any(Patient.class));
         }
 
@@ -177,7 +196,7 @@ class AuthServiceTest {
             when(userRepository.existsByUsername(anyString())).thenReturn(false);
             when(userRepository.existsByEmail(anyString())).thenReturn(false);
             when(userRepository.save(any(User.class))).thenReturn(testUser);
-            when(tokenProvider.generateAccessToken(anyString())).thenReturn("access-token");
+            when(tokenProvider.generateAccessToken(any(User.class))).thenReturn("access-token");
             when(tokenProvider.generateRefreshToken(anyString())).thenReturn("refresh-token");
             when(tokenProvider.getExpirationTime()).thenReturn(3600000L);
 
@@ -205,7 +224,7 @@ class AuthServiceTest {
             when(userRepository.findByUsernameOrEmail(anyString(), anyString()))
                     .thenReturn(Optional.of(testUser));
             when(userRepository.save(any(User.class))).thenReturn(testUser);
-            when(tokenProvider.generateAccessToken(any(Authentication.class))).thenReturn("access-token");
+            when(tokenProvider.generateAccessToken(any(User.class))).thenReturn("access-token");
             when(tokenProvider.generateRefreshToken(anyString())).thenReturn("refresh-token");
             when(tokenProvider.getExpirationTime()).thenReturn(3600000L);
 
@@ -243,10 +262,9 @@ class AuthServiceTest {
         void refreshToken_ShouldReturnNewTokens_WhenTokenValid() {
             // Given
             String refreshToken = "valid-refresh-token";
-            when(tokenProvider.validateToken(refreshToken)).thenReturn(true);
-            when(tokenProvider.getUsernameFromToken(refreshToken)).thenReturn("testuser");
+            when(tokenProvider.parseClaims(refreshToken)).thenReturn(Jwts.claims().subject("testuser").build());
             when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-            when(tokenProvider.generateAccessToken("testuser")).thenReturn("new-access-token");
+            when(tokenProvider.generateAccessToken(testUser)).thenReturn("new-access-token");
             when(tokenProvider.generateRefreshToken("testuser")).thenReturn("new-refresh-token");
             when(tokenProvider.getExpirationTime()).thenReturn(3600000L);
 
@@ -264,7 +282,7 @@ class AuthServiceTest {
         void refreshToken_ShouldThrow_WhenTokenInvalid() {
             // Given
             String invalidToken = "invalid-token";
-            when(tokenProvider.validateToken(invalidToken)).thenReturn(false);
+            when(tokenProvider.parseClaims(invalidToken)).thenThrow(new JwtException("Invalid JWT token"));
 
             // When/Then
             assertThatThrownBy(() -> authService.refreshToken(invalidToken))
@@ -277,8 +295,7 @@ class AuthServiceTest {
         void refreshToken_ShouldThrow_WhenUserNotFound() {
             // Given
             String refreshToken = "valid-refresh-token";
-            when(tokenProvider.validateToken(refreshToken)).thenReturn(true);
-            when(tokenProvider.getUsernameFromToken(refreshToken)).thenReturn("nonexistent");
+            when(tokenProvider.parseClaims(refreshToken)).thenReturn(Jwts.claims().subject("nonexistent").build());
             when(userRepository.findByUsername("nonexistent")).thenReturn(Optional.empty());
 
             // When/Then
@@ -0,0 +1,266 @@
+package com.clinassist.service;
+
+import com.clinassist.dto.AvailableSlotDTO;
+import com.clinassist.entity.DisponibiliteSlot;
+import com.clinassist.entity.Seance;
+import com.clinassist.entity.Therapeute;
+import com.clinassist.exception.BadRequestException;
+import com.clinassist.repository.DisponibiliteSlotRepository;
+import com.clinassist.repository.SeanceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires pour AvailabilityIndex
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AvailabilityIndex Unit Tests")
+class AvailabilityIndexTest {
+
+    @Mock
+    private DisponibiliteSlotRepository disponibiliteSlotRepository;
+
+    @Mock
+    private SeanceRepository seanceRepository;
+
+    private AvailabilityIndex availabilityIndex;
+    private Therapeute therapeute;
+    private LocalDate monday;
+
+    @BeforeEach
+    void setUp() {
+        availabilityIndex = new AvailabilityIndex(disponibiliteSlotRepository, seanceRepository, 62);
+        therapeute = Therapeute.builder().id(1L).build();
+        monday = LocalDate.now().plusWeeks(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    }
+
+    @Nested
+    @DisplayName("findFreeSlots Tests")
+    class FindFreeSlotsTests {
+
+        @Test
+        @DisplayName("Should cut weekly rules into slots minus blocked and booked buckets")
+        void findFreeSlots_ShouldSubtractBlockedAndBookedTime() {
+            // Given
+            when(disponibiliteSlotRepository.findAll()).thenReturn(List.of(
+                    rule(DayOfWeek.MONDAY, "09:00", "12:00", true, 60),
+                    rule(DayOfWeek.MONDAY, "14:00", "15:30", true, 45),
+                    rule(DayOfWeek.MONDAY, "11:30", "12:00", false, null)));
+            SeanceRepository.BookedInterval booked = interval(10L, monday.atTime(10, 15), 30);
+            when(seanceRepository.findBookedIntervalsFrom(any())).thenReturn(List.of(booked));
+            availabilityIndex.warmUp();
+
+            // When
+            List<AvailableSlotDTO> slots = availabilityIndex.findFreeSlots(1L, monday, monday.plusDays(1));
+
+            // Then
+            assertThat(slots).extracting(AvailableSlotDTO::getStartAt)
+                    .containsExactly(monday.atTime(9, 0), monday.atTime(14, 0), monday.atTime(14, 45));
+            assertThat(slots.get(1).getEndAt()).isEqualTo(monday.atTime(14, 45));
+            assertThat(slots.get(1).getDurationMinutes()).isEqualTo(45);
+            assertThat(availabilityIndex.findFreeSlots(2L, monday, monday)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should block the next day for a seance running past midnight")
+        void findFreeSlots_ShouldHandleSeancesPastMidnight() {
+            // Given
+            when(disponibiliteSlotRepository.findAll()).thenReturn(List.of(
+                    rule(DayOfWeek.MONDAY, "00:00", "01:00", true, 30)));
+            when(seanceRepository.findBookedIntervalsFrom(any())).thenReturn(Collections.emptyList());
+            availabilityIndex.warmUp();
+
+            // When
+            availabilityIndex.update(seance(20L, monday.minusDays(1).atTime(23, 30), 60, Seance.SeanceStatus.SCHEDULED));
+
+            // Then
+            assertThat(availabilityIndex.findFreeSlots(1L, monday, monday))
+                    .extracting(AvailableSlotDTO::getStartAt).containsExactly(monday.atTime(0, 30));
+        }
+
+        @Test
+        @DisplayName("Should merge the free slots of several therapeutes, earliest first")
+        void findFirstFreeSlots_ShouldMergeTherapeutes() {
+            // Given
+            Therapeute second = Therapeute.builder().id(2L).build();
+            Therapeute third = Therapeute.builder().id(3L).build();
+            DisponibiliteSlot secondRule = rule(DayOfWeek.MONDAY, "08:30", "10:30", true, 60);
+            secondRule.setTherapeute(second);
+            DisponibiliteSlot thirdRule = rule(DayOfWeek.TUESDAY, "08:00", "09:00", true, 60);
+            thirdRule.setTherapeute(third);
+            when(disponibiliteSlotRepository.findAll()).thenReturn(List.of(
+                    rule(DayOfWeek.MONDAY, "09:00", "11:00", true, 60), secondRule, thirdRule));
+            when(seanceRepository.findBookedIntervalsFrom(any())).thenReturn(Collections.emptyList());
+            availabilityIndex.warmUp();
+            availabilityIndex.update(seance(50L, monday.atTime(9, 0), 60, Seance.SeanceStatus.SCHEDULED));
+
+            // When
+            List<AvailableSlotDTO> slots = availabilityIndex.findFirstFreeSlots(
+                    List.of(1L, 2L, 3L, 4L), monday, monday.plusDays(7), 3);
+
+            // Then
+            assertThat(slots).extracting(AvailableSlotDTO::getTherapeuteId, AvailableSlotDTO::getStartAt)
+                    .containsExactly(
+                            tuple(2L, monday.atTime(8, 30)),
+                            tuple(2L, monday.atTime(9, 30)),
+                            tuple(1L, monday.atTime(10, 0)));
+            assertThat(availabilityIndex.findFirstFreeSlots(List.of(1L, 2L, 3L), monday, monday.plusDays(1), 10))
+                    .hasSize(4)
+                    .last().extracting(AvailableSlotDTO::getTherapeuteId).isEqualTo(3L);
+        }
+
+        @Test
+        @DisplayName("Should reject inverted or oversized ranges")
+        void findFreeSlots_ShouldValidateRange() {
+            assertThatThrownBy(() -> availabilityIndex.findFreeSlots(1L, monday, monday.minusDays(1)))
+                    .isInstanceOf(BadRequestException.class);
+            assertThatThrownBy(() -> availabilityIndex.findFreeSlots(1L, monday, monday.plusDays(62)))
+                    .isInstanceOf(BadRequestException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("update Tests")
+    class UpdateTests {
+
+        @BeforeEach
+        void warm() {
+            when(disponibiliteSlotRepository.findAll()).thenReturn(List.of(
+                    rule(DayOfWeek.MONDAY, "09:00", "11:00", true, 60)));
+            when(seanceRepository.findBookedIntervalsFrom(any())).thenReturn(Collections.emptyList());
+            availabilityIndex.warmUp();
+        }
+
+        @Test
+        @DisplayName("Should free the previous slot of a rescheduled seance")
+        void update_ShouldMoveRescheduledSeance() {
+            // Given
+            Seance seance = seance(30L, monday.atTime(9, 0), 60, Seance.SeanceStatus.SCHEDULED);
+            availabilityIndex.update(seance);
+
+            // When
+            seance.setScheduledAt(monday.atTime(10, 0));
+            availabilityIndex.update(seance);
+
+            // Then
+            assertThat(availabilityIndex.findFreeSlots(1L, monday, monday))
+                    .extracting(AvailableSlotDTO::getStartAt).containsExactly(monday.atTime(9, 0));
+        }
+
+        @Test
+        @DisplayName("Should free the slot of a cancelled seance but keep overlapping bookings")
+        void update_ShouldFreeCancelledSeance() {
+            // Given
+            Seance cancelled = seance(40L, monday.atTime(9, 0), 60, Seance.SeanceStatus.SCHEDULED);
+            availabilityIndex.update(cancelled);
+            availabilityIndex.update(seance(41L, monday.atTime(10, 30), 15, Seance.SeanceStatus.CONFIRMED));
+
+            // When
+            cancelled.setStatus(Seance.SeanceStatus.CANCELLED);
+            availabilityIndex.update(cancelled);
+
+            // Then
+            assertThat(availabilityIndex.findFreeSlots(1L, monday, monday))
+                    .extracting(AvailableSlotDTO::getStartAt).containsExactly(monday.atTime(9, 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("warmUp Tests")
+    class WarmUpTests {
+
+        @Test
+        @DisplayName("Should keep seances updated during warm-up over the older loaded rows")
+        void warmUp_ShouldKeepUpdatesMadeWhileLoading() {
+            // Given - the seance is cancelled after the query read it
+            when(disponibiliteSlotRepository.findAll()).thenReturn(List.of(
+                    rule(DayOfWeek.MONDAY, "09:00", "11:00", true, 60)));
+            // Skipped on its id alone
+            SeanceRepository.BookedInterval stale = mock(SeanceRepository.BookedInterval.class);
+            when(stale.getId()).thenReturn(50L);
+            when(seanceRepository.findBookedIntervalsFrom(any())).thenAnswer(invocation -> {
+                availabilityIndex.update(seance(50L, monday.atTime(9, 0), 60, Seance.SeanceStatus.CANCELLED));
+                return List.of(stale);
+            });
+
+            // When
+            availabilityIndex.warmUp();
+
+            // Then
+            assertThat(availabilityIndex.findFreeSlots(1L, monday, monday))
+                    .extracting(AvailableSlotDTO::getStartAt)
+                    .containsExactly(monday.atTime(9, 0), monday.atTime(10, 0));
+        }
+
+        @Test
+        @DisplayName("Should drop bookings that ended before yesterday as bookings change")
+        @SuppressWarnings("unchecked")
+        void update_ShouldEvictPastDays() {
+            // Given
+            when(disponibiliteSlotRepository.findAll()).thenReturn(Collections.emptyList());
+            SeanceRepository.BookedInterval past = interval(60L, LocalDate.now().minusDays(3).atTime(9, 0), 60);
+            when(seanceRepository.findBookedIntervalsFrom(any())).thenReturn(List.of(past));
+            availabilityIndex.warmUp();
+
+            // When
+            availabilityIndex.update(seance(61L, monday.atTime(9, 0), 60, Seance.SeanceStatus.SCHEDULED));
+
+            // Then
+            Map<Long, ?> bookings = (Map<Long, ?>) ReflectionTestUtils.getField(availabilityIndex, "bookings");
+            Map<Long, ?> intervals = (Map<Long, ?>) ReflectionTestUtils.getField(bookings.get(1L), "intervalsBySeance");
+            assertThat(intervals).containsOnlyKeys(61L);
+        }
+    }
+
+    private DisponibiliteSlot rule(DayOfWeek day, String start, String end, boolean available, Integer minutes) {
+        return DisponibiliteSlot.builder()
+                .therapeute(therapeute)
+                .dayOfWeek(day)
+                .startTime(LocalTime.parse(start))
+                .endTime(LocalTime.parse(end))
+                .isAvailable(available)
+                .slotDurationMinutes(minutes)
+                .build();
+    }
+
+    private Seance seance(Long id, LocalDateTime scheduledAt, int duration, Seance.SeanceStatus status) {
+        return Seance.builder()
+                .id(id)
+                .therapeute(therapeute)
+                .scheduledAt(scheduledAt)
+                .durationMinutes(duration)
+                .status(status)
+                .build();
+    }
+
+    private SeanceRepository.BookedInterval interval(Long id, LocalDateTime scheduledAt, int duration) {
+        SeanceRepository.BookedInterval interval = mock(SeanceRepository.BookedInterval.class);
+        when(interval.getId()).thenReturn(id);
+        when(interval.getTherapeuteId()).thenReturn(1L);
+        when(interval.getScheduledAt()).thenReturn(scheduledAt);
+        when(interval.getDurationMinutes()).thenReturn(duration);
+        return interval;
+    }
+}
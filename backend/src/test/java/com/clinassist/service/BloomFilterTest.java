@@ -0,0 +1,56 @@
+package com.clinassist.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitaires pour BloomFilter
+ */
+@DisplayName("BloomFilter Unit Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should report a first put as new and a repeated one as already present")
+    void put_ShouldTellWhetherTheValueWasAbsent() {
+        // Given
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        // When / Then
+        assertThat(filter.put("sara")).isTrue();
+        assertThat(filter.put("sara")).isFalse();
+        assertThat(filter.mightContain("sara")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should never miss a value and keep false positives near the configured rate")
+    void mightContain_ShouldHaveNoFalseNegativesAndFewFalsePositives() {
+        // Given
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("user" + i)).isTrue();
+            if (filter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertThat(falsePositives).isLessThan(250);
+        assertThat(filter.hashCount()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should reject an impossible sizing")
+    void constructor_ShouldRejectInvalidSizing() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
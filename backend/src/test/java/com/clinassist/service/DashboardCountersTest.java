@@ -0,0 +1,225 @@
+package com.clinassist.service;
+
+import com.clinassist.entity.DashboardCounter;
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Seance;
+import com.clinassist.event.PatientChangedEvent;
+import com.clinassist.event.SeanceChangedEvent;
+import com.clinassist.repository.DashboardCounterRepository;
+import com.clinassist.repository.DashboardStatsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires pour DashboardCounters
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DashboardCounters Unit Tests")
+class DashboardCountersTest {
+
+    @Mock
+    private DashboardStatsRepository statsRepository;
+
+    @Mock
+    private DashboardCounterRepository counterRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DashboardCounters counters;
+    private LocalDateTime today;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        counters = new DashboardCounters(statsRepository, counterRepository, transactionManager, meterRegistry);
+        today = LocalDateTime.of(LocalDate.now(), LocalTime.NOON);
+    }
+
+    @Test
+    @DisplayName("Should move patients between status counters")
+    void onPatientChanged_ShouldUpdateStatusCounters() {
+        // When
+        counters.onPatientChanged(new PatientChangedEvent(1L, null, Patient.PatientStatus.ACTIVE));
+        counters.onPatientChanged(new PatientChangedEvent(2L, null, Patient.PatientStatus.ACTIVE));
+        counters.onPatientChanged(new PatientChangedEvent(1L, Patient.PatientStatus.ACTIVE,
+                Patient.PatientStatus.DISCHARGED));
+
+        // Then
+        assertThat(counters.patients(Patient.PatientStatus.ACTIVE)).isEqualTo(1L);
+        assertThat(counters.patients(Patient.PatientStatus.DISCHARGED)).isEqualTo(1L);
+        assertThat(counters.patients(Patient.PatientStatus.INACTIVE)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count created, completed and rescheduled seances per type and day")
+    void onSeanceChanged_ShouldUpdateTypeAndDailyCounters() {
+        // Given
+        LocalDateTime tomorrow = today.plusDays(1);
+
+        // When
+        counters.onSeanceChanged(new SeanceChangedEvent(1L, Seance.SeanceType.VIDEO_CALL, null,
+                Seance.SeanceStatus.SCHEDULED, null, today));
+        counters.onSeanceChanged(new SeanceChangedEvent(2L, Seance.SeanceType.IN_PERSON, null,
+                Seance.SeanceStatus.SCHEDULED, null, today));
+        counters.onSeanceChanged(new SeanceChangedEvent(1L, Seance.SeanceType.VIDEO_CALL,
+                Seance.SeanceStatus.SCHEDULED, Seance.SeanceStatus.COMPLETED, today, today));
+        counters.onSeanceChanged(new SeanceChangedEvent(2L, Seance.SeanceType.IN_PERSON,
+                Seance.SeanceStatus.SCHEDULED, Seance.SeanceStatus.RESCHEDULED, today, tomorrow));
+
+        // Then
+        assertThat(counters.seances(Seance.SeanceType.VIDEO_CALL)).isEqualTo(1L);
+        assertThat(counters.seances(Seance.SeanceType.IN_PERSON)).isEqualTo(1L);
+        assertThat(counters.seancesOn(today.toLocalDate())).isEqualTo(1L);
+        assertThat(counters.seancesOn(today.toLocalDate(), Seance.SeanceStatus.COMPLETED)).isEqualTo(1L);
+        assertThat(counters.seancesOn(today.toLocalDate(), Seance.SeanceStatus.SCHEDULED)).isZero();
+        assertThat(counters.seancesOn(tomorrow.toLocalDate(), Seance.SeanceStatus.RESCHEDULED)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should ignore days before the window")
+    void onSeanceChanged_BeforeWindow_ShouldOnlyCountType() {
+        // When
+        LocalDateTime longAgo = today.minusDays(DashboardCounters.WINDOW_DAYS + 1L);
+        counters.onSeanceChanged(new SeanceChangedEvent(1L, Seance.SeanceType.IN_PERSON, null,
+                Seance.SeanceStatus.COMPLETED, null, longAgo));
+
+        // Then
+        assertThat(counters.seances(Seance.SeanceType.IN_PERSON)).isEqualTo(1L);
+        assertThat(counters.seancesOn(longAgo.toLocalDate())).isZero();
+    }
+
+    @Test
+    @DisplayName("Should replace counters with source counts and record the drift")
+    @SuppressWarnings("unchecked")
+    void reconcile_ShouldCorrectDrift() {
+        // Given - events saw 3 ACTIVE patients, the table holds 2
+        for (long id = 1; id <= 3; id++) {
+            counters.onPatientChanged(new PatientChangedEvent(id, null, Patient.PatientStatus.ACTIVE));
+        }
+        when(statsRepository.countPatientsByStatus()).thenReturn(List.of(
+                patientStatusCount(Patient.PatientStatus.ACTIVE, 2)));
+        when(statsRepository.countSeancesByType()).thenReturn(Collections.emptyList());
+        when(statsRepository.countSeancesPerDayAndStatusFrom(any())).thenReturn(List.of(
+                dailyStatusCount(today.toLocalDate(), Seance.SeanceStatus.COMPLETED, 4)));
+
+        // When
+        counters.reconcile();
+
+        // Then
+        assertThat(counters.patients(Patient.PatientStatus.ACTIVE)).isEqualTo(2L);
+        assertThat(counters.seancesOn(today.toLocalDate())).isEqualTo(4L);
+        assertThat(counters.seancesOn(today.toLocalDate(), Seance.SeanceStatus.COMPLETED)).isEqualTo(4L);
+        assertThat(meterRegistry.counter("dashboard.counters.drift").count()).isEqualTo(9.0);
+
+        ArgumentCaptor<List<DashboardCounter>> rows = ArgumentCaptor.forClass(List.class);
+        verify(counterRepository).deleteAllInBatch();
+        verify(counterRepository).saveAll(rows.capture());
+        assertThat(rows.getValue()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should keep the changes applied while the source tables are read")
+    void reconcile_ConcurrentEvents_ShouldBeReplayed() {
+        // Given - a patient is created while the counts are read, after its table was counted
+        when(statsRepository.countPatientsByStatus()).thenAnswer(invocation -> {
+            counters.onPatientChanged(new PatientChangedEvent(3L, null, Patient.PatientStatus.ACTIVE));
+            return List.of(patientStatusCount(Patient.PatientStatus.ACTIVE, 2));
+        });
+        when(statsRepository.countSeancesByType()).thenReturn(Collections.emptyList());
+        when(statsRepository.countSeancesPerDayAndStatusFrom(any())).thenReturn(Collections.emptyList());
+
+        // When
+        counters.reconcile();
+
+        // Then
+        assertThat(counters.patients(Patient.PatientStatus.ACTIVE)).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Should serve the stored counts on startup, then reconcile them")
+    void warmUp_ShouldLoadStoredCountsBeforeReconciling() {
+        // Given
+        when(counterRepository.findAll()).thenReturn(List.of(
+                DashboardCounter.builder().key("patients.status.ACTIVE").value(5).build()));
+        when(statsRepository.countPatientsByStatus()).thenReturn(List.of(
+                patientStatusCount(Patient.PatientStatus.ACTIVE, 6)));
+        when(statsRepository.countSeancesByType()).thenReturn(Collections.emptyList());
+        when(statsRepository.countSeancesPerDayAndStatusFrom(any())).thenReturn(Collections.emptyList());
+
+        // When
+        counters.warmUp();
+
+        // Then - only the difference with the stored counts is a drift
+        assertThat(counters.patients(Patient.PatientStatus.ACTIVE)).isEqualTo(6L);
+        assertThat(meterRegistry.counter("dashboard.counters.drift").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should flush only the counters changed since the last flush")
+    @SuppressWarnings("unchecked")
+    void flush_ShouldWriteChangedCounters() {
+        // Given
+        counters.onPatientChanged(new PatientChangedEvent(1L, null, Patient.PatientStatus.ACTIVE));
+
+        // When
+        counters.flush();
+        counters.flush();
+
+        // Then
+        ArgumentCaptor<List<DashboardCounter>> rows = ArgumentCaptor.forClass(List.class);
+        verify(counterRepository).saveAll(rows.capture());
+        assertThat(rows.getValue()).singleElement()
+                .satisfies(row -> {
+                    assertThat(row.getKey()).isEqualTo("patients.status.ACTIVE");
+                    assertThat(row.getValue()).isEqualTo(1L);
+                });
+    }
+
+    @Test
+    @DisplayName("Should not touch the table when nothing changed")
+    void flush_WithoutChanges_ShouldDoNothing() {
+        // When
+        counters.flush();
+
+        // Then
+        verifyNoInteractions(counterRepository);
+    }
+
+    private static DashboardStatsRepository.PatientStatusCount patientStatusCount(
+            Patient.PatientStatus status, long count) {
+        return new DashboardStatsRepository.PatientStatusCount() {
+            public Patient.PatientStatus getStatus() { return status; }
+            public long getCount() { return count; }
+        };
+    }
+
+    private static DashboardStatsRepository.DailyStatusCount dailyStatusCount(
+            LocalDate day, Seance.SeanceStatus status, long count) {
+        return new DashboardStatsRepository.DailyStatusCount() {
+            public LocalDate getDay() { return day; }
+            public Seance.SeanceStatus getStatus() { return status; }
+            public long getCount() { return count; }
+        };
+    }
+}
@@ -16,14 +16,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -37,10 +37,7 @@ import static org.mockito.Mockito.*;
 class DashboardServiceTest {
 
         @Mock
-        private PatientRepository patientRepository;
-
-        @Mock
-        private TherapeuteRepository therapeuteRepository;
+        private DashboardStatsRepository statsRepository;
 
         @Mock
         private SeanceRepository seanceRepository;
@@ -57,6 +54,9 @@ class DashboardServiceTest {
         @Mock
         private PredictionService predictionService;
 
+        @Mock
+        private DashboardCounters counters;
+
         @InjectMocks
         private DashboardService dashboardService;
 
@@ -103,26 +103,18 @@ class DashboardServiceTest {
         @DisplayName("Should return dashboard stats with all metrics")
         void getDashboardStats_ShouldReturnCompleteStats() {
                 // Given
-                when(patientRepository.count()).thenReturn(50L);
-                when(patientRepository.countByStatus(Patient.PatientStatus.ACTIVE)).thenReturn(40L);
-                when(patientRepository.findAll()).thenReturn(Arrays.asList(testPatient));
-                when(patientRepository.findAll(any(Pageable.class)))
-                                .thenReturn(new PageImpl<>(Arrays.asList(testPatient)));
-                when(patientRepository.findHighRiskPatients(70)).thenReturn(Arrays.asList(testPatient));
-
-                when(therapeuteRepository.count()).thenReturn(10L);
-                when(therapeuteRepository.findByStatus(Therapeute.TherapeuteStatus.AVAILABLE))
-                                .thenReturn(Arrays.asList(testTherapeute));
-
-                when(seanceRepository.count()).thenReturn(100L);
-                when(seanceRepository.findByScheduledAtBetween(any(), any()))
+                stubPatientCounters(Map.of(Patient.PatientStatus.ACTIVE, 40L, Patient.PatientStatus.INACTIVE, 10L));
+                when(statsRepository.countNewPatients(any(), any())).thenReturn(newPatients(1, 0));
+                when(statsRepository.countTherapeutesByStatus()).thenReturn(Arrays.asList(
+                                therapeuteStatusCount(Therapeute.TherapeuteStatus.AVAILABLE, 1),
+                                therapeuteStatusCount(Therapeute.TherapeuteStatus.BUSY, 9)));
+                stubSeanceTypeCounters(Map.of(Seance.SeanceType.IN_PERSON, 70L, Seance.SeanceType.VIDEO_CALL, 30L));
+                when(statsRepository.countUpcomingSeances(any())).thenReturn(1L);
+                when(statsRepository.summarizeRisk(70)).thenReturn(riskSummary(1, 45.0));
+                when(statsRepository.summarizePredictions()).thenReturn(predictionSummary(200, 180, 200));
+
+                when(seanceRepository.findUpcomingSeances(any(), any(Pageable.class)))
                                 .thenReturn(Arrays.asList(testSeance));
-                when(seanceRepository.findUpcomingSeances(any())).thenReturn(Arrays.asList(testSeance));
-                when(seanceRepository.findAll()).thenReturn(Arrays.asList(testSeance));
-
-                when(predictionRepository.count()).thenReturn(200L);
-                when(predictionRepository.countAccuratePredictions()).thenReturn(180L);
-                when(predictionRepository.countEvaluatedPredictions()).thenReturn(200L);
                 when(predictionRepository.findAll(any(Pageable.class)))
                                 .thenReturn(new PageImpl<>(Arrays.asList(testPrediction)));
 
@@ -130,7 +122,7 @@ class DashboardServiceTest {
                 SeanceDTO seanceDTO = SeanceDTO.builder().id(1L).seanceCode("SEANCE-001").build();
                 PredictionDTO predictionDTO = PredictionDTO.builder().id(1L).confidenceScore(0.85).build();
 
-                when(patientService.getPatientById(1L)).thenReturn(patientDTO);
+                when(patientService.getRecentPatients(5)).thenReturn(Arrays.asList(patientDTO));
                 when(seanceService.getSeanceById(1L)).thenReturn(seanceDTO);
                 when(predictionService.getLatestPredictions(1L, 1)).thenReturn(Arrays.asList(predictionDTO));
 
@@ -144,33 +136,25 @@ class DashboardServiceTest {
                 assertThat(result.getTotalTherapeutes()).isEqualTo(10L);
                 assertThat(result.getAvailableTherapeutes()).isEqualTo(1L);
                 assertThat(result.getTotalSeances()).isEqualTo(100L);
+                assertThat(result.getSeancesByType()).containsEntry("IN_PERSON", 70L)
+                                .containsEntry("HOME_VISIT", 0L);
+                assertThat(result.getPatientsByStatus()).containsEntry("ACTIVE", 40L)
+                                .containsEntry("DISCHARGED", 0L);
+                assertThat(result.getHighRiskPatients()).isEqualTo(1L);
+                assertThat(result.getAverageRiskScore()).isEqualTo(45.0);
                 assertThat(result.getTotalPredictions()).isEqualTo(200L);
                 assertThat(result.getPredictionAccuracy()).isEqualTo(90.0);
+                assertThat(result.getUpcomingSeancesList()).containsExactly(seanceDTO);
+                assertThat(result.getRecentPatients()).containsExactly(patientDTO);
         }
 
         @Test
         @DisplayName("Should handle empty data gracefully")
         void getDashboardStats_ShouldHandleEmptyData() {
                 // Given
-                when(patientRepository.count()).thenReturn(0L);
-                when(patientRepository.countByStatus(any())).thenReturn(0L);
-                when(patientRepository.findAll()).thenReturn(Collections.emptyList());
-                when(patientRepository.findAll(any(Pageable.class)))
-                                .thenReturn(new PageImpl<>(Collections.emptyList()));
-                when(patientRepository.findHighRiskPatients(70)).thenReturn(Collections.emptyList());
-
-                when(therapeuteRepository.count()).thenReturn(0L);
-                when(therapeuteRepository.findByStatus(any())).thenReturn(Collections.emptyList());
-
-                when(seanceRepository.count()).thenReturn(0L);
-                when(seanceRepository.findByScheduledAtBetween(any(), any()))
+                stubEmptyAggregates();
+                when(seanceRepository.findUpcomingSeances(any(), any(Pageable.class)))
                                 .thenReturn(Collections.emptyList());
-                when(seanceRepository.findUpcomingSeances(any())).thenReturn(Collections.emptyList());
-                when(seanceRepository.findAll()).thenReturn(Collections.emptyList());
-
-                when(predictionRepository.count()).thenReturn(0L);
-                when(predictionRepository.countAccuratePredictions()).thenReturn(0L);
-                when(predictionRepository.countEvaluatedPredictions()).thenReturn(0L);
                 when(predictionRepository.findAll(any(Pageable.class)))
                                 .thenReturn(new PageImpl<>(Collections.emptyList()));
 
@@ -183,38 +167,18 @@ class DashboardServiceTest {
                 assertThat(result.getTotalTherapeutes()).isEqualTo(0L);
                 assertThat(result.getTotalSeances()).isEqualTo(0L);
                 assertThat(result.getPredictionAccuracy()).isEqualTo(0.0);
+                assertThat(result.getAverageRiskScore()).isEqualTo(0.0);
                 assertThat(result.getSeancesTrend()).hasSize(7);
         }
 
         @Test
         @DisplayName("Should calculate patient growth correctly")
         void getDashboardStats_ShouldCalculatePatientGrowth() {
-                // Given - simulate new patient this month
-                Patient newPatient = Patient.builder()
-                                .id(2L)
-                                .status(Patient.PatientStatus.ACTIVE)
-                                .createdAt(LocalDateTime.now().minusDays(1))
-                                .build();
-
-                when(patientRepository.count()).thenReturn(2L);
-                when(patientRepository.countByStatus(any())).thenReturn(2L);
-                when(patientRepository.findAll()).thenReturn(Arrays.asList(testPatient, newPatient));
-                when(patientRepository.findAll(any(Pageable.class)))
-                                .thenReturn(new PageImpl<>(Collections.emptyList()));
-                when(patientRepository.findHighRiskPatients(70)).thenReturn(Collections.emptyList());
-
-                when(therapeuteRepository.count()).thenReturn(0L);
-                when(therapeuteRepository.findByStatus(any())).thenReturn(Collections.emptyList());
-
-                when(seanceRepository.count()).thenReturn(0L);
-                when(seanceRepository.findByScheduledAtBetween(any(), any()))
+                // Given - 3 new patients this month, 2 last month
+                stubEmptyAggregates();
+                when(statsRepository.countNewPatients(any(), any())).thenReturn(newPatients(3, 2));
+                when(seanceRepository.findUpcomingSeances(any(), any(Pageable.class)))
                                 .thenReturn(Collections.emptyList());
-                when(seanceRepository.findUpcomingSeances(any())).thenReturn(Collections.emptyList());
-                when(seanceRepository.findAll()).thenReturn(Collections.emptyList());
-
-                when(predictionRepository.count()).thenReturn(0L);
-                when(predictionRepository.countAccuratePredictions()).thenReturn(0L);
-                when(predictionRepository.countEvaluatedPredictions()).thenReturn(0L);
                 when(predictionRepository.findAll(any(Pageable.class)))
                                 .thenReturn(new PageImpl<>(Collections.emptyList()));
 
@@ -223,39 +187,22 @@ class DashboardServiceTest {
 
                 // Then
                 assertThat(result).isNotNull();
-                assertThat(result.getNewPatientsThisMonth()).isGreaterThanOrEqualTo(1);
+                assertThat(result.getNewPatientsThisMonth()).isEqualTo(3L);
+                assertThat(result.getPatientGrowthPercentage()).isEqualTo(50.0);
         }
 
         @Test
-        @DisplayName("Should calculate seance completion rate correctly")
+        @DisplayName("Should calculate seance completion rate and trend from the daily counters")
         void getDashboardStats_ShouldCalculateCompletionRate() {
-                // Given
-                Seance completedSeance = Seance.builder()
-                                .id(2L)
-                                .status(Seance.SeanceStatus.COMPLETED)
-                                .type(Seance.SeanceType.IN_PERSON)
-                                .scheduledAt(LocalDateTime.now().minusDays(1))
-                                .build();
-
-                when(patientRepository.count()).thenReturn(0L);
-                when(patientRepository.countByStatus(any())).thenReturn(0L);
-                when(patientRepository.findAll()).thenReturn(Collections.emptyList());
-                when(patientRepository.findAll(any(Pageable.class)))
-                                .thenReturn(new PageImpl<>(Collections.emptyList()));
-                when(patientRepository.findHighRiskPatients(70)).thenReturn(Collections.emptyList());
-
-                when(therapeuteRepository.count()).thenReturn(0L);
-                when(therapeuteRepository.findByStatus(any())).thenReturn(Collections.emptyList());
-
-                when(seanceRepository.count()).thenReturn(2L);
-                when(seanceRepository.findByScheduledAtBetween(any(), any()))
-                                .thenReturn(Arrays.asList(testSeance, completedSeance));
-                when(seanceRepository.findUpcomingSeances(any())).thenReturn(Arrays.asList(testSeance));
-                when(seanceRepository.findAll()).thenReturn(Arrays.asList(testSeance, completedSeance));
-
-                when(predictionRepository.count()).thenReturn(0L);
-                when(predictionRepository.countAccuratePredictions()).thenReturn(0L);
-                when(predictionRepository.countEvaluatedPredictions()).thenReturn(0L);
+                // Given - 4 seances today, 3 of them completed
+                stubEmptyAggregates();
+                LocalDate today = LocalDate.now();
+                when(counters.seancesOn(any(LocalDate.class)))
+                                .thenAnswer(invocation -> today.equals(invocation.getArgument(0)) ? 4L : 0L);
+                when(counters.seancesOn(any(LocalDate.class), eq(Seance.SeanceStatus.COMPLETED)))
+                                .thenAnswer(invocation -> today.equals(invocation.getArgument(0)) ? 3L : 0L);
+                when(seanceRepository.findUpcomingSeances(any(), any(Pageable.class)))
+                                .thenReturn(Arrays.asList(testSeance));
                 when(predictionRepository.findAll(any(Pageable.class)))
                                 .thenReturn(new PageImpl<>(Collections.emptyList()));
 
@@ -267,7 +214,59 @@ class DashboardServiceTest {
 
                 // Then
                 assertThat(result).isNotNull();
-                assertThat(result.getTodaySeances()).isEqualTo(2L);
-                assertThat(result.getSeanceCompletionRate()).isGreaterThanOrEqualTo(0.0);
+                assertThat(result.getTodaySeances()).isEqualTo(4L);
+                assertThat(result.getCompletedSeancesThisMonth()).isEqualTo(3L);
+                assertThat(result.getSeanceCompletionRate()).isEqualTo(75.0);
+                assertThat(result.getSeancesTrend()).extracting(DashboardStatsDTO.ChartDataPoint::getValue)
+                                .containsExactly(0L, 0L, 0L, 0L, 0L, 0L, 4L);
+        }
+
+        private void stubEmptyAggregates() {
+                when(statsRepository.countNewPatients(any(), any())).thenReturn(newPatients(0, 0));
+                when(statsRepository.countTherapeutesByStatus()).thenReturn(Collections.emptyList());
+                when(statsRepository.countUpcomingSeances(any())).thenReturn(0L);
+                when(statsRepository.summarizeRisk(any())).thenReturn(riskSummary(0, null));
+                when(statsRepository.summarizePredictions()).thenReturn(predictionSummary(0, 0, 0));
+        }
+
+        private void stubPatientCounters(Map<Patient.PatientStatus, Long> counts) {
+                when(counters.patients(any())).thenAnswer(
+                                invocation -> counts.getOrDefault(invocation.getArgument(0), 0L));
+        }
+
+        private void stubSeanceTypeCounters(Map<Seance.SeanceType, Long> counts) {
+                when(counters.seances(any())).thenAnswer(
+                                invocation -> counts.getOrDefault(invocation.getArgument(0), 0L));
+        }
+
+        private static DashboardStatsRepository.TherapeuteStatusCount therapeuteStatusCount(
+                        Therapeute.TherapeuteStatus status, long count) {
+                return new DashboardStatsRepository.TherapeuteStatusCount() {
+                        public Therapeute.TherapeuteStatus getStatus() { return status; }
+                        public long getCount() { return count; }
+                };
+        }
+
+        private static DashboardStatsRepository.NewPatientsWindow newPatients(long thisMonth, long lastMonth) {
+                return new DashboardStatsRepository.NewPatientsWindow() {
+                        public long getThisMonth() { return thisMonth; }
+                        public long getLastMonth() { return lastMonth; }
+                };
+        }
+
+        private static DashboardStatsRepository.RiskSummary riskSummary(long highRisk, Double average) {
+                return new DashboardStatsRepository.RiskSummary() {
+                        public long getHighRiskCount() { return highRisk; }
+                        public Double getAverageRiskScore() { return average; }
+                };
+        }
+
+        private static DashboardStatsRepository.PredictionSummary predictionSummary(
+                        long total, long accurate, long evaluated) {
+                return new DashboardStatsRepository.PredictionSummary() {
+                        public long getTotal() { return total; }
+                        public long getAccurate() { return accurate; }
+                        public long getEvaluated() { return evaluated; }
+                };
         }
 }
@@ -0,0 +1,135 @@
+package com.clinassist.service;
+
+import com.clinassist.dto.DashboardStatsDTO;
+import com.clinassist.entity.Seance;
+import com.clinassist.event.SeanceChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires pour DashboardStatsCache
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DashboardStatsCache Unit Tests")
+class DashboardStatsCacheTest {
+
+    @Mock
+    private DashboardService dashboardService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DashboardStatsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new DashboardStatsCache(dashboardService, meterRegistry, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should compute once and serve later calls from the cache")
+    void get_ShouldServeCachedStats() {
+        // Given
+        DashboardStatsDTO stats = DashboardStatsDTO.builder().totalPatients(10L).build();
+        when(dashboardService.getDashboardStats()).thenReturn(stats);
+
+        // When
+        DashboardStatsDTO first = cache.get();
+        DashboardStatsDTO second = cache.get();
+
+        // Then
+        assertThat(first).isSameAs(stats);
+        assertThat(second).isSameAs(stats);
+        verify(dashboardService, times(1)).getDashboardStats();
+        assertThat(meterRegistry.counter("dashboard.stats.cache.hits").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("dashboard.stats.cache.misses").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("dashboard.stats.cache.recompute").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should recompute after a domain event")
+    void get_AfterSeanceChanged_ShouldRecompute() {
+        // Given
+        DashboardStatsDTO before = DashboardStatsDTO.builder().totalSeances(1L).build();
+        DashboardStatsDTO after = DashboardStatsDTO.builder().totalSeances(2L).build();
+        when(dashboardService.getDashboardStats()).thenReturn(before, after);
+        cache.get();
+
+        // When
+        cache.onSeanceChanged(new SeanceChangedEvent(1L, Seance.SeanceType.IN_PERSON, null,
+                Seance.SeanceStatus.SCHEDULED, null, LocalDateTime.now()));
+
+        // Then
+        assertThat(cache.get()).isSameAs(after);
+        verify(dashboardService, times(2)).getDashboardStats();
+    }
+
+    @Test
+    @DisplayName("Should recompute once the TTL has elapsed")
+    void get_AfterTtl_ShouldRecompute() {
+        // Given
+        cache = new DashboardStatsCache(dashboardService, meterRegistry, Duration.ZERO);
+        when(dashboardService.getDashboardStats()).thenReturn(DashboardStatsDTO.builder().build());
+
+        // When
+        cache.get();
+        cache.get();
+
+        // Then
+        verify(dashboardService, times(2)).getDashboardStats();
+    }
+
+    @Test
+    @DisplayName("Should run a single recomputation for concurrent readers")
+    void get_ConcurrentReaders_ShouldRecomputeOnce() throws Exception {
+        // Given
+        DashboardStatsDTO stats = DashboardStatsDTO.builder().totalPatients(5L).build();
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(dashboardService.getDashboardStats()).thenAnswer(invocation -> {
+            computing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return stats;
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        try {
+            // When
+            List<Future<DashboardStatsDTO>> results = new ArrayList<>();
+            results.add(pool.submit(cache::get));
+            computing.await(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 7; i++) {
+                results.add(pool.submit(cache::get));
+            }
+            Thread.sleep(50);
+            release.countDown();
+
+            // Then
+            for (Future<DashboardStatsDTO> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(stats);
+            }
+            verify(dashboardService, times(1)).getDashboardStats();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
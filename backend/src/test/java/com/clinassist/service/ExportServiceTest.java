@@ -0,0 +1,155 @@
+package com.clinassist.service;
+
+import com.clinassist.TestFixtures;
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Prediction;
+import com.clinassist.entity.Seance;
+import com.clinassist.entity.Therapeute;
+import com.clinassist.entity.User;
+import com.clinassist.exception.BadRequestException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.clinassist.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests d'intégration (H2) pour l'export en flux des séances et prédictions
+ */
+@DataJpaTest(properties = "app.export.flush-rows=2")
+@AutoConfigureJson
+@Import(ExportService.class)
+@DisplayName("ExportService Integration Tests")
+class ExportServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Patient patient;
+    private Therapeute therapeute;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        therapeute = entityManager.persist(Therapeute.builder()
+                .user(user("therapeute", User.Role.THERAPEUTE))
+                .therapeuteCode("TH-EXP-1")
+                .status(Therapeute.TherapeuteStatus.AVAILABLE)
+                .build());
+        patient = entityManager.persist(Patient.builder()
+                .user(user("patient", User.Role.PATIENT))
+                .patientCode("PAT-EXP-1")
+                .build());
+
+        base = LocalDateTime.of(2026, 3, 2, 9, 0);
+        seance("SEA-EXP-3", base.plusDays(2), Seance.SeanceStatus.CANCELLED, "Malade, \"grippe\"");
+        seance("SEA-EXP-1", base, Seance.SeanceStatus.COMPLETED, null);
+        seance("SEA-EXP-2", base.plusDays(1), Seance.SeanceStatus.NO_SHOW, null);
+        seance("SEA-EXP-OUT", base.plusDays(30), Seance.SeanceStatus.SCHEDULED, null);
+        entityManager.persist(Prediction.builder()
+                .patient(patient)
+                .type(Prediction.PredictionType.DROPOUT_RISK)
+                .riskLevel(72)
+                .riskCategory(Prediction.RiskCategory.HIGH)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line in scheduled order across flushes")
+    void exportSeances_Ndjson_ShouldStreamRangeInOrder() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long count = exportService.exportSeances(base, base.plusDays(7), ExportService.Format.NDJSON, out);
+
+        // Then
+        assertThat(count).isEqualTo(3);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : lines) {
+            rows.add(objectMapper.readTree(line));
+        }
+        assertThat(rows).extracting(row -> row.get("seanceCode").asText())
+                .containsExactly("SEA-EXP-1", "SEA-EXP-2", "SEA-EXP-3");
+        assertThat(rows.get(0).get("scheduledAt").asText()).isEqualTo("2026-03-02T09:00:00");
+        assertThat(rows.get(0).get("patientCode").asText()).isEqualTo("PAT-EXP-1");
+        assertThat(rows.get(0).get("therapeuteName").asText()).isEqualTo("therapeute Test");
+        assertThat(rows.get(0).get("cancellationReason").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header and quote values containing separators")
+    void exportSeances_Csv_ShouldEscapeValues() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exportService.exportSeances(base.plusDays(2), base.plusDays(2), ExportService.Format.CSV, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("id,seanceCode,patientId,");
+        assertThat(lines[1]).contains(",SEA-EXP-3,").contains(",CANCELLED,")
+                .contains(",\"Malade, \"\"grippe\"\"\",");
+    }
+
+    @Test
+    @DisplayName("Should export predictions created in the range")
+    void exportPredictions_Csv_ShouldStreamRange() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        long count = exportService.exportPredictions(now.minusHours(1), now.plusHours(1),
+                ExportService.Format.CSV, out);
+
+        // Then
+        assertThat(count).isEqualTo(1);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines[1]).contains(",PAT-EXP-1,DROPOUT_RISK,").contains(",72,HIGH,");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown formats and inverted ranges")
+    void validation_ShouldRejectBadRequests() {
+        assertThat(ExportService.Format.parse("csv")).isEqualTo(ExportService.Format.CSV);
+        assertThatThrownBy(() -> ExportService.Format.parse("xml"))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> exportService.validateRange(base, base.minusDays(1)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private void seance(String code, LocalDateTime scheduledAt, Seance.SeanceStatus status, String reason) {
+        entityManager.persist(TestFixtures.seance(patient, therapeute, scheduledAt, status)
+                .seanceCode(code)
+                .cancellationReason(reason)
+                .build());
+    }
+}
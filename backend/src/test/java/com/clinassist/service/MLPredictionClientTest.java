@@ -0,0 +1,227 @@
+package com.clinassist.service;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.ExpectedCount.times;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests unitaires pour MLPredictionClient (circuit breaker, métriques, appels asynchrones)
+ */
+@DisplayName("MLPredictionClient Unit Tests")
+class MLPredictionClientTest {
+
+    private static final String ML_URL = "http://ml-test:5000";
+    private static final String DROPOUT_RESPONSE = "{\"risk_score\": 42.0, \"risk_category\": \"MODERATE\", " +
+            "\"confidence\": 0.9, \"algorithm\": \"RandomForest\", \"model_version\": \"2.0.0\", " +
+            "\"factors\": {\"cancellation_rate\": 0.3}}";
+
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+    private CircuitBreaker circuitBreaker;
+    private SimpleMeterRegistry meterRegistry;
+    private MLPredictionClient client;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        circuitBreaker = CircuitBreaker.of("mlService", CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        meterRegistry = new SimpleMeterRegistry();
+        client = new MLPredictionClient(restTemplate, circuitBreaker, meterRegistry, ML_URL, 2, 10,
+                Duration.ZERO, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+    }
+
+    @Nested
+    @DisplayName("predictDropoutRisk Tests")
+    class PredictDropoutRiskTests {
+
+        @Test
+        @DisplayName("Should parse the ML response and record latency")
+        void predictDropoutRisk_ShouldReturnModelResult() {
+            // Given
+            server.expect(requestTo(ML_URL + "/api/predict/dropout-risk"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withSuccess(DROPOUT_RESPONSE, MediaType.APPLICATION_JSON));
+
+            // When
+            MLPredictionClient.MLPredictionResult result = client.predictDropoutRisk(0.3, 0.1, 10, 5, 6.0, 30);
+
+            // Then
+            assertThat(result.getScore()).isEqualTo(42.0);
+            assertThat(result.getAlgorithm()).isEqualTo("RandomForest");
+            assertThat(meterRegistry.get("ml.client.requests").tag("outcome", "success").timer().count())
+                    .isEqualTo(1);
+            server.verify();
+        }
+
+        @Test
+        @DisplayName("Should use fallback heuristics when the ML service fails")
+        void predictDropoutRisk_ShouldFallBackOnError() {
+            // Given
+            server.expect(requestTo(ML_URL + "/api/predict/dropout-risk")).andRespond(withServerError());
+
+            // When
+            MLPredictionClient.MLPredictionResult result = client.predictDropoutRisk(0.5, 0.5, 10, 5, 6.0, 30);
+
+            // Then
+            assertThat(result.getAlgorithm()).isEqualTo("HeuristicFallback");
+        }
+
+        @Test
+        @DisplayName("Should not call the ML service while the circuit is open")
+        void predictDropoutRisk_ShouldShortCircuitWhenOpen() {
+            // Given
+            server.expect(times(2), requestTo(ML_URL + "/api/predict/dropout-risk")).andRespond(withServerError());
+            client.predictDropoutRisk(0.5, 0.5, 10, 5, 6.0, 30);
+            client.predictDropoutRisk(0.5, 0.5, 10, 5, 6.0, 30);
+
+            // When
+            MLPredictionClient.MLPredictionResult result = client.predictDropoutRisk(0.5, 0.5, 10, 5, 6.0, 30);
+
+            // Then
+            assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+            assertThat(result.getAlgorithm()).isEqualTo("HeuristicFallback");
+            assertThat(meterRegistry.get("ml.client.requests").tag("outcome", "short_circuited").timer().count())
+                    .isEqualTo(1);
+            server.verify();
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch Tests")
+    class BatchTests {
+
+        @Test
+        @DisplayName("Should split a batch into chunks of max batch size")
+        void predictDropoutRiskBatch_ShouldChunk() {
+            // Given
+            server.expect(requestTo(ML_URL + "/api/predict/dropout-risk/batch"))
+                    .andExpect(jsonPath("$.instances.length()").value(3))
+                    .andRespond(withSuccess(batchResponse(3), MediaType.APPLICATION_JSON));
+            server.expect(requestTo(ML_URL + "/api/predict/dropout-risk/batch"))
+                    .andExpect(jsonPath("$.instances.length()").value(2))
+                    .andRespond(withSuccess(batchResponse(2), MediaType.APPLICATION_JSON));
+
+            // When
+            List<MLPredictionClient.MLPredictionResult> results = client.predictDropoutRiskBatch(
+                    Collections.nCopies(5, features()));
+
+            // Then
+            assertThat(results).hasSize(5).allMatch(r -> r.getScore() == 42.0);
+            server.verify();
+        }
+
+        @Test
+        @DisplayName("Should coalesce concurrent single requests into one batch call")
+        void predictDropoutRiskAsync_ShouldCoalesceWithinWindow() throws Exception {
+            // Given
+            client.shutdown();
+            client = new MLPredictionClient(restTemplate, circuitBreaker, meterRegistry, ML_URL, 2, 10,
+                    Duration.ofMillis(200), 10);
+            server.expect(requestTo(ML_URL + "/api/predict/dropout-risk/batch"))
+                    .andExpect(jsonPath("$.instances.length()").value(3))
+                    .andRespond(withSuccess(batchResponse(3), MediaType.APPLICATION_JSON));
+
+            // When
+            List<CompletableFuture<MLPredictionClient.MLPredictionResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                futures.add(client.predictDropoutRiskAsync(0.3, 0.1, 10, 5, 6.0, 30));
+            }
+
+            // Then
+            for (CompletableFuture<MLPredictionClient.MLPredictionResult> future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS).getScore()).isEqualTo(42.0);
+            }
+            server.verify();
+        }
+
+        @Test
+        @DisplayName("Should fall back for every row when the batch call fails")
+        void predictDropoutRiskBatch_ShouldFallBackOnError() {
+            // Given
+            server.expect(requestTo(ML_URL + "/api/predict/dropout-risk/batch")).andRespond(withServerError());
+
+            // When
+            List<MLPredictionClient.MLPredictionResult> results = client.predictDropoutRiskBatch(
+                    Collections.nCopies(2, features()));
+
+            // Then
+            assertThat(results).hasSize(2).allMatch(r -> "HeuristicFallback".equals(r.getAlgorithm()));
+        }
+
+        private MLPredictionClient.DropoutRiskFeatures features() {
+            return new MLPredictionClient.DropoutRiskFeatures(0.3, 0.1, 10, 5, 6.0, 30);
+        }
+
+        private String batchResponse(int size) {
+            return "{\"predictions\": [" + String.join(", ", Collections.nCopies(size, DROPOUT_RESPONSE)) + "]}";
+        }
+    }
+
+    @Nested
+    @DisplayName("Async Tests")
+    class AsyncTests {
+
+        @Test
+        @DisplayName("Should complete async prediction on the client executor")
+        void predictDropoutRiskAsync_ShouldComplete() throws Exception {
+            // Given
+            server.expect(requestTo(ML_URL + "/api/predict/dropout-risk"))
+                    .andRespond(withSuccess(DROPOUT_RESPONSE, MediaType.APPLICATION_JSON));
+
+            // When
+            MLPredictionClient.MLPredictionResult result = client.predictDropoutRiskAsync(0.3, 0.1, 10, 5, 6.0, 30)
+                    .get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(result.getCategory()).isEqualTo("MODERATE");
+        }
+
+        @Test
+        @DisplayName("Should default next session delay when the ML service fails")
+        void predictNextSessionDaysAsync_ShouldFallBack() throws Exception {
+            // Given
+            server.expect(requestTo(ML_URL + "/api/predict/next-session")).andRespond(withServerError());
+
+            // When
+            int days = client.predictNextSessionDaysAsync(7.0, 50, 6.0, 30).get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(days).isEqualTo(7);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.clinassist.service;
+
+import com.clinassist.TestFixtures;
+import com.clinassist.dto.PatientDTO;
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Seance;
+import com.clinassist.entity.Therapeute;
+import com.clinassist.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+
+import static com.clinassist.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests d'intégration (H2) : le nombre de requêtes pour une page de patients
+ * ne doit pas dépendre de la taille de la page
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({PatientService.class, PatientDTOAssembler.class})
+@DisplayName("PatientDTOAssembler Query Count Tests")
+class PatientDTOAssemblerTest {
+
+    private static final int MAX_STATEMENTS_PER_PAGE = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PatientService patientService;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private SearchIndex searchIndex;
+
+    @MockBean
+    private TypeaheadIndex typeaheadIndex;
+
+    @MockBean
+    private UsernameAllocator usernameAllocator;
+
+    private int seeded;
+    private int seances;
+
+    @Test
+    @DisplayName("Should load a page of patients in a constant number of statements")
+    void getAllPatients_ShouldNotIssueQueriesPerPatient() {
+        // Given
+        seed(5);
+        long smallPage = countStatements(5);
+
+        seed(20);
+        long largePage = countStatements(25);
+
+        // Then
+        assertThat(smallPage).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    @Test
+    @DisplayName("Should map seance counts and next seance from grouped queries")
+    void getAllPatients_ShouldFillSeanceAggregates() {
+        // Given
+        seed(1);
+
+        // When
+        PatientDTO dto = patientService.getAllPatients(PageRequest.of(0, 10)).getContent().get(0);
+
+        // Then
+        assertThat(dto.getTotalSeances()).isEqualTo(3);
+        assertThat(dto.getCompletedSeances()).isEqualTo(1);
+        assertThat(dto.getNextSeanceAt()).isNotNull();
+        assertThat(dto.getAssignedTherapeuteName()).isEqualTo("therapeute0 Test");
+    }
+
+    private long countStatements(int pageSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<PatientDTO> page = patientService.getAllPatients(PageRequest.of(0, pageSize));
+        page.getContent().forEach(dto -> assertThat(dto.getTotalSeances()).isEqualTo(3));
+        assertThat(page.getContent()).hasSize(pageSize);
+
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return statements;
+    }
+
+    private void seed(int patients) {
+        Therapeute therapeute = entityManager.persist(Therapeute.builder()
+                .user(user("therapeute" + seeded, User.Role.THERAPEUTE))
+                .status(Therapeute.TherapeuteStatus.AVAILABLE)
+                .build());
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < patients; i++) {
+            Patient patient = entityManager.persist(Patient.builder()
+                    .patientCode("PAT-TEST-" + seeded)
+                    .user(user("patient" + seeded++, User.Role.PATIENT))
+                    .assignedTherapeute(therapeute)
+                    .status(Patient.PatientStatus.ACTIVE)
+                    .build());
+            seance(patient, therapeute, now.minusDays(7), Seance.SeanceStatus.COMPLETED);
+            seance(patient, therapeute, now.plusDays(1), Seance.SeanceStatus.SCHEDULED);
+            seance(patient, therapeute, now.plusDays(8), Seance.SeanceStatus.CONFIRMED);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void seance(Patient patient, Therapeute therapeute, LocalDateTime scheduledAt,
+                        Seance.SeanceStatus status) {
+        entityManager.persist(TestFixtures.seance(patient, therapeute, scheduledAt, status)
+                .seanceCode("SEA-TEST-" + seances++)
+                .build());
+    }
+}
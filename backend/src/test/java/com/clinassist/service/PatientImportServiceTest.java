@@ -0,0 +1,180 @@
+package com.clinassist.service;
+
+import com.clinassist.dto.PatientImportReport;
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Therapeute;
+import com.clinassist.entity.User;
+import com.clinassist.exception.BadRequestException;
+import com.clinassist.repository.PatientRepository;
+import com.clinassist.repository.TherapeuteRepository;
+import com.clinassist.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests d'intégration (H2) de l'import en masse de patients
+ */
+@DataJpaTest(properties = "app.patients.import.chunk-size=3")
+@Import({PatientImportService.class, UsernameAllocator.class, PatientImportServiceTest.Config.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+// Every chunk commits its own transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Patient Import Tests")
+class PatientImportServiceTest {
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return NoOpPasswordEncoder.getInstance();
+        }
+    }
+
+    @Autowired
+    private PatientImportService patientImportService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private TherapeuteRepository therapeuteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UsernameAllocator usernameAllocator;
+
+    @MockBean
+    private SearchIndex searchIndex;
+
+    @MockBean
+    private TypeaheadIndex typeaheadIndex;
+
+    @AfterEach
+    void tearDown() {
+        patientRepository.deleteAll();
+        therapeuteRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should import the valid rows of every chunk and report the others by row number")
+    void importPatients_Csv_ShouldImportValidRowsAndReportErrors() throws IOException {
+        // Given
+        userRepository.save(user("taken", "taken@example.com"));
+        Therapeute therapeute = therapeuteRepository.save(Therapeute.builder()
+                .user(user("import.therapeute", "import.therapeute@example.com"))
+                .build());
+        String csv = "email,firstName,lastName,dateOfBirth,notes,assignedTherapeuteId\r\n"
+                + "alice@example.com,Alice,Martin,1990-04-12,\"Suivi, \"\"intensif\"\"\nà revoir\"," + therapeute.getId() + "\r\n"
+                + "taken@example.com,Paul,Durand,,,\r\n"
+                + "not-an-email,Luc,Bernard,,,\r\n"
+                + "\r\n"
+                + "bob@example.com,Bob,Petit,1985-13-40,,\r\n"
+                + "carla@example.com,Carla,Roux,,,999999\r\n"
+                + "dan@example.com,Dan,Moreau,,,\r\n"
+                + "dan@example.com,Daniel,Moreau,,,\r\n"
+                + "eve@example.com,,Leroy,,,\r\n"
+                + "fay@example.com,Fay\r\n";
+
+        // When
+        PatientImportReport report = patientImportService.importPatients(stream(csv), PatientImportService.Format.CSV);
+
+        // Then
+        assertThat(report.getTotalRows()).isEqualTo(9);
+        assertThat(report.getImportedRows()).isEqualTo(2);
+        assertThat(report.getFailedRows()).isEqualTo(7);
+        assertThat(report.getErrors())
+                .extracting(PatientImportReport.RowError::getRow, PatientImportReport.RowError::getEmail)
+                .containsExactly(
+                        tuple(2, "taken@example.com"),
+                        tuple(3, "not-an-email"),
+                        tuple(4, "bob@example.com"),
+                        tuple(5, "carla@example.com"),
+                        tuple(7, "dan@example.com"),
+                        tuple(8, "eve@example.com"),
+                        tuple(9, "fay@example.com"));
+        assertThat(report.getErrors().get(0).getMessage()).isEqualTo("Email already exists");
+        assertThat(report.getErrors().get(3).getMessage()).isEqualTo("Therapeute not found");
+
+        Patient alice = patientRepository.findAll().stream()
+                .filter(p -> p.getUser().getEmail().equals("alice@example.com"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(alice.getNotes()).isEqualTo("Suivi, \"intensif\"\nà revoir");
+        assertThat(alice.getAssignedTherapeute().getId()).isEqualTo(therapeute.getId());
+        assertThat(alice.getPatientCode()).startsWith("PAT-");
+    }
+
+    @Test
+    @DisplayName("Should give the next free username to colliding email local parts")
+    void importPatients_Ndjson_ShouldAllocateUniqueUsernames() throws IOException {
+        // Given
+        userRepository.save(user("jean", "jean@old.example.com"));
+        userRepository.save(user("jean1", "jean1@old.example.com"));
+        usernameAllocator.warmUp();
+        String ndjson = """
+                {"email":"jean@a.example.com","firstName":"Jean","lastName":"A"}
+                {"email":"Jean@b.example.com","firstName":"Jean","lastName":"B"}
+
+                {"email":"jean@c.example.com","firstName":"Jean","lastName":"C","status":"ACTIVE"}
+                {"email":"jean@d.example.com","firstName":"Jean","lastName":"D","gender":"UNKNOWN_VALUE"}
+                """;
+
+        // When
+        PatientImportReport report = patientImportService.importPatients(stream(ndjson), PatientImportService.Format.NDJSON);
+
+        // Then
+        assertThat(report.getImportedRows()).isEqualTo(3);
+        assertThat(report.getErrors()).extracting(PatientImportReport.RowError::getRow).containsExactly(4);
+        assertThat(patientRepository.findAll())
+                .extracting(p -> p.getUser().getUsername())
+                .containsExactlyInAnyOrder("jean2", "jean3", "jean4");
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV header naming an unknown column")
+    void importPatients_UnknownColumn_ShouldThrow() {
+        assertThatThrownBy(() -> patientImportService.importPatients(
+                stream("email,firstName,lastName,shoeSize\r\n"), PatientImportService.Format.CSV))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("shoeSize");
+    }
+
+    private static User user(String username, String email) {
+        return User.builder()
+                .username(username)
+                .email(email)
+                .password("secret")
+                .role(User.Role.PATIENT)
+                .build();
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -3,6 +3,7 @@ package com.clinassist.service;
 import com.clinassist.dto.PatientDTO;
 import com.clinassist.entity.Patient;
 import com.clinassist.entity.User;
+import com.clinassist.event.PatientChangedEvent;
 import com.clinassist.exception.ResourceNotFoundException;
 import com.clinassist.repository.PatientRepository;
 import com.clinassist.repository.SeanceRepository;
@@ -13,9 +14,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -54,7 +55,18 @@ class PatientServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
-    @InjectMocks
+    @Mock
+    private SearchIndex searchIndex;
+
+    @Mock
+    private TypeaheadIndex typeaheadIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UsernameAllocator usernameAllocator;
+
     private PatientService patientService;
 
     private Patient testPatient;
@@ -62,6 +74,10 @@ class PatientServiceTest {
 
     @BeforeEach
     void setUp() {
+        patientService = new PatientService(patientRepository, therapeuteRepository, userRepository,
+                passwordEncoder, new PatientDTOAssembler(patientRepository, seanceRepository), searchIndex,
+                typeaheadIndex, eventPublisher, usernameAllocator);
+
         testUser = new User();
         testUser.setId(1L);
         testUser.setUsername("patient.test");
@@ -88,10 +104,10 @@ class PatientServiceTest {
         void getAllPatients_ShouldReturnPage() {
             // Given
             PageRequest pageable = PageRequest.of(0, 10);
-            Page<Patient> patientPage = new PageImpl<>(Arrays.asList(testPatient), pageable, 1);
-            when(patientRepository.findAll(pageable)).thenReturn(patientPage);
-            when(seanceRepository.findByPatientId(1L)).thenReturn(Collections.emptyList());
-            when(seanceRepository.findUpcomingSeancesByPatient(any(), any())).thenReturn(Collections.emptyList());
+            Page<Long> idPage = new PageImpl<>(Arrays.asList(1L), pageable, 1);
+            when(patientRepository.findAllIds(pageable)).thenReturn(idPage);
+            when(patientRepository.findAllWithUsersByIdIn(List.of(1L))).thenReturn(Arrays.asList(testPatient));
+            stubNoSeances();
 
             // When
             Page<PatientDTO> result = patientService.getAllPatients(pageable);
@@ -99,7 +115,8 @@ class PatientServiceTest {
             // Then
             assertThat(result).isNotNull();
             assertThat(result.getContent()).hasSize(1);
-            verify(patientRepository).findAll(pageable);
+            assertThat(result.getTotalElements()).isEqualTo(1L);
+            verify(patientRepository).findAllIds(pageable);
         }
 
         @Test
@@ -107,8 +124,8 @@ class PatientServiceTest {
         void getAllPatients_ShouldReturnEmptyPage() {
             // Given
             PageRequest pageable = PageRequest.of(0, 10);
-            Page<Patient> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
-            when(patientRepository.findAll(pageable)).thenReturn(emptyPage);
+            Page<Long> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
+            when(patientRepository.findAllIds(pageable)).thenReturn(emptyPage);
 
             // When
             Page<PatientDTO> result = patientService.getAllPatients(pageable);
@@ -127,8 +144,7 @@ class PatientServiceTest {
         void getPatientById_ShouldReturnPatient() {
             // Given
             when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
-            when(seanceRepository.findByPatientId(1L)).thenReturn(Collections.emptyList());
-            when(seanceRepository.findUpcomingSeancesByPatient(any(), any())).thenReturn(Collections.emptyList());
+            stubNoSeances();
 
             // When
             PatientDTO result = patientService.getPatientById(1L);
@@ -159,10 +175,9 @@ class PatientServiceTest {
         void getHighRiskPatients_ShouldReturnFiltered() {
             // Given
             testPatient.setRiskScore(75);
-            when(patientRepository.findHighRiskPatients(50))
-                    .thenReturn(Arrays.asList(testPatient));
-            when(seanceRepository.findByPatientId(1L)).thenReturn(Collections.emptyList());
-            when(seanceRepository.findUpcomingSeancesByPatient(any(), any())).thenReturn(Collections.emptyList());
+            when(patientRepository.findHighRiskPatientIds(50)).thenReturn(Arrays.asList(1L));
+            when(patientRepository.findAllWithUsersByIdIn(List.of(1L))).thenReturn(Arrays.asList(testPatient));
+            stubNoSeances();
 
             // When
             List<PatientDTO> result = patientService.getHighRiskPatients(50);
@@ -200,10 +215,10 @@ class PatientServiceTest {
         void searchPatients_ShouldReturnMatchingPatients() {
             // Given
             PageRequest pageable = PageRequest.of(0, 10);
-            Page<Patient> patientPage = new PageImpl<>(Arrays.asList(testPatient), pageable, 1);
-            when(patientRepository.searchPatients("test", pageable)).thenReturn(patientPage);
-            when(seanceRepository.findByPatientId(1L)).thenReturn(Collections.emptyList());
-            when(seanceRepository.findUpcomingSeancesByPatient(any(), any())).thenReturn(Collections.emptyList());
+            Page<Long> idPage = new PageImpl<>(Arrays.asList(1L), pageable, 1);
+            when(searchIndex.searchPatientIds("test", pageable)).thenReturn(idPage);
+            when(patientRepository.findAllWithUsersByIdIn(List.of(1L))).thenReturn(Arrays.asList(testPatient));
+            stubNoSeances();
 
             // When
             Page<PatientDTO> result = patientService.searchPatients("test", pageable);
@@ -228,7 +243,7 @@ class PatientServiceTest {
             request.setPhoneNumber("0612345678");
 
             when(userRepository.existsByEmail(anyString())).thenReturn(false);
-            when(userRepository.existsByUsername(anyString())).thenReturn(false);
+            when(usernameAllocator.allocate("newpatient@example.com")).thenReturn("newpatient");
             when(passwordEncoder.encode(anyString())).thenReturn("encoded-password");
             when(patientRepository.save(any(Patient.class))).thenAnswer(invocation -> {
                 Patient p = invocation.getArgument(0);
@@ -236,8 +251,7 @@ class PatientServiceTest {
                 p.setUser(testUser);
                 return p;
             });
-            when(seanceRepository.findByPatientId(any())).thenReturn(Collections.emptyList());
-            when(seanceRepository.findUpcomingSeancesByPatient(any(), any())).thenReturn(Collections.emptyList());
+            stubNoSeances();
 
             // When
             PatientDTO result = patientService.createPatient(request);
@@ -245,6 +259,8 @@ class PatientServiceTest {
             // Then
             assertThat(result).isNotNull();
             verify(patientRepository).save(any(Patient.class));
+            verify(searchIndex).indexPatient(any(Patient.class));
+            verify(typeaheadIndex).update(any(Patient.class));
         }
 
         @Test
@@ -278,8 +294,7 @@ class PatientServiceTest {
 
             when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
             when(patientRepository.save(any(Patient.class))).thenReturn(testPatient);
-            when(seanceRepository.findByPatientId(1L)).thenReturn(Collections.emptyList());
-            when(seanceRepository.findUpcomingSeancesByPatient(any(), any())).thenReturn(Collections.emptyList());
+            stubNoSeances();
 
             // When
             PatientDTO result = patientService.updatePatient(1L, updateDTO);
@@ -287,6 +302,8 @@ class PatientServiceTest {
             // Then
             assertThat(result).isNotNull();
             verify(patientRepository).save(any(Patient.class));
+            verify(searchIndex).indexPatient(any(Patient.class));
+            verify(typeaheadIndex).update(any(Patient.class));
         }
 
         @Test
@@ -317,8 +334,7 @@ class PatientServiceTest {
             when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
             when(therapeuteRepository.findById(1L)).thenReturn(Optional.of(therapeute));
             when(patientRepository.save(any(Patient.class))).thenReturn(testPatient);
-            when(seanceRepository.findByPatientId(1L)).thenReturn(Collections.emptyList());
-            when(seanceRepository.findUpcomingSeancesByPatient(any(), any())).thenReturn(Collections.emptyList());
+            stubNoSeances();
 
             // When
             PatientDTO result = patientService.assignTherapeute(1L, 1L);
@@ -362,8 +378,7 @@ class PatientServiceTest {
             // Given
             when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
             when(patientRepository.save(any(Patient.class))).thenReturn(testPatient);
-            when(seanceRepository.findByPatientId(1L)).thenReturn(Collections.emptyList());
-            when(seanceRepository.findUpcomingSeancesByPatient(any(), any())).thenReturn(Collections.emptyList());
+            stubNoSeances();
 
             // When
             PatientDTO result = patientService.updatePatientStatus(1L, Patient.PatientStatus.INACTIVE);
@@ -371,6 +386,8 @@ class PatientServiceTest {
             // Then
             assertThat(result).isNotNull();
             verify(patientRepository).save(any(Patient.class));
+            verify(eventPublisher).publishEvent(new PatientChangedEvent(1L,
+                    Patient.PatientStatus.ACTIVE, Patient.PatientStatus.INACTIVE));
         }
 
         @Test
@@ -384,4 +401,9 @@ class PatientServiceTest {
                     .isInstanceOf(ResourceNotFoundException.class);
         }
     }
+
+    private void stubNoSeances() {
+        when(seanceRepository.countSeancesByPatientIds(any())).thenReturn(Collections.emptyList());
+        when(seanceRepository.findNextSeanceByPatientIds(any(), any())).thenReturn(Collections.emptyList());
+    }
 }
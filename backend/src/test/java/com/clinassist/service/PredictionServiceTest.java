@@ -1,9 +1,11 @@
 package com.clinassist.service;
 
+import com.clinassist.dto.BatchPredictionRequest;
 import com.clinassist.dto.PredictionDTO;
 import com.clinassist.entity.Patient;
 import com.clinassist.entity.Prediction;
 import com.clinassist.entity.User;
+import com.clinassist.exception.BadRequestException;
 import com.clinassist.exception.ResourceNotFoundException;
 import com.clinassist.repository.PatientRepository;
 import com.clinassist.repository.PredictionRepository;
@@ -16,9 +18,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -45,6 +49,9 @@ class PredictionServiceTest {
     @Mock
     private MLPredictionClient mlClient;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PredictionService predictionService;
 
@@ -182,7 +189,8 @@ class PredictionServiceTest {
         void generateDropoutRiskPrediction_ShouldReturnPrediction() {
             // Given
             when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
-            when(seanceRepository.findByPatientId(1L)).thenReturn(Collections.emptyList());
+            when(seanceRepository.findFeatureVectorsByPatientIds(Collections.singletonList(1L)))
+                    .thenReturn(Collections.singletonList(featureVector(1L, 4, 2, 1)));
 
             MLPredictionClient.MLPredictionResult mlResult = new MLPredictionClient.MLPredictionResult();
             mlResult.setScore(35.0);
@@ -202,7 +210,8 @@ class PredictionServiceTest {
 
             // Then
             assertThat(result).isNotNull();
-            verify(mlClient).predictDropoutRisk(anyDouble(), anyDouble(), anyInt(), anyInt(), anyDouble(), anyInt());
+            verify(mlClient).predictDropoutRisk(eq(0.5), eq(0.25), eq(3), eq(4), anyDouble(), anyInt());
+            verify(seanceRepository, never()).findByPatientId(any());
         }
 
         @Test
@@ -215,6 +224,67 @@ class PredictionServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("generateDropoutRiskPredictions (batch) Tests")
+    class GenerateDropoutRiskPredictionsTests {
+
+        @Test
+        @DisplayName("Should score all patients with one aggregate query and one batch ML call")
+        void generateDropoutRiskPredictions_ShouldBatch() {
+            // Given
+            Patient other = new Patient();
+            other.setId(2L);
+            other.setUser(testPatient.getUser());
+            List<Long> ids = Arrays.asList(1L, 2L);
+            when(patientRepository.findAllWithUsersByIdIn(ids)).thenReturn(Arrays.asList(testPatient, other));
+            when(seanceRepository.findFeatureVectorsByPatientIds(ids)).thenReturn(Collections.singletonList(
+                    featureVector(1L, 4, 2, 1)));
+
+            MLPredictionClient.MLPredictionResult mlResult = new MLPredictionClient.MLPredictionResult();
+            mlResult.setScore(80.0);
+            mlResult.setConfidence(0.85);
+            when(mlClient.predictDropoutRiskBatch(anyList())).thenReturn(Arrays.asList(mlResult, mlResult));
+            when(predictionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            List<PredictionDTO> result = predictionService.generateDropoutRiskPredictions(
+                    BatchPredictionRequest.builder().patientIds(ids).build());
+
+            // Then
+            assertThat(result).hasSize(2);
+            assertThat(testPatient.getRiskScore()).isEqualTo(80);
+            assertThat(other.getRiskCategory()).isEqualTo("CRITICAL");
+            verify(mlClient).predictDropoutRiskBatch(argThat(features ->
+                    features.size() == 2 && features.get(0).getCancellationRate() == 0.5
+                            && features.get(1).getTotalSessions() == 0));
+            verify(seanceRepository, never()).findByPatientId(any());
+            verify(mlClient, never()).predictDropoutRisk(anyDouble(), anyDouble(), anyInt(), anyInt(),
+                    anyDouble(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should resolve the therapeute's caseload")
+        void generateDropoutRiskPredictions_ShouldUseTherapeuteCaseload() {
+            // Given
+            when(patientRepository.findIdsByAssignedTherapeuteId(5L)).thenReturn(Collections.emptyList());
+
+            // When
+            List<PredictionDTO> result = predictionService.generateDropoutRiskPredictions(
+                    BatchPredictionRequest.builder().therapeuteId(5L).build());
+
+            // Then
+            assertThat(result).isEmpty();
+            verifyNoInteractions(mlClient);
+        }
+
+        @Test
+        @DisplayName("Should reject a request without patients or therapeute")
+        void generateDropoutRiskPredictions_ShouldThrowWhenEmpty() {
+            assertThatThrownBy(() -> predictionService.generateDropoutRiskPredictions(new BatchPredictionRequest()))
+                    .isInstanceOf(BadRequestException.class);
+        }
+    }
+
     @Nested
     @DisplayName("generateNextSessionPrediction Tests")
     class GenerateNextSessionPredictionTests {
@@ -224,7 +294,8 @@ class PredictionServiceTest {
         void generateNextSessionPrediction_ShouldReturnPrediction() {
             // Given
             when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
-            when(seanceRepository.findCompletedSeancesByPatient(1L)).thenReturn(Collections.emptyList());
+            when(seanceRepository.findFeatureVectorsByPatientIds(Collections.singletonList(1L)))
+                    .thenReturn(Collections.singletonList(featureVector(1L, 4, 0, 0)));
             when(predictionRepository.save(any(Prediction.class))).thenReturn(testPrediction);
 
             // When
@@ -232,6 +303,9 @@ class PredictionServiceTest {
 
             // Then
             assertThat(result).isNotNull();
+            verify(predictionRepository).save(argThat(p ->
+                    p.getFactors().get("avg_days_between_sessions") == 7.0
+                            && p.getPrediction().equals("Next session recommended in 7 days")));
         }
     }
 
@@ -244,8 +318,8 @@ class PredictionServiceTest {
         void generateTreatmentProgressPrediction_ShouldReturnPrediction() {
             // Given
             when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
-            when(seanceRepository.findCompletedSeancesByPatient(1L)).thenReturn(Collections.emptyList());
-            lenient().when(seanceRepository.getAverageProgressRating(1L)).thenReturn(4.5);
+            when(seanceRepository.findFeatureVectorsByPatientIds(Collections.singletonList(1L)))
+                    .thenReturn(Collections.singletonList(featureVector(1L, 4, 0, 0)));
             when(predictionRepository.save(any(Prediction.class))).thenReturn(testPrediction);
 
             // When
@@ -253,6 +327,29 @@ class PredictionServiceTest {
 
             // Then
             assertThat(result).isNotNull();
+            verify(predictionRepository).save(argThat(p ->
+                    p.getFactors().get("average_progress") == 4.5
+                            && p.getFactors().get("mood_improvement") == 2.0
+                            && p.getFactors().get("total_sessions") == 4.0));
+            verify(seanceRepository, never()).findCompletedSeancesByPatient(any());
         }
     }
+
+    private SeanceRepository.PatientFeatureVector featureVector(Long patientId, long total, long cancelled,
+                                                                 long noShow) {
+        LocalDateTime lastCompletedAt = LocalDateTime.now().minusDays(3);
+        return new SeanceRepository.PatientFeatureVector() {
+            public Long getPatientId() { return patientId; }
+            public long getTotal() { return total; }
+            public long getCancelled() { return cancelled; }
+            public long getNoShow() { return noShow; }
+            public long getCompleted() { return total - cancelled - noShow; }
+            public LocalDateTime getFirstCompletedAt() {
+                return lastCompletedAt.minusDays(7 * (getCompleted() - 1));
+            }
+            public LocalDateTime getLastCompletedAt() { return getCompleted() > 0 ? lastCompletedAt : null; }
+            public Double getAvgMoodDelta() { return 2.0; }
+            public Double getAvgProgress() { return 4.5; }
+        };
+    }
 }
@@ -0,0 +1,81 @@
+package com.clinassist.service;
+
+import com.clinassist.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitaires pour RecurrenceRule
+ */
+@DisplayName("RecurrenceRule Unit Tests")
+class RecurrenceRuleTest {
+
+    private static final LocalDateTime FIRST = LocalDateTime.of(2027, 1, 31, 10, 0);
+
+    @Nested
+    @DisplayName("parse Tests")
+    class ParseTests {
+
+        @Test
+        @DisplayName("Should parse a frequency with a count or an until-date, case-insensitively")
+        void parse_ShouldReadFrequencyAndBound() {
+            assertThat(RecurrenceRule.parse("weekly; count=10"))
+                    .isEqualTo(new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 10, null));
+            assertThat(RecurrenceRule.parse("BIWEEKLY;UNTIL=2027-06-30"))
+                    .isEqualTo(new RecurrenceRule(RecurrenceRule.Frequency.BIWEEKLY, null, LocalDate.of(2027, 6, 30)));
+        }
+
+        @Test
+        @DisplayName("Should reject unknown frequencies, malformed or missing bounds")
+        void parse_ShouldRejectInvalidPatterns() {
+            assertThatThrownBy(() -> RecurrenceRule.parse("DAILY;COUNT=3")).isInstanceOf(BadRequestException.class);
+            assertThatThrownBy(() -> RecurrenceRule.parse("WEEKLY")).isInstanceOf(BadRequestException.class);
+            assertThatThrownBy(() -> RecurrenceRule.parse("WEEKLY;COUNT=3;UNTIL=2027-06-30"))
+                    .isInstanceOf(BadRequestException.class);
+            assertThatThrownBy(() -> RecurrenceRule.parse("WEEKLY;COUNT=ten")).isInstanceOf(BadRequestException.class);
+            assertThatThrownBy(() -> RecurrenceRule.parse("WEEKLY;COUNT=0")).isInstanceOf(BadRequestException.class);
+            assertThatThrownBy(() -> RecurrenceRule.parse("MONTHLY;UNTIL=tomorrow"))
+                    .isInstanceOf(BadRequestException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("expand Tests")
+    class ExpandTests {
+
+        @Test
+        @DisplayName("Should expand a counted weekly or biweekly series")
+        void expand_ShouldHonourCount() {
+            assertThat(RecurrenceRule.parse("WEEKLY;COUNT=3").expand(FIRST))
+                    .containsExactly(FIRST, FIRST.plusWeeks(1), FIRST.plusWeeks(2));
+            assertThat(RecurrenceRule.parse("BIWEEKLY;COUNT=2").expand(FIRST))
+                    .containsExactly(FIRST, FIRST.plusWeeks(2));
+        }
+
+        @Test
+        @DisplayName("Should keep the day of month, clamped to shorter months, up to the until-date included")
+        void expand_MonthlyUntil_ShouldClampDayOfMonth() {
+            assertThat(RecurrenceRule.parse("MONTHLY;UNTIL=2027-04-30").expand(FIRST)).containsExactly(
+                    FIRST,
+                    LocalDateTime.of(2027, 2, 28, 10, 0),
+                    LocalDateTime.of(2027, 3, 31, 10, 0),
+                    LocalDateTime.of(2027, 4, 30, 10, 0));
+        }
+
+        @Test
+        @DisplayName("Should reject an until-date before the first seance or a series that is too long")
+        void expand_ShouldRejectInvalidRanges() {
+            assertThatThrownBy(() -> RecurrenceRule.parse("WEEKLY;UNTIL=2027-01-01").expand(FIRST))
+                    .isInstanceOf(BadRequestException.class);
+            assertThatThrownBy(() -> RecurrenceRule.parse("WEEKLY;UNTIL=2030-01-01").expand(FIRST))
+                    .isInstanceOf(BadRequestException.class);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.clinassist.service;
+
+import com.clinassist.TestFixtures;
+import com.clinassist.entity.Notification;
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Seance;
+import com.clinassist.entity.Therapeute;
+import com.clinassist.entity.User;
+import com.clinassist.repository.NotificationRepository;
+import com.clinassist.repository.PatientRepository;
+import com.clinassist.repository.SeanceRepository;
+import com.clinassist.repository.TherapeuteRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.clinassist.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests d'intégration (H2 + serveur SMTP GreenMail) des rappels de séances
+ */
+@DataJpaTest(properties = {
+        "app.reminders.page-size=2",
+        "app.reminders.poll-interval-ms=3600000",
+        "app.reminders.mail.backoff=10ms"
+})
+@Import({ReminderDispatcher.class, ReminderDispatcherTest.Config.class})
+// Every page commits its own transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Reminder Dispatcher Tests")
+class ReminderDispatcherTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        FlakyMailSender mailSender() {
+            FlakyMailSender sender = new FlakyMailSender();
+            sender.setHost(ServerSetupTest.SMTP.getBindAddress());
+            sender.setPort(ServerSetupTest.SMTP.getPort());
+            // As spring.mail.default-encoding does for the auto-configured sender
+            sender.setDefaultEncoding("UTF-8");
+            return sender;
+        }
+    }
+
+    /**
+     * Fails the next {@code failures} sends as an unreachable server would.
+     */
+    static class FlakyMailSender extends JavaMailSenderImpl {
+
+        final AtomicInteger failures = new AtomicInteger();
+
+        @Override
+        public void send(SimpleMailMessage... simpleMessages) {
+            if (failures.getAndUpdate(n -> Math.max(n - 1, 0)) > 0) {
+                throw new MailSendException("Connection refused");
+            }
+            super.send(simpleMessages);
+        }
+    }
+
+    @Autowired
+    private ReminderDispatcher reminderDispatcher;
+
+    @Autowired
+    private FlakyMailSender mailSender;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SeanceRepository seanceRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private TherapeuteRepository therapeuteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Patient patient;
+    private Therapeute therapeute;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        mailSender.failures.set(0);
+        therapeute = therapeuteRepository.save(Therapeute.builder()
+                .user(user("reminder.therapeute", User.Role.THERAPEUTE))
+                .status(Therapeute.TherapeuteStatus.AVAILABLE)
+                .build());
+        patient = patientRepository.save(Patient.builder()
+                .user(user("reminder.patient", User.Role.PATIENT))
+                .patientCode("PAT-REM-1")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationRepository.deleteAll();
+        seanceRepository.deleteAll();
+        patientRepository.deleteAll();
+        therapeuteRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should claim every due seance page by page, notify and email its patient once")
+    void dispatch_DueSeances_ShouldNotifyAndEmailOnce() throws Exception {
+        // Given
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Seance first = seance(now.plusHours(2), Seance.SeanceStatus.SCHEDULED, false);
+        Seance second = seance(now.plusHours(5), Seance.SeanceStatus.CONFIRMED, false);
+        Seance third = seance(now.plusHours(20), Seance.SeanceStatus.SCHEDULED, false);
+        Seance tooFar = seance(now.plusDays(3), Seance.SeanceStatus.SCHEDULED, false);
+        Seance alreadyReminded = seance(now.plusHours(3), Seance.SeanceStatus.SCHEDULED, true);
+        Seance cancelled = seance(now.plusHours(4), Seance.SeanceStatus.CANCELLED, false);
+        Seance past = seance(now.minusHours(1), Seance.SeanceStatus.SCHEDULED, false);
+        mailSender.failures.set(1);
+        double retriedBefore = count("reminders.emails.retried");
+
+        // When
+        reminderDispatcher.dispatch().get(10, TimeUnit.SECONDS);
+
+        // Then
+        MimeMessage[] emails = greenMail.getReceivedMessages();
+        assertThat(emails).hasSize(3);
+        assertThat(emails).allSatisfy(email -> {
+            assertThat(email.getAllRecipients()[0].toString()).isEqualTo("reminder.patient@clinassist.test");
+            assertThat(email.getSubject()).startsWith("Rappel : votre séance du");
+        });
+
+        List<Notification> notifications = notificationRepository.findAll();
+        assertThat(notifications)
+                .extracting(Notification::getReferenceId)
+                .containsExactlyInAnyOrder(first.getId(), second.getId(), third.getId());
+        assertThat(notifications).allSatisfy(notification -> {
+            assertThat(notification.getType()).isEqualTo(Notification.NotificationType.APPOINTMENT_REMINDER);
+            assertThat(notification.getReferenceType()).isEqualTo("SEANCE");
+            assertThat(notification.getIsSent()).isTrue();
+            assertThat(notification.getSentAt()).isNotNull();
+        });
+
+        assertThat(reminded(first)).isTrue();
+        assertThat(reminded(second)).isTrue();
+        assertThat(reminded(third)).isTrue();
+        assertThat(reminded(tooFar)).isFalse();
+        assertThat(reminded(cancelled)).isFalse();
+        assertThat(reminded(past)).isFalse();
+        assertThat(notificationRepository.findByReference(alreadyReminded.getId(), "SEANCE")).isEmpty();
+        assertThat(count("reminders.emails.retried") - retriedBefore).isEqualTo(1);
+        assertThat(meterRegistry.get("reminders.claim.lag").timer().count()).isGreaterThanOrEqualTo(3);
+
+        // When - the next run finds nothing left to remind
+        reminderDispatcher.dispatch().get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(greenMail.getReceivedMessages()).hasSize(3);
+        assertThat(notificationRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should remind a rescheduled seance again at its new time")
+    void dispatch_RescheduledSeance_ShouldRemindAgain() throws Exception {
+        // Given - reminded, then moved a few hours later
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Seance moved = seance(now.plusHours(2), Seance.SeanceStatus.SCHEDULED, true);
+        Seance pending = seance(now.plusHours(3), Seance.SeanceStatus.PENDING_APPROVAL, false);
+        transactionTemplate.executeWithoutResult(status ->
+                seanceRepository.shiftAllById(List.of(moved.getId()), 3 * 3600, now));
+
+        // When
+        reminderDispatcher.dispatch().get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(reminded(moved)).isTrue();
+        assertThat(notificationRepository.findByReference(moved.getId(), "SEANCE")).hasSize(1);
+        assertThat(reminded(pending)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should skip seances with no one to remind without ending paging early")
+    void dispatch_SeancesWithoutRecipient_ShouldNotBeClaimed() throws Exception {
+        // Given - a full page of seances whose patient has no account comes first
+        Patient withoutAccount = patientRepository.save(Patient.builder().patientCode("PAT-REM-2").build());
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Seance first = seanceRepository.save(TestFixtures.seance(withoutAccount, therapeute, now.plusHours(1),
+                Seance.SeanceStatus.SCHEDULED).reminderSent(false).build());
+        Seance second = seanceRepository.save(TestFixtures.seance(withoutAccount, therapeute, now.plusHours(2),
+                Seance.SeanceStatus.SCHEDULED).reminderSent(false).build());
+        Seance reminded = seance(now.plusHours(3), Seance.SeanceStatus.SCHEDULED, false);
+
+        // When
+        reminderDispatcher.dispatch().get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(reminded(reminded)).isTrue();
+        assertThat(reminded(first)).isFalse();
+        assertThat(reminded(second)).isFalse();
+        assertThat(notificationRepository.findAll()).extracting(Notification::getReferenceId)
+                .containsExactly(reminded.getId());
+    }
+
+    @Test
+    @DisplayName("Should give up an email after the last attempt and leave its notification unsent")
+    void dispatch_MailServerDown_ShouldGiveUpAfterMaxAttempts() throws Exception {
+        // Given
+        Seance seance = seance(LocalDateTime.now().plusHours(6), Seance.SeanceStatus.SCHEDULED, false);
+        mailSender.failures.set(3);
+        double failedBefore = count("reminders.emails.failed");
+
+        // When
+        reminderDispatcher.dispatch().get(10, TimeUnit.SECONDS);
+
+        // Then - the seance is not claimed again, the notification stays in the app
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        assertThat(count("reminders.emails.failed") - failedBefore).isEqualTo(1);
+        assertThat(reminded(seance)).isTrue();
+        assertThat(notificationRepository.findByReference(seance.getId(), "SEANCE"))
+                .singleElement()
+                .satisfies(notification -> assertThat(notification.getIsSent()).isFalse());
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private boolean reminded(Seance seance) {
+        return seanceRepository.findById(seance.getId()).orElseThrow().getReminderSent();
+    }
+
+    private Seance seance(LocalDateTime scheduledAt, Seance.SeanceStatus status, boolean reminderSent) {
+        return seanceRepository.save(TestFixtures.seance(patient, therapeute, scheduledAt, status)
+                .meetingRoom("Salle 2")
+                .reminderSent(reminderSent)
+                .build());
+    }
+}
@@ -0,0 +1,146 @@
+package com.clinassist.service;
+
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Prediction;
+import com.clinassist.repository.PatientRepository;
+import com.clinassist.repository.PredictionRepository;
+import com.clinassist.repository.RiskScoreBatchWriter;
+import com.clinassist.repository.SeanceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour RiskScoringJob
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RiskScoringJob Unit Tests")
+class RiskScoringJobTest {
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private SeanceRepository seanceRepository;
+
+    @Mock
+    private PredictionRepository predictionRepository;
+
+    @Mock
+    private MLPredictionClient mlClient;
+
+    @Mock
+    private RiskScoreBatchWriter writer;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RiskScoringJob job;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        PredictionService predictionService =
+                new PredictionService(predictionRepository, patientRepository, seanceRepository, mlClient,
+                        eventPublisher);
+        job = new RiskScoringJob(patientRepository, seanceRepository, predictionService, mlClient, writer,
+                eventPublisher, meterRegistry, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        job.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should walk active patients by keyset chunks and write each chunk in one batch")
+    @SuppressWarnings("unchecked")
+    void run_ShouldScoreAllChunks() {
+        // Given
+        when(patientRepository.findIdsByStatusAfter(eq(Patient.PatientStatus.ACTIVE), anyLong(), any(Pageable.class)))
+                .thenReturn(Arrays.asList(1L, 2L), Collections.singletonList(3L), Collections.emptyList());
+        when(seanceRepository.findFeatureVectorsByPatientIds(anyCollection()))
+                .thenReturn(Collections.singletonList(factors(1L, 4, 2)), Collections.emptyList());
+        when(mlClient.predictDropoutRiskBatch(anyList())).thenAnswer(invocation ->
+                ((List<?>) invocation.getArgument(0)).stream().map(f -> result(60.0)).collect(Collectors.toList()));
+
+        // When
+        long scored = job.run();
+
+        // Then
+        assertThat(scored).isEqualTo(3);
+        verify(patientRepository).findIdsByStatusAfter(eq(Patient.PatientStatus.ACTIVE), eq(2L), any(Pageable.class));
+        verify(patientRepository).findIdsByStatusAfter(eq(Patient.PatientStatus.ACTIVE), eq(3L), any(Pageable.class));
+        verify(seanceRepository, never()).findByPatientId(any());
+
+        ArgumentCaptor<List<Prediction>> predictions = ArgumentCaptor.forClass(List.class);
+        verify(writer).write(eq(Arrays.asList(1L, 2L)), predictions.capture());
+        assertThat(predictions.getValue()).extracting(Prediction::getRiskCategory)
+                .containsOnly(Prediction.RiskCategory.HIGH);
+        assertThat(predictions.getValue().get(0).getFactors()).containsEntry("cancellation_rate", 0.5);
+        verify(writer).write(eq(Collections.singletonList(3L)), anyList());
+
+        assertThat(meterRegistry.get("risk.scoring.patients").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("risk.scoring.chunk").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep going when a chunk fails")
+    void run_ShouldSkipFailedChunk() {
+        // Given
+        when(patientRepository.findIdsByStatusAfter(eq(Patient.PatientStatus.ACTIVE), anyLong(), any(Pageable.class)))
+                .thenReturn(Arrays.asList(1L, 2L), Collections.singletonList(3L), Collections.emptyList());
+        when(seanceRepository.findFeatureVectorsByPatientIds(anyCollection()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(Collections.emptyList());
+        when(mlClient.predictDropoutRiskBatch(anyList())).thenReturn(Collections.singletonList(result(10.0)));
+
+        // When
+        long scored = job.run();
+
+        // Then
+        assertThat(scored).isEqualTo(1);
+        verify(writer, times(1)).write(anyList(), anyList());
+        assertThat(meterRegistry.get("risk.scoring.chunks.failed").counter().count()).isEqualTo(1);
+    }
+
+    private MLPredictionClient.MLPredictionResult result(double score) {
+        MLPredictionClient.MLPredictionResult result = new MLPredictionClient.MLPredictionResult();
+        result.setScore(score);
+        result.setConfidence(0.85);
+        return result;
+    }
+
+    private SeanceRepository.PatientFeatureVector factors(Long patientId, long total, long cancelled) {
+        return new SeanceRepository.PatientFeatureVector() {
+            public Long getPatientId() { return patientId; }
+            public long getTotal() { return total; }
+            public long getCancelled() { return cancelled; }
+            public long getNoShow() { return 0; }
+            public long getCompleted() { return 0; }
+            public LocalDateTime getFirstCompletedAt() { return null; }
+            public LocalDateTime getLastCompletedAt() { return null; }
+            public Double getAvgMoodDelta() { return null; }
+            public Double getAvgProgress() { return null; }
+        };
+    }
+}
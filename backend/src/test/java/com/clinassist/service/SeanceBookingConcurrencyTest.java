@@ -0,0 +1,192 @@
+package com.clinassist.service;
+
+import com.clinassist.dto.CreateSeanceRequest;
+import com.clinassist.dto.SeanceDTO;
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Seance;
+import com.clinassist.entity.Therapeute;
+import com.clinassist.entity.User;
+import com.clinassist.exception.BadRequestException;
+import com.clinassist.repository.PatientRepository;
+import com.clinassist.repository.SeanceRepository;
+import com.clinassist.repository.TherapeuteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.clinassist.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests d'intégration (H2) des réservations concurrentes de séances
+ */
+@DataJpaTest
+@Import({SeanceService.class, SeanceConflictIndex.class, AvailabilityIndex.class, BookingLocks.class,
+        IdempotencyStore.class})
+// Each booking commits its own transaction, as it would from concurrent requests
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Seance Booking Concurrency Tests")
+class SeanceBookingConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private SeanceService seanceService;
+
+    @Autowired
+    private SeanceConflictIndex conflictIndex;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private SeanceRepository seanceRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private TherapeuteRepository therapeuteRepository;
+
+    private ExecutorService executor;
+    private Patient patient;
+    private Therapeute therapeute;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        therapeute = therapeuteRepository.save(Therapeute.builder()
+                .user(user("booking.therapeute", User.Role.THERAPEUTE))
+                .status(Therapeute.TherapeuteStatus.AVAILABLE)
+                .build());
+        patient = patientRepository.save(Patient.builder()
+                .user(user("booking.patient", User.Role.PATIENT))
+                .patientCode("PAT-BOOK-1")
+                .build());
+        conflictIndex.warmUp();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        seanceRepository.deleteAll();
+        patientRepository.deleteAll();
+        therapeuteRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should book an overlapping slot only once when requested from many threads")
+    void createSeance_ConcurrentOverlappingBookings_ShouldBookOnce() throws Exception {
+        // Given
+        LocalDateTime slot = LocalDateTime.now().plusDays(3).withNano(0);
+
+        // When - each thread asks for a slot overlapping the others
+        List<Future<SeanceDTO>> results = hammer(i -> () -> seanceService.createSeance(request(slot.plusMinutes(i))));
+
+        // Then
+        int booked = 0;
+        int rejected = 0;
+        for (Future<SeanceDTO> result : results) {
+            try {
+                result.get();
+                booked++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(BadRequestException.class);
+                rejected++;
+            }
+        }
+        assertThat(booked).isEqualTo(1);
+        assertThat(rejected).isEqualTo(THREADS - 1);
+        assertThat(seanceRepository.findByTherapeuteId(therapeute.getId())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should create one seance for a double-submitted idempotency key")
+    void createSeance_ConcurrentIdempotentRequests_ShouldCreateOnce() throws Exception {
+        // Given
+        CreateSeanceRequest request = request(LocalDateTime.now().plusDays(4).withNano(0));
+
+        // When
+        List<Future<SeanceDTO>> results = hammer(i -> () -> idempotencyStore.execute(
+                "receptionist:booking-42", request, () -> seanceService.createSeance(request)));
+
+        // Then - every caller gets the seance created by the first one
+        Long id = results.get(0).get().getId();
+        for (Future<SeanceDTO> result : results) {
+            assertThat(result.get().getId()).isEqualTo(id);
+        }
+        assertThat(seanceRepository.findByTherapeuteId(therapeute.getId())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should book a whole series, then cancel this and the following occurrences")
+    void createSeance_RecurringSeries_ShouldBookAndCancelFollowing() {
+        // Given
+        LocalDateTime first = LocalDateTime.now().plusDays(5).withNano(0);
+        CreateSeanceRequest request = request(first);
+        request.setIsRecurring(true);
+        request.setRecurringPattern("WEEKLY;COUNT=4");
+
+        // When
+        SeanceDTO root = seanceService.createSeance(request);
+        List<SeanceDTO> cancelled = seanceService.cancelFollowingSeances(
+                seanceRepository.findSeriesOccurrencesFrom(root.getId(), first.plusWeeks(2)).get(0).getId(), "Vacances");
+
+        // Then
+        List<Seance> series = seanceRepository.findByTherapeuteId(therapeute.getId());
+        assertThat(series).hasSize(4)
+                .filteredOn(s -> !s.getId().equals(root.getId()))
+                .allMatch(s -> s.getParentSeance().getId().equals(root.getId()));
+        assertThat(cancelled).extracting(SeanceDTO::getScheduledAt)
+                .containsExactly(first.plusWeeks(2), first.plusWeeks(3));
+        assertThat(cancelled).allMatch(s -> s.getStatus() == Seance.SeanceStatus.CANCELLED);
+        assertThat(conflictIndex.hasConflict(therapeute.getId(), first.plusWeeks(1), 60, null)).isTrue();
+        assertThat(conflictIndex.hasConflict(therapeute.getId(), first.plusWeeks(3), 60, null)).isFalse();
+    }
+
+    private List<Future<SeanceDTO>> hammer(Task task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<SeanceDTO>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Callable<SeanceDTO> call = task.forThread(i);
+            results.add(executor.submit(() -> {
+                start.await();
+                return call.call();
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        return results;
+    }
+
+    private CreateSeanceRequest request(LocalDateTime scheduledAt) {
+        CreateSeanceRequest request = new CreateSeanceRequest();
+        request.setPatientId(patient.getId());
+        request.setTherapeuteId(therapeute.getId());
+        request.setScheduledAt(scheduledAt);
+        request.setDurationMinutes(60);
+        return request;
+    }
+
+    private interface Task {
+        Callable<SeanceDTO> forThread(int index);
+    }
+}
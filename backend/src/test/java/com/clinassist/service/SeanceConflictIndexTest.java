@@ -0,0 +1,199 @@
+package com.clinassist.service;
+
+import com.clinassist.entity.Seance;
+import com.clinassist.entity.Therapeute;
+import com.clinassist.repository.SeanceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour SeanceConflictIndex
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeanceConflictIndex Unit Tests")
+class SeanceConflictIndexTest {
+
+    @Mock
+    private SeanceRepository seanceRepository;
+
+    @InjectMocks
+    private SeanceConflictIndex conflictIndex;
+
+    private Therapeute therapeute;
+    private LocalDateTime tomorrowAtTen;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(conflictIndex, "lookbackDays", 30);
+        therapeute = Therapeute.builder().id(1L).build();
+        tomorrowAtTen = LocalDateTime.of(LocalDate.now().plusDays(1), LocalTime.of(10, 0));
+    }
+
+    @Nested
+    @DisplayName("Overlap Tests")
+    class OverlapTests {
+
+        @BeforeEach
+        void warmEmpty() {
+            when(seanceRepository.findBookedIntervalsFrom(any())).thenReturn(Collections.emptyList());
+            conflictIndex.warmUp();
+            conflictIndex.update(seance(10L, tomorrowAtTen, 60, Seance.SeanceStatus.SCHEDULED));
+        }
+
+        @Test
+        @DisplayName("Should detect a seance starting earlier and overlapping")
+        void hasConflict_ShouldDetectEarlierStartingSeance() {
+            assertThat(conflictIndex.hasConflict(1L, tomorrowAtTen.plusMinutes(30), 60, null)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should detect a seance contained in the requested interval")
+        void hasConflict_ShouldDetectContainedSeance() {
+            assertThat(conflictIndex.hasConflict(1L, tomorrowAtTen.minusMinutes(30), 120, null)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should allow back-to-back seances")
+        void hasConflict_ShouldAllowAdjacentIntervals() {
+            assertThat(conflictIndex.hasConflict(1L, tomorrowAtTen.plusMinutes(60), 60, null)).isFalse();
+            assertThat(conflictIndex.hasConflict(1L, tomorrowAtTen.minusMinutes(60), 60, null)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should ignore other therapeutes and the excluded seance")
+        void hasConflict_ShouldIgnoreOtherTherapeutesAndExcludedSeance() {
+            assertThat(conflictIndex.hasConflict(2L, tomorrowAtTen, 60, null)).isFalse();
+            assertThat(conflictIndex.hasConflict(1L, tomorrowAtTen, 60, 10L)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should free the slot when the seance is cancelled")
+        void update_ShouldRemoveCancelledSeance() {
+            conflictIndex.update(seance(10L, tomorrowAtTen, 60, Seance.SeanceStatus.CANCELLED));
+
+            assertThat(conflictIndex.hasConflict(1L, tomorrowAtTen, 60, null)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should move the interval when the seance is rescheduled")
+        void update_ShouldMoveRescheduledSeance() {
+            conflictIndex.update(seance(10L, tomorrowAtTen.plusHours(3), 60, Seance.SeanceStatus.RESCHEDULED));
+
+            assertThat(conflictIndex.hasConflict(1L, tomorrowAtTen, 60, null)).isFalse();
+            assertThat(conflictIndex.hasConflict(1L, tomorrowAtTen.plusHours(3), 30, null)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should return the conflicting occurrences of a series, ignoring excluded seances")
+        void findConflicts_ShouldCheckEveryOccurrence() {
+            // Given
+            conflictIndex.update(seance(11L, tomorrowAtTen.plusWeeks(2), 60, Seance.SeanceStatus.SCHEDULED));
+            Seance first = seance(null, tomorrowAtTen.plusMinutes(30), 60, Seance.SeanceStatus.SCHEDULED);
+            Seance second = seance(null, tomorrowAtTen.plusWeeks(1), 60, Seance.SeanceStatus.SCHEDULED);
+            Seance third = seance(null, tomorrowAtTen.plusWeeks(2), 60, Seance.SeanceStatus.SCHEDULED);
+
+            // When / Then
+            assertThat(conflictIndex.findConflicts(1L, List.of(first, second, third), Set.of()))
+                    .containsExactly(first, third);
+            assertThat(conflictIndex.findConflicts(1L, List.of(first, second, third), Set.of(10L, 11L))).isEmpty();
+            assertThat(conflictIndex.findConflicts(2L, List.of(first, third), Set.of())).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Warm-up Tests")
+    class WarmUpTests {
+
+        @Test
+        @DisplayName("Should answer from intervals loaded at startup without querying again")
+        void warmUp_ShouldLoadBookedIntervals() {
+            // Given
+            when(seanceRepository.findBookedIntervalsFrom(any())).thenReturn(Arrays.asList(
+                    interval(10L, 1L, tomorrowAtTen, 90),
+                    interval(11L, 2L, tomorrowAtTen, 30)));
+
+            // When
+            conflictIndex.warmUp();
+
+            // Then
+            assertThat(conflictIndex.hasConflict(1L, tomorrowAtTen.plusMinutes(60), 60, null)).isTrue();
+            assertThat(conflictIndex.hasConflict(2L, tomorrowAtTen.plusMinutes(30), 60, null)).isFalse();
+            verify(seanceRepository, never()).findByTherapeuteAndDateRange(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should keep seances updated during warm-up over the older loaded rows")
+        void warmUp_ShouldKeepUpdatesMadeWhileLoading() {
+            // Given - both seances change after the query read them
+            when(seanceRepository.findBookedIntervalsFrom(any())).thenAnswer(invocation -> {
+                conflictIndex.update(seance(10L, tomorrowAtTen, 60, Seance.SeanceStatus.CANCELLED));
+                conflictIndex.update(seance(11L, tomorrowAtTen.plusHours(3), 60, Seance.SeanceStatus.RESCHEDULED));
+                return Arrays.asList(
+                        interval(10L, 1L, tomorrowAtTen, 60),
+                        interval(11L, 1L, tomorrowAtTen.plusHours(1), 60));
+            });
+
+            // When
+            conflictIndex.warmUp();
+
+            // Then
+            assertThat(conflictIndex.hasConflict(1L, tomorrowAtTen, 120, null)).isFalse();
+            assertThat(conflictIndex.hasConflict(1L, tomorrowAtTen.plusHours(3), 60, null)).isTrue();
+            verify(seanceRepository, never()).findByTherapeuteAndDateRange(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should fall back to the database before the warm-up horizon")
+        void hasConflict_ShouldQueryDatabaseBeforeHorizon() {
+            // Given
+            LocalDateTime longAgo = tomorrowAtTen.minusYears(1);
+            when(seanceRepository.findByTherapeuteAndDateRange(eq(1L), any(), any()))
+                    .thenReturn(Arrays.asList(seance(10L, longAgo.minusMinutes(30), 60, Seance.SeanceStatus.COMPLETED)));
+
+            // When
+            boolean result = conflictIndex.hasConflict(1L, longAgo, 60, null);
+
+            // Then
+            assertThat(result).isTrue();
+        }
+    }
+
+    private Seance seance(Long id, LocalDateTime scheduledAt, int durationMinutes, Seance.SeanceStatus status) {
+        return Seance.builder()
+                .id(id)
+                .therapeute(therapeute)
+                .scheduledAt(scheduledAt)
+                .durationMinutes(durationMinutes)
+                .status(status)
+                .build();
+    }
+
+    private SeanceRepository.BookedInterval interval(Long id, Long therapeuteId, LocalDateTime scheduledAt,
+                                                     int durationMinutes) {
+        return new SeanceRepository.BookedInterval() {
+            public Long getId() { return id; }
+            public Long getTherapeuteId() { return therapeuteId; }
+            public LocalDateTime getScheduledAt() { return scheduledAt; }
+            public Integer getDurationMinutes() { return durationMinutes; }
+        };
+    }
+}
@@ -1,10 +1,14 @@
 package com.clinassist.service;
 
+import com.clinassist.dto.CursorPage;
 import com.clinassist.dto.SeanceDTO;
 import com.clinassist.entity.Patient;
 import com.clinassist.entity.Seance;
 import com.clinassist.entity.Therapeute;
 import com.clinassist.entity.User;
+import com.clinassist.event.SeanceChangedEvent;
+import com.clinassist.exception.BadRequestException;
+import com.clinassist.exception.ConflictException;
 import com.clinassist.exception.ResourceNotFoundException;
 import com.clinassist.repository.PatientRepository;
 import com.clinassist.repository.SeanceRepository;
@@ -14,21 +18,25 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -48,6 +56,18 @@ class SeanceServiceTest {
     @Mock
     private TherapeuteRepository therapeuteRepository;
 
+    @Mock
+    private SeanceConflictIndex conflictIndex;
+
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
+    @Mock
+    private BookingLocks bookingLocks;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private SeanceService seanceService;
 
@@ -112,6 +132,57 @@ class SeanceServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("getSeancesPage Tests")
+    class GetSeancesPageTests {
+
+        @Test
+        @DisplayName("Should return a full page with a cursor on the last seance")
+        void getSeancesPage_WithMoreRows_ShouldReturnCursor() {
+            // Given
+            Seance older = new Seance();
+            older.setId(2L);
+            older.setPatient(testPatient);
+            older.setTherapeute(testTherapeute);
+            older.setScheduledAt(testSeance.getScheduledAt().minusDays(1));
+            when(seanceRepository.findKeysetPage(PageRequest.of(0, 2))).thenReturn(Arrays.asList(testSeance, older));
+
+            // When
+            CursorPage<SeanceDTO> page = seanceService.getSeancesPage(null, 1);
+
+            // Then
+            assertThat(page.getItems()).extracting(SeanceDTO::getId).containsExactly(1L);
+            assertThat(page.isHasMore()).isTrue();
+            KeysetCursor cursor = KeysetCursor.decode(page.getNextCursor());
+            assertThat(cursor).isEqualTo(new KeysetCursor(testSeance.getScheduledAt(), 1L));
+        }
+
+        @Test
+        @DisplayName("Should continue after the cursor and end without a cursor")
+        void getSeancesPage_LastPage_ShouldHaveNoCursor() {
+            // Given
+            String cursor = new KeysetCursor(LocalDateTime.of(2026, 1, 5, 9, 30), 7L).encode();
+            when(seanceRepository.findKeysetPageBefore(LocalDateTime.of(2026, 1, 5, 9, 30), 7L, PageRequest.of(0, 21)))
+                    .thenReturn(List.of(testSeance));
+
+            // When
+            CursorPage<SeanceDTO> page = seanceService.getSeancesPage(cursor, 20);
+
+            // Then
+            assertThat(page.getItems()).hasSize(1);
+            assertThat(page.isHasMore()).isFalse();
+            assertThat(page.getNextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor")
+        void getSeancesPage_InvalidCursor_ShouldThrow() {
+            assertThatThrownBy(() -> seanceService.getSeancesPage("not-a-cursor", 20))
+                    .isInstanceOf(BadRequestException.class);
+            verifyNoInteractions(seanceRepository);
+        }
+    }
+
     @Nested
     @DisplayName("getSeanceById Tests")
     class GetSeanceByIdTests {
@@ -224,8 +295,7 @@ class SeanceServiceTest {
         @DisplayName("Should detect no conflict")
         void hasConflict_ShouldReturnFalse() {
             // Given
-            when(seanceRepository.findByTherapeuteAndDateRange(anyLong(), any(), any()))
-                    .thenReturn(Collections.emptyList());
+            when(conflictIndex.hasConflict(eq(1L), any(), eq(60), isNull())).thenReturn(false);
 
             // When
             boolean result = seanceService.hasConflict(1L, LocalDateTime.now().plusDays(1), 60);
@@ -238,14 +308,14 @@ class SeanceServiceTest {
         @DisplayName("Should detect conflict")
         void hasConflict_ShouldReturnTrue() {
             // Given
-            when(seanceRepository.findByTherapeuteAndDateRange(anyLong(), any(), any()))
-                    .thenReturn(Arrays.asList(testSeance));
+            when(conflictIndex.hasConflict(eq(1L), any(), eq(60), isNull())).thenReturn(true);
 
             // When
             boolean result = seanceService.hasConflict(1L, LocalDateTime.now().plusDays(1), 60);
 
             // Then
             assertThat(result).isTrue();
+            verifyNoInteractions(seanceRepository);
         }
     }
 
@@ -266,8 +336,7 @@ class SeanceServiceTest {
 
             when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
             when(therapeuteRepository.findById(1L)).thenReturn(Optional.of(testTherapeute));
-            when(seanceRepository.findByTherapeuteAndDateRange(anyLong(), any(), any()))
-                    .thenReturn(Collections.emptyList());
+            when(conflictIndex.hasConflict(anyLong(), any(), any(), isNull())).thenReturn(false);
             when(seanceRepository.save(any(Seance.class))).thenReturn(testSeance);
 
             // When
@@ -276,6 +345,95 @@ class SeanceServiceTest {
             // Then
             assertThat(result).isNotNull();
             verify(seanceRepository).save(any(Seance.class));
+            verify(conflictIndex).update(testSeance);
+            verify(availabilityIndex).update(testSeance);
+            InOrder inOrder = inOrder(bookingLocks, conflictIndex);
+            inOrder.verify(bookingLocks).lockUntilCompletion(1L);
+            inOrder.verify(conflictIndex).hasConflict(anyLong(), any(), any(), isNull());
+        }
+
+        @Test
+        @DisplayName("Should reject seance overlapping a booked interval")
+        void createSeance_ShouldThrowWhenConflicting() {
+            // Given
+            com.clinassist.dto.CreateSeanceRequest request = new com.clinassist.dto.CreateSeanceRequest();
+            request.setPatientId(1L);
+            request.setTherapeuteId(1L);
+            request.setScheduledAt(LocalDateTime.now().plusDays(1));
+            request.setDurationMinutes(60);
+            request.setType(Seance.SeanceType.IN_PERSON);
+
+            when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
+            when(therapeuteRepository.findById(1L)).thenReturn(Optional.of(testTherapeute));
+            when(conflictIndex.hasConflict(anyLong(), any(), any(), isNull())).thenReturn(true);
+
+            // When/Then
+            assertThatThrownBy(() -> seanceService.createSeance(request))
+                    .isInstanceOf(BadRequestException.class);
+            verify(seanceRepository, never()).save(any(Seance.class));
+        }
+
+        @Test
+        @DisplayName("Should book a weekly series as a parent seance and a batch of linked occurrences")
+        void createSeance_Recurring_ShouldInsertSeries() {
+            // Given
+            LocalDateTime first = LocalDateTime.now().plusDays(1).withNano(0);
+            com.clinassist.dto.CreateSeanceRequest request = new com.clinassist.dto.CreateSeanceRequest();
+            request.setPatientId(1L);
+            request.setTherapeuteId(1L);
+            request.setScheduledAt(first);
+            request.setIsRecurring(true);
+            request.setRecurringPattern("WEEKLY;COUNT=3");
+
+            when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
+            when(therapeuteRepository.findById(1L)).thenReturn(Optional.of(testTherapeute));
+            when(conflictIndex.findConflicts(eq(1L), anyList(), eq(Set.of()))).thenReturn(List.of());
+            when(seanceRepository.save(any(Seance.class))).thenAnswer(invocation -> {
+                Seance root = invocation.getArgument(0);
+                root.setId(1L);
+                return root;
+            });
+
+            // When
+            SeanceDTO result = seanceService.createSeance(request);
+
+            // Then
+            assertThat(result.getScheduledAt()).isEqualTo(first);
+            ArgumentCaptor<List<Seance>> following = ArgumentCaptor.forClass(List.class);
+            verify(seanceRepository).saveAll(following.capture());
+            assertThat(following.getValue())
+                    .extracting(Seance::getScheduledAt, s -> s.getParentSeance().getId())
+                    .containsExactly(
+                            tuple(first.plusWeeks(1), 1L),
+                            tuple(first.plusWeeks(2), 1L));
+            verify(conflictIndex, times(3)).update(any(Seance.class));
+            verify(availabilityIndex, times(3)).update(any(Seance.class));
+            verify(eventPublisher, times(3)).publishEvent(any(SeanceChangedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should book no occurrence when one of them conflicts")
+        void createSeance_RecurringWithConflict_ShouldThrow() {
+            // Given
+            LocalDateTime first = LocalDateTime.now().plusDays(1).withNano(0);
+            com.clinassist.dto.CreateSeanceRequest request = new com.clinassist.dto.CreateSeanceRequest();
+            request.setPatientId(1L);
+            request.setTherapeuteId(1L);
+            request.setScheduledAt(first);
+            request.setIsRecurring(true);
+            request.setRecurringPattern("BIWEEKLY;COUNT=4");
+
+            when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
+            when(therapeuteRepository.findById(1L)).thenReturn(Optional.of(testTherapeute));
+            when(conflictIndex.findConflicts(eq(1L), anyList(), eq(Set.of())))
+                    .thenAnswer(invocation -> List.of(invocation.<List<Seance>>getArgument(1).get(2)));
+
+            // When/Then
+            assertThatThrownBy(() -> seanceService.createSeance(request))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessageContaining(first.plusWeeks(4).toString());
+            verify(seanceRepository, never()).save(any(Seance.class));
+            verify(seanceRepository, never()).saveAll(anyList());
         }
 
         @Test
@@ -312,6 +470,25 @@ class SeanceServiceTest {
             // Then
             assertThat(result).isNotNull();
             verify(seanceRepository).save(any(Seance.class));
+            verifyNoInteractions(bookingLocks);
+        }
+
+        @Test
+        @DisplayName("Should check the slot under the booking lock when restoring a cancelled seance")
+        void updateSeanceStatus_RestoringCancelled_ShouldCheckConflicts() {
+            // Given
+            testSeance.setStatus(Seance.SeanceStatus.CANCELLED);
+            when(seanceRepository.findById(1L)).thenReturn(Optional.of(testSeance));
+            when(conflictIndex.hasConflict(1L, testSeance.getScheduledAt(), 60, 1L)).thenReturn(true);
+
+            // When / Then
+            assertThatThrownBy(() -> seanceService.updateSeanceStatus(1L, Seance.SeanceStatus.SCHEDULED))
+                    .isInstanceOf(BadRequestException.class);
+            InOrder inOrder = inOrder(bookingLocks, conflictIndex);
+            inOrder.verify(bookingLocks).lockUntilCompletion(1L);
+            inOrder.verify(conflictIndex).hasConflict(1L, testSeance.getScheduledAt(), 60, 1L);
+            assertThat(testSeance.getStatus()).isEqualTo(Seance.SeanceStatus.CANCELLED);
+            verify(seanceRepository, never()).save(any(Seance.class));
         }
     }
 
@@ -332,6 +509,10 @@ class SeanceServiceTest {
             // Then
             assertThat(result).isNotNull();
             verify(seanceRepository).save(any(Seance.class));
+            verify(conflictIndex).update(testSeance);
+            verify(eventPublisher).publishEvent(new SeanceChangedEvent(1L, Seance.SeanceType.IN_PERSON,
+                    Seance.SeanceStatus.SCHEDULED, Seance.SeanceStatus.CANCELLED,
+                    testSeance.getScheduledAt(), testSeance.getScheduledAt()));
         }
     }
 
@@ -344,9 +525,9 @@ class SeanceServiceTest {
         void rescheduleSeance_ShouldReturnRescheduled() {
             // Given
             LocalDateTime newDateTime = LocalDateTime.now().plusDays(2);
+            LocalDateTime previousDateTime = testSeance.getScheduledAt();
             when(seanceRepository.findById(1L)).thenReturn(Optional.of(testSeance));
-            when(seanceRepository.findByTherapeuteAndDateRange(anyLong(), any(), any()))
-                    .thenReturn(Collections.emptyList());
+            when(conflictIndex.hasConflict(anyLong(), eq(newDateTime), any(), eq(1L))).thenReturn(false);
             when(seanceRepository.save(any(Seance.class))).thenReturn(testSeance);
 
             // When
@@ -355,6 +536,108 @@ class SeanceServiceTest {
             // Then
             assertThat(result).isNotNull();
             verify(seanceRepository).save(any(Seance.class));
+            verify(eventPublisher).publishEvent(new SeanceChangedEvent(1L, Seance.SeanceType.IN_PERSON,
+                    Seance.SeanceStatus.SCHEDULED, Seance.SeanceStatus.RESCHEDULED, previousDateTime, newDateTime));
+        }
+    }
+
+    @Nested
+    @DisplayName("Following Seances Tests")
+    class FollowingSeancesTests {
+
+        @Test
+        @DisplayName("Should cancel this and the following occurrences with one bulk update")
+        void cancelFollowingSeances_ShouldCancelSeries() {
+            // Given
+            LocalDateTime at = testSeance.getScheduledAt();
+            when(seanceRepository.findById(1L)).thenReturn(Optional.of(testSeance));
+            when(seanceRepository.findSeriesOccurrencesFrom(1L, at)).thenReturn(List.of(
+                    occurrence(1L, at, Seance.SeanceStatus.SCHEDULED),
+                    occurrence(2L, at.plusWeeks(1), Seance.SeanceStatus.CONFIRMED)));
+            when(seanceRepository.cancelAllById(eq(List.of(1L, 2L)), eq("Vacances"), any())).thenReturn(2);
+            when(seanceRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(testSeance));
+
+            // When
+            List<SeanceDTO> result = seanceService.cancelFollowingSeances(1L, "Vacances");
+
+            // Then
+            assertThat(result).hasSize(1);
+            verify(seanceRepository, never()).save(any(Seance.class));
+            verify(conflictIndex, times(2)).update(argThat(s -> s.getStatus() == Seance.SeanceStatus.CANCELLED));
+            verify(eventPublisher).publishEvent(new SeanceChangedEvent(2L, Seance.SeanceType.IN_PERSON,
+                    Seance.SeanceStatus.CONFIRMED, Seance.SeanceStatus.CANCELLED, at.plusWeeks(1), at.plusWeeks(1)));
+        }
+
+        @Test
+        @DisplayName("Should fail when an occurrence changed between the lookup and the bulk update")
+        void cancelFollowingSeances_ConcurrentChange_ShouldThrow() {
+            // Given
+            LocalDateTime at = testSeance.getScheduledAt();
+            when(seanceRepository.findById(1L)).thenReturn(Optional.of(testSeance));
+            when(seanceRepository.findSeriesOccurrencesFrom(1L, at)).thenReturn(List.of(
+                    occurrence(1L, at, Seance.SeanceStatus.SCHEDULED),
+                    occurrence(2L, at.plusWeeks(1), Seance.SeanceStatus.SCHEDULED)));
+            when(seanceRepository.cancelAllById(anyList(), any(), any())).thenReturn(1);
+
+            // When/Then
+            assertThatThrownBy(() -> seanceService.cancelFollowingSeances(1L, null))
+                    .isInstanceOf(ConflictException.class);
+            verifyNoInteractions(conflictIndex, eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should move the following occurrences of the parent series by the same offset")
+        void rescheduleFollowingSeances_ShouldShiftSeries() {
+            // Given
+            Seance root = Seance.builder().id(10L).build();
+            testSeance.setParentSeance(root);
+            LocalDateTime at = testSeance.getScheduledAt();
+            when(seanceRepository.findById(1L)).thenReturn(Optional.of(testSeance));
+            when(seanceRepository.findSeriesOccurrencesFrom(10L, at)).thenReturn(List.of(
+                    occurrence(1L, at, Seance.SeanceStatus.SCHEDULED),
+                    occurrence(2L, at.plusWeeks(1), Seance.SeanceStatus.SCHEDULED)));
+            when(conflictIndex.findConflicts(eq(1L), anyList(), eq(Set.of(1L, 2L)))).thenReturn(List.of());
+            when(seanceRepository.shiftAllById(eq(List.of(1L, 2L)), eq(7200L), any())).thenReturn(2);
+            when(seanceRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(testSeance));
+
+            // When
+            seanceService.rescheduleFollowingSeances(1L, at.plusHours(2));
+
+            // Then
+            verify(bookingLocks).lockUntilCompletion(1L);
+            verify(availabilityIndex).update(argThat(s -> s.getId().equals(2L)
+                    && s.getScheduledAt().equals(at.plusWeeks(1).plusHours(2))));
+            verify(eventPublisher).publishEvent(new SeanceChangedEvent(2L, Seance.SeanceType.IN_PERSON,
+                    Seance.SeanceStatus.SCHEDULED, Seance.SeanceStatus.RESCHEDULED,
+                    at.plusWeeks(1), at.plusWeeks(1).plusHours(2)));
+        }
+
+        @Test
+        @DisplayName("Should not move the series onto a booked interval")
+        void rescheduleFollowingSeances_WithConflict_ShouldThrow() {
+            // Given
+            LocalDateTime at = testSeance.getScheduledAt();
+            when(seanceRepository.findById(1L)).thenReturn(Optional.of(testSeance));
+            when(seanceRepository.findSeriesOccurrencesFrom(1L, at)).thenReturn(List.of(
+                    occurrence(1L, at, Seance.SeanceStatus.SCHEDULED)));
+            when(conflictIndex.findConflicts(eq(1L), anyList(), eq(Set.of(1L))))
+                    .thenAnswer(invocation -> invocation.getArgument(1));
+
+            // When/Then
+            assertThatThrownBy(() -> seanceService.rescheduleFollowingSeances(1L, at.plusDays(1)))
+                    .isInstanceOf(BadRequestException.class);
+            verify(seanceRepository, never()).shiftAllById(anyList(), anyLong(), any());
+        }
+
+        private SeanceRepository.SeriesOccurrence occurrence(Long id, LocalDateTime scheduledAt,
+                                                             Seance.SeanceStatus status) {
+            return new SeanceRepository.SeriesOccurrence() {
+                public Long getId() { return id; }
+                public LocalDateTime getScheduledAt() { return scheduledAt; }
+                public Integer getDurationMinutes() { return 60; }
+                public Seance.SeanceType getType() { return Seance.SeanceType.IN_PERSON; }
+                public Seance.SeanceStatus getStatus() { return status; }
+            };
         }
     }
 
@@ -0,0 +1,214 @@
+package com.clinassist.service;
+
+import com.clinassist.TestFixtures;
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Therapeute;
+import com.clinassist.entity.User;
+import com.clinassist.repository.SearchTermWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests d'intégration (H2) pour l'index de recherche des patients et thérapeutes
+ */
+// Fewer candidates read at a time than some queries match
+@DataJpaTest(properties = "app.search.max-candidates=2")
+@Import({SearchIndex.class, SearchTermWriter.class})
+@DisplayName("SearchIndex Integration Tests")
+class SearchIndexTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    private int users;
+
+    @Test
+    @DisplayName("Should match word prefixes regardless of case and accents")
+    void searchPatientIds_ShouldMatchPrefixesWithoutAccents() {
+        // Given
+        Patient helene = patient("Hélène", "Dupont", "PAT-1001");
+        patient("Marc", "Durand", "PAT-1002");
+
+        // When / Then
+        assertThat(search("hel")).containsExactly(helene.getId());
+        assertThat(search("HELENE")).containsExactly(helene.getId());
+        assertThat(search("Hélè")).containsExactly(helene.getId());
+        assertThat(search("zz")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should require every query word and rank whole words first")
+    void searchPatientIds_ShouldRankExactMatchesFirst() {
+        // Given
+        Patient marco = patient("Marco", "Dupont", "PAT-2001");
+        Patient marc = patient("Marc", "Dupont", "PAT-2002");
+        patient("Marc", "Durand", "PAT-2003");
+
+        // When
+        Page<Long> result = searchIndex.searchPatientIds("dupont marc", PageRequest.of(0, 10));
+
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).containsExactly(marc.getId(), marco.getId());
+    }
+
+    @Test
+    @DisplayName("Should find patients by code and by hyphenated name parts")
+    void searchPatientIds_ShouldMatchCodesAndNameParts() {
+        // Given
+        Patient jeanPierre = patient("Jean-Pierre", "Leroy", "PAT-3001");
+
+        // When / Then
+        assertThat(search("pat-3001")).containsExactly(jeanPierre.getId());
+        assertThat(search("3001")).containsExactly(jeanPierre.getId());
+        assertThat(search("pierre")).containsExactly(jeanPierre.getId());
+        assertThat(search("jean-p")).containsExactly(jeanPierre.getId());
+    }
+
+    @Test
+    @DisplayName("Should find patients by full email or its local part, but not by its domain")
+    void searchPatientIds_ShouldMatchEmails() {
+        // Given
+        Patient sara = patient("Sara", "Benali", "PAT-3501");
+        sara.getUser().setEmail("Sara.B@Gmail.com");
+        searchIndex.indexPatient(sara);
+        patient("Sarah", "Blanc", "PAT-3502");
+
+        // When / Then
+        assertThat(search("sara.b@gmail.com")).containsExactly(sara.getId());
+        assertThat(search("sara.b@gm")).containsExactly(sara.getId());
+        assertThat(search("sara.b")).containsExactly(sara.getId());
+        assertThat(search("gmail")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should slice ranked results into pages")
+    void searchPatientIds_ShouldPaginate() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            patient("Anne" + i, "Martin", "PAT-400" + i);
+        }
+
+        // When
+        Page<Long> page = searchIndex.searchPatientIds("martin", PageRequest.of(1, 2));
+
+        // Then
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(searchIndex.searchPatientIds("martin", Pageable.unpaged()).getContent()).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("Should read candidates until the page is filled and count the exact total")
+    void searchPatientIds_ShouldPageThroughCandidates() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            patient("Anne" + i, "Martin", "PAT-450" + i);
+        }
+
+        // When
+        List<Long> ids = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            Page<Long> result = searchIndex.searchPatientIds("mar", PageRequest.of(page, 2));
+            assertThat(result.getTotalElements()).isEqualTo(5);
+            ids.addAll(result.getContent());
+        }
+
+        // Then
+        assertThat(ids).hasSize(5).doesNotHaveDuplicates();
+        assertThat(searchIndex.searchPatientIds("martin ann", PageRequest.of(0, 1)).getTotalElements())
+                .isEqualTo(5);
+        assertThat(searchIndex.searchPatientIds("martin anne3", PageRequest.of(0, 1)).getContent())
+                .hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should replace the terms of a patient when reindexed")
+    void indexPatient_ShouldReplacePreviousTerms() {
+        // Given
+        Patient patient = patient("Claire", "Petit", "PAT-5001");
+        patient.getUser().setLastName("Moreau");
+
+        // When
+        searchIndex.indexPatient(patient);
+
+        // Then
+        assertThat(search("moreau")).containsExactly(patient.getId());
+        assertThat(search("petit")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should search therapeutes by name and specialization")
+    void searchTherapeuteIds_ShouldMatchSpecialization() {
+        // Given
+        Therapeute therapeute = entityManager.persist(Therapeute.builder()
+                .user(user("Sophie", "Bernard", User.Role.THERAPEUTE))
+                .therapeuteCode("TH-6001")
+                .specialization("Thérapie cognitive")
+                .status(Therapeute.TherapeuteStatus.AVAILABLE)
+                .build());
+        searchIndex.indexTherapeute(therapeute);
+
+        // When / Then
+        assertThat(searchIndex.searchTherapeuteIds("cogn", PageRequest.of(0, 10)).getContent())
+                .containsExactly(therapeute.getId());
+        assertThat(searchIndex.searchTherapeuteIds("bernard therapie", PageRequest.of(0, 10)).getContent())
+                .containsExactly(therapeute.getId());
+        assertThat(search("sophie")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should index patients persisted without going through the services")
+    void backfill_ShouldIndexUnindexedPatients() {
+        // Given
+        Patient patient = entityManager.persist(Patient.builder()
+                .user(user("Luc", "Garnier", User.Role.PATIENT))
+                .patientCode("PAT-7001")
+                .build());
+        entityManager.flush();
+        assertThat(search("garnier")).isEmpty();
+
+        // When
+        searchIndex.backfill();
+
+        // Then
+        assertThat(search("garnier")).containsExactly(patient.getId());
+    }
+
+    private List<Long> search(String query) {
+        return searchIndex.searchPatientIds(query, PageRequest.of(0, 10)).getContent();
+    }
+
+    private Patient patient(String firstName, String lastName, String code) {
+        Patient patient = entityManager.persist(Patient.builder()
+                .user(user(firstName, lastName, User.Role.PATIENT))
+                .patientCode(code)
+                .build());
+        entityManager.flush();
+        searchIndex.indexPatient(patient);
+        return patient;
+    }
+
+    private User user(String firstName, String lastName, User.Role role) {
+        // E-mail local parts are indexed too, so they must not repeat the names
+        User user = TestFixtures.user("user" + (++users), role);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        return user;
+    }
+}
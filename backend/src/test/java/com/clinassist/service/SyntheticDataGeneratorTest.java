@@ -0,0 +1,99 @@
+package com.clinassist.service;
+
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Seance;
+import com.clinassist.repository.PatientRepository;
+import com.clinassist.repository.PredictionRepository;
+import com.clinassist.repository.SeanceRepository;
+import com.clinassist.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests d'intégration (H2) pour le générateur de données synthétiques
+ */
+@DataJpaTest
+@Import({SyntheticDataGenerator.class, PredictionService.class})
+@DisplayName("SyntheticDataGenerator Integration Tests")
+class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private SeanceRepository seanceRepository;
+
+    @Autowired
+    private PredictionRepository predictionRepository;
+
+    @MockBean
+    private MLPredictionClient mlClient;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    @DisplayName("Should generate patients with recurring seance histories and one prediction each")
+    void generate_ShouldPersistRealisticDataset() {
+        // Given
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+
+        // When
+        SyntheticDataGenerator.Summary summary = generator.generate(3, 250, 7L, "secret");
+
+        // Then
+        assertThat(summary.therapeuteIds()).hasSize(3);
+        assertThat(summary.patientIds()).hasSize(250).doesNotContainNull();
+        assertThat(userRepository.existsByUsername(SyntheticDataGenerator.ADMIN_USERNAME)).isTrue();
+        assertThat(patientRepository.count()).isEqualTo(250);
+        assertThat(predictionRepository.count()).isEqualTo(250);
+        verify(passwordEncoder, times(1)).encode("secret");
+
+        List<Seance> seances = seanceRepository.findAll();
+        assertThat(seances).hasSize(summary.seanceCount());
+        assertThat(seances).allMatch(s -> Boolean.TRUE.equals(s.getIsRecurring()));
+        Set<Seance.SeanceStatus> statuses = seances.stream().map(Seance::getStatus).collect(Collectors.toSet());
+        assertThat(statuses).contains(Seance.SeanceStatus.COMPLETED, Seance.SeanceStatus.CANCELLED,
+                Seance.SeanceStatus.NO_SHOW, Seance.SeanceStatus.SCHEDULED);
+        assertThat(seances).filteredOn(s -> s.getStatus() == Seance.SeanceStatus.COMPLETED)
+                .allMatch(s -> s.getPatientMoodBefore() != null && s.getProgressRating() != null);
+
+        List<Patient> patients = patientRepository.findAll();
+        assertThat(patients).allMatch(p -> p.getRiskScore() != null && p.getRiskCategory() != null);
+        assertThat(patients).extracting(Patient::getStatus)
+                .contains(Patient.PatientStatus.ACTIVE, Patient.PatientStatus.INACTIVE);
+    }
+
+    @Test
+    @DisplayName("Should refuse to generate users without a password")
+    void generate_BlankPassword_ShouldThrow() {
+        // When / Then
+        assertThatThrownBy(() -> generator.generate(1, 1, 7L, " "))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(userRepository.existsByUsername(SyntheticDataGenerator.ADMIN_USERNAME)).isFalse();
+        verify(passwordEncoder, never()).encode(anyString());
+    }
+}
@@ -1,5 +1,6 @@
 package com.clinassist.service;
 
+import com.clinassist.dto.AvailableSlotDTO;
 import com.clinassist.dto.TherapeuteDTO;
 import com.clinassist.entity.Seance;
 import com.clinassist.entity.Therapeute;
@@ -20,10 +21,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -47,6 +51,12 @@ class TherapeuteServiceTest {
     @Mock
     private SeanceRepository seanceRepository;
 
+    @Mock
+    private SearchIndex searchIndex;
+
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
     @InjectMocks
     private TherapeuteService therapeuteService;
 
@@ -269,8 +279,9 @@ class TherapeuteServiceTest {
         void searchTherapeutes_ShouldReturnMatchingTherapeutes() {
             // Given
             PageRequest pageable = PageRequest.of(0, 10);
-            Page<Therapeute> therapeutePage = new PageImpl<>(Arrays.asList(testTherapeute), pageable, 1);
-            when(therapeuteRepository.searchTherapeutes("martin", pageable)).thenReturn(therapeutePage);
+            Page<Long> idPage = new PageImpl<>(Arrays.asList(1L), pageable, 1);
+            when(searchIndex.searchTherapeuteIds("martin", pageable)).thenReturn(idPage);
+            when(therapeuteRepository.findAllWithUsersByIdIn(List.of(1L))).thenReturn(Arrays.asList(testTherapeute));
             when(seanceRepository.findByTherapeuteIdAndScheduledAtBetween(any(), any(), any()))
                     .thenReturn(Collections.emptyList());
             when(seanceRepository.findByTherapeuteIdAndScheduledAtAfter(any(), any()))
@@ -285,6 +296,31 @@ class TherapeuteServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("findFirstAvailableSlots Tests")
+    class FindFirstAvailableSlotsTests {
+
+        @Test
+        @DisplayName("Should merge the slots of matching therapeutes and name them")
+        void findFirstAvailableSlots_ShouldFilterAndNameTherapeutes() {
+            // Given
+            LocalDate from = LocalDate.of(2030, 3, 1);
+            LocalDateTime start = LocalDateTime.of(2030, 3, 4, 9, 0);
+            when(therapeuteRepository.findIdsByStatusAndSpecialtyAndLanguage(
+                    Therapeute.TherapeuteStatus.AVAILABLE, "tcc", null)).thenReturn(List.of(1L, 2L));
+            when(availabilityIndex.findFirstFreeSlots(List.of(1L, 2L), from, from.plusDays(27), 100))
+                    .thenReturn(List.of(AvailableSlotDTO.builder().therapeuteId(1L).startAt(start).build()));
+            when(therapeuteRepository.findAllWithUsersByIdIn(Set.of(1L))).thenReturn(List.of(testTherapeute));
+
+            // When
+            List<AvailableSlotDTO> result = therapeuteService.findFirstAvailableSlots(
+                    " TCC ", " ", Therapeute.TherapeuteStatus.AVAILABLE, from, null, 500);
+
+            // Then
+            assertThat(result).extracting(AvailableSlotDTO::getTherapeuteName).containsExactly("Jean Martin");
+        }
+    }
+
     @Nested
     @DisplayName("updateAvailability Tests")
     class UpdateAvailabilityTests {
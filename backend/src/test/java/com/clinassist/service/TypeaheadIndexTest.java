@@ -0,0 +1,191 @@
+package com.clinassist.service;
+
+import com.clinassist.dto.SuggestionDTO;
+import com.clinassist.entity.Patient;
+import com.clinassist.entity.Therapeute;
+import com.clinassist.entity.User;
+import com.clinassist.repository.PatientRepository;
+import com.clinassist.repository.TherapeuteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour TypeaheadIndex
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TypeaheadIndex Unit Tests")
+class TypeaheadIndexTest {
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private TherapeuteRepository therapeuteRepository;
+
+    private TypeaheadIndex typeaheadIndex;
+
+    @BeforeEach
+    void setUp() {
+        typeaheadIndex = new TypeaheadIndex(patientRepository, therapeuteRepository, 2000);
+    }
+
+    @Nested
+    @DisplayName("warmUp Tests")
+    class WarmUpTests {
+
+        @Test
+        @DisplayName("Should load patients and therapeutes with their specialties")
+        void warmUp_ShouldIndexRepositoryRows() {
+            // Given
+            PatientRepository.TypeaheadFields patient = mock(PatientRepository.TypeaheadFields.class);
+            when(patient.getId()).thenReturn(1L);
+            when(patient.getFirstName()).thenReturn("Hélène");
+            when(patient.getLastName()).thenReturn("Dupont");
+            when(patient.getEmail()).thenReturn("h.dupont@mail.test");
+            when(patient.getPatientCode()).thenReturn("PAT-001");
+            TherapeuteRepository.TypeaheadFields therapeute = mock(TherapeuteRepository.TypeaheadFields.class);
+            when(therapeute.getId()).thenReturn(2L);
+            when(therapeute.getFirstName()).thenReturn("Sophie");
+            when(therapeute.getLastName()).thenReturn("Bernard");
+            when(therapeute.getEmail()).thenReturn("s.bernard@clinic.test");
+            when(therapeute.getSpecialization()).thenReturn("Psychologie");
+            TherapeuteRepository.Specialty specialty = mock(TherapeuteRepository.Specialty.class);
+            when(specialty.getTherapeuteId()).thenReturn(2L);
+            when(specialty.getSpecialty()).thenReturn("Anxiété");
+            when(patientRepository.findAllTypeaheadFields()).thenReturn(List.of(patient));
+            when(therapeuteRepository.findAllTypeaheadFields()).thenReturn(List.of(therapeute));
+            when(therapeuteRepository.findAllSpecialties()).thenReturn(List.of(specialty));
+
+            // When
+            typeaheadIndex.warmUp();
+
+            // Then
+            assertThat(typeaheadIndex.suggest("hele", null, 10))
+                    .containsExactly(new SuggestionDTO(SuggestionDTO.Kind.PATIENT, 1L, "Hélène Dupont", "PAT-001"));
+            assertThat(typeaheadIndex.suggest("anxi", null, 10))
+                    .containsExactly(new SuggestionDTO(SuggestionDTO.Kind.THERAPEUTE, 2L, "Sophie Bernard", "Psychologie"));
+            assertThat(typeaheadIndex.suggest("pat-0", null, 10)).extracting(SuggestionDTO::getId).containsExactly(1L);
+            assertThat(typeaheadIndex.suggest("clinic", null, 10)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("suggest Tests")
+    class SuggestTests {
+
+        @BeforeEach
+        void warmEmpty() {
+            when(patientRepository.findAllTypeaheadFields()).thenReturn(Collections.emptyList());
+            when(therapeuteRepository.findAllTypeaheadFields()).thenReturn(Collections.emptyList());
+            when(therapeuteRepository.findAllSpecialties()).thenReturn(Collections.emptyList());
+            typeaheadIndex.warmUp();
+        }
+
+        @Test
+        @DisplayName("Should require every query word and rank whole words first")
+        void suggest_ShouldRankExactMatchesFirst() {
+            // Given
+            typeaheadIndex.update(patient(1L, "Marco", "Dupont"));
+            typeaheadIndex.update(patient(2L, "Marc", "Dupont"));
+            typeaheadIndex.update(patient(3L, "Marc", "Durand"));
+
+            // When
+            List<SuggestionDTO> result = typeaheadIndex.suggest("dupont MARC", null, 10);
+
+            // Then
+            assertThat(result).extracting(SuggestionDTO::getId).containsExactly(2L, 1L);
+        }
+
+        @Test
+        @DisplayName("Should filter by kind and honour the limit")
+        void suggest_ShouldFilterByKindAndLimit() {
+            // Given
+            typeaheadIndex.update(patient(1L, "Claire", "Martin"));
+            typeaheadIndex.update(patient(2L, "Claude", "Martin"));
+            typeaheadIndex.update(therapeute(1L, "Paul", "Martin", "Thérapie familiale"));
+
+            // When / Then
+            assertThat(typeaheadIndex.suggest("martin", null, 10)).hasSize(3);
+            assertThat(typeaheadIndex.suggest("martin", null, 2)).hasSize(2);
+            assertThat(typeaheadIndex.suggest("martin", SuggestionDTO.Kind.THERAPEUTE, 10))
+                    .extracting(SuggestionDTO::getKind, SuggestionDTO::getId)
+                    .containsExactly(tuple(SuggestionDTO.Kind.THERAPEUTE, 1L));
+            assertThat(typeaheadIndex.suggest("therapie fam", null, 10)).hasSize(1);
+            assertThat(typeaheadIndex.suggest("  ", null, 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should replace the previous entry of an updated patient")
+        void update_ShouldReplacePreviousEntry() {
+            // Given
+            Patient patient = patient(1L, "Claire", "Petit");
+            typeaheadIndex.update(patient);
+            patient.getUser().setLastName("Moreau");
+
+            // When
+            typeaheadIndex.update(patient);
+
+            // Then
+            assertThat(typeaheadIndex.suggest("moreau", null, 10))
+                    .containsExactly(new SuggestionDTO(SuggestionDTO.Kind.PATIENT, 1L, "Claire Moreau", "PAT-1"));
+            assertThat(typeaheadIndex.suggest("petit", null, 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should keep answering across rebuilds of the prefix index")
+        void suggest_ShouldFindEntriesAfterRebuild() {
+            // Given
+            for (long id = 1; id <= 3000; id++) {
+                typeaheadIndex.update(patient(id, "Prenom" + id, id % 2 == 0 ? "Leroy" : "Lefebvre"));
+            }
+            // Updated after the rebuilds, so the old entries are retired in the sorted part
+            typeaheadIndex.update(patient(42L, "Prenom42", "Garnier"));
+
+            // When / Then
+            assertThat(typeaheadIndex.suggest("prenom2999", null, 10))
+                    .extracting(SuggestionDTO::getId).containsExactly(2999L);
+            assertThat(typeaheadIndex.suggest("prenom42 garn", null, 10))
+                    .extracting(SuggestionDTO::getId).containsExactly(42L);
+            assertThat(typeaheadIndex.suggest("prenom42 leroy", null, 25))
+                    .extracting(SuggestionDTO::getId).containsExactlyInAnyOrder(420L, 422L, 424L, 426L, 428L);
+            assertThat(typeaheadIndex.suggest("lefeb", null, 25)).hasSize(25);
+            assertThat(typeaheadIndex.sizeInBytes()).isLessThan(1024 * 1024);
+        }
+    }
+
+    private Patient patient(Long id, String firstName, String lastName) {
+        return Patient.builder()
+                .id(id)
+                .patientCode("PAT-" + id)
+                .user(User.builder()
+                        .firstName(firstName)
+                        .lastName(lastName)
+                        .email(firstName.toLowerCase() + "@mail.test")
+                        .build())
+                .build();
+    }
+
+    private Therapeute therapeute(Long id, String firstName, String lastName, String specialization) {
+        return Therapeute.builder()
+                .id(id)
+                .specialization(specialization)
+                .user(User.builder()
+                        .firstName(firstName)
+                        .lastName(lastName)
+                        .email(firstName.toLowerCase() + "@clinic.test")
+                        .build())
+                .build();
+    }
+}
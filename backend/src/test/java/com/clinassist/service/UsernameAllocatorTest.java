@@ -0,0 +1,182 @@
+package com.clinassist.service;
+
+import com.clinassist.entity.User;
+import com.clinassist.repository.UserRepository;
+import com.clinassist.repository.UsernameCounterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests d'intégration (H2) de l'allocation des noms d'utilisateur
+ */
+@DataJpaTest
+@Import(UsernameAllocator.class)
+// Reservations commit in their own transactions
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("UsernameAllocator Tests")
+class UsernameAllocatorTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private UsernameAllocator usernameAllocator;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UsernameCounterRepository counterRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        counterRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should continue after the highest number in use, counting with one row per base")
+    void allocate_TakenBase_ShouldUseNextSuffix() {
+        // Given
+        userRepository.saveAll(List.of(user("mohamed"), user("mohamed3"), user("mohamedali"), user("mohamed_7")));
+        usernameAllocator.warmUp();
+
+        // When
+        String first = usernameAllocator.allocate("Mohamed@example.com");
+        String second = usernameAllocator.allocate("mohamed@other.example.com");
+
+        // Then
+        assertThat(first).isEqualTo("mohamed4");
+        assertThat(second).isEqualTo("mohamed5");
+        assertThat(counterRepository.findById("mohamed")).get()
+                .extracting(counter -> counter.getNextSuffix()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should hand out unseen bases from the filter without any counter row")
+    void allocate_UnseenBase_ShouldSkipTheDatabase() {
+        // Given
+        userRepository.save(user("sara"));
+        usernameAllocator.warmUp();
+        long hits = usernameAllocator.filterHits();
+
+        // When
+        String fresh = usernameAllocator.allocate("lina@example.com");
+        String again = usernameAllocator.allocate("lina@other.example.com");
+        String taken = usernameAllocator.allocate("sara@example.com");
+
+        // Then
+        assertThat(fresh).isEqualTo("lina");
+        assertThat(usernameAllocator.filterHits()).isEqualTo(hits + 1);
+        assertThat(again).isEqualTo("lina1");
+        assertThat(taken).isEqualTo("sara1");
+        assertThat(usernameAllocator.mightBeTaken("lina1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should skip numbers taken without going through the allocator")
+    void allocate_NumbersTakenElsewhere_ShouldBeSkipped() {
+        // Given
+        userRepository.save(user("nour"));
+        usernameAllocator.warmUp();
+        assertThat(usernameAllocator.allocate("nour@example.com")).isEqualTo("nour1");
+        userRepository.saveAll(List.of(user("nour2"), user("nour3")));
+
+        // When
+        String next = usernameAllocator.allocate("nour@example.com");
+
+        // Then
+        assertThat(next).isEqualTo("nour4");
+    }
+
+    @Test
+    @DisplayName("Should never give the same username to concurrent registrations")
+    void allocate_Concurrent_ShouldReturnDistinctUsernames() throws Exception {
+        // Given
+        userRepository.save(user("yasmine"));
+        usernameAllocator.warmUp();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // When
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS * 4; i++) {
+            futures.add(executor.submit(() -> usernameAllocator.allocate("yasmine@example.com")));
+        }
+        Set<String> usernames = new HashSet<>();
+        for (Future<String> future : futures) {
+            usernames.add(future.get());
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(usernames).hasSize(THREADS * 4).doesNotContain("yasmine");
+    }
+
+    @Test
+    @DisplayName("Should reserve a chunk's names in order, advancing each counter once")
+    void allocateAll_ShouldReserveEveryBaseOnce() {
+        // Given
+        userRepository.saveAll(List.of(user("adam"), user("adam1"), user("adam4")));
+        usernameAllocator.warmUp();
+        assertThat(usernameAllocator.allocate("adam@example.com")).isEqualTo("adam5");
+
+        // When
+        List<String> usernames = usernameAllocator.allocateAll(List.of(
+                "nora@a.example.com", "adam@a.example.com", "Nora@b.example.com", "adam@b.example.com"));
+
+        // Then
+        assertThat(usernames).containsExactly("nora", "adam6", "nora1", "adam7");
+        assertThat(counterRepository.findById("adam")).get()
+                .extracting(counter -> counter.getNextSuffix()).isEqualTo(8);
+        assertThat(usernameAllocator.allocate("nora@c.example.com")).isEqualTo("nora2");
+    }
+
+    @Test
+    @DisplayName("Should never give the same username to an import and concurrent registrations")
+    void allocateAll_ConcurrentWithAllocate_ShouldReturnDistinctUsernames() throws Exception {
+        // Given
+        usernameAllocator.warmUp();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<String> chunk = List.of("ines@a.example.com", "ines@b.example.com", "ines@c.example.com");
+
+        // When
+        List<Future<List<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS * 2; i++) {
+            futures.add(i % 2 == 0
+                    ? executor.submit(() -> usernameAllocator.allocateAll(chunk))
+                    : executor.submit(() -> List.of(usernameAllocator.allocate("ines@example.com"))));
+        }
+        List<String> usernames = new ArrayList<>();
+        for (Future<List<String>> future : futures) {
+            usernames.addAll(future.get());
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(usernames).hasSize(THREADS * 4).doesNotHaveDuplicates().contains("ines");
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("secret")
+                .role(User.Role.PATIENT)
+                .build();
+    }
+}
@@ -65,56 +65,78 @@ def predict_dropout_risk():
     """
     try:
         data = request.json
-        
-        # Feature extraction
-        features = np.array([[
-            data.get('cancellation_rate', 0),
-            data.get('no_show_rate', 0),
-            data.get('days_since_last_session', 0),
-            data.get('total_sessions', 0),
-            data.get('avg_mood_score', 5),
-            data.get('age', 30)
-        ]])
-        
-        # Make prediction
-        if dropout_model is None:
-            # Fallback heuristic if model not loaded
-            risk_score = calculate_heuristic_dropout_risk(data)
-        else:
-            risk_score = float(dropout_model.predict(features)[0])
-            # Get probability for confidence
-            if hasattr(dropout_model, 'predict_proba'):
-                probas = dropout_model.predict_proba(features)[0]
-                confidence = float(max(probas))
-            else:
-                confidence = 0.85
-        
-        # Determine risk category
-        if risk_score < 25:
-            risk_category = 'LOW'
-        elif risk_score < 50:
-            risk_category = 'MODERATE'
-        elif risk_score < 75:
-            risk_category = 'HIGH'
-        else:
-            risk_category = 'CRITICAL'
-        
+        scores, confidences = score_dropout_risk([data])
+        return jsonify(build_dropout_response(data, scores[0], confidences[0]))
+    except Exception as e:
+        return jsonify({'error': str(e)}), 500
+
+@app.route('/api/predict/dropout-risk/batch', methods=['POST'])
+def predict_dropout_risk_batch():
+    """
+    Predict dropout risk for many patients with a single model call
+
+    Input: {"instances": [<same features as /api/predict/dropout-risk>, ...]}
+    Output: {"predictions": [<same fields as /api/predict/dropout-risk>, ...]} in input order
+    """
+    try:
+        instances = request.json.get('instances', [])
+        if not instances:
+            return jsonify({'predictions': []})
+        scores, confidences = score_dropout_risk(instances)
         return jsonify({
-            'prediction_type': 'DROPOUT_RISK',
-            'risk_score': round(risk_score, 2),
-            'risk_category': risk_category,
-            'confidence': round(confidence if 'confidence' in dir() else 0.85, 2),
-            'factors': {
-                'cancellation_impact': round(data.get('cancellation_rate', 0) * 30, 2),
-                'no_show_impact': round(data.get('no_show_rate', 0) * 40, 2),
-                'inactivity_impact': round(min(data.get('days_since_last_session', 0) / 30 * 30, 30), 2)
-            },
-            'model_version': '1.0.0',
-            'algorithm': 'RandomForest'
+            'predictions': [build_dropout_response(data, score, confidence)
+                            for data, score, confidence in zip(instances, scores, confidences)]
         })
     except Exception as e:
         return jsonify({'error': str(e)}), 500
 
+def score_dropout_risk(instances):
+    """Score a list of feature dicts in one vectorized predict call, with one confidence per row"""
+    if dropout_model is None:
+        # Fallback heuristic if model not loaded
+        return [calculate_heuristic_dropout_risk(data) for data in instances], [0.85] * len(instances)
+
+    features = np.array([[
+        data.get('cancellation_rate', 0),
+        data.get('no_show_rate', 0),
+        data.get('days_since_last_session', 0),
+        data.get('total_sessions', 0),
+        data.get('avg_mood_score', 5),
+        data.get('age', 30)
+    ] for data in instances])
+
+    scores = [float(score) for score in dropout_model.predict(features)]
+    confidences = [0.85] * len(instances)
+    # Get probability for confidence
+    if hasattr(dropout_model, 'predict_proba'):
+        confidences = [float(p) for p in np.max(dropout_model.predict_proba(features), axis=1)]
+    return scores, confidences
+
+def build_dropout_response(data, risk_score, confidence):
+    # Determine risk category
+    if risk_score < 25:
+        risk_category = 'LOW'
+    elif risk_score < 50:
+        risk_category = 'MODERATE'
+    elif risk_score < 75:
+        risk_category = 'HIGH'
+    else:
+        risk_category = 'CRITICAL'
+
+    return {
+        'prediction_type': 'DROPOUT_RISK',
+        'risk_score': round(risk_score, 2),
+        'risk_category': risk_category,
+        'confidence': round(confidence, 2),
+        'factors': {
+            'cancellation_impact': round(data.get('cancellation_rate', 0) * 30, 2),
+            'no_show_impact': round(data.get('no_show_rate', 0) * 40, 2),
+            'inactivity_impact': round(min(data.get('days_since_last_session', 0) / 30 * 30, 30), 2)
+        },
+        'model_version': '1.0.0',
+        'algorithm': 'RandomForest'
+    }
+
 @app.route('/api/predict/treatment-progress', methods=['POST'])
 def predict_treatment_progress():
     """
@@ -0,0 +1,61 @@
+# Tests for the ClinAssist ML service: python -m unittest discover -s tests
+
+import os
+import sys
+import unittest
+
+import numpy as np
+
+sys.path.insert(0, os.path.dirname(os.path.dirname(os.path.abspath(__file__))))
+
+import app as ml_app
+
+
+class StubDropoutModel:
+    """Scores each row by its cancellation rate, sure of rows far from 0.5"""
+
+    def predict(self, features):
+        return features[:, 0] * 100
+
+    def predict_proba(self, features):
+        dropout = features[:, 0]
+        return np.column_stack([1 - dropout, dropout])
+
+
+class DropoutRiskBatchTest(unittest.TestCase):
+
+    def setUp(self):
+        self.model = ml_app.dropout_model
+        ml_app.dropout_model = StubDropoutModel()
+        self.client = ml_app.app.test_client()
+
+    def tearDown(self):
+        ml_app.dropout_model = self.model
+
+    def test_batch_returns_each_row_its_own_confidence(self):
+        response = self.client.post('/api/predict/dropout-risk/batch', json={
+            'instances': [{'cancellation_rate': 0.9}, {'cancellation_rate': 0.6}]
+        })
+
+        predictions = response.get_json()['predictions']
+        self.assertEqual([p['confidence'] for p in predictions], [0.9, 0.6])
+
+    def test_single_prediction_does_not_depend_on_other_rows(self):
+        single = self.client.post('/api/predict/dropout-risk', json={'cancellation_rate': 0.6}).get_json()
+        batch = self.client.post('/api/predict/dropout-risk/batch', json={
+            'instances': [{'cancellation_rate': 0.9}, {'cancellation_rate': 0.6}]
+        }).get_json()['predictions']
+
+        self.assertEqual(single['confidence'], batch[1]['confidence'])
+
+    def test_heuristic_fallback_returns_one_confidence_per_row(self):
+        ml_app.dropout_model = None
+
+        scores, confidences = ml_app.score_dropout_risk([{}, {}, {}])
+
+        self.assertEqual(len(scores), 3)
+        self.assertEqual(confidences, [0.85, 0.85, 0.85])
+
+
+if __name__ == '__main__':
+    unittest.main()